@@ -0,0 +1,91 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import com.itcag.util.MathToolbox;
+
+/**
+ * <p>Holds the throughput of a batch run by the {@link BatchRunner} class.</p>
+ * <p>The same figures are printed periodically while the batch is running.</p>
+ */
+public final class BatchReport {
+
+    private final long documents;
+    private final long failures;
+    private final long bytes;
+    private final long duration;
+    private final long end;
+
+    BatchReport(long documents, long failures, long bytes, long duration, long end) {
+        this.documents = documents;
+        this.failures = failures;
+        this.bytes = bytes;
+        this.duration = duration;
+        this.end = end;
+    }
+
+    /**
+     * @return Long holding the number of documents written to the output, including the failed ones.
+     */
+    public long getDocuments() {
+        return this.documents;
+    }
+
+    /**
+     * @return Long holding the number of documents that could not be processed. Their records hold the error instead of the results.
+     */
+    public long getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * @return Long holding the number of bytes of text processed.
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return Long holding the duration of the run in milliseconds.
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @return Long holding the offset from which the batch can be resumed (see {@link BatchRunner#run(java.lang.String, java.lang.String, long)}).
+     */
+    public long getEnd() {
+        return this.end;
+    }
+
+    public double getDocumentsPerSecond() {
+        return this.duration == 0 ? 0 : this.documents * 1000d / this.duration;
+    }
+
+    public double getBytesPerSecond() {
+        return this.duration == 0 ? 0 : this.bytes * 1000d / this.duration;
+    }
+
+    @Override
+    public String toString() {
+        return "Processed " + this.documents + " documents (" + this.bytes + " bytes, " + this.failures + " failed) in " + MathToolbox.roundDouble(this.duration / 1000d, 2) + " seconds: " + MathToolbox.roundDouble(getDocumentsPerSecond(), 2) + " documents/sec, " + MathToolbox.roundDouble(getBytesPerSecond(), 2) + " bytes/sec. Resume offset: " + this.end + ".";
+    }
+
+}
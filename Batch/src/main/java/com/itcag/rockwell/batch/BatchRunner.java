@@ -0,0 +1,182 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import com.itcag.rockwell.pipeline.Pipeline;
+import com.itcag.rockwell.pipeline.PropertyFields;
+import com.itcag.util.Printer;
+
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Runs a corpus through a {@link com.itcag.rockwell.pipeline.Pipeline Pipeline}, and writes the results as JSONL - one JSON record per document.</p>
+ * <p>The input is either a file in which every line holds one document, or a folder in which every file holds one document. The input is memory-mapped and read one document at a time, documents are processed in parallel on a pool of worker threads, and records are written in the order of the input by a separate thread through a buffered writer.</p>
+ * <p>The pipeline must be initiated for the {@link com.itcag.rockwell.pipeline.Pipeline.Tasks#NER NER}, {@link com.itcag.rockwell.pipeline.Pipeline.Tasks#CLASSIFY CLASSIFY}, {@link com.itcag.rockwell.pipeline.Pipeline.Tasks#EXTRACT EXTRACT} or {@link com.itcag.rockwell.pipeline.Pipeline.Tasks#ANALYZE ANALYZE} task. A document that fails is recorded with the error, and does not stop the batch.</p>
+ * <p>Every record holds the offset at which the next document starts (a byte offset in a file, or an ordinal number of a file in a folder). An interrupted batch is resumed by passing the offset of the last record in the output (see {@link #getResumeOffset(java.lang.String)}), in which case the records are appended.</p>
+ * <p>This class can also be run from the command line with the following arguments: path to a properties file holding the processing instructions (see {@link com.itcag.rockwell.pipeline.PropertyFields PropertyFields}), path to the input, path to the output, and optionally an offset or the word <i>resume</i>.</p>
+ */
+public class BatchRunner {
+
+    private final static long REPORT_INTERVAL = 10000;
+
+    private final Records.Processor processor;
+    private final int threads;
+    private final long reportInterval;
+
+    /**
+     * Documents are processed by as many threads as there are available processors, and throughput is reported every 10 seconds.
+     * @param pipeline Instance of the {@link com.itcag.rockwell.pipeline.Pipeline Pipeline} class.
+     */
+    public BatchRunner(Pipeline pipeline) {
+        this(pipeline, Runtime.getRuntime().availableProcessors(), REPORT_INTERVAL);
+    }
+
+    /**
+     * @param pipeline Instance of the {@link com.itcag.rockwell.pipeline.Pipeline Pipeline} class.
+     * @param threads Integer holding the number of documents processed at the same time.
+     * @param reportInterval Long holding the number of milliseconds between the throughput reports. Zero disables the reports.
+     */
+    public BatchRunner(Pipeline pipeline, int threads, long reportInterval) {
+        if (threads < 1) throw new IllegalArgumentException("Number of threads must be positive.");
+        if (reportInterval < 0) throw new IllegalArgumentException("Report interval cannot be negative.");
+        this.processor = Records.getProcessor(pipeline);
+        this.threads = threads;
+        this.reportInterval = reportInterval;
+    }
+
+    /**
+     * Processes the whole input, and overwrites the output.
+     * @param inputPath String holding the local path to a line-delimited file or a folder.
+     * @param outputPath String holding the local path to the JSONL output file.
+     * @return Instance of the {@link BatchReport} class.
+     * @throws Exception if anything goes wrong.
+     */
+    public BatchReport run(String inputPath, String outputPath) throws Exception {
+        return run(inputPath, outputPath, 0);
+    }
+
+    /**
+     * Processes the input starting from the specified offset. If the offset is not zero, records are appended to the output.
+     * @param inputPath String holding the local path to a line-delimited file or a folder.
+     * @param outputPath String holding the local path to the JSONL output file.
+     * @param offset Long holding the byte offset in the file, or the ordinal number of the file in the folder, from which processing starts.
+     * @return Instance of the {@link BatchReport} class.
+     * @throws Exception if anything goes wrong.
+     */
+    public BatchReport run(String inputPath, String outputPath, long offset) throws Exception {
+
+        ExecutorService workers = getWorkers();
+
+        try (DocumentReader reader = DocumentReader.open(Paths.get(inputPath), offset)) {
+
+            ResultWriter writer = new ResultWriter(Paths.get(outputPath), offset, this.threads * 4, this.reportInterval);
+
+            /**
+             * Whatever was processed is written, even if reading fails.
+             */
+            Exception failure = null;
+            try {
+                Document document;
+                while ((document = reader.next()) != null) {
+                    Document current = document;
+                    writer.write(CompletableFuture.supplyAsync(() -> process(current), workers));
+                }
+            } catch (Exception ex) {
+                failure = ex;
+            }
+
+            BatchReport retVal = writer.close();
+            if (failure != null) throw failure;
+
+            if (this.reportInterval > 0) Printer.print(retVal.toString());
+
+            return retVal;
+
+        } finally {
+            workers.shutdownNow();
+        }
+
+    }
+
+    /**
+     * @param outputPath String holding the local path to the JSONL output file of an interrupted batch.
+     * @return Long holding the offset from which the batch can be resumed, or zero if the output holds no complete record.
+     * @throws Exception if anything goes wrong.
+     */
+    public static long getResumeOffset(String outputPath) throws Exception {
+        String record = ResultWriter.getLastRecord(Paths.get(outputPath));
+        if (record == null) return 0;
+        return Records.getEnd(record);
+    }
+
+    private ResultWriter.Result process(Document document) {
+        try {
+            return new ResultWriter.Result(document, Records.getRecord(document, this.processor.process(document.getText())), false);
+        } catch (Exception ex) {
+            return new ResultWriter.Result(document, Records.getRecord(document, ex), true);
+        }
+    }
+
+    private ExecutorService getWorkers() {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+            Thread thread = new Thread(runnable, "rockwell-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 3) throw new IllegalArgumentException("Usage: BatchRunner <properties file> <input> <output> [<offset> | resume]");
+
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        long offset = 0;
+        if (args.length > 3) {
+            offset = args[3].equals("resume") ? getResumeOffset(args[2]) : Long.parseLong(args[3]);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (properties.containsKey(PropertyFields.PARALLELISM.getField())) {
+            threads = Integer.parseInt(properties.getProperty(PropertyFields.PARALLELISM.getField()).trim());
+        }
+
+        try (Pipeline pipeline = new Pipeline(properties)) {
+            new BatchRunner(pipeline, threads, REPORT_INTERVAL).run(args[1], args[2], offset);
+        }
+
+    }
+
+}
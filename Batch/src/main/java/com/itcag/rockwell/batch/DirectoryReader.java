@@ -0,0 +1,82 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>Reads a folder in which every file holds one document.</p>
+ * <p>Files in the folder and its subfolders are read in the alphabetical order of their paths, so that the ordinal number of a file is stable between runs. Every file is memory-mapped and decoded as UTF-8.</p>
+ */
+final class DirectoryReader extends DocumentReader {
+
+    private final Path root;
+    private final ArrayList<Path> files;
+
+    private int position;
+
+    DirectoryReader(Path root, long offset) throws IOException {
+
+        this.root = root;
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            this.files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        if (offset > this.files.size()) throw new IllegalArgumentException("Offset " + offset + " is beyond the number of files in the folder: " + root);
+        this.position = (int) offset;
+
+    }
+
+    @Override
+    Document next() throws IOException {
+
+        if (this.position == this.files.size()) return null;
+
+        Path file = this.files.get(this.position);
+        this.position++;
+
+        String text;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("File is too large: " + file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            text = StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+
+        return new Document(this.position - 1, this.position, size, this.root.relativize(file).toString(), text);
+
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.files.clear();
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+/**
+ * <p>Holds a single document read by a {@link DocumentReader}, together with its position in the input.</p>
+ * <p>If the input is a line-delimited file, positions are byte offsets in that file. If the input is a folder, positions are ordinal numbers of files in that folder.</p>
+ */
+final class Document {
+
+    private final long offset;
+    private final long end;
+    private final long size;
+    private final String name;
+    private final String text;
+
+    /**
+     * @param offset Long holding the position at which the document starts.
+     * @param end Long holding the position at which the next document starts. Processing is resumed from this position.
+     * @param size Long holding the number of bytes in the document.
+     * @param name String holding the file name if the document was read from a folder, or null.
+     * @param text String holding the text of the document.
+     */
+    Document(long offset, long end, long size, String name, String text) {
+        this.offset = offset;
+        this.end = end;
+        this.size = size;
+        this.name = name;
+        this.text = text;
+    }
+
+    long getOffset() {
+        return this.offset;
+    }
+
+    long getEnd() {
+        return this.end;
+    }
+
+    long getSize() {
+        return this.size;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    String getText() {
+        return this.text;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>Reads documents one by one from the input of a batch.</p>
+ * <p>Readers never hold more than the current document in memory, so the size of the input is not limited by the heap.</p>
+ */
+abstract class DocumentReader implements Closeable {
+
+    /**
+     * @param input Path to a folder or to a line-delimited file.
+     * @param offset Long holding the position from which reading starts (see {@link Document}).
+     * @return Instance of the reader appropriate for the input.
+     * @throws IOException if the input cannot be opened.
+     */
+    static DocumentReader open(Path input, long offset) throws IOException {
+        if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative.");
+        if (Files.isDirectory(input)) {
+            return new DirectoryReader(input, offset);
+        } else {
+            return new LineFileReader(input, offset);
+        }
+    }
+
+    /**
+     * @return Instance of the {@link Document} class holding the next document, or null if there are no more documents.
+     * @throws IOException if reading fails.
+     */
+    abstract Document next() throws IOException;
+
+}
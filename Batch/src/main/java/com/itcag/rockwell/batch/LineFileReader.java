@@ -0,0 +1,115 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import com.itcag.util.txt.TextToolbox;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Reads a file in which every line holds one document.</p>
+ * <p>The file is memory-mapped in windows, and only the bytes of the current line are copied to the heap. A window is remapped when a line crosses its end, and doubled if a single line does not fit into it. Empty lines are skipped.</p>
+ */
+final class LineFileReader extends DocumentReader {
+
+    private final static int WINDOW = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer buffer = null;
+    private long bufferStart = 0;
+
+    private long position;
+
+    LineFileReader(Path input, long offset) throws IOException {
+        this.channel = FileChannel.open(input, StandardOpenOption.READ);
+        this.size = this.channel.size();
+        if (offset > this.size) throw new IllegalArgumentException("Offset " + offset + " is beyond the end of the file: " + input);
+        this.position = offset;
+    }
+
+    @Override
+    Document next() throws IOException {
+
+        while (this.position < this.size) {
+
+            long start = this.position;
+            if (this.buffer == null || start >= this.bufferStart + this.buffer.limit()) map(start, WINDOW);
+
+            int from = (int) (start - this.bufferStart);
+            int to = find(from);
+            if (to < 0) {
+                if (this.bufferStart + this.buffer.limit() < this.size) {
+                    /**
+                     * The line crosses the end of the window.
+                     */
+                    map(start, from == 0 ? 2L * this.buffer.limit() : WINDOW);
+                    continue;
+                }
+                to = this.buffer.limit();
+                this.position = this.size;
+            } else {
+                this.position = this.bufferStart + to + 1;
+            }
+
+            int length = to - from;
+            if (length > 0 && this.buffer.get(from + length - 1) == '\r') length--;
+
+            byte[] bytes = new byte[length];
+            this.buffer.position(from);
+            this.buffer.get(bytes);
+
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            if (TextToolbox.isEmpty(text)) continue;
+
+            return new Document(start, this.position, length, null, text);
+
+        }
+
+        return null;
+
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.buffer = null;
+        this.channel.close();
+    }
+
+    private int find(int from) {
+        for (int i = from; i < this.buffer.limit(); i++) {
+            if (this.buffer.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    private void map(long start, long length) throws IOException {
+        length = Math.min(length, this.size - start);
+        if (length > Integer.MAX_VALUE) throw new IOException("Line at offset " + start + " is too long.");
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        this.bufferStart = start;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import com.itcag.rockwell.lang.Extract;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.pipeline.Analysis;
+import com.itcag.rockwell.pipeline.Pipeline;
+
+import java.util.ArrayList;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * <p>Converts results of a {@link com.itcag.rockwell.pipeline.Pipeline Pipeline} into JSON records - one record per document.</p>
+ * <p>Every record holds the <i>offset</i> and <i>end</i> of the document in the input, the file <i>name</i> if the input is a folder, and either the results in the <i>sentences</i> array (one element per sentence), or the <i>error</i> that prevented processing.</p>
+ */
+final class Records {
+
+    /**
+     * Processes a document, and returns its results as a JSON array with one element per sentence.
+     */
+    interface Processor {
+        JSONArray process(String text) throws Exception;
+    }
+
+    /**
+     * @param pipeline Instance of the {@link com.itcag.rockwell.pipeline.Pipeline Pipeline} class.
+     * @return Processor that calls the pipeline method corresponding to the task the pipeline was initiated for.
+     */
+    static Processor getProcessor(Pipeline pipeline) {
+        switch (pipeline.getTask()) {
+            case NER:
+                return (text) -> fromTags(pipeline.getNamedEntities(text));
+            case CLASSIFY:
+                return (text) -> fromTags(pipeline.classify(text));
+            case EXTRACT:
+                return (text) -> fromExtracts(pipeline.extract(text));
+            case ANALYZE:
+                return (text) -> fromAnalyses(pipeline.analyze(text));
+            default:
+                throw new IllegalArgumentException("Batches can be run only for the " + Pipeline.Tasks.NER.name() + ", " + Pipeline.Tasks.CLASSIFY.name() + ", " + Pipeline.Tasks.EXTRACT.name() + " and " + Pipeline.Tasks.ANALYZE.name() + " tasks, and not for " + pipeline.getTask().name() + ".");
+        }
+    }
+
+    static String getRecord(Document document, JSONArray sentences) {
+        JSONObject retVal = getHeader(document);
+        retVal.put("sentences", sentences);
+        return retVal.toString();
+    }
+
+    static String getRecord(Document document, Exception ex) {
+        JSONObject retVal = getHeader(document);
+        retVal.put("error", ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        return retVal.toString();
+    }
+
+    /**
+     * @param record String holding a record.
+     * @return Long holding the position in the input from which processing continues after this record.
+     */
+    static long getEnd(String record) {
+        return new JSONObject(record).getLong("end");
+    }
+
+    private static JSONObject getHeader(Document document) {
+        JSONObject retVal = new JSONObject();
+        retVal.put("offset", document.getOffset());
+        retVal.put("end", document.getEnd());
+        if (document.getName() != null) retVal.put("name", document.getName());
+        return retVal;
+    }
+
+    private static JSONArray fromTags(ArrayList<ArrayList<Tag>> sentences) {
+        JSONArray retVal = new JSONArray();
+        for (ArrayList<Tag> tags : sentences) {
+            retVal.put(getTags(tags));
+        }
+        return retVal;
+    }
+
+    private static JSONArray fromExtracts(ArrayList<ArrayList<Extract>> sentences) {
+        JSONArray retVal = new JSONArray();
+        for (ArrayList<Extract> extracts : sentences) {
+            retVal.put(getExtracts(extracts));
+        }
+        return retVal;
+    }
+
+    private static JSONArray fromAnalyses(ArrayList<Analysis> sentences) {
+        JSONArray retVal = new JSONArray();
+        for (Analysis analysis : sentences) {
+            JSONObject sentence = new JSONObject();
+            sentence.put("namedEntities", getTags(analysis.getNamedEntities()));
+            sentence.put("categories", getTags(analysis.getCategories()));
+            sentence.put("extracts", getExtracts(analysis.getExtracts()));
+            retVal.put(sentence);
+        }
+        return retVal;
+    }
+
+    private static JSONArray getTags(ArrayList<Tag> tags) {
+        JSONArray retVal = new JSONArray();
+        for (Tag tag : tags) {
+            JSONObject item = new JSONObject();
+            item.put("tag", tag.getTag());
+            item.put("script", tag.getScript());
+            item.put("start", tag.getStart());
+            item.put("end", tag.getEnd());
+            retVal.put(item);
+        }
+        return retVal;
+    }
+
+    private static JSONArray getExtracts(ArrayList<Extract> extracts) {
+        JSONArray retVal = new JSONArray();
+        for (Extract extract : extracts) {
+            JSONObject item = new JSONObject();
+            item.put("meaning", extract.getMeaning());
+            item.put("value", extract.getValue());
+            item.put("script", extract.getScript());
+            retVal.put(item);
+        }
+        return retVal;
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.batch;
+
+import com.itcag.util.Printer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Writes records to a JSONL file on a dedicated thread.</p>
+ * <p>Records are submitted as futures in the order of the input, and written in that order as they complete, so that the output is always a complete prefix of the input. The number of submitted futures is bounded, which stops reading when processing or writing falls behind.</p>
+ * <p>The output is buffered and flushed only when the writer is closed. Throughput is printed periodically.</p>
+ */
+final class ResultWriter {
+
+    /**
+     * Holds a document and its record.
+     */
+    static final class Result {
+
+        private final Document document;
+        private final String record;
+        private final boolean failed;
+
+        Result(Document document, String record, boolean failed) {
+            this.document = document;
+            this.record = record;
+            this.failed = failed;
+        }
+
+    }
+
+    private final static int BUFFER_SIZE = 1 << 16;
+
+    private final static CompletableFuture<Result> END = CompletableFuture.completedFuture(null);
+
+    private final ArrayBlockingQueue<CompletableFuture<Result>> queue;
+    private final Writer writer;
+    private final Thread thread;
+    private final long reportInterval;
+    private final long start;
+
+    private volatile Throwable failure = null;
+
+    /**
+     * These fields are updated only by the writing thread.
+     */
+    private long documents = 0;
+    private long failures = 0;
+    private long bytes = 0;
+    private long end;
+
+    /**
+     * @param output Path to the output file.
+     * @param offset Long holding the offset from which the input is read. If it is zero the output file is overwritten, otherwise records are appended to it.
+     * @param capacity Integer holding the maximum number of records waiting to be written.
+     * @param reportInterval Long holding the number of milliseconds between the throughput reports. Zero disables the reports.
+     * @throws IOException if the output cannot be opened.
+     */
+    ResultWriter(Path output, long offset, int capacity, long reportInterval) throws IOException {
+
+        FileChannel channel;
+        if (offset == 0) {
+            channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            /**
+             * A record interrupted by a crash is removed, because it is processed again.
+             */
+            channel.truncate(findLastNewline(channel, channel.size()) + 1);
+            channel.position(channel.size());
+        }
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.reportInterval = reportInterval;
+        this.start = System.currentTimeMillis();
+        this.end = offset;
+
+        this.thread = new Thread(this::drain, "rockwell-batch-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+
+    }
+
+    /**
+     * Blocks while the maximum number of records is waiting to be written.
+     * @param result Future completing with the record of the next document in the input.
+     * @throws Exception if writing has failed.
+     */
+    void write(CompletableFuture<Result> result) throws Exception {
+        while (!this.queue.offer(result, 100, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+    }
+
+    /**
+     * Waits until all submitted records are written, and closes the output.
+     * @return Instance of the {@link BatchReport} class.
+     * @throws Exception if writing has failed.
+     */
+    BatchReport close() throws Exception {
+        try {
+            while (this.failure == null && !this.queue.offer(END, 100, TimeUnit.MILLISECONDS)) {}
+            this.thread.join();
+        } finally {
+            this.writer.close();
+        }
+        checkFailure();
+        return getReport();
+    }
+
+    private void drain() {
+
+        try {
+
+            long nextReport = this.start + this.reportInterval;
+
+            while (true) {
+
+                CompletableFuture<Result> future = this.queue.take();
+                if (future == END) break;
+
+                Result result = future.join();
+                this.writer.write(result.record);
+                this.writer.write('\n');
+
+                this.documents++;
+                this.bytes += result.document.getSize();
+                if (result.failed) this.failures++;
+                this.end = result.document.getEnd();
+
+                if (this.reportInterval > 0 && System.currentTimeMillis() >= nextReport) {
+                    Printer.print(getReport().toString());
+                    nextReport = System.currentTimeMillis() + this.reportInterval;
+                }
+
+            }
+
+            this.writer.flush();
+
+        } catch (Throwable ex) {
+            this.failure = ex;
+        }
+
+    }
+
+    private BatchReport getReport() {
+        return new BatchReport(this.documents, this.failures, this.bytes, System.currentTimeMillis() - this.start, this.end);
+    }
+
+    private void checkFailure() throws Exception {
+        if (this.failure == null) return;
+        if (this.failure instanceof Exception) throw (Exception) this.failure;
+        throw new IllegalStateException("Writing failed.", this.failure);
+    }
+
+    /**
+     * @param output Path to an output file.
+     * @return String holding the last complete record in the file, or null if there is none.
+     * @throws IOException if the file cannot be read.
+     */
+    static String getLastRecord(Path output) throws IOException {
+
+        if (!Files.exists(output)) return null;
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.READ)) {
+
+            long last = findLastNewline(channel, channel.size());
+            if (last < 0) return null;
+
+            long previous = findLastNewline(channel, last);
+            long length = last - previous - 1;
+            if (length > Integer.MAX_VALUE) throw new IOException("Record is too long.");
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            channel.read(buffer, previous + 1);
+            buffer.flip();
+
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+
+        }
+
+    }
+
+    /**
+     * @return Long holding the position of the last line break before the specified position, or -1 if there is none.
+     */
+    private static long findLastNewline(FileChannel channel, long before) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        long position = before;
+        while (position > 0) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            position -= length;
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of file.");
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') return position + i;
+            }
+        }
+
+        return -1;
+
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.itcag.rockwell.batch;
+
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.pipeline.Pipeline;
+import com.itcag.rockwell.pipeline.PropertyFields;
+import com.itcag.rockwell.semantex.ner.NER;
+import com.itcag.util.Printer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class BatchRunnerTest {
+    
+    private final static String[] DOCUMENTS = {
+        "Mr. John Smith joined Acme Holdings Inc. in March.",
+        "The quick brown fox jumps over the lazy dog. Dr. Jane Doe did not.",
+        "Microsoft hired Bill Jones.",
+        "Nothing happened here.",
+    };
+    
+    private final Pipeline pipeline;
+    
+    public BatchRunnerTest() throws Exception {
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.NER.name());
+        properties.put(PropertyFields.INSTRUCTIONS.getField(), NER.Instructions.PERSONS.name() + ", " + NER.Instructions.ORGANIZATIONS.name());
+        this.pipeline = new Pipeline(properties);
+    }
+    
+    @Test
+    public void testTest() throws Exception {
+        runFile();
+        resumeFile();
+        runFolder();
+    }
+    
+    private void runFile() throws Exception {
+        
+        Path input = getInput();
+        Path output = Files.createTempFile("batch", ".jsonl");
+        
+        BatchReport report = new BatchRunner(this.pipeline, 2, 0).run(input.toString(), output.toString());
+        Printer.print(report.toString());
+        
+        List<String> records = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(DOCUMENTS.length, records.size());
+        assertEquals(DOCUMENTS.length, report.getDocuments());
+        assertEquals(0, report.getFailures());
+        assertEquals(Files.size(input), report.getEnd());
+        
+        long previous = -1;
+        for (int i = 0; i < records.size(); i++) {
+            JSONObject record = new JSONObject(records.get(i));
+            assertEquals(true, record.getLong("offset") > previous);
+            previous = record.getLong("offset");
+            assertEquals(getExpected(DOCUMENTS[i]), record.getJSONArray("sentences").toString());
+        }
+        
+        Files.delete(input);
+        Files.delete(output);
+        
+    }
+    
+    private void resumeFile() throws Exception {
+        
+        Path input = getInput();
+        Path output = Files.createTempFile("batch", ".jsonl");
+        
+        BatchRunner runner = new BatchRunner(this.pipeline, 2, 0);
+        runner.run(input.toString(), output.toString());
+        List<String> expected = Files.readAllLines(output, StandardCharsets.UTF_8);
+        
+        /**
+         * Simulates a batch interrupted in the middle of the third record.
+         */
+        List<String> records = new ArrayList<>(expected.subList(0, 2));
+        Files.write(output, records, StandardCharsets.UTF_8);
+        Files.write(output, expected.get(2).substring(0, 10).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        
+        long offset = BatchRunner.getResumeOffset(output.toString());
+        assertEquals(new JSONObject(expected.get(1)).getLong("end"), offset);
+        
+        BatchReport report = runner.run(input.toString(), output.toString(), offset);
+        assertEquals(DOCUMENTS.length - 2, report.getDocuments());
+        assertEquals(expected, Files.readAllLines(output, StandardCharsets.UTF_8));
+        
+        Files.delete(input);
+        Files.delete(output);
+        
+    }
+    
+    private void runFolder() throws Exception {
+        
+        Path folder = Files.createTempDirectory("batch");
+        for (int i = 0; i < DOCUMENTS.length; i++) {
+            Files.write(folder.resolve("document" + i + ".txt"), DOCUMENTS[i].getBytes(StandardCharsets.UTF_8));
+        }
+        Path output = Files.createTempFile("batch", ".jsonl");
+        
+        new BatchRunner(this.pipeline, 3, 0).run(folder.toString(), output.toString(), 1);
+        
+        List<String> records = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(DOCUMENTS.length - 1, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            JSONObject record = new JSONObject(records.get(i));
+            assertEquals("document" + (i + 1) + ".txt", record.getString("name"));
+            assertEquals(i + 2, record.getLong("end"));
+            assertEquals(getExpected(DOCUMENTS[i + 1]), record.getJSONArray("sentences").toString());
+            Printer.print(records.get(i));
+        }
+        
+        for (int i = 0; i < DOCUMENTS.length; i++) {
+            Files.delete(folder.resolve("document" + i + ".txt"));
+        }
+        Files.delete(folder);
+        Files.delete(output);
+        
+    }
+    
+    /**
+     * Documents are separated by empty lines and Windows line breaks, which the reader must skip.
+     */
+    private Path getInput() throws Exception {
+        Path retVal = Files.createTempFile("batch", ".txt");
+        Files.write(retVal, String.join("\r\n\n", DOCUMENTS).getBytes(StandardCharsets.UTF_8));
+        return retVal;
+    }
+    
+    private String getExpected(String document) throws Exception {
+        JSONArray retVal = new JSONArray();
+        for (ArrayList<Tag> sentence : this.pipeline.getNamedEntities(document)) {
+            JSONArray tags = new JSONArray();
+            for (Tag tag : sentence) {
+                JSONObject item = new JSONObject();
+                item.put("tag", tag.getTag());
+                item.put("script", tag.getScript());
+                item.put("start", tag.getStart());
+                item.put("end", tag.getEnd());
+                tags.put(item);
+            }
+            retVal.put(tags);
+        }
+        return retVal.toString();
+    }
+    
+}
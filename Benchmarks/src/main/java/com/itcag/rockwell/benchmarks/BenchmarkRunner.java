@@ -0,0 +1,49 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the benchmarks with the GC profiler attached, so that the allocation rate is reported next to the throughput.</p>
+ * <p>Arguments are optional regular expressions selecting the benchmarks to be run (e.g., <i>Tagger</i>). If none is specified, all benchmarks are run.</p>
+ * <p>Resources are loaded from the module folders, so the benchmarks must be run with the compiled classes on the class path rather than from a packaged jar (see the <i>benchmark</i> profile in the pom file of this module).</p>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+
+        ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class);
+
+        if (args.length == 0) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+        } else {
+            for (String arg : args) {
+                options.include(arg);
+            }
+        }
+
+        new Runner(options.build()).run();
+
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+/**
+ * <p>Enumerates the corpora that benchmarks can be parameterized with.</p>
+ * <p>Synthetic corpora are generated deterministically (see {@link Corpus}), so that results of different runs are comparable.</p>
+ */
+public enum Corpora {
+
+    /** Synthetic corpus of short sentences (about ten words each). */
+    SHORT,
+    /** Synthetic corpus of medium sentences (about thirty words each). */
+    MEDIUM,
+    /** Synthetic corpus of pathologically long sentences (several hundred words each, without terminal punctuation until the very end). */
+    LONG,
+    /** Sample of news articles bundled with this module in the <i>corpus</i> file. */
+    SAMPLE,
+
+    ;
+
+}
@@ -0,0 +1,175 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.split.Splitter;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+
+import java.util.ArrayList;
+
+/**
+ * <p>This class provides the input for the benchmarks in the form expected by each stage of the pipeline: raw texts, split sentences, tokenized words and lemmatized tokens.</p>
+ * <p>Inputs for the later stages are prepared by running the earlier stages once, so that a benchmark measures only the stage it is named after.</p>
+ */
+public final class Corpus {
+
+    private final static String[] SUBJECTS = {
+        "The company",
+        "A small startup",
+        "The board of directors",
+        "Our largest investor",
+        "The new chief executive",
+        "Several analysts",
+        "The regulator",
+        "A spokesperson for the bank",
+    };
+
+    private final static String[] PREDICATES = {
+        "announced the acquisition of a rival",
+        "raised new funding from investors",
+        "confirmed the merger with its competitor",
+        "filed for an initial public offering",
+        "declined to comment on the deal",
+        "picked up seed funding",
+        "completed the purchase of the factory",
+        "secured a strategic investment",
+    };
+
+    private final static String[] MODIFIERS = {
+        "on Monday",
+        "in Berlin",
+        "last year",
+        "after a long delay",
+        "according to people familiar with the matter",
+        "despite the objections of the shareholders",
+        "for an undisclosed sum",
+        "without any conditions",
+    };
+
+    private final static int SHORT_TEXTS = 64;
+    private final static int MEDIUM_TEXTS = 32;
+    private final static int LONG_TEXTS = 4;
+    private final static int LONG_CLAUSES = 40;
+
+    /**
+     * @param corpus Value of the {@link Corpora} enum.
+     * @return Array list of strings holding the texts in the corpus.
+     * @throws Exception if anything goes wrong.
+     */
+    public final static ArrayList<String> getTexts(Corpora corpus) throws Exception {
+
+        ArrayList<String> retVal = new ArrayList<>();
+
+        switch (corpus) {
+            case SHORT:
+                for (int i = 0; i < SHORT_TEXTS; i++) {
+                    retVal.add(getClause(i) + ".");
+                }
+                break;
+            case MEDIUM:
+                for (int i = 0; i < MEDIUM_TEXTS; i++) {
+                    retVal.add(getClause(i) + ", while " + lowercase(getClause(i + 1)) + ", and " + lowercase(getClause(i + 2)) + ".");
+                }
+                break;
+            case LONG:
+                for (int i = 0; i < LONG_TEXTS; i++) {
+                    StringBuilder text = new StringBuilder(getClause(i));
+                    for (int j = 1; j < LONG_CLAUSES; j++) {
+                        text.append(j % 2 == 0 ? ", and " : ", while ").append(lowercase(getClause(i + j)));
+                    }
+                    text.append(".");
+                    retVal.add(text.toString());
+                }
+                break;
+            case SAMPLE:
+                retVal.addAll(new Loader().load("corpus"));
+                break;
+        }
+
+        return retVal;
+
+    }
+
+    private static String getClause(int i) {
+        return SUBJECTS[i % SUBJECTS.length] + " " + PREDICATES[(i * 3 + 1) % PREDICATES.length] + " " + MODIFIERS[(i * 5 + 2) % MODIFIERS.length];
+    }
+
+    private static String lowercase(String clause) {
+        return Character.toLowerCase(clause.charAt(0)) + clause.substring(1);
+    }
+
+    /**
+     * @param corpus Value of the {@link Corpora} enum.
+     * @return Array list of strings holding the sentences in the corpus, as they are passed from the splitter to the tokenizer within the pipeline.
+     * @throws Exception if anything goes wrong.
+     */
+    public final static ArrayList<String> getSentences(Corpora corpus) throws Exception {
+
+        ArrayList<String> retVal = new ArrayList<>();
+
+        Splitter splitter = Stages.getSplitter();
+        for (String text : getTexts(corpus)) {
+            for (StringBuilder sentence : splitter.splitInPipeline(text)) {
+                retVal.add(sentence.toString());
+            }
+        }
+
+        return retVal;
+
+    }
+
+    /**
+     * @param corpus Value of the {@link Corpora} enum.
+     * @return Array list containing the tokenized sentences in the corpus.
+     * @throws Exception if anything goes wrong.
+     */
+    public final static ArrayList<ArrayList<String>> getWords(Corpora corpus) throws Exception {
+
+        ArrayList<ArrayList<String>> retVal = new ArrayList<>();
+
+        Tokenizer tokenizer = Stages.getTokenizer();
+        for (String sentence : getSentences(corpus)) {
+            retVal.add(tokenizer.tokenizeInPipeline(new StringBuilder(sentence)));
+        }
+
+        return retVal;
+
+    }
+
+    /**
+     * @param corpus Value of the {@link Corpora} enum.
+     * @return Array list containing the sentences in the corpus represented as lists of {@link com.itcag.rockwell.lang.Token tokens}.
+     * @throws Exception if anything goes wrong.
+     */
+    public final static ArrayList<ArrayList<Token>> getTokens(Corpora corpus) throws Exception {
+
+        ArrayList<ArrayList<Token>> retVal = new ArrayList<>();
+
+        Lemmatizer lemmatizer = Stages.getLemmatizer();
+        for (ArrayList<String> words : getWords(corpus)) {
+            retVal.add(lemmatizer.lemmatize(words));
+        }
+
+        return retVal;
+
+    }
+
+}
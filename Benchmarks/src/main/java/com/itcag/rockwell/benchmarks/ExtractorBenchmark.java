@@ -0,0 +1,81 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.rockwell.extr.Extractor;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.semantex.ner.NER;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Measures {@link com.itcag.rockwell.extr.Extractor#extract(java.util.ArrayList) Extractor.extract} with the test frames bundled with the Extractor module.</p>
+ * <p>Frames refer to named entities, so the named entities are inserted into the sentences in advance.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractorBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG", "SAMPLE"})
+    private Corpora corpus;
+
+    private Extractor extractor;
+
+    private ArrayList<ArrayList<Token>> sentences;
+
+    @Setup
+    public void setup() throws Exception {
+
+        Loader loader = new Loader(Extractor.class);
+        this.extractor = new Extractor(loader.getPath("testExtractionSelectors"), loader.getPath("testExtractionFrames"));
+
+        NER ner = new NER();
+        this.sentences = new ArrayList<>();
+        for (ArrayList<Token> tokens : Corpus.getTokens(this.corpus)) {
+            this.sentences.add(ner.insert(tokens));
+        }
+
+    }
+
+    @Benchmark
+    public void extract(Blackhole blackhole) throws Exception {
+        for (ArrayList<Token> tokens : this.sentences) {
+            blackhole.consume(this.extractor.extract(tokens));
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Measures {@link com.itcag.rockwell.tokenizer.Lemmatizer#lemmatize(java.util.ArrayList) Lemmatizer.lemmatize} over tokenized sentences.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LemmatizerBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG", "SAMPLE"})
+    private Corpora corpus;
+
+    private Lemmatizer lemmatizer;
+
+    private ArrayList<ArrayList<String>> sentences;
+
+    @Setup
+    public void setup() throws Exception {
+        this.lemmatizer = Stages.getLemmatizer();
+        this.sentences = Corpus.getWords(this.corpus);
+    }
+
+    @Benchmark
+    public void lemmatize(Blackhole blackhole) throws Exception {
+        for (ArrayList<String> words : this.sentences) {
+            blackhole.consume(this.lemmatizer.lemmatize(words));
+        }
+    }
+
+}
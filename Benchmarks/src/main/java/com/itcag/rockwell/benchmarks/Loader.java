@@ -0,0 +1,64 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.util.io.Resources;
+
+import java.util.ArrayList;
+
+/**
+ * <p>This class reads a text file from the local <i>Other Resources</i> folder, and returns an array list containing lines in the file.</p>
+ * <p>Unlike the loaders of the other modules, it can also read the files bundled with another module, so that benchmarks run on the same data as that module.</p>
+ */
+public final class Loader {
+
+    private final Class<?> owner;
+
+    public Loader() throws Exception {
+        this(Loader.class);
+    }
+
+    /**
+     * This constructor is used to locate resources bundled with another module.
+     * @param owner Class belonging to the module whose resources are to be loaded.
+     * @throws Exception if anything goes wrong.
+     */
+    public Loader(Class<?> owner) throws Exception {
+        this.owner = owner;
+    }
+
+    /**
+     * @param resource String holding the name of the local text file.
+     * @return String holding the local path to that file.
+     * @throws Exception if anything goes wrong.
+     */
+    public String getPath(String resource) throws Exception {
+        return Resources.getPath(this.owner, resource);
+    }
+
+    /**
+     * @param resource String holding the name of the local text file.
+     * @return Array list containing lines in that file.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<String> load(String resource) throws Exception {
+        return Resources.read(this.owner, resource);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.english.LatinUnicodeStandardizer;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.split.Splitter;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * <p>This class creates the pipeline stages the same way the {@link com.itcag.rockwell.pipeline.Pipeline Pipeline} class does for the English language.</p>
+ */
+public final class Stages {
+
+    public final static Splitter getSplitter() throws Exception {
+        return new Splitter(new LatinUnicodeStandardizer(), false);
+    }
+
+    public final static Tokenizer getTokenizer() throws Exception {
+        return new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+    }
+
+    public final static Lemmatizer getLemmatizer() throws Exception {
+        return new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+
+    /**
+     * Returns a ruleset of the requested size.
+     * The ruleset starts with the expressions bundled in the <i>expressions</i> file.
+     * If more expressions are required, they are generated from word sequences occurring in the sample corpus, so that a realistic share of them matches.
+     * @param size Integer holding the number of expressions.
+     * @return Array list of strings holding Rockwell expressions.
+     * @throws Exception if anything goes wrong.
+     */
+    public final static ArrayList<String> getExpressions(int size) throws Exception {
+
+        ArrayList<String> retVal = new ArrayList<>();
+
+        for (String expression : new Loader().load("expressions")) {
+            if (retVal.size() == size) return retVal;
+            retVal.add(expression);
+        }
+
+        HashSet<String> generated = new HashSet<>();
+
+        ArrayList<ArrayList<Token>> sentences = Corpus.getTokens(Corpora.SAMPLE);
+
+        /**
+         * Shorter sequences first, lemmas before words.
+         */
+        for (int length = 2; length <= 4; length++) {
+            for (String operator : new String[] {"@lemma", "@cain"}) {
+                for (ArrayList<Token> tokens : sentences) {
+                    for (int i = 0; i + length <= tokens.size(); i++) {
+                        String condition = getCondition(operator, tokens, i, length);
+                        if (condition == null) continue;
+                        if (!generated.add(condition)) continue;
+                        retVal.add(condition + " | synthetic_" + generated.size());
+                        if (retVal.size() == size) return retVal;
+                    }
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("The sample corpus is too small to generate " + size + " expressions.");
+
+    }
+
+    private static String getCondition(String operator, ArrayList<Token> tokens, int start, int length) {
+
+        StringBuilder retVal = new StringBuilder();
+
+        for (int i = start; i < start + length; i++) {
+            String value = operator.equals("@lemma") ? tokens.get(i).getLemma() : tokens.get(i).getCain();
+            if (value == null || !isWord(value)) return null;
+            if (retVal.length() > 0) retVal.append(" ; ");
+            retVal.append(operator).append(" :").append(value);
+        }
+
+        return retVal.toString();
+
+    }
+
+    private static boolean isWord(String value) {
+        if (value.isEmpty()) return false;
+        for (char c : value.toCharArray()) {
+            if (!Character.isLetter(c)) return false;
+        }
+        return true;
+    }
+
+}
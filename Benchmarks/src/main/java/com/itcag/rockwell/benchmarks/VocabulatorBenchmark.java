@@ -0,0 +1,101 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.benchmarks;
+
+import com.itcag.rockwell.vocabulator.Exclusions;
+import com.itcag.rockwell.vocabulator.PropertyFields;
+import com.itcag.rockwell.vocabulator.phraser.Phraser;
+import com.itcag.rockwell.vocabulator.word.LemmaExtractor;
+
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Measures {@link com.itcag.rockwell.vocabulator.phraser.Phraser#process(java.lang.String) Phraser.process} and {@link com.itcag.rockwell.vocabulator.word.LemmaExtractor#process(java.lang.String) LemmaExtractor.process} over raw texts.</p>
+ * <p>Both classes accumulate their results, so they are recreated before every iteration to keep the size of their indexes comparable between iterations.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VocabulatorBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG", "SAMPLE"})
+    private Corpora corpus;
+
+    private ArrayList<String> texts;
+
+    private Phraser phraser;
+    private LemmaExtractor lemmaExtractor;
+
+    @Setup
+    public void setup() throws Exception {
+        this.texts = Corpus.getTexts(this.corpus);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() throws Exception {
+
+        Loader loader = new Loader(Phraser.class);
+
+        Properties properties = new Properties();
+        properties.put(PropertyFields.MIN_PHRASE_LENGTH.getField(), "2");
+        properties.put(PropertyFields.MAX_PHRASE_LENGTH.getField(), "4");
+        properties.put(PropertyFields.EXCLUSIONS.getField(), Exclusions.STOPWORDS.name() + "," + Exclusions.CONTRACTIONS.name() + "," + Exclusions.SYMBOLS.name() + "," + Exclusions.DIGITS.name());
+        properties.put(PropertyFields.STOPWORDS.getField(), loader.getPath("stopwords"));
+        properties.put(PropertyFields.STOP_PHRASES.getField(), loader.getPath("stopphrases"));
+
+        this.phraser = new Phraser(properties);
+        this.lemmaExtractor = new LemmaExtractor(properties);
+
+    }
+
+    @Benchmark
+    public int phraser() throws Exception {
+        for (String text : this.texts) {
+            this.phraser.process(text);
+        }
+        return this.phraser.indexSize();
+    }
+
+    @Benchmark
+    public int lemmaExtractor() throws Exception {
+        for (String text : this.texts) {
+            this.lemmaExtractor.process(text);
+        }
+        return this.lemmaExtractor.indexSize();
+    }
+
+}
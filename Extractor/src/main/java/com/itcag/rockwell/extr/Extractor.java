@@ -22,10 +22,13 @@ import com.itcag.rockwell.POSTag;
 import com.itcag.rockwell.lang.Extract;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.rockwell.util.TokenToolbox;
 import com.itcag.util.io.TextFileReader;
 
@@ -37,6 +40,7 @@ import java.util.ListIterator;
  * <p>This class extracts data from text using Rockwell frames.</p>
  * <p>To learn more about Rockwell frames see: <a href="https://docs.google.com/document/d/16ehTwHFVetysFeySPHOQ8aue64FrN-F5dwVi2xKFVVc/edit#heading=h.d8ot297jcp4z" target="_blank">Rockwell Frames (User Manual)</a>.</p>
  * <p>Rockwell frames work in conjunction with frame expressions. Frame expressions identify potential frame edges in text, and the frames extract the data enclosed within these edges.</p>
+ * <p>Frame expressions and frames can be changed while this class is in use. Sentences that are being processed are completed with the frame expressions and frames that were in use when their processing started.</p>
  */
 public class Extractor {
 
@@ -104,7 +108,7 @@ public class Extractor {
     
     private final Tagger tagger;
 
-    private final Frames frames;
+    private volatile Frames frames;
     
     /**
      * 
@@ -114,22 +118,92 @@ public class Extractor {
      */
     public Extractor(String frameExpressionPath, String framePath) throws Exception {
         
-        ArrayList<String> expressions = new ArrayList<>();
+        ArrayList<String> expressions = read(frameExpressionPath);
+
+        Debugger debugger = new Debugger(DebuggingClients.EXTRACTOR, 0);
+        
+        this.tagger = new Tagger(Conditions.compile(frameExpressionPath, expressions, false), EnclosedTagModes.ALL, debugger);
+        this.frames = new Frames(framePath);
+        
+    }
+    
+    private static ArrayList<String> read(String frameExpressionPath) throws Exception {
+        
+        ArrayList<String> retVal = new ArrayList<>();
         ArrayList<String> lines = TextFileReader.read(frameExpressionPath);
         for (String line : lines) {
             line = line.trim();
             if (line.isEmpty()) continue;
             if (line.startsWith("#")) continue;
-            expressions.add(line);
+            retVal.add(line);
         }
-
-        Debugger debugger = new Debugger(DebuggingClients.EXTRACTOR, 0);
         
-        this.tagger = new Tagger(expressions, EnclosedTagModes.ALL, debugger);
-        this.frames = new Frames(framePath);
+        return retVal;
         
     }
     
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the counters of the underlying tagger.
+     * This method must be called before this class is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.tagger.setMetrics(metrics);
+    }
+
+    /**
+     * Sets the limits on the states of the underlying tagger for every sentence.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public void setBudget(StateBudget budget) {
+        this.tagger.setBudget(budget);
+    }
+
+    /**
+     * Reads the frame expressions anew, and replaces the current ones with them.
+     * @param frameExpressionPath String holding a local path to a text file containing Rockwell script describing frame expressions.
+     * @throws Exception if anything goes wrong. The current frame expressions remain in use.
+     */
+    public void reloadExpressions(String frameExpressionPath) throws Exception {
+        this.tagger.reload(read(frameExpressionPath));
+    }
+    
+    /**
+     * Reads the frames anew, and replaces the current ones with them.
+     * @param framePath String holding a local path to a text file containing script describing Rockwell frames.
+     * @throws Exception if anything goes wrong. The current frames remain in use.
+     */
+    public void reloadFrames(String framePath) throws Exception {
+        this.frames = new Frames(framePath);
+    }
+    
+    /**
+     * @param expression String holding a Rockwell frame expression.
+     * @throws Exception if anything goes wrong (e.g., the expression is invalid). The current frame expressions remain in use.
+     */
+    public void add(String expression) throws Exception {
+        this.tagger.add(expression);
+    }
+    
+    /**
+     * @param expression String holding a Rockwell frame expression.
+     * @return Boolean indicating whether the expression was found and removed.
+     * @throws Exception if anything goes wrong. The current frame expressions remain in use.
+     */
+    public boolean remove(String expression) throws Exception {
+        return this.tagger.remove(expression);
+    }
+    
+    /**
+     * @param expression String holding a Rockwell frame expression that is replaced.
+     * @param replacement String holding a Rockwell frame expression that replaces it.
+     * @return Boolean indicating whether the replaced expression was found.
+     * @throws Exception if anything goes wrong (e.g., the replacement is invalid). The current frame expressions remain in use.
+     */
+    public boolean replace(String expression, String replacement) throws Exception {
+        return this.tagger.replace(expression, replacement);
+    }
+
     /**
      * This method extracts data from text using Rockwell frames. Extracted data are represented bi the instances of the {@link com.itcag.rockwell.lang.Extract Extract} class.
      * @param tokens Array list of tokens representing a sentence.
@@ -140,6 +214,8 @@ public class Extractor {
         
         ArrayList<Extract> retVal = new ArrayList<>();
         
+        Frames frames = this.frames;
+        
         ArrayList<Tag> tags = this.tagger.tag(tokens);
         if (tags.isEmpty()) return retVal;
 
@@ -147,7 +223,7 @@ public class Extractor {
         Iterator<Tag> tagIterator = tags.iterator();
         while (tagIterator.hasNext()) {
             Tag tag = tagIterator.next();
-            if (this.frames.isEdge(tag)) {
+            if (frames.isEdge(tag)) {
                 edges.add(tag);
                 tagIterator.remove();
             }
@@ -161,7 +237,7 @@ public class Extractor {
         tags.addAll(edges);
         removeErroneous(tags);
 
-        ArrayList<Holder> holders = getHolders(tags, tokens);
+        ArrayList<Holder> holders = getHolders(tags, frames);
         if (!holders.isEmpty()) {
             for (Holder holder : holders) {
                 Extract test = processHolder(holder, tokens);
@@ -270,12 +346,12 @@ public class Extractor {
 
     }
     
-    private ArrayList<Holder> getHolders(ArrayList<Tag> tags, ArrayList<Token> tokens) {
+    private ArrayList<Holder> getHolders(ArrayList<Tag> tags, Frames frames) {
         ArrayList<Holder> retVal = new ArrayList<>();
         ArrayList<String> control = new ArrayList<>();
         for (Tag tag : tags) {
-            if (this.frames.isEdge(tag)) {
-                for (Frame frame : this.frames.getFrames(tag)) {
+            if (frames.isEdge(tag)) {
+                for (Frame frame : frames.getFrames(tag)) {
                     
                     if (control.contains(frame.getScript())) continue;
                     control.add(frame.getScript());
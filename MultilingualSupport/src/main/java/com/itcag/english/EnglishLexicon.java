@@ -20,16 +20,23 @@ package com.itcag.english;
 
 import com.itcag.multilingual.Lexicon;
 import com.itcag.multilingual.Loader;
+import com.itcag.multilingual.LowerCaseTable;
 import com.itcag.rockwell.POSTag;
 import com.itcag.rockwell.lang.Alternatives;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.util.io.Resources;
+import com.itcag.util.io.Snapshots;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * <p>This class loads and stores an English lexicon.</p>
+ * <p>If {@link com.itcag.util.io.Snapshots snapshots} are enabled, the parsed lexicon is stored in a compact binary snapshot, and restored from it as long as the lexicon file does not change.</p>
  * <p>This class is implemented as singleton to avoid reloading lexical resources.</p>
  */
 public final class EnglishLexicon implements Lexicon {
@@ -41,11 +48,11 @@ public final class EnglishLexicon implements Lexicon {
      * @return Instance of this class.
      * @throws Exception If anything goes wrong.
      */
-    public static synchronized EnglishLexicon getInstance() throws Exception {
+    public static EnglishLexicon getInstance() throws Exception {
         if (instance == null) {
             synchronized(EnglishLexicon.class) {
                 if (instance == null) {
-                    instance = new EnglishLexicon();
+                    instance = Resources.load("EnglishLexicon", EnglishLexicon::new);
                 }
             }
         }
@@ -53,15 +60,47 @@ public final class EnglishLexicon implements Lexicon {
     }
     
     /**
-     * Key is word and value is a list of tokens holding alternative part of speech and lemma pairs for the word.
+     * Key is word and value is an unmodifiable list of tokens holding alternative part of speech and lemma pairs for the word.
+     * The tokens are flyweights shared by all sentences, so they are never handed out in a modifiable list.
      */
-    private final HashMap<String, ArrayList<Token>> index = new HashMap<>();
+    private final HashMap<String, List<Token>> index = new HashMap<>();
+    
+    /**
+     * Holds the same lists as the index, and is looked up by words in any case.
+     */
+    private final LowerCaseTable<List<Token>> lowerCaseIndex;
+    
+    private final static String RESOURCE = "english/lexicon";
+    private final static String SNAPSHOT = "english-lexicon";
+    
+    /**
+     * Changes whenever the layout written by the {@link #write(java.io.DataOutputStream)} method changes.
+     */
+    private final static int FORMAT = 1;
     
     private EnglishLexicon() throws Exception {
         
         Loader loader = new Loader();
-        ArrayList<String> items = loader.load("english/lexicon");
+        
+        if (Snapshots.isEnabled()) {
+            String fingerprint = Snapshots.getFingerprint(loader.getPath(RESOURCE));
+            if (Snapshots.read(SNAPSHOT, fingerprint, this::read) == null) {
+                this.index.clear();
+                parse(loader.load(RESOURCE));
+                Snapshots.write(SNAPSHOT, fingerprint, this::write);
+            }
+        } else {
+            parse(loader.load(RESOURCE));
+        }
+        
+        this.lowerCaseIndex = new LowerCaseTable<>(this.index);
 
+    }
+    
+    private void parse(ArrayList<String> items) {
+        
+        HashMap<String, ArrayList<Token>> entries = new HashMap<>();
+        
         for (String item : items) {
             /**
              * word|POS|lemma
@@ -70,21 +109,78 @@ public final class EnglishLexicon implements Lexicon {
             String word = elts[0].trim();
             String pos = elts[1].trim();
             String lemma = elts[2].trim();
-            if (index.containsKey(word)) {
-                index.get(word).add(new Token(word, POSTag.valueOf(pos), lemma));
-            } else {
-                index.put(word, new ArrayList<>(Arrays.asList(new Token(word, POSTag.valueOf(pos), lemma))));
-            }
+            entries.computeIfAbsent(word, (key) -> new ArrayList<>(1)).add(new Token(word, POSTag.valueOf(pos), lemma));
         }
+        
+        entries.forEach((word, tokens) -> {
+            tokens.trimToSize();
+            this.index.put(word, Collections.unmodifiableList(tokens));
+        });
 
     }
     
     /**
-     * @return Hash map containing all words from the lexicon and their alternative part-of-speech interpretations.
+     * Part-of-speech tags are stored by their position in a table of tag names, so that snapshots remain valid if the {@link com.itcag.rockwell.POSTag POSTag} enum is reordered.
+     * A lemma identical to the word is not stored again.
+     */
+    private void write(DataOutputStream output) throws Exception {
+        
+        output.writeInt(FORMAT);
+        
+        POSTag[] tags = POSTag.values();
+        output.writeShort(tags.length);
+        for (POSTag tag : tags) {
+            output.writeUTF(tag.name());
+        }
+        
+        output.writeInt(this.index.size());
+        for (List<Token> tokens : this.index.values()) {
+            output.writeUTF(tokens.get(0).getWord());
+            output.writeShort(tokens.size());
+            for (Token token : tokens) {
+                output.writeShort(token.getPos().ordinal());
+                boolean same = token.getLemma().equals(token.getWord());
+                output.writeBoolean(same);
+                if (!same) output.writeUTF(token.getLemma());
+            }
+        }
+        
+    }
+    
+    private Boolean read(DataInputStream input) throws Exception {
+        
+        if (input.readInt() != FORMAT) return null;
+        
+        POSTag[] tags = new POSTag[input.readShort()];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = POSTag.valueOf(input.readUTF());
+        }
+        
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String word = input.readUTF();
+            int count = input.readShort();
+            ArrayList<Token> tokens = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                POSTag pos = tags[input.readShort()];
+                String lemma = input.readBoolean() ? word : input.readUTF();
+                tokens.add(new Token(word, pos, lemma));
+            }
+            this.index.put(word, Collections.unmodifiableList(tokens));
+        }
+        
+        return Boolean.TRUE;
+        
+    }
+    
+    /**
+     * @return Hash map containing all words from the lexicon and their alternative part-of-speech interpretations. The map and its lists are copies, but the tokens are the shared lexicon entries.
      */
     @Override
-    public final synchronized HashMap<String, ArrayList<Token>> getIndex() {
-        return index;
+    public final HashMap<String, ArrayList<Token>> getIndex() {
+        HashMap<String, ArrayList<Token>> retVal = new HashMap<>(index.size() * 2);
+        index.forEach((word, tokens) -> retVal.put(word, new ArrayList<>(tokens)));
+        return retVal;
     }
     
     /**
@@ -92,7 +188,7 @@ public final class EnglishLexicon implements Lexicon {
      * @return Boolean indication whether the word is in the lexicon or not.
      */
     @Override
-    public final synchronized boolean isKnown(String word) {
+    public final boolean isKnown(String word) {
         return index.containsKey(word);
     }
     
@@ -101,8 +197,28 @@ public final class EnglishLexicon implements Lexicon {
      * @return Instance of the {@link com.itcag.rockwell.lang.Alternatives Alternatives} class containing alternative part-of-speech interpretations for the word, or null if the word is not recognized.
      */
     @Override
-    public final synchronized Alternatives getAlternatives(String word) {
-        return new Alternatives(index.get(word));
+    public final Alternatives getAlternatives(String word) {
+        List<Token> tokens = index.get(word);
+        if (tokens == null) return new Alternatives(null);
+        return new Alternatives(new ArrayList<>(tokens));
+    }
+
+    /**
+     * @param word String holding a word.
+     * @return Unmodifiable list containing the shared lexicon entries for the word, or null if the word is not in the lexicon.
+     */
+    @Override
+    public final List<Token> getEntries(String word) {
+        return index.get(word);
+    }
+
+    /**
+     * @param word Character sequence holding a word in any case. It is not converted to lower case.
+     * @return Unmodifiable list containing the shared lexicon entries for the lower case word, or null if the lower case word is not in the lexicon.
+     */
+    @Override
+    public final List<Token> getLowerCaseEntries(CharSequence word) {
+        return lowerCaseIndex.get(word);
     }
 
 }
@@ -20,6 +20,7 @@ package com.itcag.english;
 
 import com.itcag.multilingual.Loader;
 import com.itcag.multilingual.Misspellings;
+import com.itcag.util.io.Resources;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -36,11 +37,11 @@ public final class EnglishMisspellings implements Misspellings {
      * @return Instance of this class.
      * @throws Exception If anything goes wrong.
      */
-    public static synchronized EnglishMisspellings getInstance() throws Exception {
+    public static EnglishMisspellings getInstance() throws Exception {
         if (instance == null) {
             synchronized(EnglishMisspellings.class) {
                 if (instance == null) {
-                    instance = new EnglishMisspellings();
+                    instance = Resources.load("EnglishMisspellings", EnglishMisspellings::new);
                 }
             }
         }
@@ -72,7 +73,7 @@ public final class EnglishMisspellings implements Misspellings {
      * @return Hash map containing misspellings and their corrections.
      */
     @Override
-    public final synchronized HashMap<String, String> getIndex() {
+    public final HashMap<String, String> getIndex() {
         return index;
     }
     
@@ -81,7 +82,7 @@ public final class EnglishMisspellings implements Misspellings {
      * @return Boolean indicating whether the word is recognized as a misspelling.
      */
     @Override
-    public final synchronized boolean contains(String word) {
+    public final boolean contains(String word) {
         return index.containsKey(word);
     }
     
@@ -90,7 +91,7 @@ public final class EnglishMisspellings implements Misspellings {
      * @return String holding the correction of the misspelled word, or null if the word is not recognized.
      */
     @Override
-    public final synchronized String getReplacement(String word) {
+    public final String getReplacement(String word) {
         return index.get(word);
     }
     
@@ -19,12 +19,12 @@
 package com.itcag.english;
 
 import com.itcag.multilingual.LexicalResources;
+import com.itcag.multilingual.NumericalExpression;
 import com.itcag.multilingual.NumericalExpressionDetector;
 import com.itcag.util.Converter;
-import com.itcag.util.txt.TextToolbox;
 
 /**
- * <p>Analyzes a single token (passed as an array of characters), and identifies:</p>
+ * <p>Analyzes a single token, and identifies:</p>
  * <ul>
  * <li>{@link Type#PERCENTAGE percentage} (percent/per mille sign + number),</li>
  * <li>{@link Type#QUANTITY quantity} (measuring unit + number),</li>
@@ -34,223 +34,129 @@ import com.itcag.util.txt.TextToolbox;
  * <p>If identified, currency, quantity and percentage are split into separate tokens (number and symbols as two separate tokens).</p>
  * <p>This class operates in the following manner:</p>
  * <ol>
- * <li>A token is converted to an array consisting of characters.</li>
- * <li>The array is passed to the {@link #split(char[])} method.</li>
- * <li>If a numerical expression was identified, this method returns TRUE, or FALSE otherwise.</li>
- * <li>If this method returns TRUE, the {@link #getNumber()}, {@link #getNumberAsString()}, {@link #getRest()} and {@link #getType()} methods are called, in order to retrieve the components of the numerical expression.</li>
+ * <li>A token is passed to the {@link #detect(java.lang.CharSequence, int, int)} method, optionally with the range of characters it occupies in a longer sequence.</li>
+ * <li>If a numerical expression was identified, this method returns an instance of the {@link com.itcag.multilingual.NumericalExpression NumericalExpression} class holding its components, or null otherwise.</li>
  * </ol>
+ * <p>This class holds no state besides the lexical resources, so a single instance can be used by any number of threads.</p>
  */
 public final class EnglishNumericalExpressionDetector implements NumericalExpressionDetector {
     
     private final LexicalResources lexicalResources;
 
-    private Type type = null;
-    private Double number = null;
-    
-    private Boolean negative = null;
-    private Boolean cca = null;
-    private Boolean plusMinus = null;
-    
-    private final StringBuilder digits = new StringBuilder();
-    private final StringBuilder prefix = new StringBuilder();
-    private final StringBuilder suffix = new StringBuilder();
-    
     public EnglishNumericalExpressionDetector() throws Exception {
         this.lexicalResources = LexicalResources.getInstance();
     }
     
     /**
-     * This method analyzes an array of characters representing a token, identifies numerical expressions, and splits them if required into a number and symbols.
-     * @param chars Array of characters to be analyzed.
-     * @return Boolean indicating whether one or more numerical expressions were identified.
+     * This method analyzes a range of characters representing a token, identifies numerical expressions, and splits them if required into a number and symbols.
+     * The characters are only copied once the token has been recognized as a numerical expression.
+     * @param word Character sequence containing the token.
+     * @param start Integer holding the index of the first character of the token.
+     * @param end Integer holding the index after the last character of the token.
+     * @return Instance of the {@link com.itcag.multilingual.NumericalExpression NumericalExpression} class, or null if no numerical expression was identified.
      */
     @Override
-    public final boolean split(char[] chars) {
+    public final NumericalExpression detect(CharSequence word, int start, int end) {
         
-        if (chars.length == 0) return false;
+        if (start >= end) return null;
 
-        if (Character.isLetter(chars[0])) return false;
+        if (Character.isLetter(word.charAt(start))) return null;
 
-        for (int i = 0; i < chars.length; i++) {
+        boolean negative = false;
+        boolean cca = false;
+        boolean plusMinus = false;
+        
+        /**
+         * Boundaries of the prefix, digits and suffix.
+         */
+        int prefixStart = start;
+        int digitsStart = -1;
+        int suffixStart = -1;
+        boolean separators = false;
+        
+        for (int i = start; i < end; i++) {
 
-            if (chars[i] == 43) {
+            char c = word.charAt(i);
+            
+            if (c == 43) {
                 /**
                  * Plus sign.
                  */
-                if (i == 0) {
-                    this.negative = false;
-                } else {
-                    return false;
-                }
-            } else if (chars[i] == 45) {
+                if (i != start) return null;
+                prefixStart = i + 1;
+            } else if (c == 45) {
                 /**
                  * Minus sign.
                  */
-                if (i == 0) {
-                    this.negative = false;
-                } else {
-                    return false;
-                }
-            } else if (chars[i] == 177 || chars[i] == 8723) {
+                if (i != start) return null;
+                negative = true;
+                prefixStart = i + 1;
+            } else if (c == 177 || c == 8723) {
                 /**
                  * Plus/minus sign.
                  */
-                if (i == 0) {
-                    this.plusMinus = false;
-                } else {
-                    return false;
-                }
-            } else if (chars[i] == 126) {
+                if (i != start) return null;
+                plusMinus = true;
+                prefixStart = i + 1;
+            } else if (c == 126) {
                 /**
                  * Tilde sign.
                  */
-                if (i == 0) {
-                    this.cca = false;
-                } else {
-                    return false;
-                }
-            } else if (chars[i] == 44 || chars[i] == 46) {
+                if (i != start) return null;
+                cca = true;
+                prefixStart = i + 1;
+            } else if (c == 44 || c == 46) {
                 /**
                  * Comma and period.
                  */
-                if (this.digits.length() == 0) return false;
-                this.digits.append(chars[i]);
-            } else if (Character.isDigit(chars[i])) {
-                if (this.suffix.length() > 0) return false;
-                this.digits.append(chars[i]);
+                if (digitsStart == -1 || suffixStart != -1) return null;
+                if (c == 44) separators = true;
+            } else if (Character.isDigit(c)) {
+                if (suffixStart != -1) return null;
+                if (digitsStart == -1) digitsStart = i;
             } else {
-                if (digits.length() == 0) {
-                    this.prefix.append(chars[i]);
-                } else {
-                    this.suffix.append(chars[i]);
-                }
+                if (digitsStart != -1 && suffixStart == -1) suffixStart = i;
             }
             
         }
         
-        /**
-         * Ensure that the entire char array was analyzed.
-         */
-        int length = this.prefix.length() + this.digits.length() + this.suffix.length();
-        if (this.negative != null) length++;
-        if (length != chars.length) return false;
+        if (digitsStart == -1) return null;
+        int digitsEnd = suffixStart == -1 ? end : suffixStart;
         
-        if (!extractNumber()) return false;
-        if (!resolvePrefix()) return false;
-        if (!resolveSuffix()) return false;
-
-        if (this.type == null) type = Type.NUMBER;
-
-        return true;
+        String digits = word.subSequence(digitsStart, digitsEnd).toString();
+        if (separators) digits = digits.replace(",", "");
+        Double number = Converter.convertStringToDouble(digits);
+        if (number == null) return null;
         
-    }
-
-    private boolean extractNumber() {
-        if (this.digits.indexOf(",") > -1) TextToolbox.replace(digits, ",", "");
-        Double test = Converter.convertStringToDouble(this.digits.toString());
-        if (test != null) {
-            if (this.negative != null && this.negative) {
-                this.number = -test;
-            } else {
-                this.number = test;
-            }
-            return true;
-        } else {
-            return false;
-        }
-    }
-    
-    private boolean resolvePrefix() {
+        Type type = Type.NUMBER;
         
-        if (this.prefix.length() == 0) return true;
-
-        if (this.lexicalResources.isCurrencySymbol(this.prefix.toString().toLowerCase())) {
+        String prefix = "";
+        if (prefixStart < digitsStart) {
+            prefix = word.subSequence(prefixStart, digitsStart).toString();
+            if (!this.lexicalResources.isCurrencySymbol(prefix.toLowerCase())) return null;
             type = Type.CURRENCY;
-            return true;
         }
-
-        return false;
         
-    }
-    
-    private boolean resolveSuffix() {
-
-        if (this.suffix.length() == 0) return true;
-
-        if ("k".equalsIgnoreCase(this.suffix.toString())) {
-            this.number = this.number * 1000;
-            return true;
-        } else if ("m".equalsIgnoreCase(this.suffix.toString())) {
-            this.number = this.number * 1000000;
-            return true;
-        } else if ("%".equalsIgnoreCase(this.suffix.toString())) {
-            type = Type.PERCENTAGE;
-            return true;
-        } else if ("‰".equalsIgnoreCase(this.suffix.toString())) {
-            type = Type.PERCENTAGE;
-            return true;
-        } else if (this.lexicalResources.isMeasuringUnit(this.suffix.toString().toLowerCase())) {
-            type = Type.QUANTITY;
-            return true;
+        String suffix = "";
+        if (suffixStart != -1) {
+            suffix = word.subSequence(suffixStart, end).toString();
+            if ("k".equalsIgnoreCase(suffix)) {
+                number = number * 1000;
+            } else if ("m".equalsIgnoreCase(suffix)) {
+                number = number * 1000000;
+            } else if ("%".equals(suffix) || "‰".equals(suffix)) {
+                type = Type.PERCENTAGE;
+            } else if (this.lexicalResources.isMeasuringUnit(suffix.toLowerCase())) {
+                type = Type.QUANTITY;
+            } else {
+                return null;
+            }
         }
+        
+        if (negative) number = -number;
 
-        return false;
-
-    }
-    
-    /**
-     * Used if the {@link #split(char[])} method returned TRUE.
-     * @return Value of the {@link Type} enum indicating which numerical expression was identified.
-     */
-    @Override
-    public Type getType() {
-        return type;
-    }
-    
-    /**
-     * Used if the {@link #split(char[])} method returned TRUE.
-     * @return Number holding the number part pf the token.
-     */
-    @Override
-    public Number getNumber() {
-        return number;
-    }
-
-    /**
-     * Used if the {@link #split(char[])} method returned TRUE.
-     * @return String holding the number part of the token.
-     */
-    @Override
-    public String getNumberAsString() {
-        return Converter.formatDouble(number);
-    }
-    
-    /**
-     * Used if the {@link #split(char[])} method returned TRUE.
-     * @return String holding the part of the token that is not a number and precedes it (i.e. a currency sign), null otherwise.
-     */
-    @Override
-    public String getPrefix() {
-        return this.prefix.toString();
-    }
-
-    /**
-     * Used if the {@link #split(char[])} method returned TRUE.
-     * @return String holding the part of the token that is not a number and succeeds it (i.e. the percent/per mille sign or a measuring unit), null otherwise.
-     */
-    @Override
-    public String getSuffix() {
-        return this.suffix.toString();
+        return new NumericalExpression(type, number, prefix, suffix, cca, plusMinus);
+        
     }
 
-    @Override
-    public boolean getCca() {
-        return this.cca;
-    }
-    
-    @Override
-    public boolean getPlusMinus() {
-        return this.plusMinus;
-    }
-    
 }
@@ -20,6 +20,7 @@ package com.itcag.english;
 
 import com.itcag.multilingual.Loader;
 import com.itcag.multilingual.Toklex;
+import com.itcag.util.io.Resources;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,11 +39,11 @@ public final class EnglishToklex implements Toklex {
      * @return Instance of this class.
      * @throws Exception If anything goes wrong.
      */
-    public static synchronized EnglishToklex getInstance() throws Exception {
+    public static EnglishToklex getInstance() throws Exception {
         if (instance == null) {
             synchronized(EnglishToklex.class) {
                 if (instance == null) {
-                    instance = new EnglishToklex();
+                    instance = Resources.load("EnglishToklex", EnglishToklex::new);
                 }
             }
         }
@@ -65,12 +66,20 @@ public final class EnglishToklex implements Toklex {
 
     }
    
+    /**
+     * @return Hash map containing contractions and their complete forms.
+     */
+    @Override
+    public final HashMap<String, ArrayList<String>> getIndex() {
+        return index;
+    }
+    
     /**
      * @param word String holding a word.
      * @return Boolean indicating whether the word is recognized as a contraction.
      */
     @Override
-    public final synchronized boolean isRecognized(String word) {
+    public final boolean isRecognized(String word) {
         return (index.containsKey(word)); 
     }
     
@@ -79,7 +88,7 @@ public final class EnglishToklex implements Toklex {
      * @return Array list containing alternative complete forms for the word, or null if the word is not recognized.
      */
     @Override
-    public final synchronized ArrayList<String> getReplacement(String word) {
+    public final ArrayList<String> getReplacement(String word) {
         return index.get(word);
     }
     
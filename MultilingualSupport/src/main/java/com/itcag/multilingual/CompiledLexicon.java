@@ -0,0 +1,444 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.multilingual;
+
+import com.itcag.rockwell.POSTag;
+import com.itcag.rockwell.lang.Alternatives;
+import com.itcag.rockwell.lang.Token;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>This class holds a lexicon compiled into a binary file by the {@link LexiconCompiler} tool. The file is memory-mapped, so that the lexicon is kept off the heap, and is loaded in milliseconds.</p>
+ * <p>Words are found through an open addressing hash table stored in the file. Every word is followed by its alternative interpretations, each consisting of the ordinal of the part of speech and the ID of the lemma. Lemmas are stored only once, and are kept on the heap only after they were looked up.</p>
+ * <p>There is one instance of this class for every compiled lexicon file in the process, so that all lemmatizers share the same mapping.</p>
+ * <p>The layout of the file:</p>
+ * <ul>
+ * <li>header: magic number, format, part-of-speech table, number of words, hash table capacity, number of lemmas, and the offsets of the following sections,</li>
+ * <li>hash table: hash code and offset of the word for every slot (offset zero marks an empty slot),</li>
+ * <li>lemma table: offset of every lemma,</li>
+ * <li>data: lemmas and words with their alternatives; strings are stored as their length followed by UTF-16 characters.</li>
+ * </ul>
+ */
+public final class CompiledLexicon implements Lexicon {
+
+    private final static int MAGIC = 0x524b4c58;
+    
+    /**
+     * Changes whenever the layout written by the {@link #compile(java.util.ArrayList, java.lang.String)} method changes.
+     */
+    private final static int FORMAT = 1;
+    
+    /**
+     * Lemma ID of an alternative whose lemma is identical to the word.
+     */
+    private final static int SAME = -1;
+    
+    private final static ConcurrentHashMap<Path, CompiledLexicon> INSTANCES = new ConcurrentHashMap<>();
+    
+    private final ByteBuffer buffer;
+    
+    private final POSTag[] tags;
+    
+    private final int size;
+    private final int mask;
+    
+    private final int slots;
+    private final int lemmaTable;
+    
+    /**
+     * Lemmas are decoded on the first lookup.
+     * Strings are immutable, so that a lemma decoded concurrently by two threads is merely decoded twice.
+     */
+    private final String[] lemmas;
+    
+    /**
+     * @param path String holding the local path to a lexicon compiled by the {@link LexiconCompiler} tool.
+     * @return Instance of this class that is shared by all callers opening the same file.
+     * @throws Exception if the file cannot be read, or was not compiled by this version of the compiler.
+     */
+    public static CompiledLexicon open(String path) throws Exception {
+        
+        Path file = Paths.get(path).toRealPath();
+        
+        CompiledLexicon retVal = INSTANCES.get(file);
+        if (retVal != null) return retVal;
+        
+        synchronized (INSTANCES) {
+            retVal = INSTANCES.get(file);
+            if (retVal == null) {
+                retVal = new CompiledLexicon(file);
+                INSTANCES.put(file, retVal);
+            }
+        }
+        
+        return retVal;
+        
+    }
+    
+    private CompiledLexicon(Path file) throws Exception {
+        
+        /**
+         * The mapping remains valid after the channel is closed.
+         */
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        
+        if (this.buffer.getInt() != MAGIC) throw new IllegalArgumentException("Not a compiled lexicon: " + file);
+        if (this.buffer.getInt() != FORMAT) throw new IllegalArgumentException("Lexicon was compiled in an incompatible format: " + file);
+        
+        /**
+         * Parts of speech are stored by name, so that a compiled lexicon remains valid if the enum is reordered.
+         */
+        this.tags = new POSTag[this.buffer.getShort()];
+        for (int i = 0; i < this.tags.length; i++) {
+            byte[] name = new byte[this.buffer.get()];
+            this.buffer.get(name);
+            this.tags[i] = POSTag.valueOf(new String(name, "US-ASCII"));
+        }
+        
+        this.size = this.buffer.getInt();
+        this.mask = this.buffer.getInt() - 1;
+        this.lemmas = new String[this.buffer.getInt()];
+        this.slots = this.buffer.getInt();
+        this.lemmaTable = this.buffer.getInt();
+        
+    }
+    
+    /**
+     * Compiles a lexicon, and writes it to a file. The file is replaced atomically, so that processes that mapped the previous version are not affected.
+     * @param items Array list of strings holding the lexicon entries in the format <i>word|POS|lemma</i>. Empty lines and lines starting with # are ignored.
+     * @param path String holding the local path to the compiled lexicon.
+     * @throws Exception if anything goes wrong.
+     */
+    public static void compile(ArrayList<String> items, String path) throws Exception {
+        
+        POSTag[] tags = POSTag.values();
+        
+        /**
+         * Key is word and value is a list of alternatives holding the part-of-speech ordinal and the lemma ID.
+         */
+        LinkedHashMap<String, ArrayList<int[]>> words = new LinkedHashMap<>();
+        LinkedHashMap<String, Integer> lemmaIds = new LinkedHashMap<>();
+        
+        for (String item : items) {
+            item = item.trim();
+            if (item.isEmpty() || item.startsWith("#")) continue;
+            /**
+             * word|POS|lemma
+             */
+            String[] elts = item.split("\\|");
+            String word = elts[0].trim();
+            POSTag pos = POSTag.valueOf(elts[1].trim());
+            String lemma = elts[2].trim();
+            int lemmaId = SAME;
+            if (!lemma.equals(word)) {
+                lemmaId = lemmaIds.computeIfAbsent(lemma, (key) -> lemmaIds.size());
+            }
+            words.computeIfAbsent(word, (key) -> new ArrayList<>()).add(new int[] {pos.ordinal(), lemmaId});
+        }
+        
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(data);
+        
+        int[] lemmaOffsets = new int[lemmaIds.size()];
+        for (Map.Entry<String, Integer> entry : lemmaIds.entrySet()) {
+            lemmaOffsets[entry.getValue()] = output.size();
+            writeString(entry.getKey(), output);
+        }
+        
+        int[] wordOffsets = new int[words.size()];
+        int i = 0;
+        for (Map.Entry<String, ArrayList<int[]>> entry : words.entrySet()) {
+            if (entry.getValue().size() > 255) throw new IllegalArgumentException("Too many alternatives for word: " + entry.getKey());
+            wordOffsets[i++] = output.size();
+            writeString(entry.getKey(), output);
+            output.writeByte(entry.getValue().size());
+            for (int[] alternative : entry.getValue()) {
+                output.writeByte(alternative[0]);
+                output.writeInt(alternative[1]);
+            }
+        }
+        
+        output.flush();
+        
+        int capacity = 2;
+        while (capacity < words.size() * 2) capacity <<= 1;
+        
+        int header = 4 + 4 + 2 + 4 * 6;
+        for (POSTag tag : tags) {
+            header += 1 + tag.name().length();
+        }
+        int slots = header;
+        int lemmaTable = slots + capacity * 8;
+        int start = lemmaTable + lemmaOffsets.length * 4;
+        
+        int[] hashes = new int[capacity];
+        int[] offsets = new int[capacity];
+        i = 0;
+        for (String word : words.keySet()) {
+            int hash = word.hashCode();
+            int slot = spread(hash) & (capacity - 1);
+            while (offsets[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            hashes[slot] = hash;
+            offsets[slot] = start + wordOffsets[i++];
+        }
+        
+        Path file = Paths.get(path).toAbsolutePath();
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        
+        try {
+            
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                
+                out.writeShort(tags.length);
+                for (POSTag tag : tags) {
+                    out.writeByte(tag.name().length());
+                    out.writeBytes(tag.name());
+                }
+                
+                out.writeInt(words.size());
+                out.writeInt(capacity);
+                out.writeInt(lemmaOffsets.length);
+                out.writeInt(slots);
+                out.writeInt(lemmaTable);
+                out.writeInt(start);
+                
+                for (int slot = 0; slot < capacity; slot++) {
+                    out.writeInt(hashes[slot]);
+                    out.writeInt(offsets[slot]);
+                }
+                
+                for (int offset : lemmaOffsets) {
+                    out.writeInt(start + offset);
+                }
+                
+                data.writeTo(out);
+                
+            }
+            
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        
+    }
+    
+    private static void writeString(String value, DataOutputStream output) throws Exception {
+        if (value.length() > Short.MAX_VALUE) throw new IllegalArgumentException("String is too long: " + value);
+        output.writeShort(value.length());
+        output.writeChars(value);
+    }
+    
+    /**
+     * The hash codes are the same as those of the {@link java.lang.String String} class, which caches them, so that a lookup does not compute them again.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * @return Integer holding the offset of the word in the mapped file, or -1 if the word is not in the lexicon.
+     */
+    private int find(String word) {
+        
+        int hash = word.hashCode();
+        int slot = spread(hash) & this.mask;
+        
+        while (true) {
+            int position = this.slots + slot * 8;
+            int offset = this.buffer.getInt(position + 4);
+            if (offset == 0) return -1;
+            if (this.buffer.getInt(position) == hash && equals(word, offset)) return offset;
+            slot = (slot + 1) & this.mask;
+        }
+        
+    }
+    
+    /**
+     * The hash code of the lower case word is computed from the original word, so that it is not converted to lower case.
+     * @return Integer holding the offset of the lower case word in the mapped file, or -1 if it is not in the lexicon.
+     */
+    private int findLowerCase(CharSequence word) {
+        
+        int hash = 0;
+        for (int i = 0; i < word.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(word.charAt(i));
+        }
+        int slot = spread(hash) & this.mask;
+        
+        while (true) {
+            int position = this.slots + slot * 8;
+            int offset = this.buffer.getInt(position + 4);
+            if (offset == 0) return -1;
+            if (this.buffer.getInt(position) == hash && equalsLowerCase(word, offset)) return offset;
+            slot = (slot + 1) & this.mask;
+        }
+        
+    }
+    
+    private boolean equalsLowerCase(CharSequence word, int offset) {
+        int length = this.buffer.getShort(offset);
+        if (length != word.length()) return false;
+        offset += 2;
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.getChar(offset + i * 2) != Character.toLowerCase(word.charAt(i))) return false;
+        }
+        return true;
+    }
+    
+    private boolean equals(String word, int offset) {
+        int length = this.buffer.getShort(offset);
+        if (length != word.length()) return false;
+        offset += 2;
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.getChar(offset + i * 2) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+    
+    private String getString(int offset) {
+        char[] chars = new char[this.buffer.getShort(offset)];
+        offset += 2;
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = this.buffer.getChar(offset + i * 2);
+        }
+        return new String(chars);
+    }
+    
+    private String getLemma(int id) {
+        String retVal = this.lemmas[id];
+        if (retVal == null) {
+            retVal = getString(this.buffer.getInt(this.lemmaTable + id * 4));
+            this.lemmas[id] = retVal;
+        }
+        return retVal;
+    }
+    
+    private ArrayList<Token> getTokens(String word, int offset) {
+        
+        offset += 2 + this.buffer.getShort(offset) * 2;
+        
+        int count = this.buffer.get(offset++) & 0xff;
+        ArrayList<Token> retVal = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            POSTag pos = this.tags[this.buffer.get(offset) & 0xff];
+            int lemmaId = this.buffer.getInt(offset + 1);
+            retVal.add(new Token(word, pos, lemmaId == SAME ? word : getLemma(lemmaId)));
+            offset += 5;
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * @return Integer holding the number of words in the lexicon.
+     */
+    public int size() {
+        return this.size;
+    }
+    
+    /**
+     * The compiled lexicon is not kept on the heap, so the hash map is built anew every time this method is called. The other methods do not need it.
+     * @return Hash map containing all words from the lexicon and their alternative part-of-speech interpretations.
+     */
+    @Override
+    public HashMap<String, ArrayList<Token>> getIndex() {
+        
+        HashMap<String, ArrayList<Token>> retVal = new HashMap<>(this.size * 2);
+        for (int slot = 0; slot <= this.mask; slot++) {
+            int offset = this.buffer.getInt(this.slots + slot * 8 + 4);
+            if (offset == 0) continue;
+            String word = getString(offset);
+            retVal.put(word, getTokens(word, offset));
+        }
+        
+        return retVal;
+        
+    }
+
+    /**
+     * @param word String holding a word.
+     * @return Boolean indication whether the word is in the lexicon or not.
+     */
+    @Override
+    public boolean isKnown(String word) {
+        return find(word) >= 0;
+    }
+
+    /**
+     * @param word String holding a word.
+     * @return Instance of the {@link com.itcag.rockwell.lang.Alternatives Alternatives} class containing alternative part-of-speech interpretations for the word, or null if the word is not recognized.
+     */
+    @Override
+    public Alternatives getAlternatives(String word) {
+        int offset = find(word);
+        if (offset < 0) return new Alternatives(null);
+        return new Alternatives(getTokens(word, offset));
+    }
+    
+    /**
+     * The entries are decoded from the mapped file on every call, so they are never shared between callers.
+     * @param word String holding a word.
+     * @return Unmodifiable list containing the lexicon entries for the word, or null if the word is not in the lexicon.
+     */
+    @Override
+    public List<Token> getEntries(String word) {
+        int offset = find(word);
+        if (offset < 0) return null;
+        return Collections.unmodifiableList(getTokens(word, offset));
+    }
+    
+    /**
+     * The word is compared with the mapped file in place. Only the lower case word found in the file is decoded, together with its entries.
+     * @param word Character sequence holding a word in any case.
+     * @return Unmodifiable list containing the lexicon entries for the lower case word, or null if the lower case word is not in the lexicon.
+     */
+    @Override
+    public List<Token> getLowerCaseEntries(CharSequence word) {
+        int offset = findLowerCase(word);
+        if (offset < 0) return null;
+        return Collections.unmodifiableList(getTokens(getString(offset), offset));
+    }
+    
+}
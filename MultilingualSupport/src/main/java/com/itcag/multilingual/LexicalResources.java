@@ -18,7 +18,11 @@
 
 package com.itcag.multilingual;
 
+import com.itcag.util.io.Resources;
+
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
 
 /**
  * <p>This class loads and stores three lexical resources:</p>
@@ -38,11 +42,11 @@ public final class LexicalResources {
      * @return Instance of this class.
      * @throws Exception If anything goes wrong.
      */
-    public static synchronized LexicalResources getInstance() throws Exception {
+    public static LexicalResources getInstance() throws Exception {
         if (instance == null) {
             synchronized(LexicalResources.class) {
                 if (instance == null) {
-                    instance = new LexicalResources();
+                    instance = Resources.load("LexicalResources", LexicalResources::new);
                 }
             }
         }
@@ -60,11 +64,25 @@ public final class LexicalResources {
         this.measuringUnits = new HashSet<>(loader.load("english/measuringUnits"));
     }
     
+    /**
+     * @return Unmodifiable set containing all currency codes.
+     */
+    public final Set<String> getCurrencyCodes() {
+        return Collections.unmodifiableSet(this.currencyCodes);
+    }
+    
+    /**
+     * @return Unmodifiable set containing all measuring units.
+     */
+    public final Set<String> getMeasuringUnits() {
+        return Collections.unmodifiableSet(this.measuringUnits);
+    }
+    
     /**
      * @param word String holding a word.
      * @return Boolean indicating whether the word is recognized as a currency code.
      */
-    public final synchronized boolean isCurrencyCode(String word) {
+    public final boolean isCurrencyCode(String word) {
         return this.currencyCodes.contains(word);
     }
     
@@ -72,7 +90,7 @@ public final class LexicalResources {
      * @param word String holding a word.
      * @return Boolean indicating whether the word is recognized as a currency symbol.
      */
-    public final synchronized boolean isCurrencySymbol(String word) {
+    public final boolean isCurrencySymbol(String word) {
         return this.currencySymbols.contains(word);
     }
     
@@ -80,7 +98,7 @@ public final class LexicalResources {
      * @param word String holding a word.
      * @return Boolean indicating whether the word is recognized as a measuring unit.
      */
-    public final synchronized boolean isMeasuringUnit(String word) {
+    public final boolean isMeasuringUnit(String word) {
         return this.measuringUnits.contains(word);
     }
     
@@ -23,11 +23,33 @@ import com.itcag.rockwell.lang.Token;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
+/**
+ * <p>Lexicons are shared by all threads, and are never modified once they are loaded. The entries returned by the {@link #getEntries(java.lang.String)} method are shared as well, so they must not be modified, and must not be added to a sentence directly. A sentence contains per-sentence copies (see {@link com.itcag.rockwell.lang.Token#Token(com.itcag.rockwell.lang.Token, java.lang.Integer) Token(Token, Integer)}) that carry the index position.</p>
+ */
 public interface Lexicon {
 
+    /**
+     * @return Hash map containing all words from the lexicon and their alternative part-of-speech interpretations. The map is a copy that the caller may modify.
+     */
     public HashMap<String, ArrayList<Token>> getIndex();
     public boolean isKnown(String word);
     public Alternatives getAlternatives(String word);
     
+    /**
+     * @param word String holding a word.
+     * @return Unmodifiable list containing the lexicon entries (part of speech and lemma pairs) for the word, or null if the word is not in the lexicon.
+     */
+    public List<Token> getEntries(String word);
+    
+    /**
+     * Implementations should compare the characters of the word in place, so that the word is not converted to lower case for every lookup.
+     * @param word Character sequence holding a word in any case.
+     * @return Unmodifiable list containing the lexicon entries for the lower case word, or null if the lower case word is not in the lexicon.
+     */
+    public default List<Token> getLowerCaseEntries(CharSequence word) {
+        return getEntries(word.toString().toLowerCase());
+    }
+    
 }
@@ -0,0 +1,45 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.multilingual;
+
+import com.itcag.util.Printer;
+import com.itcag.util.io.TextFileReader;
+
+import java.util.ArrayList;
+
+/**
+ * <p>Compiles a text lexicon into the binary file used by the {@link CompiledLexicon} class.</p>
+ * <p>The first argument is the local path to the text lexicon (e.g., <i>english/lexicon</i>), in which every line holds an entry in the format <i>word|POS|lemma</i>. The second argument is the local path to the compiled lexicon. The compiled lexicon is not updated when the text lexicon changes, so it must be compiled again after every change.</p>
+ */
+public class LexiconCompiler {
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length != 2) throw new IllegalArgumentException("Usage: LexiconCompiler <text lexicon> <compiled lexicon>");
+
+        long start = System.currentTimeMillis();
+        
+        ArrayList<String> items = TextFileReader.read(args[0]);
+        CompiledLexicon.compile(items, args[1]);
+        
+        Printer.print(args[1] + ": " + CompiledLexicon.open(args[1]).size() + " words in " + (System.currentTimeMillis() - start) + " ms");
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.itcag.multilingual;
+
+import java.util.Map;
+
+/**
+ * <p>This class is an open addressing hash table whose keys are lower case words. It is looked up with a word in any case, and the word is not converted to lower case: the hash code and the comparison are computed from the lower case characters of the word. Therefore, a lookup allocates nothing.</p>
+ * <p>Keys that are not entirely in lower case could never be found, so they are skipped.</p>
+ * @param <V> Type of the values.
+ */
+public final class LowerCaseTable<V> {
+    
+    private final String[] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    private final int mask;
+    
+    /**
+     * @param map Map whose keys are words and values are the values looked up for them. The values are not copied.
+     */
+    public LowerCaseTable(Map<String, ? extends V> map) {
+        
+        int capacity = 2;
+        while (capacity < map.size() * 2) capacity <<= 1;
+        
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        
+        for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+            String key = entry.getKey();
+            if (!key.equals(key.toLowerCase())) continue;
+            int hash = hash(key);
+            int slot = hash & this.mask;
+            while (this.keys[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key;
+            this.values[slot] = entry.getValue();
+            this.hashes[slot] = hash;
+        }
+        
+    }
+    
+    private static int hash(CharSequence word) {
+        int retVal = 0;
+        for (int i = 0; i < word.length(); i++) {
+            retVal = 31 * retVal + Character.toLowerCase(word.charAt(i));
+        }
+        return retVal ^ (retVal >>> 16);
+    }
+    
+    /**
+     * @param word Character sequence holding a word in any case.
+     * @return Value stored for the lower case word, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(CharSequence word) {
+        
+        int hash = hash(word);
+        int slot = hash & this.mask;
+        
+        while (true) {
+            String key = this.keys[slot];
+            if (key == null) return null;
+            if (this.hashes[slot] == hash && equals(key, word)) return (V) this.values[slot];
+            slot = (slot + 1) & this.mask;
+        }
+        
+    }
+    
+    private static boolean equals(String key, CharSequence word) {
+        if (key.length() != word.length()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(word.charAt(i))) return false;
+        }
+        return true;
+    }
+    
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.multilingual;
+
+import com.itcag.util.Converter;
+
+/**
+ * <p>This class holds a numerical expression identified by a {@link NumericalExpressionDetector}: the number, and the symbols preceding and succeeding it.</p>
+ * <p>Instances of this class are immutable.</p>
+ */
+public final class NumericalExpression {
+    
+    private final NumericalExpressionDetector.Type type;
+    private final double number;
+    private final String numberAsString;
+    private final String prefix;
+    private final String suffix;
+    private final boolean cca;
+    private final boolean plusMinus;
+
+    /**
+     * @param type Value of the {@link NumericalExpressionDetector.Type} enum indicating which numerical expression was identified.
+     * @param number Double holding the number.
+     * @param prefix String holding the symbol preceding the number (e.g., a currency sign), or an empty string.
+     * @param suffix String holding the symbol succeeding the number (e.g., the percent sign or a measuring unit), or an empty string.
+     * @param cca Boolean indicating whether the number is approximate (preceded by a tilde).
+     * @param plusMinus Boolean indicating whether the number is preceded by the plus/minus sign.
+     */
+    public NumericalExpression(NumericalExpressionDetector.Type type, double number, String prefix, String suffix, boolean cca, boolean plusMinus) {
+        this.type = type;
+        this.number = number;
+        this.numberAsString = Converter.formatDouble(number);
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.cca = cca;
+        this.plusMinus = plusMinus;
+    }
+    
+    /**
+     * @return Value of the {@link NumericalExpressionDetector.Type} enum indicating which numerical expression was identified.
+     */
+    public NumericalExpressionDetector.Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return Number holding the number part of the token.
+     */
+    public Number getNumber() {
+        return this.number;
+    }
+
+    /**
+     * @return String holding the number part of the token.
+     */
+    public String getNumberAsString() {
+        return this.numberAsString;
+    }
+
+    /**
+     * @return String holding the part of the token that is not a number and precedes it (i.e. a currency sign), or an empty string.
+     */
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * @return String holding the part of the token that is not a number and succeeds it (i.e. the percent/per mille sign or a measuring unit), or an empty string.
+     */
+    public String getSuffix() {
+        return this.suffix;
+    }
+
+    /**
+     * @return Boolean indicating whether the number is approximate (preceded by a tilde).
+     */
+    public boolean getCca() {
+        return this.cca;
+    }
+
+    /**
+     * @return Boolean indicating whether the number is preceded by the plus/minus sign.
+     */
+    public boolean getPlusMinus() {
+        return this.plusMinus;
+    }
+    
+}
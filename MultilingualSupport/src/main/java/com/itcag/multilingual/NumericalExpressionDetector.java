@@ -34,13 +34,22 @@ public interface NumericalExpressionDetector {
         QUANTITY,
     }
     
-    public boolean split(char[] chars);
-    public Type getType();
-    public Number getNumber();
-    public String getNumberAsString();
-    public String getPrefix();
-    public String getSuffix();
-    public boolean getCca();
-    public boolean getPlusMinus();
+    /**
+     * Analyzes a range of characters representing a token, and identifies a numerical expression in it.
+     * Implementations must be stateless, so that a single instance can be shared by all threads.
+     * @param word Character sequence containing the token. It is not copied.
+     * @param start Integer holding the index of the first character of the token.
+     * @param end Integer holding the index after the last character of the token.
+     * @return Instance of the {@link NumericalExpression} class holding the components of the numerical expression, or null if the token is not a numerical expression.
+     */
+    public NumericalExpression detect(CharSequence word, int start, int end);
+    
+    /**
+     * @param word Character sequence holding a token.
+     * @return Instance of the {@link NumericalExpression} class holding the components of the numerical expression, or null if the token is not a numerical expression.
+     */
+    public default NumericalExpression detect(CharSequence word) {
+        return detect(word, 0, word.length());
+    }
     
 }
@@ -19,9 +19,11 @@
 package com.itcag.multilingual;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 public interface Toklex {
     
+    public HashMap<String, ArrayList<String>> getIndex();
     public boolean isRecognized(String word);
     public ArrayList<String> getReplacement(String word);
     
@@ -0,0 +1,226 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.multilingual;
+
+import com.itcag.rockwell.lang.Token;
+import com.itcag.util.io.Resources;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>This class combines the small word-level lexical resources (contractions, misspellings, currency codes and measuring units) in a single hash table, so that a word is looked up once instead of once per resource.</p>
+ * <p>Words are looked up case-insensitively without converting them to lower case (see {@link LowerCaseTable}). A lookup returns a single {@link Entry} that indicates all resources in which the word was found. Misspellings are the only case-sensitive resource, so they are compared with the original word.</p>
+ * <p>The lexicon is not copied into the table, so that a lexicon that is not held on the heap (e.g., a {@link CompiledLexicon}) stays there. Its entries are looked up separately by the {@link #getEntries(java.lang.CharSequence)} method, which returns them as they are held by the lexicon.</p>
+ * <p>There is one instance of this class for every combination of resources, so that tokenizers and lemmatizers using the same resources share it.</p>
+ */
+public final class WordIndex {
+
+    private final static int CONTRACTION = 2;
+    private final static int MISSPELLING = 4;
+    private final static int CURRENCY_CODE = 8;
+    private final static int MEASURING_UNIT = 16;
+    
+    private final static ConcurrentHashMap<List<Object>, WordIndex> INSTANCES = new ConcurrentHashMap<>();
+    
+    /**
+     * Resources are identified by their instances, since none of them overrides the equals method.
+     * @param lexicon Instance of the {@link Lexicon} interface, or null if the lexicon is not required (e.g., by the tokenizer).
+     * @param toklex Instance of the {@link Toklex} interface, or null if contractions are not required (e.g., by the lemmatizer).
+     * @param misspellings Instance of the {@link Misspellings} interface, or null if misspellings are not required (e.g., by the lemmatizer).
+     * @return Instance of this class that is shared by all callers passing the same resources.
+     * @throws Exception if the lexical resources cannot be loaded.
+     */
+    public static WordIndex getInstance(Lexicon lexicon, Toklex toklex, Misspellings misspellings) throws Exception {
+        
+        List<Object> key = Arrays.asList(lexicon, toklex, misspellings);
+        
+        WordIndex retVal = INSTANCES.get(key);
+        if (retVal != null) return retVal;
+        
+        synchronized (INSTANCES) {
+            retVal = INSTANCES.get(key);
+            if (retVal == null) {
+                retVal = Resources.load("WordIndex", () -> new WordIndex(lexicon, toklex, misspellings));
+                INSTANCES.put(key, retVal);
+            }
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * This class holds everything the word-level resources know about a word.
+     */
+    public final static class Entry {
+        
+        private final String word;
+        
+        private int flags = 0;
+        
+        private ArrayList<String> contraction = null;
+        
+        /**
+         * Misspellings that differ only in case share an entry.
+         */
+        private String[] misspellings = null;
+        private String[] corrections = null;
+        
+        private Entry(String word) {
+            this.word = word;
+        }
+        
+        private void addMisspelling(String misspelling, String correction) {
+            if (this.misspellings == null) {
+                this.misspellings = new String[] {misspelling};
+                this.corrections = new String[] {correction};
+            } else {
+                this.misspellings = Arrays.copyOf(this.misspellings, this.misspellings.length + 1);
+                this.misspellings[this.misspellings.length - 1] = misspelling;
+                this.corrections = Arrays.copyOf(this.corrections, this.corrections.length + 1);
+                this.corrections[this.corrections.length - 1] = correction;
+            }
+            this.flags |= MISSPELLING;
+        }
+        
+        /**
+         * @return String holding the lower case word. It can be passed to the lexical resources without converting the original word to lower case again.
+         */
+        public String getWord() {
+            return this.word;
+        }
+        
+        /**
+         * @return Boolean indicating whether the word is recognized as a contraction.
+         */
+        public boolean isContraction() {
+            return (this.flags & CONTRACTION) != 0;
+        }
+        
+        /**
+         * @return Array list containing the complete form of the contraction, or null if the word is not a contraction. The list is shared and must not be modified.
+         */
+        public ArrayList<String> getContraction() {
+            return this.contraction;
+        }
+        
+        /**
+         * @param word String holding the original word.
+         * @return String holding the correction of the misspelled word, or null if the word (in its original case) is not recognized as a misspelling.
+         */
+        public String getCorrection(String word) {
+            if ((this.flags & MISSPELLING) == 0) return null;
+            for (int i = 0; i < this.misspellings.length; i++) {
+                if (this.misspellings[i].equals(word)) return this.corrections[i];
+            }
+            return null;
+        }
+        
+        /**
+         * @return Boolean indicating whether the word is recognized as a currency code.
+         */
+        public boolean isCurrencyCode() {
+            return (this.flags & CURRENCY_CODE) != 0;
+        }
+        
+        /**
+         * @return Boolean indicating whether the word is recognized as a measuring unit.
+         */
+        public boolean isMeasuringUnit() {
+            return (this.flags & MEASURING_UNIT) != 0;
+        }
+        
+    }
+    
+    private final Lexicon lexicon;
+    
+    private final LowerCaseTable<Entry> entries;
+    
+    private WordIndex(Lexicon lexicon, Toklex toklex, Misspellings misspellings) throws Exception {
+        
+        this.lexicon = lexicon;
+        
+        HashMap<String, Entry> tmp = new HashMap<>();
+        
+        LexicalResources lexicalResources = LexicalResources.getInstance();
+        
+        /**
+         * Words that are not in lower case were never found by the lower case lookups that this index replaces, so they are skipped.
+         */
+        if (toklex != null) {
+            for (String word : toklex.getIndex().keySet()) {
+                if (!word.equals(word.toLowerCase())) continue;
+                Entry entry = add(word, tmp);
+                entry.flags |= CONTRACTION;
+                entry.contraction = toklex.getReplacement(word);
+            }
+        }
+        
+        if (misspellings != null) {
+            for (Map.Entry<String, String> misspelling : misspellings.getIndex().entrySet()) {
+                add(misspelling.getKey().toLowerCase(), tmp).addMisspelling(misspelling.getKey(), misspelling.getValue());
+            }
+        }
+        
+        for (String word : lexicalResources.getCurrencyCodes()) {
+            if (word.equals(word.toLowerCase())) add(word, tmp).flags |= CURRENCY_CODE;
+        }
+        
+        for (String word : lexicalResources.getMeasuringUnits()) {
+            if (word.equals(word.toLowerCase())) add(word, tmp).flags |= MEASURING_UNIT;
+        }
+        
+        this.entries = new LowerCaseTable<>(tmp);
+        
+    }
+    
+    private static Entry add(String word, HashMap<String, Entry> entries) {
+        return entries.computeIfAbsent(word, (key) -> new Entry(key));
+    }
+    
+    /**
+     * @return Instance of the {@link Lexicon} interface that this index was built from, or null if it does not include a lexicon.
+     */
+    public Lexicon getLexicon() {
+        return this.lexicon;
+    }
+    
+    /**
+     * @param word Character sequence holding a word in any case. It is not converted to a string.
+     * @return Instance of the {@link Entry} class holding everything the contractions, misspellings, currency codes and measuring units know about the word, or null if none of them recognizes it. Entries are shared and created only once.
+     */
+    public Entry get(CharSequence word) {
+        return this.entries.get(word);
+    }
+    
+    /**
+     * @param word Character sequence holding a word in any case. It is not converted to a string by the lexicons of this module.
+     * @return Unmodifiable list containing the lexicon entries for the lower case word, or null if it is not in the lexicon, or the index does not include a lexicon.
+     */
+    public List<Token> getEntries(CharSequence word) {
+        if (this.lexicon == null) return null;
+        return this.lexicon.getLowerCaseEntries(word);
+    }
+    
+}
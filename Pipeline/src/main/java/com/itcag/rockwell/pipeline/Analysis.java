@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+import com.itcag.rockwell.lang.Extract;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+
+import java.util.ArrayList;
+
+/**
+ * <p>This class holds the combined results of the {@link Pipeline.Tasks#ANALYZE ANALYZE} task for a single sentence.</p>
+ * <p>Outputs of tasks that were not configured are represented by empty array lists.</p>
+ */
+public final class Analysis {
+
+    private final ArrayList<Token> tokens;
+    private final ArrayList<Tag> namedEntities;
+    private final ArrayList<Tag> categories;
+    private final ArrayList<Extract> extracts;
+
+    /**
+     * @param tokens Array list of {@link com.itcag.rockwell.lang.Token tokens} representing the sentence after the named entities or concepts were inserted.
+     * @param namedEntities Array list of {@link com.itcag.rockwell.lang.Tag tags} representing the identified named entities.
+     * @param categories Array list of {@link com.itcag.rockwell.lang.Tag tags} representing the identified categories.
+     * @param extracts Array list of {@link com.itcag.rockwell.lang.Extract extracts} representing the extracted data.
+     */
+    public Analysis(ArrayList<Token> tokens, ArrayList<Tag> namedEntities, ArrayList<Tag> categories, ArrayList<Extract> extracts) {
+        this.tokens = tokens;
+        this.namedEntities = namedEntities;
+        this.categories = categories;
+        this.extracts = extracts;
+    }
+
+    /**
+     * @return Array list of {@link com.itcag.rockwell.lang.Token tokens} representing the sentence. Tokens identified as named entities or concepts are replaced by {@link com.itcag.rockwell.lang.Semtoken semtokens}.
+     */
+    public ArrayList<Token> getTokens() {
+        return this.tokens;
+    }
+
+    /**
+     * @return Array list of {@link com.itcag.rockwell.lang.Tag tags} representing the identified named entities.
+     */
+    public ArrayList<Tag> getNamedEntities() {
+        return this.namedEntities;
+    }
+
+    /**
+     * @return Array list of {@link com.itcag.rockwell.lang.Tag tags} representing the identified categories.
+     */
+    public ArrayList<Tag> getCategories() {
+        return this.categories;
+    }
+
+    /**
+     * @return Array list of {@link com.itcag.rockwell.lang.Extract extracts} representing the data extracted from the sentence.
+     */
+    public ArrayList<Extract> getExtracts() {
+        return this.extracts;
+    }
+
+}
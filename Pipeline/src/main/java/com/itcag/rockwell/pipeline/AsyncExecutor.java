@@ -0,0 +1,223 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>This class executes the requests submitted to the asynchronous methods of the {@link Pipeline} class.</p>
+ * <p>The number of requests that are queued or running at the same time is bounded. When this bound is reached, new requests are handled according to the {@link RejectionPolicies rejection policy}.</p>
+ * <p>A request can have a deadline. If it is not completed in time, its future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}, and if it is still queued at that moment, it is never processed. A request that is already running cannot be interrupted, but its result is discarded.</p>
+ */
+final class AsyncExecutor {
+
+    private final static AtomicInteger POOLS = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Bounds the number of queued and running requests.
+     */
+    private final Semaphore capacity;
+    private final int limit;
+
+    /**
+     * Bounds the number of running requests when they are executed by virtual threads, which are not pooled.
+     */
+    private final Semaphore running;
+
+    private final RejectionPolicies policy;
+
+    /**
+     * @param concurrency Integer holding the maximum number of requests processed at the same time.
+     * @param queueSize Integer holding the maximum number of requests waiting to be processed.
+     * @param policy Value of the {@link RejectionPolicies} enum.
+     * @param virtualThreads Boolean indicating whether requests are to be processed by virtual threads.
+     * @throws Exception if virtual threads were requested, but the runtime does not provide them.
+     */
+    AsyncExecutor(int concurrency, int queueSize, RejectionPolicies policy, boolean virtualThreads) throws Exception {
+
+        if (concurrency < 1) throw new IllegalArgumentException("Concurrency must be a positive integer.");
+        if (queueSize < 0) throw new IllegalArgumentException("Queue size cannot be negative.");
+        if (policy == null) throw new IllegalArgumentException("Rejection policy cannot be null.");
+
+        this.policy = policy;
+        this.limit = concurrency + queueSize;
+        this.capacity = new Semaphore(this.limit);
+
+        String prefix = "rockwell-async-" + POOLS.incrementAndGet() + "-";
+
+        if (virtualThreads) {
+            this.executor = getVirtualThreadExecutor();
+            this.running = new Semaphore(concurrency);
+        } else {
+            /**
+             * The queue can be unbounded, because the capacity semaphore does not let more requests in.
+             */
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), getThreadFactory(prefix));
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+            this.running = null;
+        }
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, getThreadFactory(prefix + "timer-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+
+    }
+
+    private static ExecutorService getVirtualThreadExecutor() throws Exception {
+        Method method;
+        try {
+            method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalArgumentException("Virtual threads require Java 21 or later.");
+        }
+        return (ExecutorService) method.invoke(null);
+    }
+
+    private static ThreadFactory getThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return (runnable) -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @param callable Request to be processed.
+     * @param timeout Long holding the time after which the request fails. Zero or less indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the result of the request.
+     */
+    <T> CompletableFuture<T> submit(Callable<T> callable, long timeout, TimeUnit unit) {
+
+        CompletableFuture<T> retVal = new CompletableFuture<>();
+
+        if (this.executor.isShutdown()) {
+            retVal.completeExceptionally(new RejectedExecutionException("The pipeline is closed."));
+            return retVal;
+        }
+
+        switch (this.policy) {
+            case BLOCK:
+                try {
+                    this.capacity.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    retVal.completeExceptionally(ex);
+                    return retVal;
+                }
+                break;
+            case CALLER_RUNS:
+                if (!this.capacity.tryAcquire()) {
+                    execute(callable, retVal);
+                    return retVal;
+                }
+                break;
+            case REJECT:
+            default:
+                if (!this.capacity.tryAcquire()) {
+                    retVal.completeExceptionally(new RejectedExecutionException("The queue is full."));
+                    return retVal;
+                }
+                break;
+        }
+
+        try {
+            if (timeout > 0) {
+                ScheduledFuture<?> deadline = this.timer.schedule(() -> retVal.completeExceptionally(new TimeoutException("The request was not completed within " + timeout + " " + unit.name().toLowerCase() + ".")), timeout, unit);
+                retVal.whenComplete((result, ex) -> deadline.cancel(false));
+            }
+            this.executor.execute(() -> {
+                try {
+                    execute(callable, retVal);
+                } finally {
+                    this.capacity.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            this.capacity.release();
+            retVal.completeExceptionally(ex);
+        }
+
+        return retVal;
+
+    }
+
+    private <T> void execute(Callable<T> callable, CompletableFuture<T> future) {
+
+        /**
+         * The request timed out or was cancelled while it was queued.
+         */
+        if (future.isDone()) return;
+
+        boolean acquired = false;
+        try {
+            if (this.running != null) {
+                this.running.acquire();
+                acquired = true;
+                if (future.isDone()) return;
+            }
+            future.complete(callable.call());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(ex);
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        } finally {
+            if (acquired) this.running.release();
+        }
+
+    }
+
+    /**
+     * Rejects new requests, and lets the threads end once the submitted requests are processed.
+     * Deadlines of the requests that are still queued no longer apply.
+     */
+    void shutdown() {
+        this.executor.shutdown();
+        this.timer.shutdownNow();
+    }
+
+    /**
+     * @return Integer holding the number of requests that are currently queued or running.
+     */
+    int getPending() {
+        return this.limit - this.capacity.availablePermits();
+    }
+
+}
@@ -23,27 +23,61 @@ import com.itcag.english.EnglishMisspellings;
 import com.itcag.english.EnglishNumericalExpressionDetector;
 import com.itcag.english.EnglishToklex;
 import com.itcag.english.LatinUnicodeStandardizer;
+import com.itcag.multilingual.CompiledLexicon;
 import com.itcag.multilingual.Lexicon;
 import com.itcag.multilingual.Misspellings;
 import com.itcag.multilingual.Toklex;
 import com.itcag.multilingual.UnicodeStandardizer;
+import com.itcag.multilingual.WordIndex;
 import com.itcag.rockwell.extr.Extractor;
 import com.itcag.rockwell.lang.Extract;
+import com.itcag.rockwell.lang.Semtoken;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.Metrics;
+import com.itcag.rockwell.metrics.RecordingMetrics;
+import com.itcag.rockwell.metrics.Stages;
 import com.itcag.rockwell.tokenizer.Lemmatizer;
 import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.semantex.Inserter;
 import com.itcag.rockwell.semantex.Semantex;
+import com.itcag.rockwell.semantex.adhoc.Interpreter;
 import com.itcag.rockwell.semantex.ner.NER;
+import com.itcag.rockwell.semantex.ner.Nominals;
 import com.itcag.rockwell.split.Splitter;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.PruningPolicies;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.util.punct.Abbreviations;
+import com.itcag.util.punct.Acronyms;
+import com.itcag.util.punct.Domains;
+import com.itcag.util.io.Resources;
 import com.itcag.util.io.TextFileReader;
 
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Pipeline is Java API class that provides access to the Rockwell NLP pipeline, which consists of the following stages:</p>
@@ -55,12 +89,22 @@ import java.util.Properties;
  * <li><b>Classify</b> - identifies predefined categories.</li>
  * <li><b>Extract</b> - extracts data from text.</li>
  * </ol>
+ * <p>The NER, Classify and Extract stages can also be executed together by the {@link Tasks#ANALYZE ANALYZE} task. In that case, every sentence is split, tokenized, lemmatized and processed for named entities only once, and the results of all stages are returned as instances of the {@link Analysis} class.</p>
  * <p>This class provides access to every one of these stages. Outputs of every stage can be passed to the next stage - starting with the Split stage, which receives plain text. However, every stage can be also executed by passing the plain text to it. In the latter case, all previous stages are invoked internally.</p>
  * <p>This class is initiated by providing processing instructions to it. These processing instructions are described in the {@link PropertyFields} enum.</p>
  * <p>Once the class is initiated its methods are called to access the corresponding Rockwell functionality. However, the method called must correspond to  the task specified in the processing instructions.</p>
+ * <p>Collections of documents can be processed by the batch methods (e.g., {@link #classifyAll(java.util.List)}). They distribute documents, and sentences within each document, over a fork-join pool, and return results in the order of the input. The size of the pool is specified by the {@link PropertyFields#PARALLELISM} instruction, or an existing pool can be passed to the constructor.</p>
+ * <p>Callers that must not block (e.g., reactive servers) can use the asynchronous methods (e.g., {@link #classifyAsync(java.lang.String)}). They return immediately with a {@link java.util.concurrent.CompletableFuture CompletableFuture}, and process texts on a separate set of threads. The number of waiting requests is bounded, and the behavior when this bound is reached is specified by the {@link PropertyFields#REJECTION_POLICY} instruction. Requests can also be given a deadline.</p>
+ * <p>Large texts can be processed by the streaming methods (e.g., {@link #classify(java.io.Reader)}). They read text incrementally from a {@link java.io.Reader Reader}, and emit results sentence by sentence, so that the whole text never needs to be held in memory.</p>
+ * <p>Results of sentence processing can be cached by specifying the {@link PropertyFields#CACHE_SIZE} instruction. Sentences that occur repeatedly (e.g., boilerplate) are then tokenized, lemmatized, tagged, etc. only once. Every caller receives its own copy of a cached result, which it can modify or process further.</p>
+ * <p>Processing can be instrumented by specifying the {@link PropertyFields#METRICS} instruction, or by passing an instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface to the constructor. The time spent in every stage is then recorded for every sentence, together with the number of processed sentences and tokens, automaton states, affix validations and lexicon lookups. By default, nothing is recorded.</p>
+ * <p>Start-up can be shortened by specifying the {@link PropertyFields#WARM_UP} instruction, which loads the lexical resources concurrently instead of one after another. The time it took to load each resource is available from the {@link com.itcag.util.io.Resources Resources} registry. Start-up can also be shortened by setting the <i>rockwell.snapshots</i> system property to a local folder (see {@link com.itcag.util.io.Snapshots Snapshots}). Since the lexical resources are shared by all pipelines, this folder is set for the whole process rather than for a pipeline. Compiled expressions and the lexicon are then stored in binary snapshots the first time they are loaded, and restored from them afterwards. A snapshot is ignored as soon as its source file changes. Snapshots can be prepared in advance by the {@link SnapshotCompiler} tool. Alternatively, the {@link PropertyFields#LEXICON} instruction specifies a lexicon compiled in advance, which is memory-mapped instead of being loaded.</p>
+ * <p>Expressions, concepts, patterns, frame expressions and frames can be reloaded from their files while the pipeline is in use, either by calling {@link #reload(PropertyFields)}, or automatically whenever the files change if the {@link PropertyFields#WATCH} instruction is specified. Nothing else is reloaded: the lexicon and the other stages are kept. Sentences that are being processed during a reload are completed with the previous version, and the cached results are discarded.</p>
+ * <p>A pipeline that is no longer needed must be closed. Closing stops its threads (the fork-join pool, unless it was passed to the constructor, the asynchronous executor and the resource watcher), and removes its metrics from the MBean server, unless they were passed to the constructor.</p>
+ * <p>This class is thread-safe. Lexical resources (the lexicon, misspellings, contractions, abbreviations, acronyms, domains and the table of HTML characters) and compiled expressions are never modified once they are loaded (a reload replaces them), while all intermediary data are created anew for each call. Therefore, a single instance can be shared by many threads, and none of the stages serializes concurrent calls on a common lock.</p>
  * <p>To learn more how to use Rockwell Pipeline and its functionalities see: <a href="https://docs.google.com/document/d/1CjDsEowbBLBOoJs1OrC4tV807-B14b1feAvtTepauHc/edit#heading=h.6vbuuw8rdy9w" target="_blank">Rockwell (User Manual)</a>.</p>
  */
-public class Pipeline {
+public class Pipeline implements AutoCloseable {
 
     /**
      * Enumerates all tasks that {@link Pipeline} is capable of executing. 
@@ -81,17 +125,64 @@ public class Pipeline {
         /** Identifies predefined categories. */
         CLASSIFY,
         /** Extracts data from text. */
-        EXTRACT
+        EXTRACT,
+        /** Identifies named entities, predefined categories and extracts data from text in a single pass. */
+        ANALYZE
+    }
+    
+    /**
+     * Function applied by the batch methods to every lemmatized sentence.
+     */
+    private interface SentenceProcessor<T> {
+        T process(ArrayList<Token> tokens) throws Exception;
     }
     
     private final Tasks currentTask;
     
+    /**
+     * Processing instructions, kept for reloading.
+     */
+    private final Properties properties;
+    
     private final Splitter splitter;
     private final Tokenizer tokenizer;
     private final Lemmatizer lemmatizer;
     private final Tagger tagger;
     private final Semantex semantex;
     private final Extractor extractor;
+    
+    private final ForkJoinPool pool;
+    
+    /**
+     * Indicates whether the pool was created by this pipeline, and must be shut down when it is closed.
+     */
+    private final boolean ownsPool;
+    
+    private final SentenceCache cache;
+    
+    private final Metrics metrics;
+    
+    /**
+     * Metrics registered with the MBean server by this pipeline, or null if they were not.
+     */
+    private final RecordingMetrics registered;
+    
+    private final AsyncExecutor async;
+    
+    /**
+     * Default deadline of the asynchronous requests in milliseconds; zero if they have no deadline.
+     */
+    private final long asyncTimeout;
+    
+    /**
+     * Identifies the configuration of this pipeline (including the content of the expression files) in the cache keys.
+     * It is computed anew on every reload, so that results computed with the previous version are never found in the cache.
+     */
+    private volatile String fingerprint;
+    
+    private final ResourceWatcher watcher;
+    
+    private boolean closed = false;
 
     /**
      * Pipeline is initiated by providing processing instructions to it. These processing instructions are described in the {@link PropertyFields} enum.
@@ -99,10 +190,77 @@ public class Pipeline {
      * @throws Exception if anything goes wrong.
      */
     public Pipeline(Properties properties) throws Exception {
+        this(properties, null, true, null, true);
+    }
+
+    /**
+     * Pipeline is initiated by providing processing instructions to it. These processing instructions are described in the {@link PropertyFields} enum.
+     * @param properties Instance of Java {@link java.util.Properties Properties} class holding the processing instructions.
+     * @param pool Fork-join pool used by the batch methods. The {@link PropertyFields#PARALLELISM} instruction is ignored.
+     * @throws Exception if anything goes wrong.
+     */
+    public Pipeline(Properties properties, ForkJoinPool pool) throws Exception {
+        this(properties, pool, false, null, true);
+    }
+
+    /**
+     * Pipeline is initiated by providing processing instructions to it. These processing instructions are described in the {@link PropertyFields} enum.
+     * @param properties Instance of Java {@link java.util.Properties Properties} class holding the processing instructions.
+     * @param pool Fork-join pool used by the batch methods. The {@link PropertyFields#PARALLELISM} instruction is ignored.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives stage timings and counters. The {@link PropertyFields#METRICS} instruction is ignored.
+     * @throws Exception if anything goes wrong.
+     */
+    public Pipeline(Properties properties, ForkJoinPool pool, Metrics metrics) throws Exception {
+        this(properties, pool, false, metrics, false);
+    }
+    
+    /**
+     * @param pool Fork-join pool used by the batch methods, or null if the pipeline creates its own.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface, or null if it is specified by the processing instructions.
+     */
+    private Pipeline(Properties properties, ForkJoinPool pool, boolean ownsPool, Metrics metrics, boolean ownsMetrics) throws Exception {
 
+        if (!ownsPool && pool == null) throw new IllegalArgumentException("Fork-join pool cannot be null.");
+        this.ownsPool = ownsPool;
+        
+        if (!ownsMetrics && metrics == null) throw new IllegalArgumentException("Metrics cannot be null.");
+        
+        this.properties = (Properties) properties.clone();
+        
+        this.asyncTimeout = Long.parseLong(properties.getProperty(PropertyFields.ASYNC_TIMEOUT.getField(), "0").trim());
+        if (this.asyncTimeout < 0) throw new IllegalArgumentException("Timeout cannot be negative.");
+        
+        this.cache = getCache(properties);
+        if (this.cache != null) {
+            this.fingerprint = getFingerprint(properties);
+        } else {
+            this.fingerprint = null;
+        }
+        
         this.currentTask = Tasks.valueOf(properties.getProperty(PropertyFields.TASK.getField(), null));
         
+        warmUp(properties);
+        
         switch (this.currentTask) {
+            case ANALYZE:
+            {
+                this.splitter = getSplitter(properties);
+                this.tokenizer = getTokenizer(properties);
+                this.lemmatizer = getLemmatizer(properties);
+                this.semantex = getSemantex(properties);
+                if (properties.containsKey(PropertyFields.EXPRESSIONS.getField())) {
+                    this.tagger = getTagger(properties);
+                } else {
+                    this.tagger = null;
+                }
+                if (properties.containsKey(PropertyFields.FRAME_EXPRESSIONS.getField())) {
+                    this.extractor = getExtractor(properties);
+                } else {
+                    this.extractor = null;
+                }
+                if (this.semantex == null && this.tagger == null && this.extractor == null) throw new IllegalArgumentException("No named entity instructions, concepts, expressions or extraction frames were specificed in the properties used in the constructor.");
+                break;
+            }
             case EXTRACT:
             {
                 this.splitter = getSplitter(properties);
@@ -186,8 +344,160 @@ public class Pipeline {
             }
         }
         
+        StateBudget budget = getBudget(properties);
+        if (this.tagger != null) this.tagger.setBudget(budget);
+        if (this.semantex != null) this.semantex.setBudget(budget);
+        if (this.extractor != null) this.extractor.setBudget(budget);
+        
+        /**
+         * Threads and the MBean are created only after the stages were built, and are released again if anything fails,
+         * so that nothing outlives a pipeline that could not be constructed (e.g., the MBean name can be used again).
+         */
+        ForkJoinPool created = null;
+        RecordingMetrics registered = null;
+        AsyncExecutor async = null;
+        
+        try {
+            
+            if (ownsMetrics) {
+                metrics = getMetrics(properties);
+                if (metrics instanceof RecordingMetrics) registered = (RecordingMetrics) metrics;
+            }
+            
+            if (ownsPool) {
+                pool = getPool(properties);
+                created = pool;
+            }
+            
+            async = getAsyncExecutor(properties);
+            
+            this.metrics = metrics;
+            this.registered = registered;
+            this.pool = pool;
+            this.async = async;
+            
+            if (this.lemmatizer != null) this.lemmatizer.setMetrics(this.metrics);
+            if (this.tagger != null) this.tagger.setMetrics(this.metrics);
+            if (this.semantex != null) this.semantex.setMetrics(this.metrics);
+            if (this.extractor != null) this.extractor.setMetrics(this.metrics);
+            
+            if (Boolean.parseBoolean(properties.getProperty(PropertyFields.WATCH.getField(), Boolean.FALSE.toString()).trim())) {
+                this.watcher = new ResourceWatcher(properties, this::reload);
+            } else {
+                this.watcher = null;
+            }
+            
+        } catch (Exception ex) {
+            if (created != null) created.shutdown();
+            if (async != null) async.shutdown();
+            if (registered != null) {
+                try {
+                    registered.unregister();
+                } catch (Exception suppressed) {
+                    ex.addSuppressed(suppressed);
+                }
+            }
+            throw ex;
+        }
+        
     }
 
+    private static ForkJoinPool getPool(Properties properties) {
+        
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (properties.containsKey(PropertyFields.PARALLELISM.getField())) {
+            parallelism = Integer.parseInt(properties.getProperty(PropertyFields.PARALLELISM.getField()).trim());
+            if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be a positive integer.");
+        }
+        
+        return new ForkJoinPool(parallelism);
+        
+    }
+    
+    private static Metrics getMetrics(Properties properties) throws Exception {
+        
+        String name = properties.getProperty(PropertyFields.METRICS.getField(), null);
+        if (name == null) return Metrics.NONE;
+        
+        name = name.trim();
+        if (name.isEmpty()) throw new IllegalArgumentException("Metrics name cannot be empty.");
+        
+        RecordingMetrics retVal = new RecordingMetrics();
+        retVal.register(name);
+        return retVal;
+        
+    }
+    
+    private static StateBudget getBudget(Properties properties) {
+        
+        if (!properties.containsKey(PropertyFields.MAX_STATES.getField()) && !properties.containsKey(PropertyFields.MAX_TRANSITIONS.getField())) return StateBudget.NONE;
+        
+        int maxStates = Integer.parseInt(properties.getProperty(PropertyFields.MAX_STATES.getField(), Integer.toString(Integer.MAX_VALUE)).trim());
+        int maxTransitions = Integer.parseInt(properties.getProperty(PropertyFields.MAX_TRANSITIONS.getField(), Integer.toString(Integer.MAX_VALUE)).trim());
+        
+        PruningPolicies policy = PruningPolicies.valueOf(properties.getProperty(PropertyFields.PRUNING_POLICY.getField(), PruningPolicies.OLDEST_FIRST.name()).trim());
+        
+        return new StateBudget(maxStates, maxTransitions, policy);
+        
+    }
+    
+    private static AsyncExecutor getAsyncExecutor(Properties properties) throws Exception {
+        
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        if (properties.containsKey(PropertyFields.ASYNC_CONCURRENCY.getField())) {
+            concurrency = Integer.parseInt(properties.getProperty(PropertyFields.ASYNC_CONCURRENCY.getField()).trim());
+        }
+        
+        int queueSize = Integer.parseInt(properties.getProperty(PropertyFields.ASYNC_QUEUE_SIZE.getField(), "1000").trim());
+        
+        RejectionPolicies policy = RejectionPolicies.valueOf(properties.getProperty(PropertyFields.REJECTION_POLICY.getField(), RejectionPolicies.REJECT.name()).trim());
+        
+        boolean virtualThreads = Boolean.parseBoolean(properties.getProperty(PropertyFields.VIRTUAL_THREADS.getField(), Boolean.FALSE.toString()).trim());
+        
+        return new AsyncExecutor(concurrency, queueSize, policy, virtualThreads);
+        
+    }
+    
+    private SentenceCache getCache(Properties properties) {
+        
+        int size = Integer.parseInt(properties.getProperty(PropertyFields.CACHE_SIZE.getField(), "0").trim());
+        if (size < 1) return null;
+        
+        long ttl = Long.parseLong(properties.getProperty(PropertyFields.CACHE_TTL.getField(), "0").trim());
+        
+        return new SentenceCache(size, ttl);
+        
+    }
+    
+    private String getFingerprint(Properties properties) throws Exception {
+        
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        
+        for (PropertyFields field : PropertyFields.values()) {
+            String value = properties.getProperty(field.getField(), null);
+            if (value == null) continue;
+            digest.update((field.getField() + "=" + value + "\n").getBytes(StandardCharsets.UTF_8));
+            switch (field) {
+                case EXPRESSIONS:
+                case PATTERNS:
+                case CONCEPTS:
+                case FRAME_EXPRESSIONS:
+                case FRAMES:
+                    for (String line : TextFileReader.read(value)) {
+                        digest.update((line + "\n").getBytes(StandardCharsets.UTF_8));
+                    }
+                    break;
+            }
+        }
+        
+        StringBuilder retVal = new StringBuilder();
+        for (byte b : digest.digest()) {
+            retVal.append(String.format("%02x", b));
+        }
+        return retVal.toString();
+        
+    }
+    
     private Splitter getSplitter(Properties properties) throws Exception {
         
         UnicodeStandardizer unicode;
@@ -212,47 +522,112 @@ public class Pipeline {
 
     }
     
+    /**
+     * Loads the lexical resources required by the current task concurrently, before the stages are created.
+     * Otherwise, they are loaded one after another when the stages use them for the first time (e.g., nominals are loaded only when the first sentence is processed).
+     */
+    private void warmUp(Properties properties) throws Exception {
+        
+        if (!properties.containsKey(PropertyFields.WARM_UP.getField())) return;
+        
+        int parallelism = Integer.parseInt(properties.getProperty(PropertyFields.WARM_UP.getField()).trim());
+        
+        /**
+         * The loaders are passed to the warm-up rather than registered, so that pipelines warming up at the same time do not see each other's resources.
+         * A resource that is already loaded is merely returned.
+         */
+        LinkedHashMap<String, Callable<?>> loaders = new LinkedHashMap<>();
+        
+        loaders.put("abbreviations", Abbreviations::getInstance);
+        loaders.put("acronyms", Acronyms::getInstance);
+        loaders.put("domains", Domains::getInstance);
+        
+        if (!Tasks.SPLIT.equals(this.currentTask)) {
+            loaders.put("toklex", () -> getToklex(properties));
+            loaders.put("misspellings", () -> getMisspellings(properties));
+        }
+        
+        if (!Tasks.SPLIT.equals(this.currentTask) && !Tasks.TOKENIZE.equals(this.currentTask)) {
+            loaders.put("lexicon", () -> getLexicon(properties));
+            loaders.put("word index", () -> getWordIndex(properties));
+        }
+        
+        if (getInstructions(properties) > 0) {
+            loaders.put("nominals", Nominals::getInstance);
+        }
+        
+        Resources.warmUp(parallelism, loaders);
+        
+    }
+    
     private Tokenizer getTokenizer(Properties properties) throws Exception {
+        return new Tokenizer(getWordIndex(properties));
+    }
+    
+    /**
+     * The tokenizer and the lemmatizer share a single index of all word-level resources.
+     * The lexicon is not loaded if the pipeline only tokenizes.
+     */
+    private WordIndex getWordIndex(Properties properties) throws Exception {
+        if (Tasks.TOKENIZE.equals(this.currentTask)) return WordIndex.getInstance(null, getToklex(properties), getMisspellings(properties));
+        return WordIndex.getInstance(getLexicon(properties), getToklex(properties), getMisspellings(properties));
+    }
+    
+    private static Toklex getToklex(Properties properties) throws Exception {
         
-        Toklex toklex;
+        Toklex retVal;
         if (!properties.containsKey(PropertyFields.LANGUAGE.getField())) {
-            toklex = EnglishToklex.getInstance();
+            retVal = EnglishToklex.getInstance();
         } else {
             switch (properties.getProperty(PropertyFields.LANGUAGE.getField())) {
                 case "EN":
                 default:
-                    toklex = EnglishToklex.getInstance();
+                    retVal = EnglishToklex.getInstance();
             }
         }
-
-        Misspellings misspellings;
+        
+        return retVal;
+        
+    }
+    
+    private static Misspellings getMisspellings(Properties properties) throws Exception {
+        
+        Misspellings retVal;
         if (!properties.containsKey(PropertyFields.LANGUAGE.getField())) {
-            misspellings = EnglishMisspellings.getInstance();
+            retVal = EnglishMisspellings.getInstance();
         } else {
             switch (properties.getProperty(PropertyFields.LANGUAGE.getField())) {
                 case "EN":
                 default:
-                    misspellings = EnglishMisspellings.getInstance();
+                    retVal = EnglishMisspellings.getInstance();
             }
         }
         
-        return new Tokenizer(toklex, misspellings);
+        return retVal;
         
     }
     
-    private Lemmatizer getLemmatizer(Properties properties) throws Exception {
+    private static Lexicon getLexicon(Properties properties) throws Exception {
         
-        Lexicon lexicon;
-        if (!properties.containsKey(PropertyFields.LANGUAGE.getField())) {
-            lexicon = EnglishLexicon.getInstance();
+        Lexicon retVal;
+        if (properties.containsKey(PropertyFields.LEXICON.getField())) {
+            retVal = CompiledLexicon.open(properties.getProperty(PropertyFields.LEXICON.getField()).trim());
+        } else if (!properties.containsKey(PropertyFields.LANGUAGE.getField())) {
+            retVal = EnglishLexicon.getInstance();
         } else {
             switch (properties.getProperty(PropertyFields.LANGUAGE.getField())) {
                 case "EN":
                 default:
-                    lexicon = EnglishLexicon.getInstance();
+                    retVal = EnglishLexicon.getInstance();
             }
         }
         
+        return retVal;
+        
+    }
+    
+    private Lemmatizer getLemmatizer(Properties properties) throws Exception {
+        
         Class numerator;
         if (!properties.containsKey(PropertyFields.LANGUAGE.getField())) {
             numerator = EnglishNumericalExpressionDetector.class;
@@ -264,7 +639,7 @@ public class Pipeline {
             }
         }
         
-        return new Lemmatizer(lexicon, numerator);
+        return new Lemmatizer(getWordIndex(properties), numerator);
         
     }
     
@@ -273,27 +648,38 @@ public class Pipeline {
         String expressionPath = properties.getProperty(PropertyFields.EXPRESSIONS.getField(), null);
         if (expressionPath == null) throw new IllegalArgumentException("No expressions were specificed in the properties used in the constructor.");
 
-        ArrayList<String> expressions = new ArrayList<>();
-        ArrayList<String> lines = TextFileReader.read(expressionPath);
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            if (line.startsWith("#")) continue;
-            expressions.add(line);
-        }
+        ArrayList<String> expressions = getExpressions(expressionPath);
 
         Debugger debugger = new Debugger(DebuggingClients.PIPELINE, 0);
 
         EnclosedTagModes enclosedTagMode = EnclosedTagModes.valueOf(properties.getProperty(PropertyFields.ENCLOSED_TAG_MODE.getField(), EnclosedTagModes.ALL.name()));
         
+        boolean sharedPrefixes = Boolean.parseBoolean(properties.getProperty(PropertyFields.SHARED_PREFIXES.getField(), Boolean.FALSE.toString()).trim());
+        Conditions conditions = Conditions.compile(expressionPath, expressions, sharedPrefixes);
+        
         String patternPath = properties.getProperty(PropertyFields.PATTERNS.getField(), null);
         if (patternPath != null) {
-            return new Tagger(expressions, enclosedTagMode, patternPath, debugger);
+            return new Tagger(conditions, enclosedTagMode, patternPath, debugger);
         } else {
-            return new Tagger(expressions, enclosedTagMode, debugger);
+            return new Tagger(conditions, enclosedTagMode, debugger);
         }
     }
 
+    private ArrayList<String> getExpressions(String expressionPath) throws Exception {
+        
+        ArrayList<String> retVal = new ArrayList<>();
+        ArrayList<String> lines = TextFileReader.read(expressionPath);
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            if (line.startsWith("#")) continue;
+            retVal.add(line);
+        }
+        
+        return retVal;
+        
+    }
+
     private Semantex getSemantex(Properties properties) throws Exception {
         
         long instructions = getInstructions(properties);
@@ -345,6 +731,51 @@ public class Pipeline {
 
     }
     
+    /**
+     * Reloads a resource from the file specified in the processing instructions, and discards the cached results.
+     * Sentences that are being processed are completed with the previous version of the resource.
+     * @param field Value of the {@link PropertyFields} enum: {@link PropertyFields#EXPRESSIONS EXPRESSIONS}, {@link PropertyFields#CONCEPTS CONCEPTS}, {@link PropertyFields#PATTERNS PATTERNS}, {@link PropertyFields#FRAME_EXPRESSIONS FRAME_EXPRESSIONS} or {@link PropertyFields#FRAMES FRAMES}.
+     * @throws Exception if anything goes wrong. The previous version of the resource remains in use.
+     */
+    public synchronized void reload(PropertyFields field) throws Exception {
+        
+        String path = this.properties.getProperty(field.getField(), null);
+        if (path == null) throw new IllegalArgumentException("No " + field.getField() + " were specificed in the properties used in the constructor.");
+        
+        Interpreter interpreter = this.semantex == null ? null : this.semantex.getInterpreter();
+        
+        switch (field) {
+            case EXPRESSIONS:
+                if (this.tagger == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and does not use " + field.getField() + ".");
+                this.tagger.reload(getExpressions(path));
+                break;
+            case CONCEPTS:
+                if (interpreter == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and does not use " + field.getField() + ".");
+                interpreter.reload(path);
+                break;
+            case PATTERNS:
+                if (this.tagger != null) this.tagger.reloadPatterns(path);
+                if (interpreter != null) interpreter.reloadPatterns(path);
+                break;
+            case FRAME_EXPRESSIONS:
+                if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and does not use " + field.getField() + ".");
+                this.extractor.reloadExpressions(path);
+                break;
+            case FRAMES:
+                if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and does not use " + field.getField() + ".");
+                this.extractor.reloadFrames(path);
+                break;
+            default:
+                throw new IllegalArgumentException(field.getField() + " cannot be reloaded.");
+        }
+        
+        if (this.cache != null) {
+            this.fingerprint = getFingerprint(this.properties);
+            this.cache.clear();
+        }
+        
+    }
+    
     /**
      * Splits text into individual sentences.
      * @param text String holding the text.
@@ -352,7 +783,10 @@ public class Pipeline {
      * @throws Exception if anything goes wrong.
      */
     public ArrayList<String> split(String text) throws Exception {
-        return this.splitter.split(text);
+        long start = start();
+        ArrayList<String> retVal = this.splitter.split(text);
+        stop(Stages.SPLIT, start);
+        return retVal;
     }
     
     /**
@@ -364,8 +798,10 @@ public class Pipeline {
     public ArrayList<ArrayList<String>> tokenize(String text) throws Exception {
         if (this.tokenizer == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.TOKENIZE.name() + ".");
         ArrayList<ArrayList<String>> retVal = new ArrayList<>();
-        for (StringBuilder sentence : this.splitter.splitInPipeline(text)) {
+        for (StringBuilder sentence : splitSentences(text)) {
+            long start = start();
             retVal.add(this.tokenizer.tokenizeInPipeline(sentence));
+            stop(Stages.TOKENIZE, start);
         }
         return retVal;
     }
@@ -378,12 +814,7 @@ public class Pipeline {
      */
     public ArrayList<ArrayList<Token>> lemmatize(String text) throws Exception {
         if (this.lemmatizer == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.LEMMATIZE.name() + ".");
-        ArrayList<ArrayList<Token>> retVal = new ArrayList<>();
-        for (StringBuilder sentence : this.splitter.splitInPipeline(text)) {
-            ArrayList<String> tokens = this.tokenizer.tokenizeInPipeline(sentence);
-            retVal.add(this.lemmatizer.lemmatize(tokens));
-        }
-        return retVal;
+        return processSentences(text, Tasks.LEMMATIZE, (tokens) -> tokens);
     }
     
     /**
@@ -395,7 +826,10 @@ public class Pipeline {
     public ArrayList<Token> insertConcepts(ArrayList<Token> tokens) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_CONCEPTS.name() + ".");
         if (this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_CONCEPTS.name() + ".");
-        return this.semantex.insert(tokens);
+        long start = start();
+        ArrayList<Token> retVal = this.semantex.insert(tokens);
+        stop(Stages.CONCEPTS, start);
+        return retVal;
     }
 
     /**
@@ -408,11 +842,7 @@ public class Pipeline {
     public ArrayList<ArrayList<Token>> insertConcepts(String text) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_CONCEPTS.name() + ".");
         if (this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_CONCEPTS.name() + ".");
-        ArrayList<ArrayList<Token>> retVal = new ArrayList<>();
-        for (ArrayList<Token> sentence : this.lemmatize(text)) {
-            retVal.add(this.semantex.insert(sentence));
-        }
-        return retVal;
+        return processSentences(text, Tasks.INSERT_CONCEPTS, this::insertConcepts);
     }
 
     /**
@@ -424,7 +854,10 @@ public class Pipeline {
     public ArrayList<Token> insertNamedEntities(ArrayList<Token> tokens) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_NER.name() + ".");
         if (!this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_NER.name() + ".");
-        return this.semantex.insertNER(tokens);
+        long start = start();
+        ArrayList<Token> retVal = this.semantex.insertNER(tokens);
+        stop(Stages.NER, start);
+        return retVal;
     }
     
     /**
@@ -436,11 +869,7 @@ public class Pipeline {
     public ArrayList<ArrayList<Token>> insertNamedEntities(String text) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_NER.name() + ".");
         if (!this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.INSERT_NER.name() + ".");
-        ArrayList<ArrayList<Token>> retVal = new ArrayList<>();
-        for (ArrayList<Token> sentence : this.lemmatize(text)) {
-            retVal.add(this.semantex.insertNER(sentence));
-        }
-        return retVal;
+        return processSentences(text, Tasks.INSERT_NER, this::insertNamedEntities);
     }
 
     /**
@@ -452,7 +881,10 @@ public class Pipeline {
     public ArrayList<Tag> getNamedEntities(ArrayList<Token> tokens) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
         if (!this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
-        return this.semantex.extractNER(tokens);
+        long start = start();
+        ArrayList<Tag> retVal = this.semantex.extractNER(tokens);
+        stop(Stages.NER, start);
+        return retVal;
     }
     
     /**
@@ -464,11 +896,7 @@ public class Pipeline {
     public ArrayList<ArrayList<Tag>> getNamedEntities(String text) throws Exception {
         if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
         if (!this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
-        ArrayList<ArrayList<Tag>> retVal = new ArrayList<>();
-        for (ArrayList<Token> sentence : this.lemmatize(text)) {
-            retVal.add(this.semantex.extractNER(sentence));
-        }
-        return retVal;
+        return processSentences(text, Tasks.NER, this::getNamedEntities);
     }
 
     /**
@@ -482,13 +910,15 @@ public class Pipeline {
         if (this.tagger == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.CLASSIFY.name() + ".");
         if (this.semantex != null) {
             if (this.semantex.isNERConfigured()) {
-                return this.tagger.tag(insertNamedEntities(tokens));
+                tokens = insertNamedEntities(tokens);
             } else {
-                return this.tagger.tag(insertConcepts(tokens));
+                tokens = insertConcepts(tokens);
             }
-        } else {
-            return this.tagger.tag(tokens);
         }
+        long start = start();
+        ArrayList<Tag> retVal = this.tagger.tag(tokens);
+        stop(Stages.TAG, start);
+        return retVal;
     }
     
     /**
@@ -500,23 +930,7 @@ public class Pipeline {
      */
     public ArrayList<ArrayList<Tag>> classify(String text) throws Exception {
         if (this.tagger == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.CLASSIFY.name() + ".");
-        ArrayList<ArrayList<Tag>> retVal = new ArrayList<>();
-        if (this.semantex != null) {
-            if (this.semantex.isNERConfigured()) {
-                for (ArrayList<Token> sentence : insertNamedEntities(text)) {
-                    retVal.add(this.tagger.tag(sentence));
-                }
-            } else {
-                for (ArrayList<Token> sentence : insertConcepts(text)) {
-                    retVal.add(this.tagger.tag(sentence));
-                }
-            }
-        } else {
-            for (ArrayList<Token> sentence : lemmatize(text)) {
-                retVal.add(this.tagger.tag(sentence));
-            }
-        }
-        return retVal;
+        return processSentences(text, Tasks.CLASSIFY, this::classify);
     }
 
     /**
@@ -530,13 +944,15 @@ public class Pipeline {
         if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.EXTRACT.name() + ".");
         if (this.semantex != null) {
             if (this.semantex.isNERConfigured()) {
-                return this.extractor.extract(insertNamedEntities(tokens));
+                tokens = insertNamedEntities(tokens);
             } else {
-                return this.extractor.extract(insertConcepts(tokens));
+                tokens = insertConcepts(tokens);
             }
-        } else {
-            return this.extractor.extract(tokens);
         }
+        long start = start();
+        ArrayList<Extract> retVal = this.extractor.extract(tokens);
+        stop(Stages.EXTRACT, start);
+        return retVal;
     }
     
     /**
@@ -548,23 +964,497 @@ public class Pipeline {
      */
     public ArrayList<ArrayList<Extract>> extract(String text) throws Exception {
         if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.EXTRACT.name() + ".");
-        ArrayList<ArrayList<Extract>> retVal = new ArrayList<>();
+        return processSentences(text, Tasks.EXTRACT, this::extract);
+    }
+    
+    /**
+     * Runs all stages configured for the {@link Tasks#ANALYZE ANALYZE} task on a single sentence.
+     * Named entities (or concepts) are identified and inserted first. The resulting array list of tokens is then used to identify predefined categories and to extract data.
+     * @param tokens Array list containing instances of the {@link com.itcag.rockwell.lang.Token Token} class representing a sentence.
+     * @return Instance of the {@link Analysis} class holding the results of all configured stages.
+     * @throws Exception if anything goes wrong.
+     */
+    public Analysis analyze(ArrayList<Token> tokens) throws Exception {
+        
+        if (this.currentTask != Tasks.ANALYZE) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.ANALYZE.name() + ".");
+        
+        ArrayList<Tag> namedEntities = new ArrayList<>();
         if (this.semantex != null) {
             if (this.semantex.isNERConfigured()) {
-                for (ArrayList<Token> sentence : insertNamedEntities(text)) {
-                    retVal.add(this.extractor.extract(sentence));
-                }
+                /**
+                 * Same as insertNER, but the named entities are kept.
+                 */
+                long start = start();
+                namedEntities = this.semantex.extractNER(tokens);
+                tokens = Inserter.insertSemtokens(namedEntities, tokens);
+                stop(Stages.NER, start);
             } else {
-                for (ArrayList<Token> sentence : insertConcepts(text)) {
-                    retVal.add(this.extractor.extract(sentence));
-                }
+                long start = start();
+                tokens = this.semantex.insert(tokens);
+                stop(Stages.CONCEPTS, start);
             }
+        }
+        
+        ArrayList<Tag> categories;
+        if (this.tagger != null) {
+            long start = start();
+            categories = this.tagger.tag(tokens);
+            stop(Stages.TAG, start);
+        } else {
+            categories = new ArrayList<>();
+        }
+        
+        ArrayList<Extract> extracts;
+        if (this.extractor != null) {
+            long start = start();
+            extracts = this.extractor.extract(tokens);
+            stop(Stages.EXTRACT, start);
         } else {
-            for (ArrayList<Token> sentence : lemmatize(text)) {
-                retVal.add(this.extractor.extract(sentence));
+            extracts = new ArrayList<>();
+        }
+        
+        return new Analysis(tokens, namedEntities, categories, extracts);
+        
+    }
+    
+    /**
+     * Splits text into sentences, splits sentences into tokens, inserts part-of-speech specification and lemmas into tokens, and then runs all stages configured for the {@link Tasks#ANALYZE ANALYZE} task on every sentence.
+     * @param text String holding the text.
+     * @return Array list containing instances of the {@link Analysis} class - one per sentence.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<Analysis> analyze(String text) throws Exception {
+        if (this.currentTask != Tasks.ANALYZE) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.ANALYZE.name() + ".");
+        return processSentences(text, Tasks.ANALYZE, this::analyze);
+    }
+    
+    /**
+     * Runs all stages configured for the {@link Tasks#ANALYZE ANALYZE} task on every text. Texts, and sentences within each text, are processed in parallel.
+     * @param texts List of strings - each holding a text.
+     * @return Array list containing for each text, in the same order, the result of the {@link #analyze(java.lang.String)} method.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<ArrayList<Analysis>> analyzeAll(List<String> texts) throws Exception {
+        if (this.currentTask != Tasks.ANALYZE) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.ANALYZE.name() + ".");
+        return processAll(texts, Tasks.ANALYZE, this::analyze);
+    }
+    
+    /**
+     * Splits every text into sentences, splits sentences into tokens, and then inserts part-of-speech specification and lemmas into tokens. Texts, and sentences within each text, are processed in parallel.
+     * @param texts List of strings - each holding a text.
+     * @return Array list containing for each text, in the same order, the result of the {@link #lemmatize(java.lang.String)} method.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<ArrayList<ArrayList<Token>>> lemmatizeAll(List<String> texts) throws Exception {
+        if (this.lemmatizer == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.LEMMATIZE.name() + ".");
+        return processAll(texts, Tasks.LEMMATIZE, (tokens) -> tokens);
+    }
+    
+    /**
+     * Identifies named entities in every text. Texts, and sentences within each text, are processed in parallel.
+     * @param texts List of strings - each holding a text.
+     * @return Array list containing for each text, in the same order, the result of the {@link #getNamedEntities(java.lang.String)} method.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<ArrayList<ArrayList<Tag>>> getNamedEntitiesAll(List<String> texts) throws Exception {
+        if (this.semantex == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
+        if (!this.semantex.isNERConfigured())  throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.NER.name() + ".");
+        return processAll(texts, Tasks.NER, this::getNamedEntities);
+    }
+    
+    /**
+     * Identifies predefined categories in every text. Texts, and sentences within each text, are processed in parallel.
+     * @param texts List of strings - each holding a text.
+     * @return Array list containing for each text, in the same order, the result of the {@link #classify(java.lang.String)} method.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<ArrayList<ArrayList<Tag>>> classifyAll(List<String> texts) throws Exception {
+        if (this.tagger == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.CLASSIFY.name() + ".");
+        return processAll(texts, Tasks.CLASSIFY, this::classify);
+    }
+    
+    /**
+     * Extracts data from every text. Texts, and sentences within each text, are processed in parallel.
+     * @param texts List of strings - each holding a text.
+     * @return Array list containing for each text, in the same order, the result of the {@link #extract(java.lang.String)} method.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<ArrayList<ArrayList<Extract>>> extractAll(List<String> texts) throws Exception {
+        if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.EXTRACT.name() + ".");
+        return processAll(texts, Tasks.EXTRACT, this::extract);
+    }
+    
+    private <T> ArrayList<ArrayList<T>> processAll(List<String> texts, Tasks task, SentenceProcessor<T> processor) throws Exception {
+        
+        /**
+         * Parallel streams started from within a fork-join pool are executed by that pool,
+         * so both the texts and the sentences of every text are distributed over the same threads.
+         * Ordered streams preserve the order of the input.
+         */
+        try {
+            return this.pool.submit(() -> texts.parallelStream().map((text) -> processText(text, task, processor)).collect(Collectors.toCollection(ArrayList::new))).get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
             }
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw ex;
         }
+        
+    }
+    
+    private <T> ArrayList<T> processText(String text, Tasks task, SentenceProcessor<T> processor) {
+        
+        ArrayList<StringBuilder> sentences;
+        try {
+            sentences = splitSentences(text);
+        } catch (Exception ex) {
+            throw new CompletionException(ex);
+        }
+        
+        return sentences.parallelStream().map((sentence) -> {
+            try {
+                return processSentence(sentence, task, processor);
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        }).collect(Collectors.toCollection(ArrayList::new));
+        
+    }
+    
+    /**
+     * Asynchronous version of the {@link #lemmatize(java.lang.String)} method. The default deadline specified by the {@link PropertyFields#ASYNC_TIMEOUT} instruction applies.
+     * @param text String holding the text.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Token Token} class representing a sentence.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Token>>> lemmatizeAsync(String text) {
+        return lemmatizeAsync(text, this.asyncTimeout, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #lemmatize(java.lang.String)} method.
+     * @param text String holding the text.
+     * @param timeout Long holding the time after which the future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}. Zero indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Token Token} class representing a sentence.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Token>>> lemmatizeAsync(String text, long timeout, TimeUnit unit) {
+        return this.async.submit(() -> lemmatize(text), timeout, unit);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #getNamedEntities(java.lang.String)} method. The default deadline specified by the {@link PropertyFields#ASYNC_TIMEOUT} instruction applies.
+     * @param text String holding the text.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class representing the identified named entities.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Tag>>> getNamedEntitiesAsync(String text) {
+        return getNamedEntitiesAsync(text, this.asyncTimeout, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #getNamedEntities(java.lang.String)} method.
+     * @param text String holding the text.
+     * @param timeout Long holding the time after which the future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}. Zero indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class representing the identified named entities.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Tag>>> getNamedEntitiesAsync(String text, long timeout, TimeUnit unit) {
+        return this.async.submit(() -> getNamedEntities(text), timeout, unit);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #classify(java.lang.String)} method. The default deadline specified by the {@link PropertyFields#ASYNC_TIMEOUT} instruction applies.
+     * @param text String holding the text.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag class} representing the identified categories.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Tag>>> classifyAsync(String text) {
+        return classifyAsync(text, this.asyncTimeout, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #classify(java.lang.String)} method.
+     * @param text String holding the text.
+     * @param timeout Long holding the time after which the future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}. Zero indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag class} representing the identified categories.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Tag>>> classifyAsync(String text, long timeout, TimeUnit unit) {
+        return this.async.submit(() -> classify(text), timeout, unit);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #extract(java.lang.String)} method. The default deadline specified by the {@link PropertyFields#ASYNC_TIMEOUT} instruction applies.
+     * @param text String holding the text.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Extract Extract} class representing extracted data.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Extract>>> extractAsync(String text) {
+        return extractAsync(text, this.asyncTimeout, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #extract(java.lang.String)} method.
+     * @param text String holding the text.
+     * @param timeout Long holding the time after which the future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}. Zero indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the array list containing instances of the {@link com.itcag.rockwell.lang.Extract Extract} class representing extracted data.
+     */
+    public CompletableFuture<ArrayList<ArrayList<Extract>>> extractAsync(String text, long timeout, TimeUnit unit) {
+        return this.async.submit(() -> extract(text), timeout, unit);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #analyze(java.lang.String)} method. The default deadline specified by the {@link PropertyFields#ASYNC_TIMEOUT} instruction applies.
+     * @param text String holding the text.
+     * @return Future completed with the array list containing instances of the {@link Analysis} class - one per sentence.
+     */
+    public CompletableFuture<ArrayList<Analysis>> analyzeAsync(String text) {
+        return analyzeAsync(text, this.asyncTimeout, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Asynchronous version of the {@link #analyze(java.lang.String)} method.
+     * @param text String holding the text.
+     * @param timeout Long holding the time after which the future is completed with a {@link java.util.concurrent.TimeoutException TimeoutException}. Zero indicates no deadline.
+     * @param unit Time unit of the timeout.
+     * @return Future completed with the array list containing instances of the {@link Analysis} class - one per sentence.
+     */
+    public CompletableFuture<ArrayList<Analysis>> analyzeAsync(String text, long timeout, TimeUnit unit) {
+        return this.async.submit(() -> analyze(text), timeout, unit);
+    }
+    
+    /**
+     * @return Integer holding the number of asynchronous requests that are currently queued or being processed.
+     */
+    public int getPendingRequests() {
+        return this.async.getPending();
+    }
+    
+    /**
+     * Reads text incrementally, and splits it into individual sentences. Sentences are emitted as soon as they are complete.
+     * @param reader Reader providing the text. It is not closed by this method.
+     * @return Stream of strings - each holding an individual sentence.
+     */
+    public Stream<String> split(Reader reader) {
+        return toStream(this.splitter.split(reader));
+    }
+    
+    /**
+     * Reads text incrementally, and emits every sentence lemmatized as soon as it is complete. See {@link #lemmatize(java.lang.String)}.
+     * @param reader Reader providing the text. It is not closed by this method.
+     * @return Stream of array lists containing instances of the {@link com.itcag.rockwell.lang.Token Token} class - each representing a sentence.
+     */
+    public Stream<ArrayList<Token>> lemmatize(Reader reader) {
+        if (this.lemmatizer == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.LEMMATIZE.name() + ".");
+        return processStream(reader, Tasks.LEMMATIZE, (tokens) -> tokens);
+    }
+    
+    /**
+     * Reads text incrementally, and emits predefined categories identified in every sentence as soon as the sentence is complete. See {@link #classify(java.lang.String)}.
+     * @param reader Reader providing the text. It is not closed by this method.
+     * @return Stream of array lists containing instances of the {@link com.itcag.rockwell.lang.Tag Tag class} - one array list per sentence.
+     */
+    public Stream<ArrayList<Tag>> classify(Reader reader) {
+        if (this.tagger == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.CLASSIFY.name() + ".");
+        return processStream(reader, Tasks.CLASSIFY, this::classify);
+    }
+    
+    /**
+     * Reads text incrementally, and emits data extracted from every sentence as soon as the sentence is complete. See {@link #extract(java.lang.String)}.
+     * @param reader Reader providing the text. It is not closed by this method.
+     * @return Stream of array lists containing instances of the {@link com.itcag.rockwell.lang.Extract Extract} class - one array list per sentence.
+     */
+    public Stream<ArrayList<Extract>> extract(Reader reader) {
+        if (this.extractor == null) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.EXTRACT.name() + ".");
+        return processStream(reader, Tasks.EXTRACT, this::extract);
+    }
+    
+    /**
+     * Reads text incrementally, and emits the results of all stages configured for the {@link Tasks#ANALYZE ANALYZE} task for every sentence as soon as it is complete. See {@link #analyze(java.lang.String)}.
+     * @param reader Reader providing the text. It is not closed by this method.
+     * @return Stream of instances of the {@link Analysis} class - one per sentence.
+     */
+    public Stream<Analysis> analyze(Reader reader) {
+        if (this.currentTask != Tasks.ANALYZE) throw new IllegalArgumentException("This pipeline was initiated for " + this.currentTask.name() + " and not for " + Tasks.ANALYZE.name() + ".");
+        return processStream(reader, Tasks.ANALYZE, this::analyze);
+    }
+    
+    private <T> Stream<T> processStream(Reader reader, Tasks task, SentenceProcessor<T> processor) {
+        return toStream(this.splitter.splitInPipeline(reader)).map((sentence) -> {
+            try {
+                return processSentence(sentence, task, processor);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+    
+    private <T> ArrayList<T> processSentences(String text, Tasks task, SentenceProcessor<T> processor) throws Exception {
+        ArrayList<T> retVal = new ArrayList<>();
+        for (StringBuilder sentence : splitSentences(text)) {
+            retVal.add(processSentence(sentence, task, processor));
+        }
+        return retVal;
+    }
+    
+    /**
+     * Tokenizes and lemmatizes a sentence, and then applies the processor to it.
+     * If the cache is enabled, a sentence that was already processed for the same task is not processed again, and a copy of the cached result is returned.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T processSentence(StringBuilder sentence, Tasks task, SentenceProcessor<T> processor) throws Exception {
+        
+        if (this.cache == null) {
+            return processor.process(lemmatize(sentence));
+        }
+        
+        /**
+         * The key is created first, because tokenization modifies the sentence.
+         */
+        String key = this.fingerprint + "|" + task.name() + "|" + sentence.toString();
+        
+        T retVal = (T) this.cache.get(key);
+        if (retVal == null) {
+            retVal = processor.process(lemmatize(sentence));
+            this.cache.put(key, retVal);
+        }
+        
+        return (T) copy(retVal);
+        
+    }
+    
+    /**
+     * Cached results are shared by all callers, while callers modify their results (e.g., the tagger stores symbols in the tokens).
+     * Therefore, the lists, tokens, tags and extracts of a cached result are copied for every caller.
+     */
+    private static Object copy(Object result) {
+        if (result instanceof Analysis) {
+            Analysis analysis = (Analysis) result;
+            return new Analysis(copy(analysis.getTokens()), copy(analysis.getNamedEntities()), copy(analysis.getCategories()), copy(analysis.getExtracts()));
+        } else if (result instanceof ArrayList) {
+            return copy((ArrayList<?>) result);
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayList<T> copy(ArrayList<T> results) {
+        ArrayList<T> retVal = new ArrayList<>(results.size());
+        for (T result : results) {
+            if (result instanceof Token) {
+                retVal.add((T) copy((Token) result));
+            } else if (result instanceof Tag) {
+                retVal.add((T) new Tag((Tag) result));
+            } else if (result instanceof Extract) {
+                retVal.add((T) new Extract((Extract) result));
+            } else {
+                retVal.add(result);
+            }
+        }
+        return retVal;
+    }
+    
+    private static Token copy(Token token) {
+        Token retVal;
+        if (token instanceof Semtoken) {
+            retVal = new Semtoken((Semtoken) token, copy(((Semtoken) token).getTokens()));
+        } else {
+            retVal = new Token(token, token.getIndex());
+        }
+        for (Token alternative : token.getAlternatives()) {
+            retVal.addAlternative(copy(alternative));
+        }
+        return retVal;
+    }
+    
+    private ArrayList<StringBuilder> splitSentences(String text) throws Exception {
+        long start = start();
+        ArrayList<StringBuilder> retVal = this.splitter.splitInPipeline(text);
+        stop(Stages.SPLIT, start);
+        return retVal;
+    }
+    
+    private ArrayList<Token> lemmatize(StringBuilder sentence) throws Exception {
+        
+        long start = start();
+        ArrayList<String> words = this.tokenizer.tokenizeInPipeline(sentence);
+        stop(Stages.TOKENIZE, start);
+        
+        start = start();
+        ArrayList<Token> retVal = this.lemmatizer.lemmatize(words);
+        stop(Stages.LEMMATIZE, start);
+        
+        this.metrics.count(Counters.SENTENCES, 1);
+        this.metrics.count(Counters.TOKENS, retVal.size());
+        
         return retVal;
+        
+    }
+    
+    /**
+     * Returns the current time only if metrics are recorded, so that no system call is made otherwise.
+     */
+    private long start() {
+        return this.metrics.isEnabled() ? System.nanoTime() : 0;
+    }
+    
+    private void stop(Stages stage, long start) {
+        if (this.metrics.isEnabled()) this.metrics.time(stage, System.nanoTime() - start);
+    }
+    
+    /**
+     * @return Value of the {@link Tasks} enum indicating which task this pipeline was initiated for.
+     */
+    public Tasks getTask() {
+        return this.currentTask;
+    }
+    
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface receiving stage timings and counters. Unless metrics were requested, this is the no-op {@link com.itcag.rockwell.metrics.Metrics#NONE NONE} instance.
+     */
+    public Metrics getMetrics() {
+        return this.metrics;
+    }
+    
+    /**
+     * @return Instance of the {@link SentenceCache} class holding the cached results and the cache statistics, or null if caching is not enabled.
+     */
+    public SentenceCache getCache() {
+        return this.cache;
+    }
+    
+    /**
+     * @return Instance of the {@link ResourceWatcher} class watching the files holding expressions, patterns and frames, or null if they are not watched.
+     */
+    public ResourceWatcher getWatcher() {
+        return this.watcher;
+    }
+    
+    /**
+     * Releases the threads and registrations held by this pipeline. Requests that were already submitted to the asynchronous methods are completed, while new ones are rejected. Calling this method again has no effect.
+     * @throws Exception if anything goes wrong.
+     */
+    @Override
+    public synchronized void close() throws Exception {
+        
+        if (this.closed) return;
+        this.closed = true;
+        
+        if (this.ownsPool) this.pool.shutdown();
+        this.async.shutdown();
+        
+        try {
+            if (this.watcher != null) this.watcher.close();
+        } finally {
+            if (this.registered != null) this.registered.unregister();
+        }
+        
+    }
+    
+    private <T> Stream<T> toStream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
     
     public void test() throws Exception {
@@ -53,6 +53,54 @@ public enum PropertyFields {
     
     /** Indicates how enclosed tags are to be handled. */
     ENCLOSED_TAG_MODE("enclosedTagMode"),
+    
+    /** Number of threads used by the batch methods to process documents and their sentences in parallel. Defaults to the number of available processors. */
+    PARALLELISM("parallelism"),
+    
+    /** Maximum number of sentence results kept in the cache. Caching is disabled if this instruction is missing. */
+    CACHE_SIZE("cacheSize"),
+    
+    /** Time in seconds after which a cached sentence result expires. Cached results do not expire if this instruction is missing. */
+    CACHE_TTL("cacheTTL"),
+    
+    /** Name under which stage timings and counters are published as a JMX MBean. Metrics are not recorded if this instruction is missing. */
+    METRICS("metrics"),
+    
+    /** Number of asynchronous requests that are processed at the same time. Defaults to the number of available processors. */
+    ASYNC_CONCURRENCY("asyncConcurrency"),
+    
+    /** Number of asynchronous requests that can wait to be processed. Defaults to 1000. */
+    ASYNC_QUEUE_SIZE("asyncQueueSize"),
+    
+    /** Name of the value in the {@link RejectionPolicies} enum that specifies what happens to asynchronous requests submitted when the queue is full. Defaults to {@link RejectionPolicies#REJECT REJECT}. */
+    REJECTION_POLICY("rejectionPolicy"),
+    
+    /** Time in milliseconds after which an asynchronous request fails, unless a deadline is specified when it is submitted. Requests have no deadline if this instruction is missing. */
+    ASYNC_TIMEOUT("asyncTimeout"),
+    
+    /** Indicates whether asynchronous requests are to be processed by virtual threads. Requires Java 21 or later. */
+    VIRTUAL_THREADS("virtualThreads"),
+    
+    /** Number of threads that load the lexical resources concurrently when the pipeline is created, so that it is ready as soon as the constructor returns. Resources are loaded one after another, on first use, if this instruction is missing. */
+    WARM_UP("warmUp"),
+    
+    /** Local path to a lexicon compiled by the {@link com.itcag.multilingual.LexiconCompiler LexiconCompiler} tool. The compiled lexicon is memory-mapped instead of being loaded on the heap, and replaces the default lexicon of the {@link #LANGUAGE} instruction. */
+    LEXICON("lexicon"),
+    
+    /** Indicates whether expressions that start with identical condition elements share the states of the tagger automaton. Recommended for large sets of similar expressions. Defaults to false. */
+    SHARED_PREFIXES("sharedPrefixes"),
+    
+    /** Maximum number of live states of the tagger automaton after every token of a sentence. States exceeding the limit are discarded according to the {@link #PRUNING_POLICY} instruction. States are not limited if this instruction is missing. */
+    MAX_STATES("maxStates"),
+    
+    /** Maximum number of states of the tagger automaton that can be created for a sentence. The rest of the sentence is not tagged once the limit is reached. Transitions are not limited if this instruction is missing. */
+    MAX_TRANSITIONS("maxTransitions"),
+    
+    /** Name of the value in the {@link com.itcag.rockwell.tagger.PruningPolicies PruningPolicies} enum that specifies which states are discarded when the {@link #MAX_STATES} limit is exceeded. Defaults to {@link com.itcag.rockwell.tagger.PruningPolicies#OLDEST_FIRST OLDEST_FIRST}. */
+    PRUNING_POLICY("pruningPolicy"),
+    
+    /** Indicates whether the files specified by the {@link #EXPRESSIONS}, {@link #CONCEPTS}, {@link #PATTERNS}, {@link #FRAME_EXPRESSIONS} and {@link #FRAMES} instructions are watched, and reloaded as soon as they change (see {@link ResourceWatcher}). Defaults to false. */
+    WATCH("watch"),
 
     ;
 
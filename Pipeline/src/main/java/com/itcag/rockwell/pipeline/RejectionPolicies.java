@@ -0,0 +1,35 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+/**
+ * <p>Enumerates how the asynchronous methods of the {@link Pipeline} class (e.g., {@link Pipeline#classifyAsync(java.lang.String)}) react when their queue is full.</p>
+ */
+public enum RejectionPolicies {
+
+    /** The returned future is completed exceptionally with a {@link java.util.concurrent.RejectedExecutionException RejectedExecutionException}. The caller is never blocked. */
+    REJECT,
+    /** The caller is blocked until the queue has room for the request. This propagates backpressure to the caller. */
+    BLOCK,
+    /** The request is processed by the calling thread before the method returns. */
+    CALLER_RUNS,
+
+    ;
+
+}
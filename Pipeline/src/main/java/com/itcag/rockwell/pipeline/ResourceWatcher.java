@@ -0,0 +1,197 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>This class watches the files holding expressions, patterns and frames (see {@link PropertyFields#WATCH}), and reloads them in the {@link Pipeline} as soon as they change.</p>
+ * <p>Files are watched by a daemon thread. Editors often write a file in several steps, so changes are collected for a short quiet period, and every changed file is then reloaded only once.</p>
+ * <p>A file that cannot be reloaded (e.g., because it contains an invalid expression) does not interrupt the pipeline, which continues to use the previous version. The failure is counted, and the last one is kept.</p>
+ */
+public final class ResourceWatcher {
+
+    /**
+     * Reloads the resource specified by a processing instruction.
+     */
+    interface Reloader {
+        void reload(PropertyFields field) throws Exception;
+    }
+    
+    /**
+     * Processing instructions specifying files that are watched.
+     */
+    final static EnumSet<PropertyFields> WATCHED = EnumSet.of(PropertyFields.EXPRESSIONS, PropertyFields.CONCEPTS, PropertyFields.PATTERNS, PropertyFields.FRAME_EXPRESSIONS, PropertyFields.FRAMES);
+    
+    private final static long QUIET_PERIOD = 200;
+    
+    private final WatchService service;
+    
+    private final Reloader reloader;
+    
+    /**
+     * The key is the absolute path of a watched file.
+     * The value contains the processing instructions that specify it.
+     */
+    private final HashMap<Path, ArrayList<PropertyFields>> files = new HashMap<>();
+    
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile Exception lastFailure = null;
+    
+    /**
+     * @param properties Instance of Java {@link java.util.Properties Properties} class holding the processing instructions.
+     * @param reloader Instance of the {@link Reloader} interface that reloads the changed files.
+     * @throws Exception if anything goes wrong.
+     */
+    ResourceWatcher(Properties properties, Reloader reloader) throws Exception {
+        
+        this.reloader = reloader;
+        this.service = FileSystems.getDefault().newWatchService();
+        
+        HashSet<Path> directories = new HashSet<>();
+        for (PropertyFields field : WATCHED) {
+            
+            String path = properties.getProperty(field.getField(), null);
+            if (path == null) continue;
+            
+            Path file = Paths.get(path.trim()).toAbsolutePath().normalize();
+            if (!this.files.containsKey(file)) this.files.put(file, new ArrayList<>());
+            this.files.get(file).add(field);
+            
+            /**
+             * Files are often replaced rather than modified, so their folders are watched.
+             */
+            Path directory = file.getParent();
+            if (directories.add(directory)) {
+                directory.register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+            
+        }
+        
+        Thread thread = new Thread(this::watch, "rockwell-resource-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        
+    }
+    
+    private void watch() {
+        
+        while (true) {
+            
+            EnumSet<PropertyFields> changed = EnumSet.noneOf(PropertyFields.class);
+            
+            try {
+                
+                collect(this.service.take(), changed);
+                
+                Thread.sleep(QUIET_PERIOD);
+                WatchKey key;
+                while ((key = this.service.poll()) != null) {
+                    collect(key, changed);
+                }
+                
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            
+            /**
+             * Fields are reloaded in the order of the enum, so that frame expressions are reloaded before frames.
+             */
+            for (PropertyFields field : changed) {
+                try {
+                    this.reloader.reload(field);
+                    this.reloads.increment();
+                } catch (Exception ex) {
+                    this.failures.increment();
+                    this.lastFailure = ex;
+                }
+            }
+            
+        }
+        
+    }
+    
+    private void collect(WatchKey key, EnumSet<PropertyFields> changed) {
+        
+        Path directory = (Path) key.watchable();
+        
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                /**
+                 * Events were lost, so all files in the folder are reloaded.
+                 */
+                for (Map.Entry<Path, ArrayList<PropertyFields>> entry : this.files.entrySet()) {
+                    if (entry.getKey().getParent().equals(directory)) changed.addAll(entry.getValue());
+                }
+                continue;
+            }
+            ArrayList<PropertyFields> fields = this.files.get(directory.resolve((Path) event.context()));
+            if (fields != null) changed.addAll(fields);
+        }
+        
+        key.reset();
+        
+    }
+    
+    /**
+     * Stops watching the files.
+     * @throws IOException if anything goes wrong.
+     */
+    public void close() throws IOException {
+        this.service.close();
+    }
+    
+    /**
+     * @return Long numerical holding the number of successful reloads.
+     */
+    public long getReloads() {
+        return this.reloads.sum();
+    }
+    
+    /**
+     * @return Long numerical holding the number of reloads that failed.
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+    
+    /**
+     * @return Exception that caused the last failed reload, or null if no reload failed.
+     */
+    public Exception getLastFailure() {
+        return this.lastFailure;
+    }
+    
+}
@@ -0,0 +1,189 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>This class stores results of sentence processing, so that sentences that occur repeatedly (e.g., disclaimers and other boilerplate) are processed only once.</p>
+ * <p>The cache is bounded both in size and in time: when the maximum size is reached the least recently used results are evicted, and results older than the time-to-live are discarded.</p>
+ * <p>Results are kept in independently locked segments, so that concurrent threads rarely wait for each other. Results are returned as they were stored, so they must not be modified by callers of the {@link #get(java.lang.String)} method. The {@link Pipeline} hands out copies of them.</p>
+ */
+public final class SentenceCache {
+
+    private final static int SEGMENTS = 16;
+
+    private final class Entry {
+
+        private final Object value;
+        private final long created;
+
+        private Entry(Object value) {
+            this.value = value;
+            this.created = System.nanoTime();
+        }
+
+    }
+
+    private final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > this.maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+    private final Segment[] segments;
+
+    /**
+     * Time-to-live in nanoseconds; zero if results never expire.
+     */
+    private final long ttl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize Integer holding the maximum number of cached results.
+     * @param ttl Long holding the time in seconds after which a cached result expires. Zero indicates that results never expire.
+     */
+    public SentenceCache(int maxSize, long ttl) {
+
+        if (maxSize < 1) throw new IllegalArgumentException("Cache size must be a positive integer.");
+        if (ttl < 0) throw new IllegalArgumentException("Cache time-to-live cannot be negative.");
+
+        int count = maxSize < SEGMENTS ? 1 : SEGMENTS;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment((maxSize + count - 1) / count);
+        }
+
+        this.ttl = TimeUnit.SECONDS.toNanos(ttl);
+
+    }
+
+    private Segment getSegment(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return this.segments[(hash & Integer.MAX_VALUE) % this.segments.length];
+    }
+
+    /**
+     * @param key String holding the key.
+     * @return Cached result, or null if no result is cached for the key, or if it expired.
+     */
+    public Object get(String key) {
+
+        Segment segment = getSegment(key);
+
+        synchronized(segment) {
+            Entry entry = segment.get(key);
+            if (entry != null && this.ttl > 0 && System.nanoTime() - entry.created > this.ttl) {
+                segment.remove(key);
+                this.evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                this.misses.increment();
+                return null;
+            }
+            this.hits.increment();
+            return entry.value;
+        }
+
+    }
+
+    /**
+     * @param key String holding the key.
+     * @param value Result to be cached.
+     */
+    public void put(String key, Object value) {
+        Segment segment = getSegment(key);
+        synchronized(segment) {
+            segment.put(key, new Entry(value));
+        }
+    }
+
+    /**
+     * Removes all cached results. Statistics are not reset.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            synchronized(segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return Integer holding the number of currently cached results, including those that expired but were not yet discarded.
+     */
+    public int size() {
+        int retVal = 0;
+        for (Segment segment : this.segments) {
+            synchronized(segment) {
+                retVal += segment.size();
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * @return Long holding the number of lookups that found a valid result.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return Long holding the number of lookups that found no valid result.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return Long holding the number of results removed because the cache was full, or because they expired.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "hits: " + getHits() + ", misses: " + getMisses() + ", evictions: " + getEvictions() + ", size: " + size();
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.pipeline;
+
+import com.itcag.util.Printer;
+import com.itcag.util.io.Snapshots;
+
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * <p>Prepares the snapshots used by the {@link Pipeline} class, so that no pipeline in production has to parse expressions and lexical resources.</p>
+ * <p>The first argument is the local path to the folder where snapshots are stored. Each subsequent argument is the local path to a properties file holding the processing instructions for one pipeline (see {@link PropertyFields}). The pipeline is created once, which compiles and stores everything it loads. The <i>rockwell.snapshots</i> system property is overridden.</p>
+ * <p>Snapshots are only valid for the source files they were compiled from. If a source file changes, its snapshot is ignored and compiled anew the next time it is loaded.</p>
+ */
+public class SnapshotCompiler {
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 2) throw new IllegalArgumentException("Usage: SnapshotCompiler <snapshot folder> <properties file> [<properties file> ...]");
+
+        Snapshots.setDirectory(args[0]);
+        
+        for (int i = 1; i < args.length; i++) {
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(new FileInputStream(args[i]), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+
+            long start = System.currentTimeMillis();
+            try (Pipeline pipeline = new Pipeline(properties)) {
+                Printer.print(args[i] + ": " + (System.currentTimeMillis() - start) + " ms");
+            }
+
+        }
+
+        Printer.print("Snapshots stored in: " + args[0]);
+
+    }
+
+}
@@ -3,13 +3,35 @@ package com.itcag.rockwell.pipeline;
 import com.itcag.rockwell.lang.Extract;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.RecordingMetrics;
+import com.itcag.rockwell.metrics.Stages;
 import com.itcag.rockwell.semantex.ner.NER;
 import com.itcag.rockwell.util.TokenPrinter;
 import com.itcag.util.Printer;
+import com.itcag.util.io.Resources;
 
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import javax.management.ObjectName;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 public class PipelineTest {
@@ -19,7 +41,18 @@ public class PipelineTest {
 //        split();
 //        tokenizeString();
 //        lemmatizeArrayList();
+        warmUp();
         lemmatizeString();
+        lemmatizeConcurrently();
+        lemmatizeAll();
+        analyzeString();
+        lemmatizeCached();
+        analyzeCached();
+        recordMetrics();
+        lemmatizeAsync();
+        reloadExpressions();
+        close();
+        failedConstruction();
 //        insertNERInArrayList();
 //        insertNERInString();
 //        getNERFromArrayList();
@@ -83,6 +116,410 @@ public class PipelineTest {
         
     }
 
+    private void warmUp() throws Exception {
+        
+        String text = "The firm raised capital from investors.";
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.LEMMATIZE.name());
+        properties.put(PropertyFields.WARM_UP.getField(), "4");
+        
+        long start = System.currentTimeMillis();
+        Pipeline pipeline = new Pipeline(properties);
+        Printer.print("Pipeline created in " + (System.currentTimeMillis() - start) + " ms");
+        
+        Map<String, Long> timings = Resources.getTimings();
+        for (String name : Arrays.asList("Abbreviations", "Acronyms", "Domains", "EnglishToklex", "EnglishMisspellings", "EnglishLexicon", "LexicalResources", "WordIndex")) {
+            assertTrue(timings.containsKey(name), name);
+        }
+        timings.forEach((name, millis) -> Printer.print(name + ": " + millis + " ms"));
+        
+        assertEquals(7, pipeline.lemmatize(text).get(0).size());
+        
+    }
+    
+    private void lemmatizeConcurrently() throws Exception {
+        
+        String text = "'He doesn't want his brothers' wives.' - Said the old man. The U.S.A. e-mail was sent to john@example.com via www.example.com, i.e. twice.";
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.LEMMATIZE.name());
+        
+        Pipeline pipeline = new Pipeline(properties);
+        String expected = toString(pipeline.lemmatize(text));
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            ArrayList<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> toString(pipeline.lemmatize(text))));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+    }
+    
+    private void lemmatizeAll() throws Exception {
+        
+        List<String> texts = Arrays.asList(
+                "The quick brown fox jumps over the lazy dog. Lazy dog doesn't wake up.",
+                "'He doesn't want his brothers' wives.' - Said the old man.",
+                "The U.S.A. e-mail was sent to john@example.com via www.example.com, i.e. twice."
+        );
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.LEMMATIZE.name());
+        properties.put(PropertyFields.PARALLELISM.getField(), "4");
+        
+        Pipeline pipeline = new Pipeline(properties);
+        ArrayList<ArrayList<ArrayList<Token>>> documents = pipeline.lemmatizeAll(texts);
+        
+        assertEquals(texts.size(), documents.size());
+        for (int i = 0; i < texts.size(); i++) {
+            assertEquals(toString(pipeline.lemmatize(texts.get(i))), toString(documents.get(i)));
+        }
+        
+    }
+    
+    private void analyzeString() throws Exception {
+        
+        String text = "Mr. John Smith joined Acme Holdings Inc. in March. The quick brown fox jumps over the lazy dog.";
+        String instructions = NER.Instructions.PERSONS.name() + ", " + NER.Instructions.ORGANIZATIONS.name() + ", " + NER.Instructions.DATES.name() + ", " + NER.Instructions.CURRENCIES.name();
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.ANALYZE.name());
+        properties.put(PropertyFields.INSTRUCTIONS.getField(), instructions);
+        
+        Pipeline pipeline = new Pipeline(properties);
+        ArrayList<Analysis> analyses = pipeline.analyze(text);
+        ArrayList<ArrayList<Tag>> expected = pipeline.getNamedEntities(text);
+        
+        assertEquals(expected.size(), analyses.size());
+        for (int i = 0; i < analyses.size(); i++) {
+            Analysis analysis = analyses.get(i);
+            assertEquals(expected.get(i).toString(), analysis.getNamedEntities().toString());
+            for (Tag tag : analysis.getNamedEntities()) {
+                Printer.print(tag.toString());
+            }
+            TokenPrinter.printTokens(analysis.getTokens());
+            Printer.print();
+        }
+        
+    }
+    
+    private void lemmatizeCached() throws Exception {
+        
+        String text = "This message is confidential. The quick brown fox jumps over the lazy dog. This message is confidential.";
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.LEMMATIZE.name());
+        properties.put(PropertyFields.CACHE_SIZE.getField(), "100");
+        properties.put(PropertyFields.CACHE_TTL.getField(), "60");
+        
+        Pipeline pipeline = new Pipeline(properties);
+        String expected = toString(pipeline.lemmatize(text));
+        assertEquals(1, pipeline.getCache().getHits());
+        assertEquals(2, pipeline.getCache().getMisses());
+        
+        assertEquals(expected, toString(pipeline.lemmatize(text)));
+        assertEquals(4, pipeline.getCache().getHits());
+        Printer.print(pipeline.getCache().toString());
+        
+        /**
+         * Results returned from the cache are copies, so modifying them does not affect the next hit.
+         */
+        ArrayList<ArrayList<Token>> modified = pipeline.lemmatize(text);
+        for (ArrayList<Token> sentence : modified) {
+            for (Token token : sentence) {
+                token.setIndex(token.getIndex() + 100);
+                token.addAlternative(new Token("modified", null, "modified"));
+            }
+            sentence.remove(0);
+        }
+        assertEquals(expected, toString(pipeline.lemmatize(text)));
+        
+    }
+    
+    private void analyzeCached() throws Exception {
+        
+        String text = "Mr. John Smith joined Acme Holdings Inc. in March. Mr. John Smith joined Acme Holdings Inc. in March.";
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.ANALYZE.name());
+        properties.put(PropertyFields.INSTRUCTIONS.getField(), NER.Instructions.PERSONS.name() + ", " + NER.Instructions.ORGANIZATIONS.name());
+        properties.put(PropertyFields.CACHE_SIZE.getField(), "100");
+        
+        Pipeline pipeline = new Pipeline(properties);
+        ArrayList<Analysis> analyses = pipeline.analyze(text);
+        assertEquals(1, pipeline.getCache().getHits());
+        String expected = toAnalysisString(analyses);
+        assertEquals(toAnalysisString(analyses.subList(0, 1)), toAnalysisString(analyses.subList(1, 2)));
+        assertTrue(!analyses.get(1).getNamedEntities().isEmpty());
+        
+        /**
+         * The second sentence is a hit, and modifying it affects neither the first sentence nor the next hit.
+         */
+        Analysis analysis = analyses.get(1);
+        for (Tag tag : analysis.getNamedEntities()) {
+            tag.setStart(tag.getStart() + 100);
+            tag.setSentenceId("modified");
+        }
+        analysis.getNamedEntities().clear();
+        for (Token token : analysis.getTokens()) {
+            token.setIndex(token.getIndex() + 100);
+        }
+        analysis.getTokens().clear();
+        assertEquals(toAnalysisString(analyses.subList(0, 1)) + toAnalysisString(analyses.subList(0, 1)), expected);
+        
+        assertEquals(expected, toAnalysisString(pipeline.analyze(text)));
+        assertEquals(3, pipeline.getCache().getHits());
+        
+    }
+    
+    private String toAnalysisString(List<Analysis> analyses) {
+        StringBuilder retVal = new StringBuilder();
+        for (Analysis analysis : analyses) {
+            ArrayList<ArrayList<Token>> tokens = new ArrayList<>();
+            tokens.add(analysis.getTokens());
+            retVal.append(toString(tokens));
+            for (Tag tag : analysis.getNamedEntities()) {
+                retVal.append(tag.getTag()).append(" ").append(tag.getStart()).append("-").append(tag.getEnd()).append(" ").append(tag.getSentenceId()).append("\n");
+            }
+            retVal.append(analysis.getCategories()).append(analysis.getExtracts()).append("\n");
+        }
+        return retVal.toString();
+    }
+    
+    private void recordMetrics() throws Exception {
+        
+        String text = "Mr. John Smith joined Acme Holdings Inc. in March. The quick brown fox jumps over the lazy dog.";
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.ANALYZE.name());
+        properties.put(PropertyFields.INSTRUCTIONS.getField(), NER.Instructions.PERSONS.name() + ", " + NER.Instructions.ORGANIZATIONS.name());
+        properties.put(PropertyFields.METRICS.getField(), "PipelineTest");
+        
+        Pipeline pipeline = new Pipeline(properties);
+        pipeline.analyze(text);
+        
+        RecordingMetrics metrics = (RecordingMetrics) pipeline.getMetrics();
+        assertEquals(2, metrics.getCount(Counters.SENTENCES));
+        assertTrue(metrics.getCount(Counters.TOKENS) > 0);
+        assertTrue(metrics.getCount(Counters.LEXICON_HITS) > 0);
+        assertTrue(metrics.getCount(Counters.STATES_CREATED) > 0);
+        assertEquals(1, metrics.getTimings(Stages.SPLIT).getCount());
+        assertEquals(2, metrics.getTimings(Stages.LEMMATIZE).getCount());
+        assertEquals(2, metrics.getTimings(Stages.NOMINALS).getCount());
+        assertEquals(2, metrics.getTimings(Stages.NER).getCount());
+        Printer.print(metrics.toString());
+        
+        metrics.unregister();
+        
+    }
+    
+    private void lemmatizeAsync() throws Exception {
+        
+        List<String> texts = Arrays.asList(
+            "The quick brown fox jumps over the lazy dog. He wants his brother's wives.",
+            "The board approved the merger on Friday.",
+            "She declined to comment on the valuation."
+        );
+        
+        Properties properties = new Properties();
+        properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.LEMMATIZE.name());
+        properties.put(PropertyFields.ASYNC_CONCURRENCY.getField(), "2");
+        
+        Pipeline pipeline = new Pipeline(properties);
+        
+        ArrayList<CompletableFuture<ArrayList<ArrayList<Token>>>> futures = new ArrayList<>();
+        for (String text : texts) {
+            futures.add(pipeline.lemmatizeAsync(text));
+        }
+        for (int i = 0; i < texts.size(); i++) {
+            assertEquals(toString(pipeline.lemmatize(texts.get(i))), toString(futures.get(i).get()));
+        }
+        assertEquals(0, pipeline.getPendingRequests());
+        
+        /**
+         * With no queue, the second request arrives while the first one is still processed.
+         */
+        properties.put(PropertyFields.ASYNC_CONCURRENCY.getField(), "1");
+        properties.put(PropertyFields.ASYNC_QUEUE_SIZE.getField(), "0");
+        pipeline = new Pipeline(properties);
+        
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append(texts.get(i % texts.size())).append(" ");
+        }
+        CompletableFuture<ArrayList<ArrayList<Token>>> first = pipeline.lemmatizeAsync(text.toString());
+        CompletableFuture<ArrayList<ArrayList<Token>>> second = pipeline.lemmatizeAsync(text.toString());
+        ExecutionException ex = assertThrows(ExecutionException.class, second::get);
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        assertTrue(first.get().size() > 0);
+        
+    }
+    
+    private String toString(ArrayList<ArrayList<Token>> sentences) {
+        StringBuilder retVal = new StringBuilder();
+        for (ArrayList<Token> sentence : sentences) {
+            for (Token token : sentence) {
+                retVal.append(token.getIndex()).append(" ").append(token.toStringWithPOS()).append(" ").append(token.getLemma());
+                for (Token alternative : token.getAlternatives()) {
+                    retVal.append(" | ").append(alternative.getIndex()).append(" ").append(alternative.toStringWithPOS());
+                }
+                retVal.append("\n");
+            }
+        }
+        return retVal.toString();
+    }
+
+    private void reloadExpressions() throws Exception {
+        
+        String text = "The company raised funding from investors.";
+        
+        Path expressions = Files.createTempFile("expressions", ".txt");
+        try {
+            
+            Files.write(expressions, Arrays.asList("@lemma :raise ; @cain :funding | funding"), StandardCharsets.UTF_8);
+            
+            Properties properties = new Properties();
+            properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.CLASSIFY.name());
+            properties.put(PropertyFields.EXPRESSIONS.getField(), expressions.toString());
+            properties.put(PropertyFields.CACHE_SIZE.getField(), "100");
+            properties.put(PropertyFields.WATCH.getField(), "true");
+            
+            Pipeline pipeline = new Pipeline(properties);
+            assertEquals("funding", pipeline.classify(text).get(0).get(0).getTag());
+            
+            /**
+             * The watcher reloads the file, and the cached result is discarded.
+             */
+            Files.write(expressions, Arrays.asList("@lemma :raise ; @cain :funding | investment"), StandardCharsets.UTF_8);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (pipeline.getWatcher().getReloads() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals("investment", pipeline.classify(text).get(0).get(0).getTag());
+            
+            pipeline.getWatcher().close();
+            
+            Files.write(expressions, Arrays.asList("@lemma :raise ; @cain :funding | financing"), StandardCharsets.UTF_8);
+            pipeline.reload(PropertyFields.EXPRESSIONS);
+            assertEquals("financing", pipeline.classify(text).get(0).get(0).getTag());
+            Printer.print(pipeline.getCache().toString());
+            
+        } finally {
+            Files.delete(expressions);
+        }
+        
+    }
+    
+    private void close() throws Exception {
+        
+        String text = "The company raised funding from investors.";
+        
+        Path expressions = Files.createTempFile("expressions", ".txt");
+        try {
+            
+            Files.write(expressions, Arrays.asList("@lemma :raise ; @cain :funding | funding"), StandardCharsets.UTF_8);
+            
+            Properties properties = new Properties();
+            properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.CLASSIFY.name());
+            properties.put(PropertyFields.EXPRESSIONS.getField(), expressions.toString());
+            properties.put(PropertyFields.PARALLELISM.getField(), "2");
+            properties.put(PropertyFields.METRICS.getField(), "PipelineCloseTest");
+            properties.put(PropertyFields.WATCH.getField(), "true");
+            
+            ObjectName name = new ObjectName("com.itcag.rockwell:type=Metrics,name=" + ObjectName.quote("PipelineCloseTest"));
+            
+            Pipeline pipeline = new Pipeline(properties);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            assertEquals("funding", pipeline.classifyAsync(text).get().get(0).get(0).getTag());
+            assertEquals("funding", pipeline.classifyAll(Arrays.asList(text)).get(0).get(0).get(0).getTag());
+            
+            pipeline.close();
+            pipeline.close();
+            
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> pipeline.classifyAsync(text).get());
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+            assertThrows(RejectedExecutionException.class, () -> pipeline.classifyAll(Arrays.asList(text)));
+            
+            long deadline = System.currentTimeMillis() + 10000;
+            while (isAlive("rockwell-resource-watcher") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertFalse(isAlive("rockwell-resource-watcher"));
+            
+            /**
+             * The name of the metrics is free again.
+             */
+            try (Pipeline reopened = new Pipeline(properties)) {
+                assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+                assertEquals("funding", reopened.classify(text).get(0).get(0).getTag());
+            }
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            
+        } finally {
+            Files.delete(expressions);
+        }
+        
+    }
+    
+    private void failedConstruction() throws Exception {
+        
+        String text = "The company raised funding.";
+        
+        Path expressions = Files.createTempFile("expressions", ".txt");
+        try {
+            
+            Files.write(expressions, Arrays.asList("@lemma :raise ; @cain :funding | funding"), StandardCharsets.UTF_8);
+            
+            ObjectName name = new ObjectName("com.itcag.rockwell:type=Metrics,name=" + ObjectName.quote("PipelineFailureTest"));
+            
+            /**
+             * Fails before the metrics are registered.
+             */
+            Properties properties = new Properties();
+            properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.ANALYZE.name());
+            properties.put(PropertyFields.METRICS.getField(), "PipelineFailureTest");
+            assertThrows(IllegalArgumentException.class, () -> new Pipeline(properties));
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            
+            /**
+             * Fails after the metrics were registered and the pool was created.
+             */
+            properties.put(PropertyFields.TASK.getField(), Pipeline.Tasks.CLASSIFY.name());
+            properties.put(PropertyFields.EXPRESSIONS.getField(), expressions.toString());
+            properties.put(PropertyFields.ASYNC_CONCURRENCY.getField(), "0");
+            assertThrows(IllegalArgumentException.class, () -> new Pipeline(properties));
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            
+            properties.remove(PropertyFields.ASYNC_CONCURRENCY.getField());
+            try (Pipeline pipeline = new Pipeline(properties)) {
+                assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+                assertEquals("funding", pipeline.classify(text).get(0).get(0).getTag());
+            }
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            
+        } finally {
+            Files.delete(expressions);
+        }
+        
+    }
+    
+    private boolean isAlive(String threadName) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(threadName) && thread.isAlive()) return true;
+        }
+        return false;
+    }
+    
     private void insertNERInArrayList() throws Exception {
         
         String text = "The quick brown fox jumps over the lazy dog. Lazy dog doesn't wake up.";
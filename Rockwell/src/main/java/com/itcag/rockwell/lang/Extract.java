@@ -40,6 +40,14 @@ public class Extract {
         this.meaning = meaning;
         this.value = value;
     }
+    
+    /**
+     * @param extract Instance of this class that is copied, including the sentence ID.
+     */
+    public Extract(Extract extract) {
+        this(extract.script, extract.meaning, extract.value);
+        this.sentenceId = extract.sentenceId;
+    }
 
     /**
      * @return String holding the Rockwell frame that extracted the datum.
@@ -46,6 +46,27 @@ public class Semtoken extends Token {
         super(word, pos, lemma, index);
         this.tokens = tokens;
     }
+
+    /**
+     * Copies the word, part of speech and lemma of a token (see {@link Token#Token(com.itcag.rockwell.lang.Token, java.lang.Integer)}).
+     * @param token Instance of the {@link Token} class that is copied.
+     * @param tokens Array list containing the original tokens that the semtoken replaces.
+     */
+    protected Semtoken(Token token, ArrayList<Token> tokens) {
+        super(token, token.getIndex());
+        this.tokens = tokens;
+    }
+    
+    /**
+     * Copies a semtoken together with its roles. Its alternatives are not copied.
+     * @param semtoken Instance of this class that is copied.
+     * @param tokens Array list containing the original tokens that the copy replaces.
+     */
+    public Semtoken(Semtoken semtoken, ArrayList<Token> tokens) {
+        super(semtoken, semtoken.getIndex());
+        this.tokens = tokens;
+        this.roles.addAll(semtoken.roles);
+    }
     
     /**
      * @return Array list containing one or more original tokens replaced by the semtoken. 
@@ -45,6 +45,14 @@ public final class Tag {
         this.end = end;
     }
     
+    /**
+     * @param tag Instance of this class that is copied, including the sentence ID.
+     */
+    public Tag(Tag tag) {
+        this(tag.tag, tag.script, tag.start, tag.end);
+        this.sentenceId = tag.sentenceId;
+    }
+    
     /**
      * @return String indicating the meaning of the expression identified in a sentence. For example, if the expression identifies a date, its tag could be "date".
      */
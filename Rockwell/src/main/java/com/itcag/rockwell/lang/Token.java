@@ -42,6 +42,12 @@ public class Token {
 
     private final ArrayList<Token> alternatives = new ArrayList<>();
     
+    /**
+     * Symbol ids of the word, lemma and part of speech, as interned by the tagger.
+     * They are cached here, because the same token is evaluated many times (e.g., by every affix validation).
+     */
+    private volatile int[] symbols = null;
+    
     /**
      * Used for words in a sentence (contains index indicating its position in the sentence).
      * @param word String holding the original text.
@@ -71,6 +77,21 @@ public class Token {
         this.pos = pos;
         this.lemma = lemma;
     }
+    
+    /**
+     * Copies the word, part of speech and lemma of another token, together with everything derived from them, without deriving it anew.
+     * @param token Instance of this class that is copied. Its alternatives are not copied.
+     * @param index Integer specifying the index position of the copy in a sentence.
+     */
+    public Token(Token token, Integer index) {
+        this.word = token.word;
+        this.cain = token.cain;
+        this.type = token.type;
+        this.pos = token.pos;
+        this.lemma = token.lemma;
+        this.index = index;
+        this.symbols = token.symbols;
+    }
 
     /**
      * @return Integer specifying the index position of the token in a sentence.
@@ -140,6 +161,21 @@ public class Token {
         this.alternatives.add(token);
     }
     
+    /**
+     * @return Array of integers holding the symbol ids cached by the tagger, or null if they were not computed yet.
+     */
+    public int[] getSymbols() {
+        return this.symbols;
+    }
+    
+    /**
+     * This method is used by the tagger only.
+     * @param symbols Array of integers holding the symbol ids of this token.
+     */
+    public void setSymbols(int[] symbols) {
+        this.symbols = symbols;
+    }
+    
     /**
      * @return String holding the stem of the original text (stem is generated using the Porter's stemming algorithm for English).
      */
@@ -0,0 +1,51 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+/**
+ * <p>Enumerates the events that are counted by {@link Metrics}.</p>
+ */
+public enum Counters {
+
+    /** Sentences processed by the pipeline. */
+    SENTENCES,
+    /** Tokens produced by the lemmatizer. */
+    TOKENS,
+    /** States of the finite state automaton created by the tagger. */
+    STATES_CREATED,
+    /** States of the finite state automaton discarded by the tagger as duplicates of states created for the same token. */
+    STATES_DISCARDED,
+    /** States of the finite state automaton that the tagger did not create, because the sentence lacks a word or lemma required by their expression. */
+    STATES_PREFILTERED,
+    /** Live states of the finite state automaton discarded by the tagger, because a sentence exceeded the limit of live states. */
+    STATES_PRUNED,
+    /** Sentences that exceeded the state budget of the tagger, and whose tags are therefore possibly incomplete. */
+    BUDGET_EXCEEDED,
+    /** Prefixes, infixes and suffixes validated against patterns. Each validation runs a separate tagger over the affix tokens. */
+    AFFIX_VALIDATIONS,
+    /** Affix validations answered from the results memoized for the current sentence, without running a tagger. */
+    AFFIX_VALIDATIONS_MEMOIZED,
+    /** Words found in the lexicon by the lemmatizer. */
+    LEXICON_HITS,
+    /** Words looked up in the lexicon by the lemmatizer, but not found there. */
+    LEXICON_MISSES,
+
+    ;
+
+}
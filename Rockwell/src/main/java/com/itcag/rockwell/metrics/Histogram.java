@@ -0,0 +1,128 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>This class records the distribution of non-negative values (e.g., durations in nanoseconds).</p>
+ * <p>Values are counted in buckets whose bounds are powers of two, so recording a value takes constant time and memory regardless of the number of recorded values. Percentiles are therefore approximate: the reported value is the upper bound of the bucket in which the percentile falls, and is at most twice the exact value.</p>
+ * <p>This class is thread-safe and does not lock.</p>
+ */
+public final class Histogram {
+
+    /**
+     * Bucket i holds values from 2^(i-1) to 2^i - 1; bucket 0 holds zero.
+     */
+    private final static int BUCKETS = 65;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value Long holding the value to be recorded. Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        this.buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * @return Long holding the number of recorded values.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return Long holding the sum of all recorded values.
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * @return Long holding the largest recorded value.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return Double holding the average of all recorded values, or zero if no values were recorded.
+     */
+    public double getMean() {
+        long test = getCount();
+        if (test == 0) return 0;
+        return (double) getSum() / test;
+    }
+
+    /**
+     * @param percentile Double between 0 and 100.
+     * @return Long holding the approximate value below which the specified percentage of the recorded values fall, or zero if no values were recorded.
+     */
+    public long getPercentile(double percentile) {
+
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        if (threshold == 0) threshold = 1;
+
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= threshold) {
+                long upper = (i == 0) ? 0 : (i == 64) ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upper, getMax());
+            }
+        }
+
+        return getMax();
+
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+/**
+ * <p>Receives timings and counts from the pipeline stages.</p>
+ * <p>Stages report to the {@link #NONE} instance unless another implementation is set, so that no time is spent on measuring when nobody is interested in the results. The {@link RecordingMetrics} class keeps the reported data, and can publish them over JMX.</p>
+ * <p>Implementations are called concurrently from all threads processing text, and must be thread-safe.</p>
+ */
+public interface Metrics {
+
+    /**
+     * Implementation that ignores everything reported to it.
+     */
+    public final static Metrics NONE = new NoMetrics();
+
+    /**
+     * Stages call this method before taking any measurement, and skip measuring if it returns false.
+     * @return Boolean indicating whether reported data are used.
+     */
+    public boolean isEnabled();
+
+    /**
+     * @param stage Value of the {@link Stages} enum.
+     * @param nanos Long holding the duration of the stage in nanoseconds.
+     */
+    public void time(Stages stage, long nanos);
+
+    /**
+     * @param counter Value of the {@link Counters} enum.
+     * @param delta Long holding the number of events that occurred.
+     */
+    public void count(Counters counter, long delta);
+
+}
@@ -0,0 +1,42 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+/**
+ * <p>Implementation of the {@link Metrics} interface that ignores everything. Its only instance is {@link Metrics#NONE}.</p>
+ */
+final class NoMetrics implements Metrics {
+
+    NoMetrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void time(Stages stage, long nanos) {
+    }
+
+    @Override
+    public void count(Counters counter, long delta) {
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>Implementation of the {@link Metrics} interface that keeps a {@link Histogram histogram} of durations for every {@link Stages stage}, and a total for every {@link Counters counter}.</p>
+ * <p>The recorded data can be read directly, or published to the platform MBean server by the {@link #register(java.lang.String)} method, and then read by any JMX client (e.g., JConsole).</p>
+ */
+public final class RecordingMetrics implements Metrics, RecordingMetricsMXBean {
+
+    private final static String DOMAIN = "com.itcag.rockwell";
+
+    private final EnumMap<Stages, Histogram> timings = new EnumMap<>(Stages.class);
+    private final EnumMap<Counters, LongAdder> counters = new EnumMap<>(Counters.class);
+
+    private ObjectName name = null;
+
+    public RecordingMetrics() {
+        for (Stages stage : Stages.values()) {
+            this.timings.put(stage, new Histogram());
+        }
+        for (Counters counter : Counters.values()) {
+            this.counters.put(counter, new LongAdder());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void time(Stages stage, long nanos) {
+        this.timings.get(stage).record(nanos);
+    }
+
+    @Override
+    public void count(Counters counter, long delta) {
+        this.counters.get(counter).add(delta);
+    }
+
+    /**
+     * @param stage Value of the {@link Stages} enum.
+     * @return Instance of the {@link Histogram} class holding the durations of the stage in nanoseconds.
+     */
+    public Histogram getTimings(Stages stage) {
+        return this.timings.get(stage);
+    }
+
+    /**
+     * @param counter Value of the {@link Counters} enum.
+     * @return Long holding the total number of events.
+     */
+    public long getCount(Counters counter) {
+        return this.counters.get(counter).sum();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> retVal = new LinkedHashMap<>();
+        this.counters.entrySet().forEach((entry) -> {
+            retVal.put(entry.getKey().name(), entry.getValue().sum());
+        });
+        return retVal;
+    }
+
+    @Override
+    public Map<String, Long> getStageCounts() {
+        Map<String, Long> retVal = new LinkedHashMap<>();
+        this.timings.entrySet().forEach((entry) -> {
+            retVal.put(entry.getKey().name(), entry.getValue().getCount());
+        });
+        return retVal;
+    }
+
+    @Override
+    public Map<String, Double> getStageMeans() {
+        Map<String, Double> retVal = new LinkedHashMap<>();
+        this.timings.entrySet().forEach((entry) -> {
+            retVal.put(entry.getKey().name(), entry.getValue().getMean() / 1000);
+        });
+        return retVal;
+    }
+
+    @Override
+    public Map<String, Double> getStageMedians() {
+        return getStagePercentiles(50);
+    }
+
+    @Override
+    public Map<String, Double> getStage99thPercentiles() {
+        return getStagePercentiles(99);
+    }
+
+    private Map<String, Double> getStagePercentiles(double percentile) {
+        Map<String, Double> retVal = new LinkedHashMap<>();
+        this.timings.entrySet().forEach((entry) -> {
+            retVal.put(entry.getKey().name(), (double) entry.getValue().getPercentile(percentile) / 1000);
+        });
+        return retVal;
+    }
+
+    @Override
+    public Map<String, Double> getStageMaxima() {
+        Map<String, Double> retVal = new LinkedHashMap<>();
+        this.timings.entrySet().forEach((entry) -> {
+            retVal.put(entry.getKey().name(), (double) entry.getValue().getMax() / 1000);
+        });
+        return retVal;
+    }
+
+    @Override
+    public void reset() {
+        this.timings.values().forEach(Histogram::reset);
+        this.counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Publishes the recorded data to the platform MBean server under the object name <i>com.itcag.rockwell:type=Metrics,name=</i> followed by the specified name.
+     * @param name String holding the name that distinguishes this instance from other registered instances (e.g., the name of the pipeline).
+     * @throws Exception if an instance is already registered under the same name, or if anything else goes wrong.
+     */
+    public synchronized void register(String name) throws Exception {
+        if (this.name != null) throw new IllegalStateException("Metrics are already registered as " + this.name + ".");
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        this.name = objectName;
+    }
+
+    /**
+     * Removes the recorded data from the platform MBean server. Nothing happens if they were not registered.
+     * @throws Exception if anything goes wrong.
+     */
+    public synchronized void unregister() throws Exception {
+        if (this.name == null) return;
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.name);
+        this.name = null;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder retVal = new StringBuilder();
+
+        for (Stages stage : Stages.values()) {
+            Histogram histogram = this.timings.get(stage);
+            if (histogram.getCount() == 0) continue;
+            retVal.append(stage.name()).append(": ").append(histogram.getCount()).append(" calls");
+            retVal.append(", mean ").append(Math.round(histogram.getMean() / 1000)).append(" µs");
+            retVal.append(", median ").append(histogram.getPercentile(50) / 1000).append(" µs");
+            retVal.append(", 99th percentile ").append(histogram.getPercentile(99) / 1000).append(" µs");
+            retVal.append(", max ").append(histogram.getMax() / 1000).append(" µs\n");
+        }
+
+        for (Counters counter : Counters.values()) {
+            retVal.append(counter.name()).append(": ").append(getCount(counter)).append("\n");
+        }
+
+        return retVal.toString();
+
+    }
+
+}
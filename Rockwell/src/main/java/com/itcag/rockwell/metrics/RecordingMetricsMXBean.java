@@ -0,0 +1,64 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+import java.util.Map;
+
+/**
+ * <p>Management interface through which {@link RecordingMetrics} are published over JMX.</p>
+ * <p>Maps are keyed by the names of the values in the {@link Stages} and {@link Counters} enums. Durations are reported in microseconds.</p>
+ */
+public interface RecordingMetricsMXBean {
+
+    /**
+     * @return Map holding the total number of events for each counter.
+     */
+    public Map<String, Long> getCounters();
+
+    /**
+     * @return Map holding the number of executions of each stage.
+     */
+    public Map<String, Long> getStageCounts();
+
+    /**
+     * @return Map holding the average duration of each stage.
+     */
+    public Map<String, Double> getStageMeans();
+
+    /**
+     * @return Map holding the median duration of each stage.
+     */
+    public Map<String, Double> getStageMedians();
+
+    /**
+     * @return Map holding the 99th percentile of the duration of each stage.
+     */
+    public Map<String, Double> getStage99thPercentiles();
+
+    /**
+     * @return Map holding the longest duration of each stage.
+     */
+    public Map<String, Double> getStageMaxima();
+
+    /**
+     * Discards all recorded data.
+     */
+    public void reset();
+
+}
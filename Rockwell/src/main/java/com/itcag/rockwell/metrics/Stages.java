@@ -0,0 +1,45 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.metrics;
+
+/**
+ * <p>Enumerates the pipeline stages whose durations are reported to {@link Metrics}.</p>
+ */
+public enum Stages {
+
+    /** Splitting text into sentences, including the cleaning of HTML and the standardization of unicode characters. */
+    SPLIT,
+    /** Splitting a sentence into tokens. */
+    TOKENIZE,
+    /** Inserting part-of-speech specifications and lemmas into tokens. */
+    LEMMATIZE,
+    /** Identifying nominals. This is a part of the {@link #NER} stage. */
+    NOMINALS,
+    /** Identifying named entities, including the {@link #NOMINALS} stage. */
+    NER,
+    /** Identifying concepts using proprietary Rockwell expressions. */
+    CONCEPTS,
+    /** Identifying predefined categories. */
+    TAG,
+    /** Extracting data. */
+    EXTRACT,
+
+    ;
+
+}
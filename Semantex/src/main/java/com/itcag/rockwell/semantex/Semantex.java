@@ -20,8 +20,10 @@ package com.itcag.rockwell.semantex;
 
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.rockwell.semantex.adhoc.Interpreter;
 import com.itcag.rockwell.semantex.ner.NER;
+import com.itcag.rockwell.tagger.StateBudget;
 
 import java.util.ArrayList;
 
@@ -66,6 +68,33 @@ public final class Semantex {
         this.ner = new NER(instructions);
     }
 
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the counters of the underlying {@link com.itcag.rockwell.semantex.adhoc.Interpreter interpreter} or {@link com.itcag.rockwell.semantex.ner.NER NER}.
+     * This method must be called before this class is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        if (this.interpreter != null) this.interpreter.setMetrics(metrics);
+        if (this.ner != null) this.ner.setMetrics(metrics);
+    }
+
+    /**
+     * Sets the limits on the states of the underlying {@link com.itcag.rockwell.semantex.adhoc.Interpreter interpreter} or {@link com.itcag.rockwell.semantex.ner.NER NER} for every sentence.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public void setBudget(StateBudget budget) {
+        if (this.interpreter != null) this.interpreter.setBudget(budget);
+        if (this.ner != null) this.ner.setBudget(budget);
+    }
+
+    /**
+     * Used to change the concept expressions while this class is in use.
+     * @return Instance of the {@link com.itcag.rockwell.semantex.adhoc.Interpreter Interpreter} class, or null if this class was initialized for named entity recognition.
+     */
+    public final Interpreter getInterpreter() {
+        return this.interpreter;
+    }
+
     /**
      * @return Boolean indicating whether the class is configured for the named entity extraction or not.
      */
@@ -21,11 +21,14 @@ package com.itcag.rockwell.semantex.adhoc;
 import com.itcag.rockwell.semantex.Inserter;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.rockwell.semantex.Toolbox;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.util.io.TextFileReader;
 
 import java.util.ArrayList;
@@ -43,18 +46,11 @@ public class Interpreter {
      */
     public Interpreter(String expressionPath) throws Exception {
         
-        ArrayList<String> expressions = new ArrayList<>();
-        ArrayList<String> lines = TextFileReader.read(expressionPath);
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            if (line.startsWith("#")) continue;
-            expressions.add(line);
-        }
+        ArrayList<String> expressions = read(expressionPath);
 
         Debugger debugger = new Debugger(DebuggingClients.INTERPRETER, 0);
         
-        this.tagger = new Tagger(expressions, EnclosedTagModes.ALL, debugger);
+        this.tagger = new Tagger(Conditions.compile(expressionPath, expressions, false), EnclosedTagModes.ALL, debugger);
     
     }
 
@@ -65,19 +61,89 @@ public class Interpreter {
      */
     public Interpreter(String expressionPath, String patternPath) throws Exception {
         
-        ArrayList<String> expressions = new ArrayList<>();
+        ArrayList<String> expressions = read(expressionPath);
+
+        Debugger debugger = new Debugger(DebuggingClients.INTERPRETER, 0);
+        
+        this.tagger = new Tagger(Conditions.compile(expressionPath, expressions, false), EnclosedTagModes.ALL, patternPath, debugger);
+    
+    }
+
+    private static ArrayList<String> read(String expressionPath) throws Exception {
+        
+        ArrayList<String> retVal = new ArrayList<>();
         ArrayList<String> lines = TextFileReader.read(expressionPath);
         for (String line : lines) {
             line = line.trim();
             if (line.isEmpty()) continue;
             if (line.startsWith("#")) continue;
-            expressions.add(line);
+            retVal.add(line);
         }
-
-        Debugger debugger = new Debugger(DebuggingClients.INTERPRETER, 0);
         
-        this.tagger = new Tagger(expressions, EnclosedTagModes.ALL, patternPath, debugger);
-    
+        return retVal;
+        
+    }
+
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the counters of the underlying tagger.
+     * This method must be called before this class is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.tagger.setMetrics(metrics);
+    }
+
+    /**
+     * Sets the limits on the states of the underlying tagger for every sentence.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public void setBudget(StateBudget budget) {
+        this.tagger.setBudget(budget);
+    }
+
+    /**
+     * Reads the concept expressions anew, and replaces the current ones with them. Sentences that are being processed are completed with the current expressions.
+     * @param expressionPath String holding a local path to a text file containing Rockwell expressions that identify concepts.
+     * @throws Exception if anything goes wrong. The current expressions remain in use.
+     */
+    public void reload(String expressionPath) throws Exception {
+        this.tagger.reload(read(expressionPath));
+    }
+
+    /**
+     * Loads the proprietary patterns anew.
+     * @param patternPath String holding the local path to a text file containing additional pattern expressions, or null if there are none.
+     * @throws Exception if anything goes wrong. The current patterns remain in use.
+     */
+    public void reloadPatterns(String patternPath) throws Exception {
+        this.tagger.reloadPatterns(patternPath);
+    }
+
+    /**
+     * @param expression String holding a Rockwell expression that identifies a concept.
+     * @throws Exception if anything goes wrong (e.g., the expression is invalid). The current expressions remain in use.
+     */
+    public void add(String expression) throws Exception {
+        this.tagger.add(expression);
+    }
+
+    /**
+     * @param expression String holding a Rockwell expression that identifies a concept.
+     * @return Boolean indicating whether the expression was found and removed.
+     * @throws Exception if anything goes wrong. The current expressions remain in use.
+     */
+    public boolean remove(String expression) throws Exception {
+        return this.tagger.remove(expression);
+    }
+
+    /**
+     * @param expression String holding a Rockwell expression that is replaced.
+     * @param replacement String holding a Rockwell expression that replaces it.
+     * @return Boolean indicating whether the replaced expression was found.
+     * @throws Exception if anything goes wrong (e.g., the replacement is invalid). The current expressions remain in use.
+     */
+    public boolean replace(String expression, String replacement) throws Exception {
+        return this.tagger.replace(expression, replacement);
     }
 
     /**
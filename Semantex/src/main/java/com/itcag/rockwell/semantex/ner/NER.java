@@ -20,12 +20,16 @@ package com.itcag.rockwell.semantex.ner;
 
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Metrics;
+import com.itcag.rockwell.metrics.Stages;
 import com.itcag.rockwell.semantex.Inserter;
 import com.itcag.rockwell.semantex.Toolbox;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.util.Converter;
 
 import java.util.ArrayList;
@@ -80,6 +84,8 @@ public final class NER {
     
     private final Tagger tagger;
 
+    private Metrics metrics = Metrics.NONE;
+
     public NER() throws Exception {
 
         Loader loader = new Loader();
@@ -87,7 +93,7 @@ public final class NER {
 
         Debugger debugger = new Debugger(DebuggingClients.NER, 0);
         
-        this.tagger = new Tagger(expressions, EnclosedTagModes.NONE, debugger);
+        this.tagger = new Tagger(Conditions.compile("ner", expressions, false), EnclosedTagModes.NONE, debugger);
         
     }
 
@@ -125,10 +131,29 @@ public final class NER {
         }
         
         Debugger debugger = new Debugger(DebuggingClients.NER, 0);
-        this.tagger = new Tagger(rules, EnclosedTagModes.NONE, debugger);
+        this.tagger = new Tagger(Conditions.compile("ner-" + instructions, rules, false), EnclosedTagModes.NONE, debugger);
         
     }
     
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the time spent identifying nominals, and the counters of the underlying tagger.
+     * This method must be called before this class is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("Metrics cannot be null.");
+        this.metrics = metrics;
+        this.tagger.setMetrics(metrics);
+    }
+
+    /**
+     * Sets the limits on the states of the underlying tagger for every sentence. The same limits are applied when nominals are identified.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public void setBudget(StateBudget budget) {
+        this.tagger.setBudget(budget);
+    }
+
     /**
      * This method replaces the original {@link com.itcag.rockwell.lang.Token tokens} with the {@link com.itcag.rockwell.lang.Semtoken semtokens} representing the identified named entities.
      * @param tokens Array list of {@link com.itcag.rockwell.lang.Token tokens} representing a sentence.
@@ -152,7 +177,13 @@ public final class NER {
          * Insert the nominals first.
          */
         Nominals nominals = Nominals.getInstance();
-        tokens = nominals.identify(tokens);
+        if (this.metrics.isEnabled()) {
+            long start = System.nanoTime();
+            tokens = nominals.identify(tokens, this.tagger.getBudget());
+            this.metrics.time(Stages.NOMINALS, System.nanoTime() - start);
+        } else {
+            tokens = nominals.identify(tokens, this.tagger.getBudget());
+        }
 
         ArrayList<Tag> tags = this.tagger.tag(tokens);
         if (tags.isEmpty()) return tags;
@@ -23,9 +23,12 @@ import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
 import com.itcag.rockwell.semantex.Toolbox;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.util.io.Resources;
 
 import java.util.ArrayList;
 
@@ -47,7 +50,7 @@ public class Nominals {
         if (instance == null) {
             synchronized(Nominals.class) {
                 if (instance == null) {
-                    instance = new Nominals();
+                    instance = Resources.load("Nominals", Nominals::new);
                 }
             }
         }
@@ -63,7 +66,7 @@ public class Nominals {
 
         Debugger debugger = new Debugger(DebuggingClients.NOMINALS, 0);
         
-        this.tagger = new Tagger(rules, EnclosedTagModes.NONE, debugger);
+        this.tagger = new Tagger(Conditions.compile("nominals", rules, false), EnclosedTagModes.NONE, debugger);
     
     }
 
@@ -74,8 +77,19 @@ public class Nominals {
      * @throws Exception if anything goes wrong.
      */
     public ArrayList<Token> identify(ArrayList<Token> tokens) throws Exception {
+        return identify(tokens, StateBudget.NONE);
+    }
+
+    /**
+     * This method is the same as {@link #identify(java.util.ArrayList)}, but the states of the finite state automaton are limited. This instance is shared by all clients, so each of them passes its own budget.
+     * @param tokens Array list of {@link com.itcag.rockwell.lang.Token tokens} representing a sentence.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     * @return Array list of tokens with {@link com.itcag.rockwell.lang.Token tokens} identified as nominals replaced by {@link com.itcag.rockwell.lang.Semtoken semtokens}.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<Token> identify(ArrayList<Token> tokens, StateBudget budget) throws Exception {
         
-        ArrayList<Tag> tags = this.tagger.tag(tokens);
+        ArrayList<Tag> tags = this.tagger.tag(tokens, budget);
         if (tags.isEmpty()) return tokens;
         
         Toolbox toolbox = new Toolbox();
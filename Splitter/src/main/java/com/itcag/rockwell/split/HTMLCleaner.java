@@ -27,582 +27,714 @@ import java.util.HashMap;
  */
 public final class HTMLCleaner {
     
-    private final HashMap<String, String> specialChars =  new HashMap<>();
+    private final static HashMap<String, String> SPECIAL_CHARS =  new HashMap<>();
     
-    public HTMLCleaner() {
-        specialChars.put("&quot;", "\"");
-        specialChars.put("&num;", "#");
-        specialChars.put("&dollar;", "$");
-        specialChars.put("&percnt;", "%");
-        specialChars.put("&amp;", "&");
-        specialChars.put("&apos;", "'");
-        specialChars.put("&lpar;", "(");
-        specialChars.put("&rpar;", ")");
-        specialChars.put("&ast;", "*");
-        specialChars.put("&plus;", "+");
-        specialChars.put("&comma;", ",");
-        specialChars.put("&minus;", "-");
-        specialChars.put("&period;", ".");
-        specialChars.put("&sol;", "/");
-        specialChars.put("&colon;", ":");
-        specialChars.put("&semi;", ";");
-        specialChars.put("&lt;", "<");
-        specialChars.put("&equals;", "=");
-        specialChars.put("&gt;", ">");
-        specialChars.put("&quest;", "?");
-        specialChars.put("&commat;", "@");
-        specialChars.put("&lsqb;", "[");
-        specialChars.put("&bsol;", "\\");
-        specialChars.put("&rsqb;", "]");
-        specialChars.put("&Hat;", "^");
-        specialChars.put("&lowbar;", "_");
-        specialChars.put("&grave;", "`");
-        specialChars.put("&lcub;", "{");
-        specialChars.put("&verbar;", "|");
-        specialChars.put("&rcub;", "}");
-        specialChars.put("&nbsp;", " ");
-        specialChars.put("&iexcl;", "¡");
-        specialChars.put("&cent;", "¢");
-        specialChars.put("&pound;", "£");
-        specialChars.put("&curren;", "¤");
-        specialChars.put("&yen;", "¥");
-        specialChars.put("&#x20B9;", "₹");
-        specialChars.put("&brvbar;", "¦");
-        specialChars.put("&sect;", "§");
-        specialChars.put("&uml;", "¨");
-        specialChars.put("&copy;", "©");
-        specialChars.put("&ordf;", "ª");
-        specialChars.put("&laquo;", "«");
-        specialChars.put("&not;", "¬");
-        specialChars.put("&reg;", "®");
-        specialChars.put("&macr;", "¯");
-        specialChars.put("&deg;", "°");
-        specialChars.put("&plusmn;", "±");
-        specialChars.put("&sup2;", "²");
-        specialChars.put("&sup3;", "³");
-        specialChars.put("&acute;", "´");
-        specialChars.put("&micro;", "µ");
-        specialChars.put("&para;", "¶");
-        specialChars.put("&middot;", "·");
-        specialChars.put("&cedil;", "¸");
-        specialChars.put("&sup1;", "¹");
-        specialChars.put("&ordm;", "º");
-        specialChars.put("&raquo;", "»");
-        specialChars.put("&frac14;", "¼");
-        specialChars.put("&frac12;", "½");
-        specialChars.put("&frac34;", "¾");
-        specialChars.put("&iquest;", "¿");
-        specialChars.put("&Agrave;", "À");
-        specialChars.put("&Aacute;", "Á");
-        specialChars.put("&Acirc;", "Â");
-        specialChars.put("&Atilde;", "Ã");
-        specialChars.put("&Auml;", "Ä");
-        specialChars.put("&Aring;", "Å");
-        specialChars.put("&AElig;", "Æ");
-        specialChars.put("&Ccedil;", "Ç");
-        specialChars.put("&Egrave;", "È");
-        specialChars.put("&Eacute;", "É");
-        specialChars.put("&Ecirc;", "Ê");
-        specialChars.put("&Euml;", "Ë");
-        specialChars.put("&Igrave;", "Ì");
-        specialChars.put("&Iacute;", "Í");
-        specialChars.put("&Icirc;", "Î");
-        specialChars.put("&Iuml;", "Ï");
-        specialChars.put("&ETH;", "Ð");
-        specialChars.put("&Ntilde;", "Ñ");
-        specialChars.put("&Ograve;", "Ò");
-        specialChars.put("&Oacute;", "Ó");
-        specialChars.put("&Ocirc;", "Ô");
-        specialChars.put("&Otilde;", "Õ");
-        specialChars.put("&Ouml;", "Ö");
-        specialChars.put("&times;", "×");
-        specialChars.put("&Oslash;", "Ø");
-        specialChars.put("&Ugrave;", "Ù");
-        specialChars.put("&Uacute;", "Ú");
-        specialChars.put("&Ucirc;", "Û");
-        specialChars.put("&Uuml;", "Ü");
-        specialChars.put("&Yacute;", "Ý");
-        specialChars.put("&THORN;", "Þ");
-        specialChars.put("&szlig;", "ß");
-        specialChars.put("&agrave;", "à");
-        specialChars.put("&aacute;", "á");
-        specialChars.put("&acirc;", "â");
-        specialChars.put("&atilde;", "ã");
-        specialChars.put("&auml;", "ä");
-        specialChars.put("&aring;", "å");
-        specialChars.put("&aelig;", "æ");
-        specialChars.put("&ccedil;", "ç");
-        specialChars.put("&egrave;", "è");
-        specialChars.put("&eacute;", "é");
-        specialChars.put("&ecirc;", "ê");
-        specialChars.put("&euml;", "ë");
-        specialChars.put("&igrave;", "ì");
-        specialChars.put("&iacute;", "í");
-        specialChars.put("&icirc;", "î");
-        specialChars.put("&iuml;", "ï");
-        specialChars.put("&eth;", "ð");
-        specialChars.put("&ntilde;", "ñ");
-        specialChars.put("&ograve;", "ò");
-        specialChars.put("&oacute;", "ó");
-        specialChars.put("&ocirc;", "ô");
-        specialChars.put("&otilde;", "õ");
-        specialChars.put("&ouml;", "ö");
-        specialChars.put("&divide;", "÷");
-        specialChars.put("&oslash;", "ø");
-        specialChars.put("&ugrave;", "ù");
-        specialChars.put("&uacute;", "ú");
-        specialChars.put("&ucirc;", "û");
-        specialChars.put("&uuml;", "ü");
-        specialChars.put("&yacute;", "ý");
-        specialChars.put("&thorn;", "þ");
-        specialChars.put("&yuml;", "ÿ");
-        specialChars.put("&OElig;", "Œ");
-        specialChars.put("&oelig;", "œ");
-        specialChars.put("&Scaron;", "Š");
-        specialChars.put("&scaron;", "š");
-        specialChars.put("&Yuml;", "Ÿ");
-        specialChars.put("&fnof;", "ƒ");
-        specialChars.put("&circ;", "ˆ");
-        specialChars.put("&tilde;", "˜");
-        specialChars.put("&Alpha;", "Α");
-        specialChars.put("&Beta;", "Β");
-        specialChars.put("&Gamma;", "Γ");
-        specialChars.put("&Delta;", "Δ");
-        specialChars.put("&Epsilon;", "Ε");
-        specialChars.put("&Zeta;", "Ζ");
-        specialChars.put("&Eta;", "Η");
-        specialChars.put("&Theta;", "Θ");
-        specialChars.put("&Iota;", "Ι");
-        specialChars.put("&Kappa;", "Κ");
-        specialChars.put("&Lambda;", "Λ");
-        specialChars.put("&Mu;", "Μ");
-        specialChars.put("&Nu;", "Ν");
-        specialChars.put("&Xi;", "Ξ");
-        specialChars.put("&Omicron;", "Ο");
-        specialChars.put("&Pi;", "Π");
-        specialChars.put("&Rho;", "Ρ");
-        specialChars.put("&Sigma;", "Σ");
-        specialChars.put("&Tau;", "Τ");
-        specialChars.put("&Upsilon;", "Υ");
-        specialChars.put("&Phi;", "Φ");
-        specialChars.put("&Chi;", "Χ");
-        specialChars.put("&Psi;", "Ψ");
-        specialChars.put("&Omega;", "Ω");
-        specialChars.put("&alpha;", "α");
-        specialChars.put("&beta;", "β");
-        specialChars.put("&gamma;", "γ");
-        specialChars.put("&delta;", "δ");
-        specialChars.put("&epsilon;", "ε");
-        specialChars.put("&zeta;", "ζ");
-        specialChars.put("&eta;", "η");
-        specialChars.put("&theta;", "θ");
-        specialChars.put("&iota;", "ι");
-        specialChars.put("&kappa;", "κ");
-        specialChars.put("&lambda;", "λ");
-        specialChars.put("&mu;", "μ");
-        specialChars.put("&nu;", "ν");
-        specialChars.put("&xi;", "ξ");
-        specialChars.put("&omicron;", "ο");
-        specialChars.put("&pi;", "π");
-        specialChars.put("&rho;", "ρ");
-        specialChars.put("&sigmaf;", "ς");
-        specialChars.put("&sigma;", "σ");
-        specialChars.put("&tau;", "τ");
-        specialChars.put("&upsilon;", "υ");
-        specialChars.put("&phi;", "φ");
-        specialChars.put("&chi;", "χ");
-        specialChars.put("&psi;", "ψ");
-        specialChars.put("&omega;", "ω");
-        specialChars.put("&thetasym;", "ϑ");
-        specialChars.put("&upsih;", "ϒ");
-        specialChars.put("&piv;", "ϖ");
-        specialChars.put("&ensp;", " ");
-        specialChars.put("&emsp;", " ");
-        specialChars.put("&thinsp;", " ");
-        specialChars.put("&zwnj;", "‌ ");
-        specialChars.put("&zwj;", "‍ ");
-        specialChars.put("&lrm;", "‎ ");
-        specialChars.put("&rlm;", "‏ ");
-        specialChars.put("&ndash;", "–");
-        specialChars.put("&mdash;", "—");
-        specialChars.put("&lsquo;", "‘");
-        specialChars.put("&rsquo;", "’");
-        specialChars.put("&sbquo;", "‚");
-        specialChars.put("&ldquo;", "“");
-        specialChars.put("&rdquo;", "”");
-        specialChars.put("&bdquo;", "„");
-        specialChars.put("&dagger;", "†");
-        specialChars.put("&Dagger;", "‡");
-        specialChars.put("&permil;", "‰");
-        specialChars.put("&lsaquo;", "‹");
-        specialChars.put("&rsaquo;", "›");
-        specialChars.put("&bull;", "•");
-        specialChars.put("&hellip;", "…");
-        specialChars.put("&prime;", "′");
-        specialChars.put("&Prime;", "″");
-        specialChars.put("&oline;", "‾");
-        specialChars.put("&frasl;", "⁄");
-        specialChars.put("&weierp;", "℘");
-        specialChars.put("&image;", "ℑ");
-        specialChars.put("&real;", "ℜ");
-        specialChars.put("&trade;", "™");
-        specialChars.put("&alefsym;", "ℵ");
-        specialChars.put("&larr;", "←");
-        specialChars.put("&uarr;", "↑");
-        specialChars.put("&rarr;", "→");
-        specialChars.put("&darr;", "↓");
-        specialChars.put("&harr;", "↔");
-        specialChars.put("&crarr;", "↵");
-        specialChars.put("&lArr;", "⇐");
-        specialChars.put("&uArr;", "⇑");
-        specialChars.put("&rArr;", "⇒");
-        specialChars.put("&dArr;", "⇓");
-        specialChars.put("&hArr;", "⇔");
-        specialChars.put("&forall;", "∀");
-        specialChars.put("&part;", "∂");
-        specialChars.put("&exist;", "∃");
-        specialChars.put("&empty;", "∅");
-        specialChars.put("&nabla;", "∇");
-        specialChars.put("&isin;", "∈");
-        specialChars.put("&notin;", "∉");
-        specialChars.put("&ni;", "∋");
-        specialChars.put("&prod;", "∏");
-        specialChars.put("&sum;", "∑");
-        specialChars.put("&minus;", "−");
-        specialChars.put("&lowast;", "∗");
-        specialChars.put("&radic;", "√");
-        specialChars.put("&prop;", "∝");
-        specialChars.put("&infin;", "∞");
-        specialChars.put("&ang;", "∠");
-        specialChars.put("&and;", "∧");
-        specialChars.put("&or;", "∨");
-        specialChars.put("&cap;", "∩");
-        specialChars.put("&cup;", "∪");
-        specialChars.put("&int;", "∫");
-        specialChars.put("&there4;", "∴");
-        specialChars.put("&sim;", "∼");
-        specialChars.put("&cong;", "≅");
-        specialChars.put("&asymp;", "≈");
-        specialChars.put("&ne;", "≠");
-        specialChars.put("&equiv;", "≡");
-        specialChars.put("&le;", "≤");
-        specialChars.put("&ge;", "≥");
-        specialChars.put("&sub;", "⊂");
-        specialChars.put("&sup;", "⊃");
-        specialChars.put("&nsub;", "⊄");
-        specialChars.put("&sube;", "⊆");
-        specialChars.put("&supe;", "⊇");
-        specialChars.put("&oplus;", "⊕");
-        specialChars.put("&otimes;", "⊗");
-        specialChars.put("&perp;", "⊥");
-        specialChars.put("&sdot;", "⋅");
-        specialChars.put("&lceil;", "⌈");
-        specialChars.put("&rceil;", "⌉");
-        specialChars.put("&lfloor;", "⌊");
-        specialChars.put("&rfloor;", "⌋");
-        specialChars.put("&lang;", "〈");
-        specialChars.put("&rang;", "〉");
-        specialChars.put("&loz;", "◊");
-        specialChars.put("&spades;", "♠");
-        specialChars.put("&clubs;", "♣");
-        specialChars.put("&hearts;", "♥");
-        specialChars.put("&diams;", "♦");
-        specialChars.put("&#34;", "\"");
-        specialChars.put("&#35;", "#");
-        specialChars.put("&#36;", "$");
-        specialChars.put("&#37;", "%");
-        specialChars.put("&#38;", "&");
-        specialChars.put("&#39;", "'");
-        specialChars.put("&#40;", "(");
-        specialChars.put("&#41;", ")");
-        specialChars.put("&#42;", "*");
-        specialChars.put("&#43;", "+");
-        specialChars.put("&#44;", ",");
-        specialChars.put("&#45;", "-");
-        specialChars.put("&#46;", ".");
-        specialChars.put("&#47;", "/");
-        specialChars.put("&#58;", ":");
-        specialChars.put("&#59;", ";");
-        specialChars.put("&#60;", "<");
-        specialChars.put("&#61;", "=");
-        specialChars.put("&#62;", ">");
-        specialChars.put("&#63;", "?");
-        specialChars.put("&#64;", "@");
-        specialChars.put("&#91;", "[");
-        specialChars.put("&#92;", "\\");
-        specialChars.put("&#93;", "]");
-        specialChars.put("&#94;", "^");
-        specialChars.put("&#95;", "_");
-        specialChars.put("&#96;", "`");
-        specialChars.put("&#123;", "{");
-        specialChars.put("&#124;", "|");
-        specialChars.put("&#125;", "}");
-        specialChars.put("&#126;", "~");
-        specialChars.put("&#160;", " ");
-        specialChars.put("&#161;", "¡");
-        specialChars.put("&#162;", "¢");
-        specialChars.put("&#163;", "£");
-        specialChars.put("&#164;", "¤");
-        specialChars.put("&#165;", "¥");
-        specialChars.put("&#x20B9;", "₹");
-        specialChars.put("&#166;", "¦");
-        specialChars.put("&#167;", "§");
-        specialChars.put("&#168;", "¨");
-        specialChars.put("&#169;", "©");
-        specialChars.put("&#170;", "ª");
-        specialChars.put("&#171;", "«");
-        specialChars.put("&#172;", "¬");
-        specialChars.put("&#174;", "®");
-        specialChars.put("&#175;", "¯");
-        specialChars.put("&#176;", "°");
-        specialChars.put("&#177;", "±");
-        specialChars.put("&#178;", "²");
-        specialChars.put("&#179;", "³");
-        specialChars.put("&#180;", "´");
-        specialChars.put("&#181;", "µ");
-        specialChars.put("&#182;", "¶");
-        specialChars.put("&#183;", "·");
-        specialChars.put("&#184;", "¸");
-        specialChars.put("&#185;", "¹");
-        specialChars.put("&#186;", "º");
-        specialChars.put("&#187;", "»");
-        specialChars.put("&#188;", "¼");
-        specialChars.put("&#189;", "½");
-        specialChars.put("&#190;", "¾");
-        specialChars.put("&#191;", "¿");
-        specialChars.put("&#192;", "À");
-        specialChars.put("&#193;", "Á");
-        specialChars.put("&#194 ;", "Â");
-        specialChars.put("&#195;", "Ã");
-        specialChars.put("&#196;", "Ä");
-        specialChars.put("&#197;", "Å");
-        specialChars.put("&#198;", "Æ");
-        specialChars.put("&#199;", "Ç");
-        specialChars.put("&#200;", "È");
-        specialChars.put("&#201;", "É");
-        specialChars.put("&#202;", "Ê");
-        specialChars.put("&#203;", "Ë");
-        specialChars.put("&#204;", "Ì");
-        specialChars.put("&#205;", "Í");
-        specialChars.put("&#206;", "Î");
-        specialChars.put("&#207;", "Ï");
-        specialChars.put("&#208;", "Ð");
-        specialChars.put("&#209;", "Ñ");
-        specialChars.put("&#210;", "Ò");
-        specialChars.put("&#211;", "Ó");
-        specialChars.put("&#212;", "Ô");
-        specialChars.put("&#213;", "Õ");
-        specialChars.put("&#214;", "Ö");
-        specialChars.put("&#215;", "×");
-        specialChars.put("&#216;", "Ø");
-        specialChars.put("&#217;", "Ù");
-        specialChars.put("&#218;", "Ú");
-        specialChars.put("&#219;", "Û");
-        specialChars.put("&#220;", "Ü");
-        specialChars.put("&#221;", "Ý");
-        specialChars.put("&#222;", "Þ");
-        specialChars.put("&#223;", "ß");
-        specialChars.put("&#224;", "à");
-        specialChars.put("&#225;", "á");
-        specialChars.put("&#226;", "â");
-        specialChars.put("&#227;", "ã");
-        specialChars.put("&#228;", "ä");
-        specialChars.put("&#229;", "å");
-        specialChars.put("&#230;", "æ");
-        specialChars.put("&#231;", "ç");
-        specialChars.put("&#232;", "è");
-        specialChars.put("&#233;", "é");
-        specialChars.put("&#234;", "ê");
-        specialChars.put("&#235;", "ë");
-        specialChars.put("&#236;", "ì");
-        specialChars.put("&#237;", "í");
-        specialChars.put("&#238;", "î");
-        specialChars.put("&#239;", "ï");
-        specialChars.put("&#240;", "ð");
-        specialChars.put("&#241;", "ñ");
-        specialChars.put("&#242;", "ò");
-        specialChars.put("&#243;", "ó");
-        specialChars.put("&#244;", "ô");
-        specialChars.put("&#245;", "õ");
-        specialChars.put("&#246;", "ö");
-        specialChars.put("&#247;", "÷");
-        specialChars.put("&#248;", "ø");
-        specialChars.put("&#249;", "ù");
-        specialChars.put("&#250;", "ú");
-        specialChars.put("&#251;", "û");
-        specialChars.put("&#252;", "ü");
-        specialChars.put("&#253;", "ý");
-        specialChars.put("&#254;", "þ");
-        specialChars.put("&#255;", "ÿ");
-        specialChars.put("&#338;", "Œ");
-        specialChars.put("&#339;", "œ");
-        specialChars.put("&#352;", "Š");
-        specialChars.put("&#353;", "š");
-        specialChars.put("&#376;", "Ÿ");
-        specialChars.put("&#402;", "ƒ");
-        specialChars.put("&#913;", "Α");
-        specialChars.put("&#914;", "Β");
-        specialChars.put("&#915;", "Γ");
-        specialChars.put("&#916;", "Δ");
-        specialChars.put("&#917;", "Ε");
-        specialChars.put("&#918;", "Ζ");
-        specialChars.put("&#919;", "Η");
-        specialChars.put("&#920;", "Θ");
-        specialChars.put("&#921;", "Ι");
-        specialChars.put("&#922;", "Κ");
-        specialChars.put("&#923;", "Λ");
-        specialChars.put("&#924;", "Μ");
-        specialChars.put("&#925;", "Ν");
-        specialChars.put("&#926;", "Ξ");
-        specialChars.put("&#927;", "Ο");
-        specialChars.put("&#928;", "Π");
-        specialChars.put("&#929;", "Ρ");
-        specialChars.put("&#931;", "Σ");
-        specialChars.put("&#932;", "Τ");
-        specialChars.put("&#933;", "Υ");
-        specialChars.put("&#934;", "Φ");
-        specialChars.put("&#935;", "Χ");
-        specialChars.put("&#936;", "Ψ");
-        specialChars.put("&#937;", "Ω");
-        specialChars.put("&#945;", "α");
-        specialChars.put("&#946;", "β");
-        specialChars.put("&#947;", "γ");
-        specialChars.put("&#948;", "δ");
-        specialChars.put("&#949;", "ε");
-        specialChars.put("&#950;", "ζ");
-        specialChars.put("&#951;", "η");
-        specialChars.put("&#952;", "θ");
-        specialChars.put("&#953;", "ι");
-        specialChars.put("&#954;", "κ");
-        specialChars.put("&#955;", "λ");
-        specialChars.put("&#956;", "μ");
-        specialChars.put("&#957;", "ν");
-        specialChars.put("&#958;", "ξ");
-        specialChars.put("&#959;", "ο");
-        specialChars.put("&#960;", "π");
-        specialChars.put("&#961;", "ρ");
-        specialChars.put("&#962;", "ς");
-        specialChars.put("&#963;", "σ");
-        specialChars.put("&#964;", "τ");
-        specialChars.put("&#965;", "υ");
-        specialChars.put("&#966;", "φ");
-        specialChars.put("&#967;", "χ");
-        specialChars.put("&#968;", "ψ");
-        specialChars.put("&#969;", "ω");
-        specialChars.put("&#977;", "ϑ");
-        specialChars.put("&#978;", "ϒ");
-        specialChars.put("&#982;", "ϖ");
-        specialChars.put("&#8194;", " ");
-        specialChars.put("&#8195;", " ");
-        specialChars.put("&#8201;", " ");
-        specialChars.put("&#8204;", "‌ ");
-        specialChars.put("&#8205;", "‍ ");
-        specialChars.put("&#8206;", "‎ ");
-        specialChars.put("&#8207;", "‏ ");
-        specialChars.put("&#8211;", "–");
-        specialChars.put("&#8212;", "—");
-        specialChars.put("&#8216;", "‘");
-        specialChars.put("&#8217;", "’");
-        specialChars.put("&#8218;", "‚");
-        specialChars.put("&#8220;", "“");
-        specialChars.put("&#8221;", "”");
-        specialChars.put("&#8222;", "„");
-        specialChars.put("&#8224;", "†");
-        specialChars.put("&#8225;", "‡");
-        specialChars.put("&#8240;", "‰");
-        specialChars.put("&#8249;", "‹");
-        specialChars.put("&#8250;", "›");
-        specialChars.put("&#8226;", "•");
-        specialChars.put("&#8230;", "…");
-        specialChars.put("&#8242;", "′");
-        specialChars.put("&#8243;", "″");
-        specialChars.put("&#8254;", "‾");
-        specialChars.put("&#8260;", "⁄");
-        specialChars.put("&#8472;", "℘");
-        specialChars.put("&#8465;", "ℑ");
-        specialChars.put("&#8476;", "ℜ");
-        specialChars.put("&#8482;", "™");
-        specialChars.put("&#8501;", "ℵ");
-        specialChars.put("&#8592;", "←");
-        specialChars.put("&#8593;", "↑");
-        specialChars.put("&#8594;", "→");
-        specialChars.put("&#8595;", "↓");
-        specialChars.put("&#8596;", "↔");
-        specialChars.put("&#8629;", "↵");
-        specialChars.put("&#8656;", "⇐");
-        specialChars.put("&#8657;", "⇑");
-        specialChars.put("&#8658;", "⇒");
-        specialChars.put("&#8659;", "⇓");
-        specialChars.put("&#8660;", "⇔");
-        specialChars.put("&#9668;", "◄");
-        specialChars.put("&#9658;", "►");
-        specialChars.put("&#9650;", "▲");
-        specialChars.put("&#9660;", "▼");
-        specialChars.put("&#8704;", "∀");
-        specialChars.put("&#8706;", "∂");
-        specialChars.put("&#8707;", "∃");
-        specialChars.put("&#8709;", "∅");
-        specialChars.put("&#8711;", "∇");
-        specialChars.put("&#8712;", "∈");
-        specialChars.put("&#8713;", "∉");
-        specialChars.put("&#8715;", "∋");
-        specialChars.put("&#8719;", "∏");
-        specialChars.put("&#8721;", "∑");
-        specialChars.put("&#8722;", "−");
-        specialChars.put("&#8727;", "∗");
-        specialChars.put("&#8730;", "√");
-        specialChars.put("&#8733;", "∝");
-        specialChars.put("&#8734;", "∞");
-        specialChars.put("&#8736;", "∠");
-        specialChars.put("&#8743;", "∧");
-        specialChars.put("&#8744;", "∨");
-        specialChars.put("&#8745;", "∩");
-        specialChars.put("&#8746;", "∪");
-        specialChars.put("&#8747;", "∫");
-        specialChars.put("&#8756;", "∴");
-        specialChars.put("&#8764;", "∼");
-        specialChars.put("&#8773;", "≅");
-        specialChars.put("&#8776;", "≈");
-        specialChars.put("&#8800;", "≠");
-        specialChars.put("&#8801;", "≡");
-        specialChars.put("&#8804;", "≤");
-        specialChars.put("&#8805;", "≥");
-        specialChars.put("&#8834;", "⊂");
-        specialChars.put("&#8835;", "⊃");
-        specialChars.put("&#8836;", "⊄");
-        specialChars.put("&#8838;", "⊆");
-        specialChars.put("&#8839;", "⊇");
-        specialChars.put("&#8853;", "⊕");
-        specialChars.put("&#8855;", "⊗");
-        specialChars.put("&#8869;", "⊥");
-        specialChars.put("&#8901;", "⋅");
-        specialChars.put("&#8968;", "⌈");
-        specialChars.put("&#8969;", "⌉");
-        specialChars.put("&#8970;", "⌊");
-        specialChars.put("&#8971;", "⌋");
-        specialChars.put("&#9001;", "〈");
-        specialChars.put("&#9002;", "〉");
-        specialChars.put("&#9674;", "◊");
-        specialChars.put("&#9824;", "♠");
-        specialChars.put("&#9827;", "♣");
-        specialChars.put("&#9829;", "♥");
-        specialChars.put("&#9830;", "♦");
+    /**
+     * Pairs of tags within which line breaks are removed.
+     */
+    private final static String[][] ELEMENTS = {{"<li>", "</li>"}, {"<td>", "</td>"}, {"<p>", "</p>"}};
+    
+    static {
+        SPECIAL_CHARS.put("&quot;", "\"");
+        SPECIAL_CHARS.put("&num;", "#");
+        SPECIAL_CHARS.put("&dollar;", "$");
+        SPECIAL_CHARS.put("&percnt;", "%");
+        SPECIAL_CHARS.put("&amp;", "&");
+        SPECIAL_CHARS.put("&apos;", "'");
+        SPECIAL_CHARS.put("&lpar;", "(");
+        SPECIAL_CHARS.put("&rpar;", ")");
+        SPECIAL_CHARS.put("&ast;", "*");
+        SPECIAL_CHARS.put("&plus;", "+");
+        SPECIAL_CHARS.put("&comma;", ",");
+        SPECIAL_CHARS.put("&minus;", "-");
+        SPECIAL_CHARS.put("&period;", ".");
+        SPECIAL_CHARS.put("&sol;", "/");
+        SPECIAL_CHARS.put("&colon;", ":");
+        SPECIAL_CHARS.put("&semi;", ";");
+        SPECIAL_CHARS.put("&lt;", "<");
+        SPECIAL_CHARS.put("&equals;", "=");
+        SPECIAL_CHARS.put("&gt;", ">");
+        SPECIAL_CHARS.put("&quest;", "?");
+        SPECIAL_CHARS.put("&commat;", "@");
+        SPECIAL_CHARS.put("&lsqb;", "[");
+        SPECIAL_CHARS.put("&bsol;", "\\");
+        SPECIAL_CHARS.put("&rsqb;", "]");
+        SPECIAL_CHARS.put("&Hat;", "^");
+        SPECIAL_CHARS.put("&lowbar;", "_");
+        SPECIAL_CHARS.put("&grave;", "`");
+        SPECIAL_CHARS.put("&lcub;", "{");
+        SPECIAL_CHARS.put("&verbar;", "|");
+        SPECIAL_CHARS.put("&rcub;", "}");
+        SPECIAL_CHARS.put("&nbsp;", " ");
+        SPECIAL_CHARS.put("&iexcl;", "¡");
+        SPECIAL_CHARS.put("&cent;", "¢");
+        SPECIAL_CHARS.put("&pound;", "£");
+        SPECIAL_CHARS.put("&curren;", "¤");
+        SPECIAL_CHARS.put("&yen;", "¥");
+        SPECIAL_CHARS.put("&#x20B9;", "₹");
+        SPECIAL_CHARS.put("&brvbar;", "¦");
+        SPECIAL_CHARS.put("&sect;", "§");
+        SPECIAL_CHARS.put("&uml;", "¨");
+        SPECIAL_CHARS.put("&copy;", "©");
+        SPECIAL_CHARS.put("&ordf;", "ª");
+        SPECIAL_CHARS.put("&laquo;", "«");
+        SPECIAL_CHARS.put("&not;", "¬");
+        SPECIAL_CHARS.put("&reg;", "®");
+        SPECIAL_CHARS.put("&macr;", "¯");
+        SPECIAL_CHARS.put("&deg;", "°");
+        SPECIAL_CHARS.put("&plusmn;", "±");
+        SPECIAL_CHARS.put("&sup2;", "²");
+        SPECIAL_CHARS.put("&sup3;", "³");
+        SPECIAL_CHARS.put("&acute;", "´");
+        SPECIAL_CHARS.put("&micro;", "µ");
+        SPECIAL_CHARS.put("&para;", "¶");
+        SPECIAL_CHARS.put("&middot;", "·");
+        SPECIAL_CHARS.put("&cedil;", "¸");
+        SPECIAL_CHARS.put("&sup1;", "¹");
+        SPECIAL_CHARS.put("&ordm;", "º");
+        SPECIAL_CHARS.put("&raquo;", "»");
+        SPECIAL_CHARS.put("&frac14;", "¼");
+        SPECIAL_CHARS.put("&frac12;", "½");
+        SPECIAL_CHARS.put("&frac34;", "¾");
+        SPECIAL_CHARS.put("&iquest;", "¿");
+        SPECIAL_CHARS.put("&Agrave;", "À");
+        SPECIAL_CHARS.put("&Aacute;", "Á");
+        SPECIAL_CHARS.put("&Acirc;", "Â");
+        SPECIAL_CHARS.put("&Atilde;", "Ã");
+        SPECIAL_CHARS.put("&Auml;", "Ä");
+        SPECIAL_CHARS.put("&Aring;", "Å");
+        SPECIAL_CHARS.put("&AElig;", "Æ");
+        SPECIAL_CHARS.put("&Ccedil;", "Ç");
+        SPECIAL_CHARS.put("&Egrave;", "È");
+        SPECIAL_CHARS.put("&Eacute;", "É");
+        SPECIAL_CHARS.put("&Ecirc;", "Ê");
+        SPECIAL_CHARS.put("&Euml;", "Ë");
+        SPECIAL_CHARS.put("&Igrave;", "Ì");
+        SPECIAL_CHARS.put("&Iacute;", "Í");
+        SPECIAL_CHARS.put("&Icirc;", "Î");
+        SPECIAL_CHARS.put("&Iuml;", "Ï");
+        SPECIAL_CHARS.put("&ETH;", "Ð");
+        SPECIAL_CHARS.put("&Ntilde;", "Ñ");
+        SPECIAL_CHARS.put("&Ograve;", "Ò");
+        SPECIAL_CHARS.put("&Oacute;", "Ó");
+        SPECIAL_CHARS.put("&Ocirc;", "Ô");
+        SPECIAL_CHARS.put("&Otilde;", "Õ");
+        SPECIAL_CHARS.put("&Ouml;", "Ö");
+        SPECIAL_CHARS.put("&times;", "×");
+        SPECIAL_CHARS.put("&Oslash;", "Ø");
+        SPECIAL_CHARS.put("&Ugrave;", "Ù");
+        SPECIAL_CHARS.put("&Uacute;", "Ú");
+        SPECIAL_CHARS.put("&Ucirc;", "Û");
+        SPECIAL_CHARS.put("&Uuml;", "Ü");
+        SPECIAL_CHARS.put("&Yacute;", "Ý");
+        SPECIAL_CHARS.put("&THORN;", "Þ");
+        SPECIAL_CHARS.put("&szlig;", "ß");
+        SPECIAL_CHARS.put("&agrave;", "à");
+        SPECIAL_CHARS.put("&aacute;", "á");
+        SPECIAL_CHARS.put("&acirc;", "â");
+        SPECIAL_CHARS.put("&atilde;", "ã");
+        SPECIAL_CHARS.put("&auml;", "ä");
+        SPECIAL_CHARS.put("&aring;", "å");
+        SPECIAL_CHARS.put("&aelig;", "æ");
+        SPECIAL_CHARS.put("&ccedil;", "ç");
+        SPECIAL_CHARS.put("&egrave;", "è");
+        SPECIAL_CHARS.put("&eacute;", "é");
+        SPECIAL_CHARS.put("&ecirc;", "ê");
+        SPECIAL_CHARS.put("&euml;", "ë");
+        SPECIAL_CHARS.put("&igrave;", "ì");
+        SPECIAL_CHARS.put("&iacute;", "í");
+        SPECIAL_CHARS.put("&icirc;", "î");
+        SPECIAL_CHARS.put("&iuml;", "ï");
+        SPECIAL_CHARS.put("&eth;", "ð");
+        SPECIAL_CHARS.put("&ntilde;", "ñ");
+        SPECIAL_CHARS.put("&ograve;", "ò");
+        SPECIAL_CHARS.put("&oacute;", "ó");
+        SPECIAL_CHARS.put("&ocirc;", "ô");
+        SPECIAL_CHARS.put("&otilde;", "õ");
+        SPECIAL_CHARS.put("&ouml;", "ö");
+        SPECIAL_CHARS.put("&divide;", "÷");
+        SPECIAL_CHARS.put("&oslash;", "ø");
+        SPECIAL_CHARS.put("&ugrave;", "ù");
+        SPECIAL_CHARS.put("&uacute;", "ú");
+        SPECIAL_CHARS.put("&ucirc;", "û");
+        SPECIAL_CHARS.put("&uuml;", "ü");
+        SPECIAL_CHARS.put("&yacute;", "ý");
+        SPECIAL_CHARS.put("&thorn;", "þ");
+        SPECIAL_CHARS.put("&yuml;", "ÿ");
+        SPECIAL_CHARS.put("&OElig;", "Œ");
+        SPECIAL_CHARS.put("&oelig;", "œ");
+        SPECIAL_CHARS.put("&Scaron;", "Š");
+        SPECIAL_CHARS.put("&scaron;", "š");
+        SPECIAL_CHARS.put("&Yuml;", "Ÿ");
+        SPECIAL_CHARS.put("&fnof;", "ƒ");
+        SPECIAL_CHARS.put("&circ;", "ˆ");
+        SPECIAL_CHARS.put("&tilde;", "˜");
+        SPECIAL_CHARS.put("&Alpha;", "Α");
+        SPECIAL_CHARS.put("&Beta;", "Β");
+        SPECIAL_CHARS.put("&Gamma;", "Γ");
+        SPECIAL_CHARS.put("&Delta;", "Δ");
+        SPECIAL_CHARS.put("&Epsilon;", "Ε");
+        SPECIAL_CHARS.put("&Zeta;", "Ζ");
+        SPECIAL_CHARS.put("&Eta;", "Η");
+        SPECIAL_CHARS.put("&Theta;", "Θ");
+        SPECIAL_CHARS.put("&Iota;", "Ι");
+        SPECIAL_CHARS.put("&Kappa;", "Κ");
+        SPECIAL_CHARS.put("&Lambda;", "Λ");
+        SPECIAL_CHARS.put("&Mu;", "Μ");
+        SPECIAL_CHARS.put("&Nu;", "Ν");
+        SPECIAL_CHARS.put("&Xi;", "Ξ");
+        SPECIAL_CHARS.put("&Omicron;", "Ο");
+        SPECIAL_CHARS.put("&Pi;", "Π");
+        SPECIAL_CHARS.put("&Rho;", "Ρ");
+        SPECIAL_CHARS.put("&Sigma;", "Σ");
+        SPECIAL_CHARS.put("&Tau;", "Τ");
+        SPECIAL_CHARS.put("&Upsilon;", "Υ");
+        SPECIAL_CHARS.put("&Phi;", "Φ");
+        SPECIAL_CHARS.put("&Chi;", "Χ");
+        SPECIAL_CHARS.put("&Psi;", "Ψ");
+        SPECIAL_CHARS.put("&Omega;", "Ω");
+        SPECIAL_CHARS.put("&alpha;", "α");
+        SPECIAL_CHARS.put("&beta;", "β");
+        SPECIAL_CHARS.put("&gamma;", "γ");
+        SPECIAL_CHARS.put("&delta;", "δ");
+        SPECIAL_CHARS.put("&epsilon;", "ε");
+        SPECIAL_CHARS.put("&zeta;", "ζ");
+        SPECIAL_CHARS.put("&eta;", "η");
+        SPECIAL_CHARS.put("&theta;", "θ");
+        SPECIAL_CHARS.put("&iota;", "ι");
+        SPECIAL_CHARS.put("&kappa;", "κ");
+        SPECIAL_CHARS.put("&lambda;", "λ");
+        SPECIAL_CHARS.put("&mu;", "μ");
+        SPECIAL_CHARS.put("&nu;", "ν");
+        SPECIAL_CHARS.put("&xi;", "ξ");
+        SPECIAL_CHARS.put("&omicron;", "ο");
+        SPECIAL_CHARS.put("&pi;", "π");
+        SPECIAL_CHARS.put("&rho;", "ρ");
+        SPECIAL_CHARS.put("&sigmaf;", "ς");
+        SPECIAL_CHARS.put("&sigma;", "σ");
+        SPECIAL_CHARS.put("&tau;", "τ");
+        SPECIAL_CHARS.put("&upsilon;", "υ");
+        SPECIAL_CHARS.put("&phi;", "φ");
+        SPECIAL_CHARS.put("&chi;", "χ");
+        SPECIAL_CHARS.put("&psi;", "ψ");
+        SPECIAL_CHARS.put("&omega;", "ω");
+        SPECIAL_CHARS.put("&thetasym;", "ϑ");
+        SPECIAL_CHARS.put("&upsih;", "ϒ");
+        SPECIAL_CHARS.put("&piv;", "ϖ");
+        SPECIAL_CHARS.put("&ensp;", " ");
+        SPECIAL_CHARS.put("&emsp;", " ");
+        SPECIAL_CHARS.put("&thinsp;", " ");
+        SPECIAL_CHARS.put("&zwnj;", "‌ ");
+        SPECIAL_CHARS.put("&zwj;", "‍ ");
+        SPECIAL_CHARS.put("&lrm;", "‎ ");
+        SPECIAL_CHARS.put("&rlm;", "‏ ");
+        SPECIAL_CHARS.put("&ndash;", "–");
+        SPECIAL_CHARS.put("&mdash;", "—");
+        SPECIAL_CHARS.put("&lsquo;", "‘");
+        SPECIAL_CHARS.put("&rsquo;", "’");
+        SPECIAL_CHARS.put("&sbquo;", "‚");
+        SPECIAL_CHARS.put("&ldquo;", "“");
+        SPECIAL_CHARS.put("&rdquo;", "”");
+        SPECIAL_CHARS.put("&bdquo;", "„");
+        SPECIAL_CHARS.put("&dagger;", "†");
+        SPECIAL_CHARS.put("&Dagger;", "‡");
+        SPECIAL_CHARS.put("&permil;", "‰");
+        SPECIAL_CHARS.put("&lsaquo;", "‹");
+        SPECIAL_CHARS.put("&rsaquo;", "›");
+        SPECIAL_CHARS.put("&bull;", "•");
+        SPECIAL_CHARS.put("&hellip;", "…");
+        SPECIAL_CHARS.put("&prime;", "′");
+        SPECIAL_CHARS.put("&Prime;", "″");
+        SPECIAL_CHARS.put("&oline;", "‾");
+        SPECIAL_CHARS.put("&frasl;", "⁄");
+        SPECIAL_CHARS.put("&weierp;", "℘");
+        SPECIAL_CHARS.put("&image;", "ℑ");
+        SPECIAL_CHARS.put("&real;", "ℜ");
+        SPECIAL_CHARS.put("&trade;", "™");
+        SPECIAL_CHARS.put("&alefsym;", "ℵ");
+        SPECIAL_CHARS.put("&larr;", "←");
+        SPECIAL_CHARS.put("&uarr;", "↑");
+        SPECIAL_CHARS.put("&rarr;", "→");
+        SPECIAL_CHARS.put("&darr;", "↓");
+        SPECIAL_CHARS.put("&harr;", "↔");
+        SPECIAL_CHARS.put("&crarr;", "↵");
+        SPECIAL_CHARS.put("&lArr;", "⇐");
+        SPECIAL_CHARS.put("&uArr;", "⇑");
+        SPECIAL_CHARS.put("&rArr;", "⇒");
+        SPECIAL_CHARS.put("&dArr;", "⇓");
+        SPECIAL_CHARS.put("&hArr;", "⇔");
+        SPECIAL_CHARS.put("&forall;", "∀");
+        SPECIAL_CHARS.put("&part;", "∂");
+        SPECIAL_CHARS.put("&exist;", "∃");
+        SPECIAL_CHARS.put("&empty;", "∅");
+        SPECIAL_CHARS.put("&nabla;", "∇");
+        SPECIAL_CHARS.put("&isin;", "∈");
+        SPECIAL_CHARS.put("&notin;", "∉");
+        SPECIAL_CHARS.put("&ni;", "∋");
+        SPECIAL_CHARS.put("&prod;", "∏");
+        SPECIAL_CHARS.put("&sum;", "∑");
+        SPECIAL_CHARS.put("&minus;", "−");
+        SPECIAL_CHARS.put("&lowast;", "∗");
+        SPECIAL_CHARS.put("&radic;", "√");
+        SPECIAL_CHARS.put("&prop;", "∝");
+        SPECIAL_CHARS.put("&infin;", "∞");
+        SPECIAL_CHARS.put("&ang;", "∠");
+        SPECIAL_CHARS.put("&and;", "∧");
+        SPECIAL_CHARS.put("&or;", "∨");
+        SPECIAL_CHARS.put("&cap;", "∩");
+        SPECIAL_CHARS.put("&cup;", "∪");
+        SPECIAL_CHARS.put("&int;", "∫");
+        SPECIAL_CHARS.put("&there4;", "∴");
+        SPECIAL_CHARS.put("&sim;", "∼");
+        SPECIAL_CHARS.put("&cong;", "≅");
+        SPECIAL_CHARS.put("&asymp;", "≈");
+        SPECIAL_CHARS.put("&ne;", "≠");
+        SPECIAL_CHARS.put("&equiv;", "≡");
+        SPECIAL_CHARS.put("&le;", "≤");
+        SPECIAL_CHARS.put("&ge;", "≥");
+        SPECIAL_CHARS.put("&sub;", "⊂");
+        SPECIAL_CHARS.put("&sup;", "⊃");
+        SPECIAL_CHARS.put("&nsub;", "⊄");
+        SPECIAL_CHARS.put("&sube;", "⊆");
+        SPECIAL_CHARS.put("&supe;", "⊇");
+        SPECIAL_CHARS.put("&oplus;", "⊕");
+        SPECIAL_CHARS.put("&otimes;", "⊗");
+        SPECIAL_CHARS.put("&perp;", "⊥");
+        SPECIAL_CHARS.put("&sdot;", "⋅");
+        SPECIAL_CHARS.put("&lceil;", "⌈");
+        SPECIAL_CHARS.put("&rceil;", "⌉");
+        SPECIAL_CHARS.put("&lfloor;", "⌊");
+        SPECIAL_CHARS.put("&rfloor;", "⌋");
+        SPECIAL_CHARS.put("&lang;", "〈");
+        SPECIAL_CHARS.put("&rang;", "〉");
+        SPECIAL_CHARS.put("&loz;", "◊");
+        SPECIAL_CHARS.put("&spades;", "♠");
+        SPECIAL_CHARS.put("&clubs;", "♣");
+        SPECIAL_CHARS.put("&hearts;", "♥");
+        SPECIAL_CHARS.put("&diams;", "♦");
+        SPECIAL_CHARS.put("&#34;", "\"");
+        SPECIAL_CHARS.put("&#35;", "#");
+        SPECIAL_CHARS.put("&#36;", "$");
+        SPECIAL_CHARS.put("&#37;", "%");
+        SPECIAL_CHARS.put("&#38;", "&");
+        SPECIAL_CHARS.put("&#39;", "'");
+        SPECIAL_CHARS.put("&#40;", "(");
+        SPECIAL_CHARS.put("&#41;", ")");
+        SPECIAL_CHARS.put("&#42;", "*");
+        SPECIAL_CHARS.put("&#43;", "+");
+        SPECIAL_CHARS.put("&#44;", ",");
+        SPECIAL_CHARS.put("&#45;", "-");
+        SPECIAL_CHARS.put("&#46;", ".");
+        SPECIAL_CHARS.put("&#47;", "/");
+        SPECIAL_CHARS.put("&#58;", ":");
+        SPECIAL_CHARS.put("&#59;", ";");
+        SPECIAL_CHARS.put("&#60;", "<");
+        SPECIAL_CHARS.put("&#61;", "=");
+        SPECIAL_CHARS.put("&#62;", ">");
+        SPECIAL_CHARS.put("&#63;", "?");
+        SPECIAL_CHARS.put("&#64;", "@");
+        SPECIAL_CHARS.put("&#91;", "[");
+        SPECIAL_CHARS.put("&#92;", "\\");
+        SPECIAL_CHARS.put("&#93;", "]");
+        SPECIAL_CHARS.put("&#94;", "^");
+        SPECIAL_CHARS.put("&#95;", "_");
+        SPECIAL_CHARS.put("&#96;", "`");
+        SPECIAL_CHARS.put("&#123;", "{");
+        SPECIAL_CHARS.put("&#124;", "|");
+        SPECIAL_CHARS.put("&#125;", "}");
+        SPECIAL_CHARS.put("&#126;", "~");
+        SPECIAL_CHARS.put("&#160;", " ");
+        SPECIAL_CHARS.put("&#161;", "¡");
+        SPECIAL_CHARS.put("&#162;", "¢");
+        SPECIAL_CHARS.put("&#163;", "£");
+        SPECIAL_CHARS.put("&#164;", "¤");
+        SPECIAL_CHARS.put("&#165;", "¥");
+        SPECIAL_CHARS.put("&#x20B9;", "₹");
+        SPECIAL_CHARS.put("&#166;", "¦");
+        SPECIAL_CHARS.put("&#167;", "§");
+        SPECIAL_CHARS.put("&#168;", "¨");
+        SPECIAL_CHARS.put("&#169;", "©");
+        SPECIAL_CHARS.put("&#170;", "ª");
+        SPECIAL_CHARS.put("&#171;", "«");
+        SPECIAL_CHARS.put("&#172;", "¬");
+        SPECIAL_CHARS.put("&#174;", "®");
+        SPECIAL_CHARS.put("&#175;", "¯");
+        SPECIAL_CHARS.put("&#176;", "°");
+        SPECIAL_CHARS.put("&#177;", "±");
+        SPECIAL_CHARS.put("&#178;", "²");
+        SPECIAL_CHARS.put("&#179;", "³");
+        SPECIAL_CHARS.put("&#180;", "´");
+        SPECIAL_CHARS.put("&#181;", "µ");
+        SPECIAL_CHARS.put("&#182;", "¶");
+        SPECIAL_CHARS.put("&#183;", "·");
+        SPECIAL_CHARS.put("&#184;", "¸");
+        SPECIAL_CHARS.put("&#185;", "¹");
+        SPECIAL_CHARS.put("&#186;", "º");
+        SPECIAL_CHARS.put("&#187;", "»");
+        SPECIAL_CHARS.put("&#188;", "¼");
+        SPECIAL_CHARS.put("&#189;", "½");
+        SPECIAL_CHARS.put("&#190;", "¾");
+        SPECIAL_CHARS.put("&#191;", "¿");
+        SPECIAL_CHARS.put("&#192;", "À");
+        SPECIAL_CHARS.put("&#193;", "Á");
+        SPECIAL_CHARS.put("&#194 ;", "Â");
+        SPECIAL_CHARS.put("&#195;", "Ã");
+        SPECIAL_CHARS.put("&#196;", "Ä");
+        SPECIAL_CHARS.put("&#197;", "Å");
+        SPECIAL_CHARS.put("&#198;", "Æ");
+        SPECIAL_CHARS.put("&#199;", "Ç");
+        SPECIAL_CHARS.put("&#200;", "È");
+        SPECIAL_CHARS.put("&#201;", "É");
+        SPECIAL_CHARS.put("&#202;", "Ê");
+        SPECIAL_CHARS.put("&#203;", "Ë");
+        SPECIAL_CHARS.put("&#204;", "Ì");
+        SPECIAL_CHARS.put("&#205;", "Í");
+        SPECIAL_CHARS.put("&#206;", "Î");
+        SPECIAL_CHARS.put("&#207;", "Ï");
+        SPECIAL_CHARS.put("&#208;", "Ð");
+        SPECIAL_CHARS.put("&#209;", "Ñ");
+        SPECIAL_CHARS.put("&#210;", "Ò");
+        SPECIAL_CHARS.put("&#211;", "Ó");
+        SPECIAL_CHARS.put("&#212;", "Ô");
+        SPECIAL_CHARS.put("&#213;", "Õ");
+        SPECIAL_CHARS.put("&#214;", "Ö");
+        SPECIAL_CHARS.put("&#215;", "×");
+        SPECIAL_CHARS.put("&#216;", "Ø");
+        SPECIAL_CHARS.put("&#217;", "Ù");
+        SPECIAL_CHARS.put("&#218;", "Ú");
+        SPECIAL_CHARS.put("&#219;", "Û");
+        SPECIAL_CHARS.put("&#220;", "Ü");
+        SPECIAL_CHARS.put("&#221;", "Ý");
+        SPECIAL_CHARS.put("&#222;", "Þ");
+        SPECIAL_CHARS.put("&#223;", "ß");
+        SPECIAL_CHARS.put("&#224;", "à");
+        SPECIAL_CHARS.put("&#225;", "á");
+        SPECIAL_CHARS.put("&#226;", "â");
+        SPECIAL_CHARS.put("&#227;", "ã");
+        SPECIAL_CHARS.put("&#228;", "ä");
+        SPECIAL_CHARS.put("&#229;", "å");
+        SPECIAL_CHARS.put("&#230;", "æ");
+        SPECIAL_CHARS.put("&#231;", "ç");
+        SPECIAL_CHARS.put("&#232;", "è");
+        SPECIAL_CHARS.put("&#233;", "é");
+        SPECIAL_CHARS.put("&#234;", "ê");
+        SPECIAL_CHARS.put("&#235;", "ë");
+        SPECIAL_CHARS.put("&#236;", "ì");
+        SPECIAL_CHARS.put("&#237;", "í");
+        SPECIAL_CHARS.put("&#238;", "î");
+        SPECIAL_CHARS.put("&#239;", "ï");
+        SPECIAL_CHARS.put("&#240;", "ð");
+        SPECIAL_CHARS.put("&#241;", "ñ");
+        SPECIAL_CHARS.put("&#242;", "ò");
+        SPECIAL_CHARS.put("&#243;", "ó");
+        SPECIAL_CHARS.put("&#244;", "ô");
+        SPECIAL_CHARS.put("&#245;", "õ");
+        SPECIAL_CHARS.put("&#246;", "ö");
+        SPECIAL_CHARS.put("&#247;", "÷");
+        SPECIAL_CHARS.put("&#248;", "ø");
+        SPECIAL_CHARS.put("&#249;", "ù");
+        SPECIAL_CHARS.put("&#250;", "ú");
+        SPECIAL_CHARS.put("&#251;", "û");
+        SPECIAL_CHARS.put("&#252;", "ü");
+        SPECIAL_CHARS.put("&#253;", "ý");
+        SPECIAL_CHARS.put("&#254;", "þ");
+        SPECIAL_CHARS.put("&#255;", "ÿ");
+        SPECIAL_CHARS.put("&#338;", "Œ");
+        SPECIAL_CHARS.put("&#339;", "œ");
+        SPECIAL_CHARS.put("&#352;", "Š");
+        SPECIAL_CHARS.put("&#353;", "š");
+        SPECIAL_CHARS.put("&#376;", "Ÿ");
+        SPECIAL_CHARS.put("&#402;", "ƒ");
+        SPECIAL_CHARS.put("&#913;", "Α");
+        SPECIAL_CHARS.put("&#914;", "Β");
+        SPECIAL_CHARS.put("&#915;", "Γ");
+        SPECIAL_CHARS.put("&#916;", "Δ");
+        SPECIAL_CHARS.put("&#917;", "Ε");
+        SPECIAL_CHARS.put("&#918;", "Ζ");
+        SPECIAL_CHARS.put("&#919;", "Η");
+        SPECIAL_CHARS.put("&#920;", "Θ");
+        SPECIAL_CHARS.put("&#921;", "Ι");
+        SPECIAL_CHARS.put("&#922;", "Κ");
+        SPECIAL_CHARS.put("&#923;", "Λ");
+        SPECIAL_CHARS.put("&#924;", "Μ");
+        SPECIAL_CHARS.put("&#925;", "Ν");
+        SPECIAL_CHARS.put("&#926;", "Ξ");
+        SPECIAL_CHARS.put("&#927;", "Ο");
+        SPECIAL_CHARS.put("&#928;", "Π");
+        SPECIAL_CHARS.put("&#929;", "Ρ");
+        SPECIAL_CHARS.put("&#931;", "Σ");
+        SPECIAL_CHARS.put("&#932;", "Τ");
+        SPECIAL_CHARS.put("&#933;", "Υ");
+        SPECIAL_CHARS.put("&#934;", "Φ");
+        SPECIAL_CHARS.put("&#935;", "Χ");
+        SPECIAL_CHARS.put("&#936;", "Ψ");
+        SPECIAL_CHARS.put("&#937;", "Ω");
+        SPECIAL_CHARS.put("&#945;", "α");
+        SPECIAL_CHARS.put("&#946;", "β");
+        SPECIAL_CHARS.put("&#947;", "γ");
+        SPECIAL_CHARS.put("&#948;", "δ");
+        SPECIAL_CHARS.put("&#949;", "ε");
+        SPECIAL_CHARS.put("&#950;", "ζ");
+        SPECIAL_CHARS.put("&#951;", "η");
+        SPECIAL_CHARS.put("&#952;", "θ");
+        SPECIAL_CHARS.put("&#953;", "ι");
+        SPECIAL_CHARS.put("&#954;", "κ");
+        SPECIAL_CHARS.put("&#955;", "λ");
+        SPECIAL_CHARS.put("&#956;", "μ");
+        SPECIAL_CHARS.put("&#957;", "ν");
+        SPECIAL_CHARS.put("&#958;", "ξ");
+        SPECIAL_CHARS.put("&#959;", "ο");
+        SPECIAL_CHARS.put("&#960;", "π");
+        SPECIAL_CHARS.put("&#961;", "ρ");
+        SPECIAL_CHARS.put("&#962;", "ς");
+        SPECIAL_CHARS.put("&#963;", "σ");
+        SPECIAL_CHARS.put("&#964;", "τ");
+        SPECIAL_CHARS.put("&#965;", "υ");
+        SPECIAL_CHARS.put("&#966;", "φ");
+        SPECIAL_CHARS.put("&#967;", "χ");
+        SPECIAL_CHARS.put("&#968;", "ψ");
+        SPECIAL_CHARS.put("&#969;", "ω");
+        SPECIAL_CHARS.put("&#977;", "ϑ");
+        SPECIAL_CHARS.put("&#978;", "ϒ");
+        SPECIAL_CHARS.put("&#982;", "ϖ");
+        SPECIAL_CHARS.put("&#8194;", " ");
+        SPECIAL_CHARS.put("&#8195;", " ");
+        SPECIAL_CHARS.put("&#8201;", " ");
+        SPECIAL_CHARS.put("&#8204;", "‌ ");
+        SPECIAL_CHARS.put("&#8205;", "‍ ");
+        SPECIAL_CHARS.put("&#8206;", "‎ ");
+        SPECIAL_CHARS.put("&#8207;", "‏ ");
+        SPECIAL_CHARS.put("&#8211;", "–");
+        SPECIAL_CHARS.put("&#8212;", "—");
+        SPECIAL_CHARS.put("&#8216;", "‘");
+        SPECIAL_CHARS.put("&#8217;", "’");
+        SPECIAL_CHARS.put("&#8218;", "‚");
+        SPECIAL_CHARS.put("&#8220;", "“");
+        SPECIAL_CHARS.put("&#8221;", "”");
+        SPECIAL_CHARS.put("&#8222;", "„");
+        SPECIAL_CHARS.put("&#8224;", "†");
+        SPECIAL_CHARS.put("&#8225;", "‡");
+        SPECIAL_CHARS.put("&#8240;", "‰");
+        SPECIAL_CHARS.put("&#8249;", "‹");
+        SPECIAL_CHARS.put("&#8250;", "›");
+        SPECIAL_CHARS.put("&#8226;", "•");
+        SPECIAL_CHARS.put("&#8230;", "…");
+        SPECIAL_CHARS.put("&#8242;", "′");
+        SPECIAL_CHARS.put("&#8243;", "″");
+        SPECIAL_CHARS.put("&#8254;", "‾");
+        SPECIAL_CHARS.put("&#8260;", "⁄");
+        SPECIAL_CHARS.put("&#8472;", "℘");
+        SPECIAL_CHARS.put("&#8465;", "ℑ");
+        SPECIAL_CHARS.put("&#8476;", "ℜ");
+        SPECIAL_CHARS.put("&#8482;", "™");
+        SPECIAL_CHARS.put("&#8501;", "ℵ");
+        SPECIAL_CHARS.put("&#8592;", "←");
+        SPECIAL_CHARS.put("&#8593;", "↑");
+        SPECIAL_CHARS.put("&#8594;", "→");
+        SPECIAL_CHARS.put("&#8595;", "↓");
+        SPECIAL_CHARS.put("&#8596;", "↔");
+        SPECIAL_CHARS.put("&#8629;", "↵");
+        SPECIAL_CHARS.put("&#8656;", "⇐");
+        SPECIAL_CHARS.put("&#8657;", "⇑");
+        SPECIAL_CHARS.put("&#8658;", "⇒");
+        SPECIAL_CHARS.put("&#8659;", "⇓");
+        SPECIAL_CHARS.put("&#8660;", "⇔");
+        SPECIAL_CHARS.put("&#9668;", "◄");
+        SPECIAL_CHARS.put("&#9658;", "►");
+        SPECIAL_CHARS.put("&#9650;", "▲");
+        SPECIAL_CHARS.put("&#9660;", "▼");
+        SPECIAL_CHARS.put("&#8704;", "∀");
+        SPECIAL_CHARS.put("&#8706;", "∂");
+        SPECIAL_CHARS.put("&#8707;", "∃");
+        SPECIAL_CHARS.put("&#8709;", "∅");
+        SPECIAL_CHARS.put("&#8711;", "∇");
+        SPECIAL_CHARS.put("&#8712;", "∈");
+        SPECIAL_CHARS.put("&#8713;", "∉");
+        SPECIAL_CHARS.put("&#8715;", "∋");
+        SPECIAL_CHARS.put("&#8719;", "∏");
+        SPECIAL_CHARS.put("&#8721;", "∑");
+        SPECIAL_CHARS.put("&#8722;", "−");
+        SPECIAL_CHARS.put("&#8727;", "∗");
+        SPECIAL_CHARS.put("&#8730;", "√");
+        SPECIAL_CHARS.put("&#8733;", "∝");
+        SPECIAL_CHARS.put("&#8734;", "∞");
+        SPECIAL_CHARS.put("&#8736;", "∠");
+        SPECIAL_CHARS.put("&#8743;", "∧");
+        SPECIAL_CHARS.put("&#8744;", "∨");
+        SPECIAL_CHARS.put("&#8745;", "∩");
+        SPECIAL_CHARS.put("&#8746;", "∪");
+        SPECIAL_CHARS.put("&#8747;", "∫");
+        SPECIAL_CHARS.put("&#8756;", "∴");
+        SPECIAL_CHARS.put("&#8764;", "∼");
+        SPECIAL_CHARS.put("&#8773;", "≅");
+        SPECIAL_CHARS.put("&#8776;", "≈");
+        SPECIAL_CHARS.put("&#8800;", "≠");
+        SPECIAL_CHARS.put("&#8801;", "≡");
+        SPECIAL_CHARS.put("&#8804;", "≤");
+        SPECIAL_CHARS.put("&#8805;", "≥");
+        SPECIAL_CHARS.put("&#8834;", "⊂");
+        SPECIAL_CHARS.put("&#8835;", "⊃");
+        SPECIAL_CHARS.put("&#8836;", "⊄");
+        SPECIAL_CHARS.put("&#8838;", "⊆");
+        SPECIAL_CHARS.put("&#8839;", "⊇");
+        SPECIAL_CHARS.put("&#8853;", "⊕");
+        SPECIAL_CHARS.put("&#8855;", "⊗");
+        SPECIAL_CHARS.put("&#8869;", "⊥");
+        SPECIAL_CHARS.put("&#8901;", "⋅");
+        SPECIAL_CHARS.put("&#8968;", "⌈");
+        SPECIAL_CHARS.put("&#8969;", "⌉");
+        SPECIAL_CHARS.put("&#8970;", "⌊");
+        SPECIAL_CHARS.put("&#8971;", "⌋");
+        SPECIAL_CHARS.put("&#9001;", "〈");
+        SPECIAL_CHARS.put("&#9002;", "〉");
+        SPECIAL_CHARS.put("&#9674;", "◊");
+        SPECIAL_CHARS.put("&#9824;", "♠");
+        SPECIAL_CHARS.put("&#9827;", "♣");
+        SPECIAL_CHARS.put("&#9829;", "♥");
+        SPECIAL_CHARS.put("&#9830;", "♦");
     }
     
     /**
      * @param input String builder holding the original text.
      * @throws Exception if anything goes wrong.
      */
-    public final synchronized void clean(StringBuilder input) throws Exception {
+    public final void clean(StringBuilder input) throws Exception {
         
         replaceSpecialChars(input);
-        removeLineBreaks("<li>", "</li>", input);
-        removeLineBreaks("<td>", "</td>", input);
-        removeLineBreaks("<p>", "</p>", input);
+        for (String[] element : ELEMENTS) {
+            removeLineBreaks(element[0], element[1], input);
+        }
         removeHTMLTags(input);
         
     }
     
+    /**
+     * Finds the last position at which text that has not been cleaned yet can be cut, so that both parts are cleaned in the same way as the entire text.
+     * Positions within HTML tags (including those written as HTML characters) are never used.
+     * @param input Character sequence holding the original text.
+     * @param spaces Boolean indicating whether to cut on any empty space (true), or only on line breaks that are not enclosed by a pair of tags within which line breaks are removed (false).
+     * @return Integer holding the index of the line break or empty space, or -1 if there is none.
+     */
+    final int findCut(CharSequence input, boolean spaces) {
+        
+        int retVal = -1;
+        
+        Scanner scanner = new Scanner();
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!scanner.isInTag()) {
+                if (c == 10 || c == 13) {
+                    if (spaces || !scanner.isInElement()) retVal = i;
+                } else if (spaces && Character.isWhitespace(c)) {
+                    retVal = i;
+                }
+            }
+            scanner.next(input, i);
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * Closes the elements within which line breaks are removed that are left open at the end of a text that was cut, and reopens them at the beginning of the rest of the text.
+     * @param chunk String builder holding the original text before the cut.
+     * @param rest String builder holding the original text after the cut.
+     */
+    final void closeElements(StringBuilder chunk, StringBuilder rest) {
+        
+        Scanner scanner = new Scanner();
+        for (int i = 0; i < chunk.length(); i++) {
+            scanner.next(chunk, i);
+        }
+        
+        for (int i = ELEMENTS.length - 1; i >= 0; i--) {
+            if (scanner.open[i]) {
+                chunk.append(ELEMENTS[i][1]);
+                rest.insert(0, ELEMENTS[i][0]);
+            }
+        }
+        
+    }
+    
+    /**
+     * Follows HTML tags and elements within which line breaks are removed in the same order as the {@link #clean(java.lang.StringBuilder) clean()} method finds them.
+     */
+    private final static class Scanner {
+        
+        private final boolean[] open = new boolean[ELEMENTS.length];
+        
+        private final StringBuilder tag = new StringBuilder();
+        private boolean inTag = false;
+        
+        private int entity = -1;
+        
+        private boolean isInTag() {
+            return this.inTag;
+        }
+        
+        private boolean isInElement() {
+            for (boolean element : this.open) {
+                if (element) return true;
+            }
+            return false;
+        }
+        
+        private void next(CharSequence input, int i) {
+            
+            char c = input.charAt(i);
+            
+            /**
+             * HTML characters are replaced before the tags are removed,
+             * so an escaped bracket opens or closes a tag as well.
+             */
+            if (this.entity > -1) {
+                if (c == 59) {
+                    String replacement = SPECIAL_CHARS.get(input.subSequence(this.entity, i + 1).toString());
+                    this.entity = -1;
+                    if (replacement != null && replacement.length() == 1) accept(replacement.charAt(0));
+                    return;
+                } else if (Character.isWhitespace(c)) {
+                    this.entity = -1;
+                }
+            } else if (c == 38) {
+                this.entity = i;
+            }
+            
+            accept(c);
+            
+        }
+        
+        private void accept(char c) {
+            
+            if (c == 60) {
+                if (!this.inTag) this.tag.setLength(0);
+                this.inTag = true;
+            }
+            
+            if (!this.inTag) return;
+            
+            /**
+             * Only short tags can delimit an element.
+             */
+            if (this.tag.length() < 8) this.tag.append(c);
+            
+            if (c == 62) {
+                this.inTag = false;
+                String name = this.tag.toString();
+                for (int i = 0; i < ELEMENTS.length; i++) {
+                    if (this.open[i]) {
+                        if (name.equals(ELEMENTS[i][1])) this.open[i] = false;
+                    } else {
+                        if (name.equals(ELEMENTS[i][0])) this.open[i] = true;
+                    }
+                }
+            }
+            
+        }
+        
+    }
+    
     private void replaceSpecialChars(StringBuilder input) {
         
         int start = input.indexOf("&");
@@ -612,8 +744,8 @@ public final class HTMLCleaner {
             if (end == -1) break;
             
             String specChar = input.substring(start, end + 1);
-            if (specialChars.containsKey(specChar)) {
-                input.replace(start, end + 1, specialChars.get(specChar));
+            if (SPECIAL_CHARS.containsKey(specChar)) {
+                input.replace(start, end + 1, SPECIAL_CHARS.get(specChar));
             }
             
             start = input.indexOf("&", end + 1);
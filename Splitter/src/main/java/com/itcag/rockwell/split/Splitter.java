@@ -23,8 +23,13 @@ import com.itcag.util.punct.Locker;
 import com.itcag.util.punct.Punctuation;
 import com.itcag.util.txt.TextToolbox;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 /**
  * <p>This class splits text into sentences.</p>
@@ -32,7 +37,18 @@ import java.util.Iterator;
  */
 public final class Splitter {
 
+    /**
+     * Number of characters read from a reader at once.
+     */
+    private final static int READ_SIZE = 8192;
+    
+    /**
+     * Maximum number of characters that are buffered while reading text without line breaks.
+     */
+    private final static int MAX_CHUNK_SIZE = 65536;
+
     private final UnicodeStandardizer unicode;
+    private final HTMLCleaner html;
     private final Locker locker;
     
     /**
@@ -43,6 +59,7 @@ public final class Splitter {
     
     public Splitter(UnicodeStandardizer unicode, boolean extended) throws Exception{
         this.unicode = unicode;
+        this.html = new HTMLCleaner();
         this.locker = new Locker();
         this.extended = false;
     }
@@ -92,7 +109,97 @@ public final class Splitter {
         
     }
 
+    /**
+     * This method reads text incrementally, and returns sentences as soon as they are complete. Only a bounded portion of the text is held in memory at any time.
+     * Text is processed in chunks ending in a line break, since a line break always terminates a sentence. Line breaks within HTML tags, or within the elements in which the {@link HTMLCleaner} removes them, are skipped, so that the sentences are the same as those returned by the {@link #split(java.lang.String)} method. Text without such line breaks is processed in chunks of limited size, and the last sentence of every such chunk is carried over to the next chunk. A single sentence longer than the chunk limit is split.
+     * Errors encountered while reading are thrown from the iterator as unchecked exceptions. The reader is not closed.
+     * @param reader Reader providing the original text.
+     * @return Iterator over strings holding individual sentences.
+     */
+    public final Iterator<String> split(Reader reader) {
+        
+        SentenceIterator sentences = new SentenceIterator(reader);
+        
+        return new Iterator<String>() {
+            
+            @Override
+            public boolean hasNext() {
+                return sentences.hasNext();
+            }
+
+            @Override
+            public String next() {
+                StringBuilder sentence = sentences.next();
+                try {
+                    locker.unlockEverything(sentence);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+                return sentence.toString();
+            }
+            
+        };
+        
+    }
+    
+    /**
+     * Same as {@link #split(java.io.Reader)}, but returns sentences prepared for tokenization, in the same way as the {@link #splitInPipeline(java.lang.String)} method.
+     * @param reader Reader providing the original text.
+     * @return Iterator over string builders holding individual sentences.
+     */
+    public final Iterator<StringBuilder> splitInPipeline(Reader reader) {
+        
+        SentenceIterator sentences = new SentenceIterator(reader);
+        
+        return new Iterator<StringBuilder>() {
+            
+            @Override
+            public boolean hasNext() {
+                return sentences.hasNext();
+            }
+
+            @Override
+            public StringBuilder next() {
+                StringBuilder sentence = sentences.next();
+                try {
+                    locker.unlockPunctuationOnly(sentence);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+                return sentence;
+            }
+            
+        };
+        
+    }
+    
     private ArrayList<StringBuilder> protocol(StringBuilder input) throws Exception {
+        return protocol(input, true);
+    }
+
+    /**
+     * @param input String builder holding the original text.
+     * @param strict Boolean indicating whether text that becomes empty during processing throws an exception (true), or produces no sentences (false).
+     * @return Array list containing string builders holding locked sentences.
+     * @throws Exception if anything goes wrong.
+     */
+    private ArrayList<StringBuilder> protocol(StringBuilder input, boolean strict) throws Exception {
+        if (!clean(input, strict)) return new ArrayList<>();
+        return divide(input, strict);
+    }
+    
+    /**
+     * Standardizes Unicode, and removes HTML.
+     * @param input String builder holding the original text.
+     * @param strict Boolean indicating whether text that is rejected throws an exception (true), or is left empty (false).
+     * @return Boolean indicating whether any text is left.
+     * @throws Exception if anything goes wrong.
+     */
+    private boolean clean(StringBuilder input, boolean strict) throws Exception {
         
         /**
          * Standardize Unicode.
@@ -100,19 +207,40 @@ public final class Splitter {
         int originalLength = input.length();
         unicode.standardize(input);
         TextToolbox.trim(input);
-        if (input.length() == 0) throw new IllegalArgumentException("Input is not in Latin alphabet.");
-        if (input.length() < 0.5 * originalLength) throw new IllegalArgumentException("Input is mostly not in Latin alphabet.");
-        if (TextToolbox.isEmpty(input)) throw new IllegalArgumentException("Input is empty after Unicode standardization.");
+        if (input.length() == 0) {
+            if (strict) throw new IllegalArgumentException("Input is not in Latin alphabet.");
+            return false;
+        }
+        if (input.length() < 0.5 * originalLength) {
+            if (strict) throw new IllegalArgumentException("Input is mostly not in Latin alphabet.");
+            input.setLength(0);
+            return false;
+        }
 
         /**
          * Replace HTML special characters with the Unicode.
          * Remove HTML tags if any were left by the collection.
          * Break the text on tags that imply text display in a new line. 
          */
-        HTMLCleaner html = new HTMLCleaner();
-        html.clean(input);
+        this.html.clean(input);
         TextToolbox.trim(input);
-        if (TextToolbox.isEmpty(input)) throw new IllegalArgumentException("Input is empty after cleaning.");
+        if (TextToolbox.isEmpty(input)) {
+            if (strict) throw new IllegalArgumentException("Input is empty after cleaning.");
+            return false;
+        }
+        
+        return true;
+        
+    }
+        
+    /**
+     * Splits cleaned text into sentences.
+     * @param input String builder holding the cleaned text.
+     * @param strict Boolean indicating whether text that becomes empty during processing throws an exception (true), or produces no sentences (false).
+     * @return Array list containing string builders holding locked sentences.
+     * @throws Exception if anything goes wrong.
+     */
+    private ArrayList<StringBuilder> divide(StringBuilder input, boolean strict) throws Exception {
         
         /**
          * Lock URLs, abbreviations, acronyms, decimal numbers.
@@ -124,7 +252,10 @@ public final class Splitter {
          */
         Punctuation.normalize(input);
         TextToolbox.trim(input);
-        if (TextToolbox.isEmpty(input)) throw new IllegalArgumentException("Input is empty after punctuation normalization.");
+        if (TextToolbox.isEmpty(input)) {
+            if (strict) throw new IllegalArgumentException("Input is empty after punctuation normalization.");
+            return new ArrayList<>();
+        }
         
         /**
          * Split into sentences.
@@ -159,4 +290,114 @@ public final class Splitter {
         
     }
     
+    /**
+     * Reads text in chunks, and returns locked sentences.
+     */
+    private final class SentenceIterator implements Iterator<StringBuilder> {
+        
+        private final Reader reader;
+        private final char[] buffer = new char[READ_SIZE];
+        
+        /**
+         * Text that was read, but not yet split.
+         */
+        private final StringBuilder pending = new StringBuilder();
+        
+        /**
+         * Cleaned text of the last sentence of the previous chunk, if it might continue in the next chunk.
+         */
+        private StringBuilder carry = null;
+        
+        private final LinkedList<StringBuilder> sentences = new LinkedList<>();
+        
+        private boolean exhausted = false;
+        
+        private SentenceIterator(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (this.sentences.isEmpty() && !(this.exhausted && this.pending.length() == 0 && this.carry == null)) {
+                    fill();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+            return !this.sentences.isEmpty();
+        }
+
+        @Override
+        public StringBuilder next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return this.sentences.removeFirst();
+        }
+        
+        private void fill() throws Exception {
+            
+            if (!this.exhausted) {
+                int read = this.reader.read(this.buffer);
+                if (read == -1) {
+                    this.exhausted = true;
+                } else {
+                    this.pending.append(this.buffer, 0, read);
+                }
+            }
+            
+            /**
+             * Cut after the last line break that terminates a sentence.
+             */
+            int cut = this.exhausted ? this.pending.length() : html.findCut(this.pending, false) + 1;
+            boolean complete = this.exhausted || cut > 0;
+            
+            if (!complete) {
+                /**
+                 * No line break: keep reading until the chunk limit is reached,
+                 * and then cut on the last empty space to avoid splitting words.
+                 */
+                if (this.pending.length() < MAX_CHUNK_SIZE) return;
+                cut = html.findCut(this.pending, true) + 1;
+                if (cut <= 0) cut = this.pending.length();
+            }
+            
+            StringBuilder chunk = new StringBuilder(this.pending.substring(0, cut));
+            this.pending.delete(0, cut);
+            if (!complete) html.closeElements(chunk, this.pending);
+            
+            /**
+             * Blank lines around the chunk must not count as text removed by the Unicode standardization.
+             */
+            TextToolbox.trim(chunk);
+            
+            if (!clean(chunk, false) && this.carry == null) return;
+            
+            if (this.carry != null) {
+                /**
+                 * The carried sentence was cleaned already, and must not be cleaned again.
+                 */
+                chunk.insert(0, this.carry.append(" "));
+                this.carry = null;
+            }
+            
+            ArrayList<StringBuilder> split = divide(chunk, false);
+            
+            if (!complete && split.size() > 1) {
+                /**
+                 * The last sentence might continue in the next chunk.
+                 */
+                this.carry = split.remove(split.size() - 1);
+                locker.unlockEverything(this.carry);
+            }
+            
+            this.sentences.addAll(split);
+            
+        }
+        
+    }
+    
 }
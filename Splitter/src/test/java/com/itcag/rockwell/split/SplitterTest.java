@@ -3,8 +3,13 @@ package com.itcag.rockwell.split;
 import com.itcag.english.LatinUnicodeStandardizer;
 import com.itcag.util.Printer;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Iterator;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 public class SplitterTest {
@@ -23,4 +28,113 @@ public class SplitterTest {
         
     }
     
+    @Test
+    public void testSplitReader() throws Exception {
+        
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("The quick brown fox jumps over the lazy dog. The U.S. deal is worth $7.3 bn. Is it? ");
+            if (i % 100 == 0) text.append("\n");
+        }
+        
+        Splitter splitter = new Splitter(new LatinUnicodeStandardizer(), false);
+        ArrayList<String> expected = splitter.split(text.toString());
+        
+        ArrayList<String> sentences = new ArrayList<>();
+        Iterator<String> iterator = splitter.split(new StringReader(text.toString()));
+        while (iterator.hasNext()) {
+            sentences.add(iterator.next());
+        }
+        
+        assertEquals(expected, sentences);
+        
+    }
+    
+    @Test
+    public void testSplitReaderHTML() throws Exception {
+        
+        Splitter splitter = new Splitter(new LatinUnicodeStandardizer(), false);
+        
+        /**
+         * Line breaks within paragraphs, list items and table cells are removed.
+         */
+        assertSameSplit(splitter, "<p>The first paragraph\nspans two lines. It ends here.</p>\n<ul><li>One item\nspans lines too.</li><li>Second item.</li></ul>\n<table><tr><td>A cell\nwith a break.</td></tr></table>\nPlain line.\n");
+        
+        /**
+         * Tags span lines.
+         */
+        assertSameSplit(splitter, "Some text with a <a\nhref=\"http://www.example.com\">link\nthat breaks</a> in it.\nNext line follows.\n");
+        
+        /**
+         * Escaped tags and HTML characters are decoded only once.
+         */
+        assertSameSplit(splitter, "The sign &amp;lt; is escaped.\nThe &lt;b&gt;bold\nword&lt;/b&gt; is a tag. AT&amp;T is a company.\n");
+        
+        /**
+         * Long text without line breaks is carried over from chunk to chunk.
+         */
+        StringBuilder text = new StringBuilder("<p>");
+        for (int i = 0; i < 3000; i++) {
+            text.append("The sign &amp;lt; is escaped in <b>bold</b> text. ");
+        }
+        text.append("</p>");
+        assertSameSplit(splitter, text.toString());
+        
+    }
+    
+    @Test
+    public void testSplitReaderNotLatin() throws Exception {
+        
+        String text = "The first line is in English.\n\u0416\u0438\u0437\u043d\u044c \u0438 \u0441\u0443\u0434\u044c\u0431\u0430.\nThe last line is in English too.\n";
+        
+        Splitter splitter = new Splitter(new LatinUnicodeStandardizer(), false);
+        
+        ArrayList<String> sentences = new ArrayList<>();
+        Iterator<String> iterator = splitter.split(new TrickleReader(text));
+        while (iterator.hasNext()) {
+            sentences.add(iterator.next());
+        }
+        
+        assertTrue(sentences.contains("The first line is in English."));
+        assertTrue(sentences.contains("The last line is in English too."));
+        
+    }
+    
+    private void assertSameSplit(Splitter splitter, String text) throws Exception {
+        
+        ArrayList<String> expected = splitter.split(text);
+        
+        ArrayList<String> sentences = new ArrayList<>();
+        Iterator<String> iterator = splitter.split(new TrickleReader(text));
+        while (iterator.hasNext()) {
+            sentences.add(iterator.next());
+        }
+        
+        assertEquals(expected, sentences);
+        
+    }
+    
+    /**
+     * Returns only a few characters at a time, so that the text is cut into many chunks.
+     */
+    private final static class TrickleReader extends Reader {
+        
+        private final StringReader reader;
+        
+        private TrickleReader(String text) {
+            this.reader = new StringReader(text);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+            return this.reader.read(buffer, offset, Math.min(length, 7));
+        }
+
+        @Override
+        public void close() {
+            this.reader.close();
+        }
+        
+    }
+    
 }
@@ -21,25 +21,25 @@ package com.itcag.rockwell.tagger;
 import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.rockwell.tagger.util.ContinuationValidator;
 import com.itcag.rockwell.tagger.util.InitialValidator;
-import com.itcag.rockwell.lang.Semtoken;
 import com.itcag.rockwell.lang.Token;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingLedger;
+import com.itcag.rockwell.tagger.debug.Profiler;
 import com.itcag.rockwell.tagger.lang.AcceptingCondition;
 import com.itcag.rockwell.tagger.lang.Condition;
 import com.itcag.rockwell.tagger.lang.ConditionElement;
 import com.itcag.rockwell.tagger.lang.MatchingSpecification.Aspect;
-import com.itcag.rockwell.tagger.lang.Match;
 import com.itcag.rockwell.tagger.patterns.Patterns;
+import com.itcag.rockwell.tagger.lang.Symbols;
 import com.itcag.rockwell.tagger.lang.State;
+import com.itcag.rockwell.tagger.lang.Transitions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.Arrays;
 
 /**
  * <p>This is Rockwell implementation of the non-deterministic finite state automaton.</p>
- * <p>For every processed sentence a new instance of this class is created.</p>
+ * <p>An instance of this class processes one sentence at the time. It can be {@link #reset(java.util.ArrayList, java.lang.String) reset} and reused for the next sentence.</p>
  * <p>This class initiated by an instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing all applicable Rockwell expressions, as well as by an instance of the {@link com.itcag.rockwell.tagger.patterns.Patterns Patterns} class containing all patterns that these expressions possibly reference.</p>
  * <p>The evaluation then proceeds token by token, calling the {@link #getStates(java.util.ArrayList, com.itcag.rockwell.lang.Token, boolean)} method one token at the time.</p>
  */
@@ -47,6 +47,8 @@ public class Processor {
 
     protected final Conditions conditions;
     
+    private final Patterns patterns;
+    
     private final InitialValidator initialValidator;
     private final ContinuationValidator continuationValidator;
     
@@ -54,9 +56,31 @@ public class Processor {
      * Shortcuts are validate only against a specific target ID:
      * either a specific shortcut gets validated, or it doesn't matter.
      */
-    private final String expectedValue;
+    private String expectedValue;
     
     private final Debugger debugger;
+    
+    private final Symbols symbols = Symbols.getInstance();
+    
+    /**
+     * Symbol id of the quodlibet element, which matches every token.
+     */
+    private final int quodlibet;
+    
+    /**
+     * Bitset of the symbol ids of all literals (verbatim, case insensitive and lemma) that occur in the processed tokens.
+     */
+    private long[] literals = null;
+    
+    private int prefiltered = 0;
+    
+    private Profiler profiler = null;
+    
+    /**
+     * Maximum size of the array list of new states while a token is evaluated, and whether another state was matched once it was reached.
+     */
+    private int limit = Integer.MAX_VALUE;
+    private boolean limited = false;
 
     /**
      * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing all applicable Rockwell expressions.
@@ -69,12 +93,66 @@ public class Processor {
     public Processor(Conditions conditions, Patterns patterns, ArrayList<? extends Token> tokens, String expectedValue, Debugger debugger) throws Exception {
 
         this.conditions = conditions;
+        this.patterns = patterns;
         this.initialValidator = new InitialValidator(conditions, patterns, tokens, debugger);
         this.continuationValidator = new ContinuationValidator(conditions, patterns, tokens, debugger);
         
+        this.debugger = debugger;
+        
+        this.quodlibet = this.symbols.get(Aspect.QUODLIBET, ConditionFactory.KLEENE);
+        
+        start(tokens, expectedValue);
+        
+    }
+
+    /**
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class.
+     * @param patterns Instance of the {@link com.itcag.rockwell.tagger.patterns.Patterns Patterns} class.
+     * @return Boolean indicating whether this instance applies exactly these conditions and patterns.
+     */
+    public boolean isBoundTo(Conditions conditions, Patterns patterns) {
+        return this.conditions == conditions && this.patterns == patterns;
+    }
+
+    /**
+     * @param profiler Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class that records the cost of every condition, or null if profiling is off.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class, or null if profiling is off.
+     */
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+
+    /**
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the affix validations, which are carried out by separate taggers.
+     */
+    public void setBudget(StateBudget budget) {
+        this.initialValidator.setBudget(budget);
+        this.continuationValidator.setBudget(budget);
+    }
+
+    /**
+     * Prepares this instance for processing another sequence of tokens with the same conditions and patterns.
+     * @param tokens Array list of tokens that are to be processed.
+     * @param expectedValue String holding the tag of a targeted pattern, if the processor validates an affix, or null. 
+     */
+    public void reset(ArrayList<? extends Token> tokens, String expectedValue) {
+        this.initialValidator.reset(tokens);
+        this.continuationValidator.reset(tokens);
+        start(tokens, expectedValue);
+    }
+    
+    private void start(ArrayList<? extends Token> tokens, String expectedValue) {
+        
         this.expectedValue = expectedValue;
+        this.prefiltered = 0;
         
-        this.debugger = debugger;
+        setLiterals(tokens);
         
         if (DebuggingLedger.printConditions(debugger.client())) {
             conditions.print();
@@ -83,6 +161,50 @@ public class Processor {
         
     }
 
+    private void setLiterals(ArrayList<? extends Token> tokens) {
+        
+        /**
+         * The bitset is reused if it is large enough.
+         */
+        int length = (this.symbols.size() >>> 6) + 1;
+        if (this.literals == null || this.literals.length < length) {
+            this.literals = new long[length];
+        } else {
+            Arrays.fill(this.literals, 0L);
+        }
+        
+        for (Token token : tokens) {
+            addLiterals(token, this.literals);
+            for (Token alternative : token.getAlternatives()) {
+                addLiterals(alternative, this.literals);
+            }
+        }
+        
+    }
+    
+    private void addLiterals(Token token, long[] literals) {
+        int[] ids = this.symbols.getSymbols(token);
+        for (int i = Symbols.VERBATIM; i <= Symbols.LEMMA; i++) {
+            int id = ids[i];
+            if (id == Symbols.NONE || (id >>> 6) >= literals.length) continue;
+            literals[id >>> 6] |= 1L << id;
+        }
+    }
+    
+    /**
+     * @param conditionElement Instance of the {@link com.itcag.rockwell.tagger.lang.ConditionElement ConditionElement} class.
+     * @return Boolean indicating whether all literals required by the condition of the element occur in the processed tokens.
+     */
+    private boolean isPossible(ConditionElement conditionElement) {
+        int[] required = conditionElement.getLiterals();
+        if (required == null) return true;
+        for (int id : required) {
+            if ((id >>> 6) >= this.literals.length) return false;
+            if ((this.literals[id >>> 6] & (1L << id)) == 0) return false;
+        }
+        return true;
+    }
+    
     /**
      * This method evaluates a token, and if matched creates new states or updates the existing states. States that cannot be continued or completed with this token are discarded.
      * The token is possibly one of the alternative part-of-speech interpretations, if the original word is ambiguous.
@@ -95,141 +217,176 @@ public class Processor {
      * @throws Exception if anything goes wrong.
      */
     public ArrayList<State> getStates(ArrayList<State> currentStates, Token token, boolean firstAlternative) throws Exception {
-        
         ArrayList<State> retVal = new ArrayList<>();
+        getStates(currentStates, token, firstAlternative, retVal);
+        return retVal;
+    }
+    
+    /**
+     * This method is the same as {@link #getStates(java.util.ArrayList, com.itcag.rockwell.lang.Token, boolean)}, but adds the new states to an existing array list.
+     * @param currentStates Array list containing the instances of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the current states of the automaton.
+     * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class that is to be evaluated.
+     * @param firstAlternative Boolean indicated whether this token is the first of the alternative part-of-speech interpretations of an ambiguous word.
+     * @param retVal Array list to which the instances of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the new states of the automaton are added.
+     * @throws Exception if anything goes wrong.
+     */
+    public void getStates(ArrayList<State> currentStates, Token token, boolean firstAlternative, ArrayList<State> retVal) throws Exception {
+        getStates(currentStates, token, firstAlternative, retVal, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * This method is the same as {@link #getStates(java.util.ArrayList, com.itcag.rockwell.lang.Token, boolean, java.util.ArrayList)}, but stops evaluating the token once the array list holds the specified number of states.
+     * It enforces the {@link com.itcag.rockwell.tagger.StateBudget#getMaxTransitions() limit of transitions} within a single token.
+     * @param currentStates Array list containing the instances of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the current states of the automaton.
+     * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class that is to be evaluated.
+     * @param firstAlternative Boolean indicated whether this token is the first of the alternative part-of-speech interpretations of an ambiguous word.
+     * @param retVal Array list to which the instances of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the new states of the automaton are added.
+     * @param limit Integer specifying the maximum size of the array list.
+     * @return Boolean indicating whether the token was evaluated completely, i.e., no matched state was left out because of the limit.
+     * @throws Exception if anything goes wrong.
+     */
+    public boolean getStates(ArrayList<State> currentStates, Token token, boolean firstAlternative, ArrayList<State> retVal, int limit) throws Exception {
         
-        String key;
+        this.limit = limit;
+        this.limited = false;
+        
+        int[] ids = this.symbols.getSymbols(token);
         
         if (firstAlternative) {
-
-            key = Aspect.VERBATIM + ConditionElement.KEY_DELIMITER + token.getWord();
-            validate(key, token, currentStates, retVal);
-
-            key = Aspect.CAIN + ConditionElement.KEY_DELIMITER + token.getCain();
-            validate(key, token, currentStates, retVal);
-
+            validate(ids[Symbols.VERBATIM], token, currentStates, retVal);
+            validate(ids[Symbols.CAIN], token, currentStates, retVal);
         }
 
         if (token.getLemma() != null) {
-            key = Aspect.LEMMA + ConditionElement.KEY_DELIMITER + token.getLemma();
-            validate(key, token, currentStates, retVal);
+            validate(ids[Symbols.LEMMA], token, currentStates, retVal);
         }
 
         if (token.getPos() != null) {
-
-            key = Aspect.POS + ConditionElement.KEY_DELIMITER + token.getPos();
-            validate(key, token, currentStates, retVal);
-
-            key = Aspect.TYPE + ConditionElement.KEY_DELIMITER + token.getType();
-            validate(key, token, currentStates, retVal);
-
+            validate(ids[Symbols.POS], token, currentStates, retVal);
+            validate(ids[Symbols.TYPE], token, currentStates, retVal);
         }
 
-        if (token instanceof Semtoken || token instanceof Match) {
-            
-            Semtoken semtoken = (Semtoken) token;
-            for (String role : semtoken.getRoles()) {
-                key = Aspect.ROLE + ConditionElement.KEY_DELIMITER + role.toLowerCase();
-                validate(key, token, currentStates, retVal);
-            }
-            
+        /**
+         * Only semtokens (and matches) have roles.
+         */
+        for (int i = Symbols.ROLES; i < ids.length; i++) {
+            validate(ids[i], token, currentStates, retVal);
         }
         
         if (firstAlternative) {
-            key = Aspect.QUODLIBET + ConditionElement.KEY_DELIMITER + ConditionFactory.KLEENE;
-            validate(key, token, currentStates, retVal);
+            validate(this.quodlibet, token, currentStates, retVal);
         }
         
-        this.debugger.print("");
-
-        return retVal;
+        if (this.debugger.isEnabled()) this.debugger.print("");
         
+        return !this.limited;
+
     }
     
-    private void validate(String key, Token token, ArrayList<State> currentStates, ArrayList<State> newStates) throws Exception {
+    private void validate(int symbol, Token token, ArrayList<State> currentStates, ArrayList<State> newStates) throws Exception {
+        
+        if (symbol == Symbols.NONE) return;
+        
+        identifyInitial(symbol, token, newStates);
         
-        identifyInitial(key, token, newStates);
+        if (currentStates.isEmpty() || this.limited) return;
         
-        if (currentStates.isEmpty()) return;
+        Transitions.Row medial = conditions.getElements(symbol);
+        if (medial == null) return;
         
-        if (conditions.getElements().containsKey(key)) {
-            HashMap<Integer, HashMap<Integer, ConditionElement>> medial = conditions.getElements().get(key);
-            for (State state : currentStates) {
+        for (State state : currentStates) {
+
+            /**
+             * Number of optional elements must be limited,
+             * because optional quodlibet
+             * would create a match for every token
+             * until the end of the sentence.
+             */
+            if (state.getOptionalMax() != null) {
+                if (state.getOptionalCount() >= state.getOptionalMax()) continue;
+            } else if (state.getOptionalCount() >= Conditions.MAX_OPTIONAL) {
+                continue;
+            }
+
+            ConditionElement[] inner = medial.get(state.getState());
+            if (inner == null) continue;
+            
+            for (ConditionElement conditionElement : inner) {
 
                 /**
-                 * Number of optional elements must be limited,
-                 * because optional quodlibet
-                 * would create a match for every token
-                 * until the end of the sentence.
+                 * Ensure that the current state indeed extends
+                 * the condition retrieved from the elements collection.
+                 * The same sequence of condition elements can exist in different conditions.
+                 * However, at some point they will differ, and it must be ensured that the
+                 * current state matches the condition that is to be continued,
+                 * and does not merely match the expected "in" value.
+                 * If conditions share states, the "in" state identifies
+                 * all conditions that can continue it.
                  */
-                if (state.getOptionalMax() != null) {
-                    if (state.getOptionalCount() >= state.getOptionalMax()) continue;
-                } else if (state.getOptionalCount() >= Conditions.MAX_OPTIONAL) {
+                if (!conditions.isShared() && !state.getConditionId().equals(conditionElement.getConditionId())) continue;
+                
+                if (!isPossible(conditionElement)) {
+                    this.prefiltered++;
                     continue;
                 }
 
-                if (medial.containsKey(state.getState())) {
-                    HashMap<Integer, ConditionElement> inner = medial.get(state.getState());
-                    for (Entry<Integer, ConditionElement> entry : inner.entrySet()) {
-                        
-                        ConditionElement conditionElement = entry.getValue();
-
-                        /**
-                         * Ensure that the current state indeed extends
-                         * the condition retrieved from the elements collection.
-                         * The same sequence of condition elements can exist in different conditions.
-                         * However, at some point they will differ, and it must be ensured that the
-                         * current state matches the condition that is to be continued,
-                         * and does not merely match the expected "in" value.
-                         */
-                        if (!state.getConditionId().equals(conditionElement.getConditionId())) continue;
-
-                        if (Aspect.QUODLIBET.equals(conditionElement.getAspect())) {
-
-                            State newstate = continuationValidator.validateQuodlibet(conditionElement, token, state);
-                            if (newstate == null) continue;
-                            newStates.add(newstate);
-
-                        } else {
-
-                            State newstate = continuationValidator.validateRegular(key, conditionElement, token, state);
-                            if (newstate == null) continue;
-
-                            if (conditionElement.getInfix() != null) {
-                                State test = continuationValidator.validateInfix(conditionElement, token, state);
-                                if (test == null) continue;
-                                test.getMatches().entrySet().forEach((matchEntry) -> {
-                                    newstate.addMatch(matchEntry.getValue());
-                                });
-                            }
-
-                            if (conditionElement.getSuffix()  != null) {
-                                State test = continuationValidator.validateSuffix(conditionElement, token, state);
-                                if (test == null) continue;
-                                test.getMatches().entrySet().forEach((matchEntry) -> {
-                                    newstate.addMatch(matchEntry.getValue());
-                                });
-                            }
-
-                            newStates.add(newstate);
-
-                        }
-
-                    }
-                    
+                Profiler.Entry entry = this.profiler == null ? null : this.profiler.get(conditionElement.getConditionId(), this.conditions);
+                long start = entry == null ? 0 : System.nanoTime();
+                
+                State newstate = proceed(conditionElement, token, state, entry);
+                
+                if (entry != null) {
+                    entry.time(System.nanoTime() - start);
+                    if (newstate != null) entry.survive();
                 }
-            
+                
+                if (newstate != null) {
+                    if (!add(newstate, newStates)) return;
+                }
+
             }
-        
+            
         }
         
     }
     
-    private void identifyInitial(String key, Token token, ArrayList<State> newStates) throws Exception {
+    /**
+     * @return Boolean indicating whether the state was added, i.e., the limit was not reached yet.
+     */
+    private boolean add(State state, ArrayList<State> newStates) {
+        if (newStates.size() >= this.limit) {
+            this.limited = true;
+            return false;
+        }
+        newStates.add(state);
+        return true;
+    }
+    
+    /**
+     * @return Integer holding the number of states that were not created, because the processed tokens do not contain all literals required by their conditions.
+     */
+    public int getPrefiltered() {
+        return this.prefiltered;
+    }
+    
+    private void identifyInitial(int symbol, Token token, ArrayList<State> newStates) throws Exception {
+        
+        if (this.limited) return;
         
-        if (conditions.getInitial().containsKey(key)) {
-            for (ConditionElement conditionElement : conditions.getInitial().get(key)) {
+        ConditionElement[] initial = conditions.getInitial(symbol);
+        if (initial != null) {
+            for (ConditionElement conditionElement : initial) {
 
+                /**
+                 * A condition cannot be matched if any of its literals
+                 * is missing from the processed tokens,
+                 * so no state is created for it.
+                 */
+                if (!isPossible(conditionElement)) {
+                    this.prefiltered++;
+                    continue;
+                }
+                
                 /**
                  * This is applied only to the pattern validation.
                  * The initial state must match the intended pattern.
@@ -242,26 +399,19 @@ public class Processor {
                     }
                 }
 
-                State newstate = initialValidator.validateRegular(key, conditionElement, token);
-                if (newstate == null) continue;
-
-                if (conditionElement.getPrefix() != null) {
-                    State test = initialValidator.validatePrefix(conditionElement, token);
-                    if (test == null) continue;
-                    test.getMatches().entrySet().forEach((matchEntry) -> {
-                        newstate.addMatch(matchEntry.getValue());
-                    });
+                Profiler.Entry entry = this.profiler == null ? null : this.profiler.get(conditionElement.getConditionId(), this.conditions);
+                long start = entry == null ? 0 : System.nanoTime();
+                
+                State newstate = initiate(conditionElement, token, entry);
+                
+                if (entry != null) {
+                    entry.time(System.nanoTime() - start);
+                    if (newstate != null) entry.spawn();
                 }
-
-                if (conditionElement.getSuffix() != null) {
-                    State test = initialValidator.validateSuffix(conditionElement, token);
-                    if (test == null) continue;
-                    test.getMatches().entrySet().forEach((matchEntry) -> {
-                        newstate.addMatch(matchEntry.getValue());
-                    });
+                
+                if (newstate != null) {
+                    if (!add(newstate, newStates)) return;
                 }
-
-                newStates.add(newstate);
                 
                 /*
                 if (Aspect.QUODLIBET.equals(conditionElement.getAspect())) {
@@ -281,4 +431,72 @@ public class Processor {
 
     }
     
+    /**
+     * Continues a state with a condition element.
+     * @param entry Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler.Entry Profiler.Entry} class of the condition, or null if profiling is off.
+     * @return Instance of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the continued state, or null if the element is not matched.
+     */
+    private State proceed(ConditionElement conditionElement, Token token, State state, Profiler.Entry entry) throws Exception {
+        
+        if (Aspect.QUODLIBET.equals(conditionElement.getAspect())) {
+            return continuationValidator.validateQuodlibet(conditionElement, token, state);
+        }
+        
+        State retVal = continuationValidator.validateRegular(conditionElement, token, state);
+        if (retVal == null) return null;
+
+        if (conditionElement.getInfix() != null) {
+            if (entry != null) entry.validateAffix();
+            State test = continuationValidator.validateInfix(conditionElement, token, state);
+            if (test == null) return null;
+            test.getMatches().entrySet().forEach((matchEntry) -> {
+                retVal.addMatch(matchEntry.getValue());
+            });
+        }
+
+        if (conditionElement.getSuffix()  != null) {
+            if (entry != null) entry.validateAffix();
+            State test = continuationValidator.validateSuffix(conditionElement, token, state);
+            if (test == null) return null;
+            test.getMatches().entrySet().forEach((matchEntry) -> {
+                retVal.addMatch(matchEntry.getValue());
+            });
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * Creates a new state with the first element of a condition.
+     * @param entry Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler.Entry Profiler.Entry} class of the condition, or null if profiling is off.
+     * @return Instance of the {@link com.itcag.rockwell.tagger.lang.State State} class representing the new state, or null if the element is not matched.
+     */
+    private State initiate(ConditionElement conditionElement, Token token, Profiler.Entry entry) throws Exception {
+        
+        State retVal = initialValidator.validateRegular(conditionElement, token);
+        if (retVal == null) return null;
+
+        if (conditionElement.getPrefix() != null) {
+            if (entry != null) entry.validateAffix();
+            State test = initialValidator.validatePrefix(conditionElement, token);
+            if (test == null) return null;
+            test.getMatches().entrySet().forEach((matchEntry) -> {
+                retVal.addMatch(matchEntry.getValue());
+            });
+        }
+
+        if (conditionElement.getSuffix() != null) {
+            if (entry != null) entry.validateAffix();
+            State test = initialValidator.validateSuffix(conditionElement, token);
+            if (test == null) return null;
+            test.getMatches().entrySet().forEach((matchEntry) -> {
+                retVal.addMatch(matchEntry.getValue());
+            });
+        }
+        
+        return retVal;
+        
+    }
+    
 }
@@ -0,0 +1,14 @@
+package com.itcag.rockwell.tagger;
+
+/**
+ * Instructions determining which states are discarded when a sentence exceeds the {@link com.itcag.rockwell.tagger.StateBudget#getMaxStates() limit of live states}.
+ */
+public enum PruningPolicies {
+
+    /** The states that started earliest in the sentence are discarded first, regardless of their condition. */
+    OLDEST_FIRST,
+
+    /** The number of live states of every condition is capped, so that the conditions with the most live states are pruned first. The oldest states of a condition are discarded first. */
+    PER_CONDITION
+    
+}
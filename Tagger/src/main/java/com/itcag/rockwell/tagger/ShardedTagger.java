@@ -0,0 +1,252 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger;
+
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Metrics;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.Profiler;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.rockwell.tagger.patterns.Loader;
+import com.itcag.rockwell.tagger.patterns.Patterns;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>This class carries out tagging of the text with a very large number of Rockwell expressions by splitting them into shards.</p>
+ * <p>Every shard is an independent {@link com.itcag.rockwell.tagger.Tagger Tagger} with its own {@link com.itcag.rockwell.tagger.lang.Conditions Conditions}, so that each of them holds a smaller automaton. The shards of a sentence are evaluated in parallel on a fork-join pool: the calling thread evaluates the first shard, and the pool the others.</p>
+ * <p>Expressions are partitioned by their tags: all expressions with the same tag are placed in the same shard, and the shard with the fewest expressions receives the next, largest remaining tag family. Since an expression is never split, its rejecting conditions are applied within its shard.</p>
+ * <p>The shards keep all enclosed tags. The tags are merged in the order in which they end, and the {@link com.itcag.rockwell.tagger.EnclosedTagModes enclosed tag mode} is applied to the merged list, as it is by a single tagger. With the NONE mode, if tags of different shards have exactly the same span, the tag of the shard created first is kept.</p>
+ * <p>Patterns are loaded only once, and shared by all shards.</p>
+ */
+public class ShardedTagger {
+    
+    private final Tagger[] shards;
+    private final Patterns patterns;
+    
+    private final EnclosedTagModes enclosedTagMode;
+    
+    private final ForkJoinPool pool;
+
+    /**
+     * The shards are evaluated on the common fork-join pool.
+     * @param scripts Selected Rockwell expressions that are to be applied to text.
+     * @param shards Integer specifying the maximum number of shards. Fewer shards are created if there are fewer distinct tags.
+     * @param enclosedTagMode Value of the {@link com.itcag.rockwell.tagger.EnclosedTagModes EnclosedTagModes} enum.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @throws Exception if anything goes wrong.
+     */
+    public ShardedTagger(ArrayList<String> scripts, int shards, EnclosedTagModes enclosedTagMode, Debugger debugger) throws Exception {
+        this(scripts, shards, enclosedTagMode, ForkJoinPool.commonPool(), debugger);
+    }
+
+    /**
+     * @param scripts Selected Rockwell expressions that are to be applied to text.
+     * @param shards Integer specifying the maximum number of shards. Fewer shards are created if there are fewer distinct tags.
+     * @param enclosedTagMode Value of the {@link com.itcag.rockwell.tagger.EnclosedTagModes EnclosedTagModes} enum.
+     * @param pool Instance of the ForkJoinPool class on which the shards are evaluated.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @throws Exception if anything goes wrong.
+     */
+    public ShardedTagger(ArrayList<String> scripts, int shards, EnclosedTagModes enclosedTagMode, ForkJoinPool pool, Debugger debugger) throws Exception {
+        
+        if (shards < 1) throw new IllegalArgumentException("Number of shards must be positive: " + shards);
+        if (pool == null) throw new IllegalArgumentException("Fork-join pool cannot be null.");
+        
+        this.enclosedTagMode = enclosedTagMode;
+        this.pool = pool;
+        
+        Loader loader = new Loader();
+        this.patterns = new Patterns("patterns", loader.load("patterns"));
+        
+        ArrayList<ArrayList<String>> partitions = partition(scripts, shards);
+        this.shards = new Tagger[partitions.size()];
+        for (int i = 0; i < partitions.size(); i++) {
+            /**
+             * Enclosed tags are removed only after the tags of all shards are merged.
+             */
+            this.shards[i] = new Tagger(Conditions.compile(partitions.get(i)), EnclosedTagModes.ALL, this.patterns, debugger);
+        }
+        
+    }
+    
+    private static ArrayList<ArrayList<String>> partition(ArrayList<String> scripts, int shards) {
+        
+        LinkedHashMap<String, ArrayList<String>> families = new LinkedHashMap<>();
+        for (String script : scripts) {
+            String tag = getTag(script);
+            if (!families.containsKey(tag)) families.put(tag, new ArrayList<>());
+            families.get(tag).add(script);
+        }
+        
+        ArrayList<ArrayList<String>> sorted = new ArrayList<>(families.values());
+        sorted.sort((f1, f2) -> Integer.compare(f2.size(), f1.size()));
+        
+        ArrayList<ArrayList<String>> retVal = new ArrayList<>();
+        for (ArrayList<String> family : sorted) {
+            if (retVal.size() < shards) {
+                retVal.add(new ArrayList<>(family));
+                continue;
+            }
+            ArrayList<String> smallest = retVal.get(0);
+            for (ArrayList<String> partition : retVal) {
+                if (partition.size() < smallest.size()) smallest = partition;
+            }
+            smallest.addAll(family);
+        }
+        
+        return retVal;
+        
+    }
+    
+    private static String getTag(String script) {
+        int pos = script.lastIndexOf("|");
+        if (pos < 0) return "";
+        return script.substring(pos + 1).trim();
+    }
+
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the counters of all shards.
+     * This method must be called before the tagger is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        for (Tagger shard : this.shards) {
+            shard.setMetrics(metrics);
+        }
+    }
+    
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class that records the cost of the expressions of all shards.
+     * @param profiler Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class, or null to switch profiling off.
+     */
+    public void setProfiler(Profiler profiler) {
+        for (Tagger shard : this.shards) {
+            shard.setProfiler(profiler);
+        }
+    }
+    
+    /**
+     * Sets the limits on the states of every shard. Each shard applies the limits separately.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public void setBudget(StateBudget budget) {
+        for (Tagger shard : this.shards) {
+            shard.setBudget(budget);
+        }
+    }
+    
+    /**
+     * @return Integer holding the number of shards.
+     */
+    public int getShardCount() {
+        return this.shards.length;
+    }
+    
+    /**
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing text to be processed.
+     * @return Array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class representing tags of the matched Rockwell expressions.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<Tag> tag(ArrayList<? extends Token> tokens) throws Exception {
+        
+        ArrayList<ForkJoinTask<ArrayList<Tag>>> tasks = new ArrayList<>();
+        
+        try {
+
+            for (int i = 1; i < this.shards.length; i++) {
+                Tagger shard = this.shards[i];
+                tasks.add(this.pool.submit(() -> shard.tag(tokens)));
+            }
+
+            ArrayList<ArrayList<Tag>> results = new ArrayList<>();
+            results.add(this.shards[0].tag(tokens));
+            for (ForkJoinTask<ArrayList<Tag>> task : tasks) {
+                results.add(get(task));
+            }
+
+            return merge(results);
+            
+        } finally {
+            /**
+             * Only has effect if a shard failed.
+             */
+            for (ForkJoinTask<ArrayList<Tag>> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        
+    }
+    
+    private ArrayList<Tag> get(ForkJoinTask<ArrayList<Tag>> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) throw (Exception) ex.getCause();
+            throw ex;
+        }
+    }
+    
+    private ArrayList<Tag> merge(ArrayList<ArrayList<Tag>> results) {
+        
+        ArrayList<Tag> retVal = new ArrayList<>();
+        
+        String sentenceId = null;
+        
+        int[] positions = new int[results.size()];
+        while (true) {
+            
+            /**
+             * The tag that ends first is taken next.
+             * The order of the tags of each shard is preserved.
+             */
+            int next = -1;
+            for (int i = 0; i < results.size(); i++) {
+                if (positions[i] == results.get(i).size()) continue;
+                if (next == -1 || results.get(i).get(positions[i]).getEnd() < results.get(next).get(positions[next]).getEnd()) next = i;
+            }
+            if (next == -1) break;
+            
+            Tag tag = results.get(next).get(positions[next]++);
+            
+            /**
+             * Every shard numbers the sentence anew.
+             */
+            if (sentenceId == null) {
+                sentenceId = tag.getSentenceId();
+            } else {
+                tag.setSentenceId(sentenceId);
+            }
+            
+            if (!EnclosedTagModes.ALL.equals(this.enclosedTagMode) && TokenAnalyzer.isEnclosed(tag.getStart(), tag.getEnd(), tag.getTag(), retVal, this.enclosedTagMode)) continue;
+            
+            retVal.add(tag);
+            
+        }
+        
+        return retVal;
+        
+    }
+    
+}
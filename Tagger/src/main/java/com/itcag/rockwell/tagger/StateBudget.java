@@ -0,0 +1,78 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger;
+
+/**
+ * <p>This class limits the work that the finite state automaton can do for a single sentence, so that the time spent on tagging a sentence is bounded.</p>
+ * <p>The number of live states is limited after every token: if it is exceeded, states are discarded according to the {@link com.itcag.rockwell.tagger.PruningPolicies pruning policy}. The number of transitions (states created for the sentence) is limited as well: once it is reached, even in the middle of a token, no further states are created, the remaining tokens of the sentence are not evaluated, and only the tags identified so far are returned.</p>
+ * <p>Affixes are validated against patterns by separate automata. Each validation is limited by the same budget as the sentence that requires it, rather than sharing the budget of that sentence. The memoized validations (see {@link com.itcag.rockwell.tagger.patterns.Patterns}) are not repeated.</p>
+ * <p>Instances of this class are immutable, and can be shared by multiple taggers.</p>
+ */
+public final class StateBudget {
+
+    /**
+     * No limits are applied.
+     */
+    public final static StateBudget NONE = new StateBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, PruningPolicies.OLDEST_FIRST);
+    
+    private final int maxStates;
+    private final int maxTransitions;
+    private final PruningPolicies pruningPolicy;
+
+    /**
+     * @param maxStates Integer specifying the maximum number of live states after every token.
+     * @param maxTransitions Integer specifying the maximum number of states that can be created for a sentence.
+     * @param pruningPolicy Value of the {@link com.itcag.rockwell.tagger.PruningPolicies PruningPolicies} enum specifying which states are discarded when there are too many live states.
+     */
+    public StateBudget(int maxStates, int maxTransitions, PruningPolicies pruningPolicy) {
+        if (maxStates < 1) throw new IllegalArgumentException("Maximum number of states must be positive: " + maxStates);
+        if (maxTransitions < 1) throw new IllegalArgumentException("Maximum number of transitions must be positive: " + maxTransitions);
+        if (pruningPolicy == null) throw new IllegalArgumentException("Pruning policy cannot be null.");
+        this.maxStates = maxStates;
+        this.maxTransitions = maxTransitions;
+        this.pruningPolicy = pruningPolicy;
+    }
+
+    /**
+     * @return Integer specifying the maximum number of live states after every token.
+     */
+    public int getMaxStates() {
+        return this.maxStates;
+    }
+
+    /**
+     * @return Integer specifying the maximum number of states that can be created for a sentence.
+     */
+    public int getMaxTransitions() {
+        return this.maxTransitions;
+    }
+
+    /**
+     * @return Value of the {@link com.itcag.rockwell.tagger.PruningPolicies PruningPolicies} enum.
+     */
+    public PruningPolicies getPruningPolicy() {
+        return this.pruningPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "states: " + this.maxStates + ", transitions: " + this.maxTransitions + ", pruning: " + this.pruningPolicy;
+    }
+    
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger;
+
+import java.util.Arrays;
+
+/**
+ * <p>Hash set of pairs of a condition number and a state code, which uses open addressing with linear probing, so that neither adding nor clearing allocates or boxes.</p>
+ * <p>Clearing only advances the generation, and slots stamped with an older generation count as empty. The set grows if it becomes more than half full.</p>
+ */
+final class StateSet {
+
+    private long[] keys;
+    private int[] generations;
+    private int mask;
+    
+    private int generation = 1;
+    private int size = 0;
+
+    StateSet() {
+        allocate(64);
+    }
+    
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.generations = new int[capacity];
+        this.mask = capacity - 1;
+    }
+    
+    /**
+     * @param conditionNumber Integer holding the number of the condition.
+     * @param state Integer holding the state code.
+     * @return Boolean indicating whether the pair was added, that is, whether it was not in the set already.
+     */
+    boolean add(int conditionNumber, int state) {
+        
+        long key = ((long) conditionNumber << 32) | (state & 0xFFFFFFFFL);
+        
+        int index = hash(key) & this.mask;
+        while (this.generations[index] == this.generation) {
+            if (this.keys[index] == key) return false;
+            index = (index + 1) & this.mask;
+        }
+        
+        this.keys[index] = key;
+        this.generations[index] = this.generation;
+        
+        if (++this.size * 2 > this.keys.length) grow();
+        
+        return true;
+        
+    }
+    
+    void clear() {
+        this.size = 0;
+        if (++this.generation == Integer.MAX_VALUE) {
+            /**
+             * Stale stamps are wiped before the generation wraps around.
+             */
+            Arrays.fill(this.generations, 0);
+            this.generation = 1;
+        }
+    }
+    
+    private void grow() {
+        
+        long[] keys = this.keys;
+        int[] generations = this.generations;
+        
+        allocate(keys.length << 1);
+        
+        for (int i = 0; i < keys.length; i++) {
+            if (generations[i] != this.generation) continue;
+            int index = hash(keys[i]) & this.mask;
+            while (this.generations[index] == this.generation) {
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = keys[i];
+            this.generations[index] = this.generation;
+        }
+        
+    }
+    
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+}
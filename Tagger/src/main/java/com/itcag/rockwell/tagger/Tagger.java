@@ -21,28 +21,47 @@ package com.itcag.rockwell.tagger;
 import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.Profiler;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
 import com.itcag.rockwell.tagger.patterns.Patterns;
 import com.itcag.rockwell.tagger.patterns.Loader;
 import com.itcag.util.io.TextFileReader;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 
 /**
  * <p>This class carries out tagging of the text by applying the selected Rockwell expressions and patterns.</p>
  * <p>Text is provided as an array list of {@link com.itcag.rockwell.lang.Token tokens}. Rockwell expressions are provided as an instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class, and patterns as an instance of the {@link com.itcag.rockwell.tagger.patterns.Patterns Patterns} class.</p>
  * <p>Tagging is carried out by an instance of the {@link com.itcag.rockwell.tagger.Processor Processor} class.</p>
+ * <p>Processors are wrapped in {@link com.itcag.rockwell.tagger.TokenAnalyzer token analyzers}, which are pooled per thread and reused for every sentence. The pool holds more than one analyzer only while affixes are validated, because the validation tags the affix tokens before the sentence is completed.</p>
+ * <p>Expressions can be added, removed or replaced while the tagger is in use (e.g., {@link #add(java.lang.String)}). Instances of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class are never modified: every change compiles a new instance, and publishes it at once. A sentence is always tagged with the conditions and patterns that were published when its tagging started, so that sentences being tagged during a change are not affected by it. Changes are serialized, but tagging never waits for them.</p>
  */
 public class Tagger {
    
-    private final Conditions conditions;
-    private final Patterns patterns;
+    private volatile Conditions conditions;
+    private volatile Patterns patterns;
     
     private final EnclosedTagModes enclosedTagMode;
 
     private final Debugger debugger;
 
+    private Metrics metrics = Metrics.NONE;
+    
+    private volatile Profiler profiler = null;
+    
+    private volatile StateBudget budget = StateBudget.NONE;
+
+    private final ThreadLocal<ArrayDeque<TokenAnalyzer>> analyzers = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    /**
+     * Serializes the changes of conditions and patterns.
+     */
+    private final Object lock = new Object();
+
     /**
      * This constructor is used when only the generic Rockwell patterns need to be loaded. 
      * @param scripts Selected Rockwell expressions that are to be applied to text.
@@ -51,10 +70,20 @@ public class Tagger {
      * @throws Exception if anything goes wrong.
      */
     public Tagger(ArrayList<String> scripts, EnclosedTagModes enclosedTagMode, Debugger debugger) throws Exception {
-        this.conditions = new Conditions(scripts);
+        this(Conditions.compile(scripts), enclosedTagMode, debugger);
+    }
+
+    /**
+     * This constructor is used when the Rockwell expressions were already compiled (e.g., with shared states), and only the generic Rockwell patterns need to be loaded.
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing the selected Rockwell expressions.
+     * @param enclosedTagMode
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @throws Exception if anything goes wrong.
+     */
+    public Tagger(Conditions conditions, EnclosedTagModes enclosedTagMode, Debugger debugger) throws Exception {
+        this.conditions = conditions;
         this.enclosedTagMode = enclosedTagMode;
-        Loader loader = new Loader();
-        this.patterns = new Patterns(loader.load("patterns"));
+        this.patterns = loadPatterns(null);
         this.debugger = debugger;
     }
 
@@ -67,26 +96,22 @@ public class Tagger {
      * @throws Exception if anything goes wrong.
      */
     public Tagger(ArrayList<String> scripts, EnclosedTagModes enclosedTagMode, String proprietaryPatternPath, Debugger debugger) throws Exception {
+        this(Conditions.compile(scripts), enclosedTagMode, proprietaryPatternPath, debugger);
+    }
 
-        this.conditions = new Conditions(scripts);
-
+    /**
+     * This constructor is used when the Rockwell expressions were already compiled (e.g., with shared states), and additional, proprietary patterns need to be loaded together with the generic Rockwell patterns.
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing the selected Rockwell expressions.
+     * @param enclosedTagMode
+     * @param proprietaryPatternPath String holding the local path to a text file containing additional pattern expressions.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @throws Exception if anything goes wrong.
+     */
+    public Tagger(Conditions conditions, EnclosedTagModes enclosedTagMode, String proprietaryPatternPath, Debugger debugger) throws Exception {
+        this.conditions = conditions;
         this.enclosedTagMode = enclosedTagMode;
-
-        Loader loader = new Loader();
-        ArrayList<String> patternScripts = loader.load("patterns");
-
-        ArrayList<String> lines = TextFileReader.read(proprietaryPatternPath);
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            if (line.startsWith("#")) continue;
-            patternScripts.add(line);
-        }
-
-        this.patterns = new Patterns(patternScripts);
-        
+        this.patterns = loadPatterns(proprietaryPatternPath);
         this.debugger = debugger;
-
     }
     
     /**
@@ -105,6 +130,172 @@ public class Tagger {
         this.enclosedTagMode = enclosedTagMode;
         this.patterns = patterns;
         this.debugger = debugger;
+        this.metrics = patterns.getMetrics();
+    }
+
+    private static Patterns loadPatterns(String proprietaryPatternPath) throws Exception {
+
+        Loader loader = new Loader();
+        ArrayList<String> patternScripts = loader.load("patterns");
+
+        if (proprietaryPatternPath != null) {
+            ArrayList<String> lines = TextFileReader.read(proprietaryPatternPath);
+            for (String line : lines) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.startsWith("#")) continue;
+                patternScripts.add(line);
+            }
+        }
+
+        if (proprietaryPatternPath == null) {
+            return new Patterns("patterns", patternScripts);
+        } else {
+            return new Patterns("patterns+" + proprietaryPatternPath, patternScripts);
+        }
+        
+    }
+
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the number of automaton states created and discarded for each sentence, and the number of affix validations.
+     * This method must be called before the tagger is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("Metrics cannot be null.");
+        synchronized (this.lock) {
+            this.metrics = metrics;
+            this.patterns.setMetrics(metrics);
+        }
+    }
+    
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class that records the cost of every applied Rockwell expression.
+     * Profiling slows tagging down, and should be switched off when the cost is not examined.
+     * @param profiler Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class, or null to switch profiling off.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class, or null if profiling is off.
+     */
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+    
+    /**
+     * Sets the limits on the states of the finite state automaton for every sentence, so that the time spent on tagging a sentence is bounded.
+     * The number of pruned states and of sentences exceeding the budget is reported to {@link #setMetrics(com.itcag.rockwell.metrics.Metrics) metrics}.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class. By default, no limits are applied.
+     */
+    public void setBudget(StateBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("Budget cannot be null.");
+        this.budget = budget;
+    }
+    
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     */
+    public StateBudget getBudget() {
+        return this.budget;
+    }
+    
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class that is currently applied.
+     */
+    public Conditions getConditions() {
+        return this.conditions;
+    }
+    
+    /**
+     * Publishes new conditions. Sentences whose tagging has already started are completed with the previous conditions.
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing the selected Rockwell expressions.
+     */
+    public void setConditions(Conditions conditions) {
+        if (conditions == null) throw new IllegalArgumentException("Conditions cannot be null.");
+        synchronized (this.lock) {
+            this.conditions = conditions;
+        }
+    }
+    
+    /**
+     * Compiles the expressions anew (or restores them from a snapshot), and publishes them.
+     * The new conditions share states if the current ones do, and replace their snapshot if they have one.
+     * @param scripts Selected Rockwell expressions that are to be applied to text.
+     * @throws Exception if anything goes wrong. The current conditions remain in use.
+     */
+    public void reload(ArrayList<String> scripts) throws Exception {
+        synchronized (this.lock) {
+            this.conditions = Conditions.compile(this.conditions.getName(), scripts, this.conditions.isShared());
+        }
+    }
+    
+    /**
+     * Adds a single expression to the current ones.
+     * @param script String holding the Rockwell expression.
+     * @throws Exception if anything goes wrong (e.g., the expression is invalid). The current conditions remain in use.
+     */
+    public void add(String script) throws Exception {
+        synchronized (this.lock) {
+            ArrayList<String> scripts = this.conditions.getScripts();
+            scripts.add(script.trim());
+            publish(scripts);
+        }
+    }
+    
+    /**
+     * Removes a single expression from the current ones.
+     * @param script String holding the Rockwell expression.
+     * @return Boolean indicating whether the expression was found and removed.
+     * @throws Exception if anything goes wrong. The current conditions remain in use.
+     */
+    public boolean remove(String script) throws Exception {
+        synchronized (this.lock) {
+            ArrayList<String> scripts = this.conditions.getScripts();
+            if (!scripts.remove(script.trim())) return false;
+            publish(scripts);
+            return true;
+        }
+    }
+    
+    /**
+     * Replaces a single expression with another one. The new expression takes the place of the old one.
+     * @param script String holding the Rockwell expression that is replaced.
+     * @param replacement String holding the Rockwell expression that replaces it.
+     * @return Boolean indicating whether the replaced expression was found.
+     * @throws Exception if anything goes wrong (e.g., the replacement is invalid). The current conditions remain in use.
+     */
+    public boolean replace(String script, String replacement) throws Exception {
+        synchronized (this.lock) {
+            ArrayList<String> scripts = this.conditions.getScripts();
+            int index = scripts.indexOf(script.trim());
+            if (index < 0) return false;
+            scripts.set(index, replacement.trim());
+            publish(scripts);
+            return true;
+        }
+    }
+    
+    /**
+     * An edited expression set keeps the name of the resource it comes from, so it replaces the snapshot of that resource rather than adding another one.
+     */
+    private void publish(ArrayList<String> scripts) throws Exception {
+        this.conditions = Conditions.compile(this.conditions.getName(), scripts, this.conditions.isShared());
+    }
+    
+    /**
+     * Loads the generic Rockwell patterns together with the proprietary ones anew, and publishes them.
+     * @param proprietaryPatternPath String holding the local path to a text file containing additional pattern expressions, or null if there are none.
+     * @throws Exception if anything goes wrong. The current patterns remain in use.
+     */
+    public void reloadPatterns(String proprietaryPatternPath) throws Exception {
+        Patterns patterns = loadPatterns(proprietaryPatternPath);
+        synchronized (this.lock) {
+            patterns.setMetrics(this.metrics);
+            this.patterns = patterns;
+        }
     }
     
     /**
@@ -114,8 +305,22 @@ public class Tagger {
      * @throws Exception if anything goes wrong.
      */
     public ArrayList<Tag> tag(ArrayList<? extends Token> tokens) throws Exception {
-        Processor processor = new Processor(this.conditions, this.patterns, tokens, null, this.debugger);
-        return run(tokens, processor);
+        return tag(tokens, this.budget);
+    }
+    
+    /**
+     * This method is the same as {@link #tag(java.util.ArrayList)}, but applies the specified budget instead of the {@link #setBudget(com.itcag.rockwell.tagger.StateBudget) budget of this tagger}.
+     * It is used when a tagger is shared by clients with different budgets (e.g., by a singleton).
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing text to be processed.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     * @return Array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class representing tags of the matched Rockwell expressions.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<Tag> tag(ArrayList<? extends Token> tokens, StateBudget budget) throws Exception {
+        if (budget == null) throw new IllegalArgumentException("Budget cannot be null.");
+        Patterns patterns = this.patterns;
+        patterns.reset();
+        return run(tokens, null, this.conditions, patterns, budget);
     }
     
     /**
@@ -126,24 +331,66 @@ public class Tagger {
      * @throws Exception if anything goes wrong.
      */
     public ArrayList<Tag> tag(ArrayList<? extends Token> tokens, String expectedValue) throws Exception {
+        return tag(tokens, expectedValue, this.budget);
+    }
+    
+    /**
+     * This method is used only for affix validation. The validation is limited by the budget of the sentence that requires it.
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing text to be processed.
+     * @param expectedValue String holding the tag of a targeted pattern.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class.
+     * @return Array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class representing the matched Rockwell expressions.
+     * @throws Exception if anything goes wrong.
+     */
+    public ArrayList<Tag> tag(ArrayList<? extends Token> tokens, String expectedValue, StateBudget budget) throws Exception {
         /**
          * Used only by Patterns.
          * No need to reload patterns once they are loaded by the main client.
          */
-        Processor processor = new Processor(this.conditions, this.patterns, tokens, expectedValue, this.debugger);
-        return run(tokens, processor);
+        return run(tokens, expectedValue, this.conditions, this.patterns, budget);
     }
     
-    private ArrayList<Tag> run(ArrayList<? extends Token> tokens, Processor processor) throws Exception {
+    private ArrayList<Tag> run(ArrayList<? extends Token> tokens, String expectedValue, Conditions conditions, Patterns patterns, StateBudget budget) throws Exception {
         
-        TokenAnalyzer analyzer = new TokenAnalyzer(processor, this.enclosedTagMode, this.debugger);
+        ArrayDeque<TokenAnalyzer> pool = this.analyzers.get();
         
-        for (int i = 0; i < tokens.size(); i++) {
-            Token token = tokens.get(i);
-            analyzer.analyze(token);
+        TokenAnalyzer analyzer = pool.poll();
+        if (analyzer != null && !analyzer.isBoundTo(conditions, patterns)) {
+            /**
+             * New conditions or patterns were published since the pooled analyzers were created.
+             */
+            pool.clear();
+            analyzer = null;
+        }
+        if (analyzer == null) {
+            Processor processor = new Processor(conditions, patterns, tokens, expectedValue, this.debugger);
+            analyzer = new TokenAnalyzer(processor, this.enclosedTagMode, this.debugger);
+        } else {
+            analyzer.reset(tokens, expectedValue);
         }
+        analyzer.setProfiler(this.profiler);
+        analyzer.setBudget(budget);
+        
+        try {
+
+            for (int i = 0; i < tokens.size(); i++) {
+                Token token = tokens.get(i);
+                analyzer.analyze(token);
+            }
 
-        return analyzer.getTags();
+            if (this.metrics.isEnabled()) {
+                this.metrics.count(Counters.STATES_CREATED, analyzer.getCreatedStates());
+                this.metrics.count(Counters.STATES_DISCARDED, analyzer.getDiscardedStates());
+                this.metrics.count(Counters.STATES_PREFILTERED, analyzer.getPrefiltered());
+                this.metrics.count(Counters.STATES_PRUNED, analyzer.getPrunedStates());
+                if (analyzer.isBudgetExceeded()) this.metrics.count(Counters.BUDGET_EXCEEDED, 1);
+            }
+
+            return analyzer.getTags();
+        
+        } finally {
+            pool.push(analyzer);
+        }
         
     }
     
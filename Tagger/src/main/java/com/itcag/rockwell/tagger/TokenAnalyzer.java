@@ -22,22 +22,33 @@ import com.itcag.rockwell.lang.Semtoken;
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
 import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.Profiler;
 import com.itcag.rockwell.tagger.lang.Conditions;
 import com.itcag.rockwell.tagger.lang.Match;
 import com.itcag.rockwell.tagger.lang.State;
+import com.itcag.rockwell.tagger.patterns.Patterns;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>This class validates a single {@link com.itcag.rockwell.lang.Token token}.</p>
+ * <p>An instance of this class analyzes one sentence at the time. It can be {@link #reset(java.util.ArrayList, java.lang.String) reset} and reused for the next sentence, in which case its collections are reused as well.</p>
  */
 public class TokenAnalyzer {
 
-    private final String sentenceID = UUID.randomUUID().toString().replace("-", "").trim();
+    /**
+     * Sentence IDs consist of this prefix, which is random for every run, and the sequential number of the sentence.
+     */
+    private final static String RUN_ID = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    private final static AtomicLong SENTENCES = new AtomicLong();
+    
+    private long sentence = SENTENCES.incrementAndGet();
         
     private final Processor processor;
     private final Debugger debugger;
@@ -49,6 +60,17 @@ public class TokenAnalyzer {
     
     private final HashMap<String, State> rejecting = new HashMap<>();
     private final ArrayList<State> matches = new ArrayList<>();
+    
+    private final StateSet validator = new StateSet();
+    
+    private StateBudget budget = StateBudget.NONE;
+    
+    private int createdStates = 0;
+    private int discardedStates = 0;
+    private int prunedStates = 0;
+    
+    private boolean exhausted = false;
+    private boolean budgetExceeded = false;
         
     /**
      * @param processor Instance of the {@link com.itcag.rockwell.tagger.Processor Processor} class.
@@ -61,37 +83,91 @@ public class TokenAnalyzer {
         this.debugger = debugger;
     }
 
+    /**
+     * A pooled analyzer cannot be reused once the tagger has published new conditions or patterns.
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class.
+     * @param patterns Instance of the {@link com.itcag.rockwell.tagger.patterns.Patterns Patterns} class.
+     * @return Boolean indicating whether this instance applies exactly these conditions and patterns.
+     */
+    public boolean isBoundTo(Conditions conditions, Patterns patterns) {
+        return this.processor.isBoundTo(conditions, patterns);
+    }
+
+    /**
+     * @param profiler Instance of the {@link com.itcag.rockwell.tagger.debug.Profiler Profiler} class that records the cost of every condition, or null if profiling is off.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.processor.setProfiler(profiler);
+    }
+
+    /**
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the states of a sentence.
+     */
+    public void setBudget(StateBudget budget) {
+        this.budget = budget;
+        this.processor.setBudget(budget);
+    }
+
+    /**
+     * Prepares this instance for analyzing another sentence.
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing the sentence.
+     * @param expectedValue String holding the tag of a targeted pattern, if an affix is validated, or null.
+     */
+    public void reset(ArrayList<? extends Token> tokens, String expectedValue) {
+        
+        this.processor.reset(tokens, expectedValue);
+        
+        this.sentence = SENTENCES.incrementAndGet();
+        
+        this.currentStates.clear();
+        this.newStates.clear();
+        this.rejecting.clear();
+        this.matches.clear();
+        
+        this.createdStates = 0;
+        this.discardedStates = 0;
+        this.prunedStates = 0;
+        
+        this.exhausted = false;
+        this.budgetExceeded = false;
+        
+    }
+
     /**
      * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class.
      * @throws Exception if anything goes wrong.
      */
     public void analyze(Token token) throws Exception {
         
-        String ctrl = token.toString() + " " + this.debugger.client().name();
+        /**
+         * Once the transitions are exhausted, the rest of the sentence is skipped.
+         */
+        if (this.exhausted) return;
         
         /**
          * Some tokens have part of speech set during the tokenization.
          */
         if (token.getAlternatives().isEmpty()) {
-            addNewStates(processor.getStates(currentStates, token, true));
+            addNewStates(token, true);
         } else {
 
             if (token instanceof Semtoken || token instanceof Match) {
-                addNewStates(processor.getStates(currentStates, token, true));
+                addNewStates(token, true);
             }
 
             /**
              * Each alternative is processed separately.
+             * It is copied only if its index is outdated.
              */
             for (Token alternative : token.getAlternatives()) {
-                Token newToken = new Token(alternative.getWord(), alternative.getPos(), alternative.getLemma(), token.getIndex());
+                Token newToken = Objects.equals(alternative.getIndex(), token.getIndex()) ? alternative : new Token(alternative, token.getIndex());
                 /**
                  * Only the first alternative is used for checking the quodlibet.
                  */
                 if (alternative.equals(token.getAlternatives().get(0))) {
-                    addNewStates(processor.getStates(currentStates, newToken, true));
+                    addNewStates(newToken, true);
                 } else {
-                    addNewStates(processor.getStates(currentStates, newToken, false));
+                    addNewStates(newToken, false);
                 }
             }
 
@@ -101,26 +177,50 @@ public class TokenAnalyzer {
 
         /**
          * The current states are updated for further processing.
+         * The previous array list is recycled for the next token.
          */
+        ArrayList<State> tmp = currentStates;
         currentStates = newStates;
-        newStates = new ArrayList<>();
+        newStates = tmp;
+        newStates.clear();
+        
+        if (this.exhausted) {
+            this.budgetExceeded = true;
+            this.currentStates.clear();
+        }
 
     }
     
-    private void addNewStates(ArrayList<State> newStates) {
-        for (State newState : newStates) {
-            this.newStates.add(newState);
+    private void addNewStates(Token token, boolean firstAlternative) throws Exception {
+        
+        if (this.exhausted) return;
+        
+        /**
+         * The processor stops as soon as the remaining transitions are used up,
+         * so that a single token with many matching conditions cannot exceed them.
+         */
+        int size = this.newStates.size();
+        long limit = (long) size + this.budget.getMaxTransitions() - this.createdStates;
+        if (!this.processor.getStates(this.currentStates, token, firstAlternative, this.newStates, (int) Math.min(limit, Integer.MAX_VALUE))) {
+            this.exhausted = true;
         }
+        this.createdStates += this.newStates.size() - size;
+        
     }
     
     private void validateStates(ArrayList<State> newStates) {
         
         if (newStates.isEmpty()) return;
         
-        HashMap<String, ArrayList<State>> validator = new HashMap<>();
-        Iterator<State> stateIterator = newStates.iterator();
-        while (stateIterator.hasNext()) {
-            State newState = stateIterator.next();
+        this.validator.clear();
+        
+        /**
+         * The surviving states are compacted to the front of the array list,
+         * so that removing a state does not shift the others.
+         */
+        int size = 0;
+        for (int i = 0; i < newStates.size(); i++) {
+            State newState = newStates.get(i);
             /**
              * Some rules create multiple identical states:
              * if POS is not checked, and a token has multiple POS,
@@ -130,48 +230,202 @@ public class TokenAnalyzer {
              * However, we don't care for the POS,
              * so one rule is sufficient to continue.
              */
-            if (isValid(newState, validator)) {
-                if (validator.containsKey(newState.getConditionId())) {
-                    validator.get(newState.getConditionId()).add(newState);
-                } else {
-                    validator.put(newState.getConditionId(), new ArrayList<>(Arrays.asList(newState)));
+            if (!this.validator.add(newState.getConditionNumber(), newState.getState())) {
+                this.discardedStates++;
+                continue;
+            }
+            /**
+             * For each token the states are checked
+             * to see if any tags were identified.
+             */
+            if (newState.getState() == Conditions.FINAL_STATE_CODE) {
+                if (this.processor.getProfiler() != null) {
+                    Profiler.Entry entry = this.processor.getProfiler().get(newState.getConditionId());
+                    if (entry != null) entry.match();
                 }
-                /**
-                 * For each token the states are checked
-                 * to see if any tags were identified.
-                 */
-                if (newState.getState() == Conditions.FINAL_STATE_CODE) {
-                    if (newState.getIdToBeRejected() != null) {
-                        this.rejecting.put(newState.getIdToBeRejected(), newState.getCopy());
-                    } else {
-                        this.matches.add(newState.getCopy());
-                    }
-                    stateIterator.remove();
+                if (newState.getIdToBeRejected() != null) {
+                    this.rejecting.put(newState.getIdToBeRejected(), newState.getCopy());
+                } else {
+                    this.matches.add(newState.getCopy());
                 }
-            } else {
-                stateIterator.remove();
+                continue;
             }
+            newStates.set(size++, newState);
         }
+        newStates.subList(size, newStates.size()).clear();
+        
+        if (newStates.size() > this.budget.getMaxStates()) prune(newStates);
             
     }
     
-    private boolean isValid(State newState, HashMap<String, ArrayList<State>> validator) {
+    /**
+     * Discards the states exceeding the {@link com.itcag.rockwell.tagger.StateBudget#getMaxStates() limit of live states}.
+     */
+    private void prune(ArrayList<State> states) {
+        
+        int[] starts = new int[states.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = states.get(i).getStart();
+        }
+        
+        boolean[] pruned = null;
+        if (PruningPolicies.PER_CONDITION.equals(this.budget.getPruningPolicy())) {
+            pruned = capConditions(states, starts, this.budget.getMaxStates());
+        }
+        if (pruned == null) {
+            pruned = pruneOldest(starts, states.size() - this.budget.getMaxStates());
+        }
+        
+        int size = 0;
+        for (int i = 0; i < pruned.length; i++) {
+            if (pruned[i]) continue;
+            states.set(size++, states.get(i));
+        }
+        
+        this.prunedStates += states.size() - size;
+        this.budgetExceeded = true;
         
-        if (!validator.containsKey(newState.getConditionId())) return true;
+        states.subList(size, states.size()).clear();
         
-        for (State state : validator.get(newState.getConditionId())) {
-            if (newState.getState() == state.getState()) {
-                return false;
+    }
+    
+    /**
+     * @return Array of Booleans indicating which states are discarded: the states that started earliest in the sentence.
+     */
+    private boolean[] pruneOldest(int[] starts, int excess) {
+        
+        int[] sorted = starts.clone();
+        Arrays.sort(sorted);
+        
+        /**
+         * States starting before the threshold are all discarded,
+         * and states starting at the threshold only as many as needed.
+         */
+        int threshold = sorted[excess - 1];
+        int ties = excess;
+        for (int start : sorted) {
+            if (start >= threshold) break;
+            ties--;
+        }
+        
+        boolean[] retVal = new boolean[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < threshold) {
+                retVal[i] = true;
+            } else if (starts[i] == threshold && ties > 0) {
+                retVal[i] = true;
+                ties--;
+            }
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * Every condition keeps at most the same number of its latest states. This number is the largest one for which all kept states fit the limit.
+     * @return Array of Booleans indicating which states are discarded, or null if there are more conditions with live states than the limit allows.
+     */
+    private boolean[] capConditions(ArrayList<State> states, int[] starts, int max) {
+        
+        /**
+         * States are ordered by condition, and the latest states of each condition come first.
+         */
+        Integer[] order = new Integer[states.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> {
+            int retVal = Integer.compare(states.get(i).getConditionNumber(), states.get(j).getConditionNumber());
+            if (retVal != 0) return retVal;
+            return Integer.compare(starts[j], starts[i]);
+        });
+        
+        ArrayList<Integer> counts = new ArrayList<>();
+        int count = 0;
+        for (int i = 0; i < order.length; i++) {
+            count++;
+            if (i == order.length - 1 || states.get(order[i]).getConditionNumber() != states.get(order[i + 1]).getConditionNumber()) {
+                counts.add(count);
+                count = 0;
+            }
+        }
+        
+        if (counts.size() > max) return null;
+        
+        /**
+         * The largest cap is found by bisection.
+         */
+        int low = 1;
+        int high = max;
+        while (low < high) {
+            int cap = (low + high + 1) >>> 1;
+            long kept = 0;
+            for (int c : counts) {
+                kept += Math.min(c, cap);
             }
+            if (kept <= max) {
+                low = cap;
+            } else {
+                high = cap - 1;
+            }
+        }
+        
+        boolean[] retVal = new boolean[states.size()];
+        int position = 0;
+        for (int c : counts) {
+            for (int i = low; i < c; i++) {
+                retVal[order[position + i]] = true;
+            }
+            position += c;
         }
         
-        return true;
+        return retVal;
         
     }
+    
+    /**
+     * @return Integer holding the number of states created so far for this sentence.
+     */
+    public int getCreatedStates() {
+        return this.createdStates;
+    }
+
+    /**
+     * @return Integer holding the number of states that were not created for this sentence, because it lacks literals required by their conditions.
+     */
+    public int getPrefiltered() {
+        return this.processor.getPrefiltered();
+    }
+
+    /**
+     * @return Integer holding the number of states discarded so far for this sentence, because they duplicated another state of the same condition.
+     */
+    public int getDiscardedStates() {
+        return this.discardedStates;
+    }
+
+    /**
+     * @return Integer holding the number of live states discarded so far for this sentence, because they exceeded the {@link com.itcag.rockwell.tagger.StateBudget#getMaxStates() limit}.
+     */
+    public int getPrunedStates() {
+        return this.prunedStates;
+    }
+
+    /**
+     * @return Boolean indicating whether this sentence exceeded the {@link com.itcag.rockwell.tagger.StateBudget budget}, so that its tags are possibly incomplete.
+     */
+    public boolean isBudgetExceeded() {
+        return this.budgetExceeded;
+    }
 
     public ArrayList<Tag> getTags() {
         
         ArrayList<Tag> retVal = new ArrayList<>();
+        
+        if (this.matches.isEmpty()) return retVal;
+        
+        String sentenceID = RUN_ID + Long.toHexString(this.sentence);
 
         if (this.matches.size() == 1) {
             State match = this.matches.get(0);
@@ -187,7 +441,7 @@ public class TokenAnalyzer {
         while (matchIterator.hasNext()) {
             State match = matchIterator.next();
             if (!this.rejecting.containsKey(match.getConditionId())) {
-                if (!EnclosedTagModes.ALL.equals(this.enclosedTagMode) && isEnclosed(match, retVal)) continue;
+                if (!EnclosedTagModes.ALL.equals(this.enclosedTagMode) && isEnclosed(match.getStart(), match.getEnd(), match.getTag(), retVal, this.enclosedTagMode)) continue;
                 Tag tag = new Tag(match.getTag(), match.getScript(), match.getFirstMatch(), match.getLastMatch());
                 tag.setSentenceId(sentenceID);
                 retVal.add(tag);
@@ -198,43 +452,53 @@ public class TokenAnalyzer {
         
     }
     
-    private boolean isEnclosed(State match, ArrayList<Tag> tags) {
+    /**
+     * Decides whether a match is enclosed by a tag that was already accepted, and removes the accepted tags that the match encloses.
+     * This method is also used by the {@link com.itcag.rockwell.tagger.ShardedTagger ShardedTagger} class to merge the tags of its shards.
+     * @param start Integer holding the index position of the first token of the match.
+     * @param end Integer holding the index position of the last token of the match.
+     * @param value String holding the tag of the match.
+     * @param tags Array list containing instances of the {@link com.itcag.rockwell.lang.Tag Tag} class that were already accepted.
+     * @param enclosedTagMode Value of the {@link com.itcag.rockwell.tagger.EnclosedTagModes EnclosedTagModes} enum.
+     * @return Boolean indicating whether the match should be skipped.
+     */
+    static boolean isEnclosed(int start, int end, String value, ArrayList<Tag> tags, EnclosedTagModes enclosedTagMode) {
         
         if (tags.isEmpty()) return false;
         
         Iterator<Tag> tagIterator = tags.iterator();
         while (tagIterator.hasNext()) {
             Tag tag = tagIterator.next();
-            if (match.getStart() == tag.getStart() && match.getEnd() == tag.getEnd()) {
-                if (EnclosedTagModes.NON_IDENTICAL.equals(this.enclosedTagMode)) {
-                    return (tag.getTag().equals(match.getTag()));
-                } else if (EnclosedTagModes.NONE.equals(this.enclosedTagMode)) {
+            if (start == tag.getStart() && end == tag.getEnd()) {
+                if (EnclosedTagModes.NON_IDENTICAL.equals(enclosedTagMode)) {
+                    return (tag.getTag().equals(value));
+                } else if (EnclosedTagModes.NONE.equals(enclosedTagMode)) {
                     return true;
                 }
-            } else if (match.getStart() > tag.getStart() && match.getEnd() < tag.getEnd()) {
-                if (EnclosedTagModes.NON_IDENTICAL.equals(this.enclosedTagMode)) {
-                    return (tag.getTag().equals(match.getTag()));
-                } else if (EnclosedTagModes.NONE.equals(this.enclosedTagMode)) {
+            } else if (start > tag.getStart() && end < tag.getEnd()) {
+                if (EnclosedTagModes.NON_IDENTICAL.equals(enclosedTagMode)) {
+                    return (tag.getTag().equals(value));
+                } else if (EnclosedTagModes.NONE.equals(enclosedTagMode)) {
                     return true;
                 }
-            } else if (match.getStart() == tag.getStart() && match.getEnd() < tag.getEnd()) {
-                if (EnclosedTagModes.NON_IDENTICAL.equals(this.enclosedTagMode)) {
-                    return (tag.getTag().equals(match.getTag()));
-                } else if (EnclosedTagModes.NONE.equals(this.enclosedTagMode)) {
+            } else if (start == tag.getStart() && end < tag.getEnd()) {
+                if (EnclosedTagModes.NON_IDENTICAL.equals(enclosedTagMode)) {
+                    return (tag.getTag().equals(value));
+                } else if (EnclosedTagModes.NONE.equals(enclosedTagMode)) {
                     return true;
                 }
-            } else if (match.getStart() > tag.getStart() && match.getEnd() == tag.getEnd()) {
-                if (EnclosedTagModes.NON_IDENTICAL.equals(this.enclosedTagMode)) {
-                    return (tag.getTag().equals(match.getTag()));
-                } else if (EnclosedTagModes.NONE.equals(this.enclosedTagMode)) {
+            } else if (start > tag.getStart() && end == tag.getEnd()) {
+                if (EnclosedTagModes.NON_IDENTICAL.equals(enclosedTagMode)) {
+                    return (tag.getTag().equals(value));
+                } else if (EnclosedTagModes.NONE.equals(enclosedTagMode)) {
                     return true;
                 }
-            } else if (match.getStart() <= tag.getStart() && match.getEnd() >= tag.getEnd()) {
-                if (EnclosedTagModes.NON_IDENTICAL.equals(this.enclosedTagMode)) {
-                    if (tag.getTag().equals(match.getTag())) {
+            } else if (start <= tag.getStart() && end >= tag.getEnd()) {
+                if (EnclosedTagModes.NON_IDENTICAL.equals(enclosedTagMode)) {
+                    if (tag.getTag().equals(value)) {
                         tagIterator.remove();
                     }
-                } else if (EnclosedTagModes.NONE.equals(this.enclosedTagMode)) {
+                } else if (EnclosedTagModes.NONE.equals(enclosedTagMode)) {
                     tagIterator.remove();
                 }
             }
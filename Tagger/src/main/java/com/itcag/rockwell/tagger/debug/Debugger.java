@@ -26,6 +26,7 @@ import java.util.ArrayList;
 
 /**
  * <p>This class systemouts debugging data.</p>
+ * <p>Messages passed to the print methods are built by the caller. Callers on the hot path should therefore check {@link #isEnabled()} before building them, so that nothing is concatenated when debugging is off.</p>
  * <p>This class is used only for debugging.</p>
  */
 public class Debugger {
@@ -57,6 +58,13 @@ public class Debugger {
         return this.depth;
     }
 
+    /**
+     * @return Boolean indicating whether the current client prints debugging data.
+     */
+    public boolean isEnabled() {
+        return DebuggingLedger.isIncluded(this.client);
+    }
+
     /**
      * @return The deep clone of the current instance of this class.
      */
@@ -21,6 +21,7 @@ package com.itcag.rockwell.tagger.debug;
 /**
  * <p>Keeps specifications which clients using the {@link com.itcag.rockwell.tagger.Tagger Tagger} class print debugging data.</p>
  * <p>Applies bitwise comparison to decide whether a client prints debugging data or not.</p>
+ * <p>The levels below are only the defaults. They can be changed on demand, without recompiling, by calling {@link #setDebuggingLevel(long)} and {@link #setPrintLevel(long)}.</p>
  * <p>This class is used only for debugging.</p>
  */
 public final class DebuggingLedger {
@@ -31,14 +32,31 @@ public final class DebuggingLedger {
     /** Prints conditions (extraction rules) when they are loaded into processor. */
     public final static long PRINT_LEVEL = 0;
     
+    private static volatile long debuggingLevel = DEBUGGING_LEVEL;
+    
+    private static volatile long printLevel = PRINT_LEVEL;
+    
     public final static boolean isIncluded(DebuggingClients client) {
-        return (DEBUGGING_LEVEL & client.getInstruction()) == client.getInstruction();
+        return (debuggingLevel & client.getInstruction()) == client.getInstruction();
     }
     
     public final static boolean printConditions(DebuggingClients client) {
         if (!isIncluded(client)) return false;
-        return (PRINT_LEVEL & client.getInstruction()) == client.getInstruction();
+        return (printLevel & client.getInstruction()) == client.getInstruction();
+    }
+    
+    /**
+     * @param level Long numerical combining (bitwise OR) the instructions of the {@link com.itcag.rockwell.tagger.debug.DebuggingClients clients} that print debugging data, or 0 to switch debugging off.
+     */
+    public final static void setDebuggingLevel(long level) {
+        debuggingLevel = level;
+    }
+    
+    /**
+     * @param level Long numerical combining (bitwise OR) the instructions of the {@link com.itcag.rockwell.tagger.debug.DebuggingClients clients} that print conditions when they are loaded.
+     */
+    public final static void setPrintLevel(long level) {
+        printLevel = level;
     }
     
 }
-
@@ -0,0 +1,232 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger.debug;
+
+import com.itcag.rockwell.tagger.lang.AcceptingCondition;
+import com.itcag.rockwell.tagger.lang.Condition;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.rockwell.tagger.lang.RejectingCondition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>This class records the cost of every condition (accepting and rejecting) evaluated by a {@link com.itcag.rockwell.tagger.Tagger tagger}.</p>
+ * <p>For every condition it counts the states spawned by its first element, the states that survived a token by continuing it, the affix validations it triggered, and the matches it produced. It also sums the time spent on evaluating its elements, including the affix validations.</p>
+ * <p>A single poorly formulated expression (e.g., one starting with quodlibets) can multiply tagging time of the whole expression set. Profiling a corpus and reading the {@link #getReport(int) report} identifies it without bisecting the expression file.</p>
+ * <p>Profiling is off unless an instance of this class is set by the {@link com.itcag.rockwell.tagger.Tagger#setProfiler(com.itcag.rockwell.tagger.debug.Profiler) Tagger.setProfiler} method. One instance can be shared by taggers running concurrently.</p>
+ */
+public final class Profiler {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns the entry of a condition, and creates it when the condition is evaluated for the first time.
+     * @param conditionId String holding the ID of the condition.
+     * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing the condition.
+     * @return Instance of the {@link Entry} class.
+     */
+    public Entry get(String conditionId, Conditions conditions) {
+        Entry retVal = this.entries.get(conditionId);
+        if (retVal == null) {
+            retVal = this.entries.computeIfAbsent(conditionId, (id) -> new Entry(conditions.getConditions().get(id), conditions));
+        }
+        return retVal;
+    }
+    
+    /**
+     * @param conditionId String holding the ID of the condition.
+     * @return Instance of the {@link Entry} class, or null if the condition was not evaluated yet.
+     */
+    public Entry get(String conditionId) {
+        return this.entries.get(conditionId);
+    }
+    
+    /**
+     * @return Array list containing instances of the {@link Entry} class for all evaluated conditions, ranked by the time spent on them.
+     */
+    public ArrayList<Entry> getEntries() {
+        ArrayList<Entry> retVal = new ArrayList<>(this.entries.values());
+        retVal.sort(Comparator.comparingLong(Entry::getNanos).reversed().thenComparing(Comparator.comparingLong(Entry::getSpawned).reversed()));
+        return retVal;
+    }
+    
+    /**
+     * @param limit Integer specifying the maximum number of conditions in the report.
+     * @return String holding one line for each of the most expensive conditions.
+     */
+    public String getReport(int limit) {
+        
+        StringBuilder retVal = new StringBuilder();
+        retVal.append("time (ms)\tspawned\tsurvived\taffixes\tmatches\ttag\tscript\n");
+        
+        int count = 0;
+        for (Entry entry : getEntries()) {
+            if (count++ == limit) break;
+            retVal.append(String.format("%.3f", entry.getNanos() / 1000000.0)).append("\t");
+            retVal.append(entry.getSpawned()).append("\t");
+            retVal.append(entry.getSurvived()).append("\t");
+            retVal.append(entry.getAffixes()).append("\t");
+            retVal.append(entry.getMatches()).append("\t");
+            retVal.append(entry.isRejecting() ? "!" : "").append(entry.getTag()).append("\t");
+            retVal.append(entry.getScript()).append("\n");
+        }
+        
+        return retVal.toString();
+        
+    }
+    
+    /**
+     * Discards everything recorded so far.
+     */
+    public void reset() {
+        this.entries.clear();
+    }
+    
+    @Override
+    public String toString() {
+        return getReport(Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Cost of a single condition.
+     */
+    public final static class Entry {
+        
+        private final String script;
+        private final String tag;
+        private final boolean rejecting;
+        
+        private final LongAdder spawned = new LongAdder();
+        private final LongAdder survived = new LongAdder();
+        private final LongAdder affixes = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        
+        private Entry(Condition condition, Conditions conditions) {
+            
+            this.script = condition == null ? null : condition.getScript();
+            this.rejecting = condition instanceof RejectingCondition;
+            
+            /**
+             * Rejecting conditions are labeled with the tag of the condition that they reject.
+             */
+            if (this.rejecting) {
+                condition = conditions.getConditions().get(((RejectingCondition) condition).getIdToBeRejected());
+            }
+            this.tag = condition instanceof AcceptingCondition ? ((AcceptingCondition) condition).getTag() : null;
+            
+        }
+        
+        /**
+         * @param nanos Long holding the time spent on evaluating an element of the condition in nanoseconds.
+         */
+        public void time(long nanos) {
+            this.nanos.add(nanos);
+        }
+        
+        /**
+         * Counts a state created by the first element of the condition.
+         */
+        public void spawn() {
+            this.spawned.increment();
+        }
+        
+        /**
+         * Counts a state continued by another element of the condition.
+         */
+        public void survive() {
+            this.survived.increment();
+        }
+        
+        /**
+         * Counts a prefix, infix or suffix validation.
+         */
+        public void validateAffix() {
+            this.affixes.increment();
+        }
+        
+        /**
+         * Counts a completed state.
+         */
+        public void match() {
+            this.matches.increment();
+        }
+        
+        /**
+         * @return String holding the Rockwell expression of the condition.
+         */
+        public String getScript() {
+            return this.script;
+        }
+
+        /**
+         * @return String holding the tag of the expression.
+         */
+        public String getTag() {
+            return this.tag;
+        }
+
+        /**
+         * @return Boolean indicating whether this is a rejecting condition.
+         */
+        public boolean isRejecting() {
+            return this.rejecting;
+        }
+
+        /**
+         * @return Long holding the number of states created by the first element of the condition.
+         */
+        public long getSpawned() {
+            return this.spawned.sum();
+        }
+
+        /**
+         * @return Long holding the number of states that were continued by the other elements of the condition.
+         */
+        public long getSurvived() {
+            return this.survived.sum();
+        }
+
+        /**
+         * @return Long holding the number of prefix, infix and suffix validations.
+         */
+        public long getAffixes() {
+            return this.affixes.sum();
+        }
+
+        /**
+         * @return Long holding the number of times the condition was satisfied.
+         */
+        public long getMatches() {
+            return this.matches.sum();
+        }
+
+        /**
+         * @return Long holding the time spent on evaluating the elements of the condition in nanoseconds.
+         */
+        public long getNanos() {
+            return this.nanos.sum();
+        }
+        
+    }
+    
+}
@@ -40,6 +40,10 @@ public final class AcceptingCondition extends Condition {
         super(script);
     }
 
+    AcceptingCondition(String id, String script) {
+        super(id, script);
+    }
+
     /**
      * @return Array list containing instances of the {@link com.itcag.rockwell.tagger.lang.RejectingCondition RejectingCondition} class. Even if validated by the accepting condition, a match is nonetheless rejected if any of the rejecting conditions is also satisfied.
      */
@@ -29,16 +29,28 @@ import java.util.UUID;
  */
 public class Condition {
 
-    private final String id = UUID.randomUUID().toString().replace("-", "");
+    private final String id;
     
     private final String script;
     
+    private int number = -1;
+    
     private final ArrayList<ConditionElement> conditionElements = new ArrayList<>();
     
     /**
      * @param script Rockwell expression formulated in Rockwell script. Kept as reference to the expression from which the condition was created.
      */
     public Condition(String script) {
+        this(UUID.randomUUID().toString().replace("-", ""), script);
+    }
+    
+    /**
+     * Used when conditions are restored from a snapshot.
+     * @param id String holding the ID of the restored condition.
+     * @param script Rockwell expression formulated in Rockwell script.
+     */
+    Condition(String id, String script) {
+        this.id = id;
         this.script = script;
     }
     
@@ -49,6 +61,17 @@ public class Condition {
         return id;
     }
 
+    /**
+     * @return Integer holding the sequential number of the condition among all conditions in the same instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class. It is for internal use only.
+     */
+    public int getNumber() {
+        return number;
+    }
+    
+    void setNumber(int number) {
+        this.number = number;
+    }
+
     /**
      * @return Rockwell expression formulated in Rockwell script. Kept as reference to the expression from which the condition was created.
      */
@@ -51,6 +51,8 @@ public final class ConditionElement extends MatchingSpecification {
     private Integer in = null;
     private Integer out = null;
     
+    private int[] literals = null;
+    
     /**
      * @param aspect Value of the {@link com.itcag.rockwell.tagger.lang.MatchingSpecification.Aspect Aspect} enum that specifies which aspect of a token must be matched.
      * @param value String holding the value that must be matched. This value depends on the aspect.
@@ -208,6 +210,22 @@ public final class ConditionElement extends MatchingSpecification {
     public void setOut(Integer out) {
         this.out = out;
     }
+    
+    /**
+     * Literals are verbatim, case insensitive and lemma condition elements that are not optional. A condition cannot be matched in a sentence that does not contain all its literals.
+     * @return Array of integers holding the {@link com.itcag.rockwell.tagger.lang.Symbols symbol ids} of the literals that the condition containing this element requires in addition to this element and to the elements matched before it, or null if they need not be checked. They are checked for the initial elements, and for the elements where conditions sharing states diverge.
+     */
+    public int[] getLiterals() {
+        return this.literals;
+    }
+    
+    /**
+     * This method is used by the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class only, when the state transitions are indexed.
+     * @param literals Array of integers holding the symbol ids of the literals.
+     */
+    void setLiterals(int[] literals) {
+        this.literals = literals;
+    }
 
     public ConditionElement copy() {
         
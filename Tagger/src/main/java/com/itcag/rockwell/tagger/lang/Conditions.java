@@ -20,15 +20,21 @@ package com.itcag.rockwell.tagger.lang;
 
 import com.itcag.rockwell.tagger.ConditionFactory;
 import com.itcag.util.Printer;
+import com.itcag.util.io.Snapshots;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 
 /**
  * <p>This class holds a collection of {@link com.itcag.rockwell.tagger.lang.Condition conditions} created by a collection of Rockwell expressions. It is used by the finite state automaton implemented in the {@link com.itcag.rockwell.tagger.Processor Processor} class.</p>
  * <p>Rockwell expressions are provided in the Rockwell script, which is parsed by the {@link com.itcag.rockwell.tagger.ConditionFactory ConditionFactory} class.</p>
  * <p>Here the state transitions are defined and assigned to the {@link com.itcag.rockwell.tagger.lang.ConditionElement condition elements}.</p>
+ * <p>By default, every condition has its own states. Optionally, conditions that start with identical condition elements can share states (see {@link #Conditions(java.util.ArrayList, boolean)}).</p>
+ * <p>Parsed conditions can be stored in {@link com.itcag.util.io.Snapshots snapshots} (see {@link #compile(java.util.ArrayList)}).</p>
  * <p>To learn more about Rockwell script see: <a href="https://docs.google.com/document/d/1wMYCXAOm0cmJ4z5PHLRK5JyPsBY-p3vEYnupik-QT-A/edit?usp=sharing"  target="_blank">Rockwell Script (User Manual)</a>.</p>
  */
 public class Conditions {
@@ -49,8 +55,9 @@ public class Conditions {
     
     /**
      * The key is the condition ID.
+     * Conditions are kept in the order of their expressions.
      */
-    private final HashMap<String, Condition> conditions = new HashMap<>();
+    private final HashMap<String, Condition> conditions = new LinkedHashMap<>();
     
     /**
      * Contains the first condition elements in every condition.
@@ -69,14 +76,109 @@ public class Conditions {
      * The value is the corresponding condition element.
      */
     private final HashMap<String, HashMap<Integer, HashMap<Integer, ConditionElement>>> elements = new HashMap<>();
+    
+    /**
+     * The same condition elements as above, but indexed by the {@link com.itcag.rockwell.tagger.lang.Symbols symbol ids} instead of the composite keys.
+     * These are used by the finite state automaton, and are built once all conditions were added.
+     */
+    private Transitions initialTransitions = null;
+    private Transitions transitions = null;
 
     private int stateCode = INITIAL_STATE_CODE;
+    
+    private boolean shared = false;
+    
+    /**
+     * Used only while conditions with shared states are added.
+     * The key is a composite of the "in" state and the {@link #getSignature(com.itcag.rockwell.tagger.lang.MatchingSpecification) signature} of a shared condition element.
+     * The value is its "out" state.
+     */
+    private final HashMap<String, Integer> prefixes = new HashMap<>();
 
+    /**
+     * Name of the resource the expressions come from, or null if they are not stored in snapshots.
+     */
+    private String name = null;
+    
+    /**
+     * This method is the same as {@link #Conditions(java.util.ArrayList)}. Expressions that are compiled by this method are not stored in snapshots, because they are not named (see {@link #compile(java.lang.String, java.util.ArrayList, boolean)}).
+     * @param scripts Array list containing all Rockwell expressions that create conditions stored in this class.
+     * @return Instance of this class.
+     * @throws Exception if anything goes wrong.
+     */
+    public static Conditions compile(ArrayList<String> scripts) throws Exception {
+        return compile(null, scripts, false);
+    }
+    
+    /**
+     * This method is the same as {@link #Conditions(java.util.ArrayList, boolean)}. Expressions that are compiled by this method are not stored in snapshots, because they are not named (see {@link #compile(java.lang.String, java.util.ArrayList, boolean)}).
+     * @param scripts Array list containing all Rockwell expressions that create conditions stored in this class.
+     * @param shared Boolean indicating whether conditions starting with identical condition elements share states (see {@link #Conditions(java.util.ArrayList, boolean)}).
+     * @return Instance of this class.
+     * @throws Exception if anything goes wrong.
+     */
+    public static Conditions compile(ArrayList<String> scripts, boolean shared) throws Exception {
+        return compile(null, scripts, shared);
+    }
+    
+    /**
+     * Restores the conditions from a snapshot if snapshots are enabled and the snapshot of this resource was compiled from the same expressions. Otherwise, the expressions are parsed, and the snapshot is replaced for the next time.
+     * @param name String holding the name of the resource the expressions come from (e.g., the path to their file). Each resource has a single snapshot. Snapshots are not used if it is null.
+     * @param scripts Array list containing all Rockwell expressions that create conditions stored in this class.
+     * @param shared Boolean indicating whether conditions starting with identical condition elements share states (see {@link #Conditions(java.util.ArrayList, boolean)}).
+     * @return Instance of this class.
+     * @throws Exception if anything goes wrong.
+     */
+    public static Conditions compile(String name, ArrayList<String> scripts, boolean shared) throws Exception {
+        
+        Conditions retVal = null;
+        
+        if (name != null && Snapshots.isEnabled()) {
+            
+            String fingerprint = Snapshots.getFingerprint(scripts);
+            String snapshot = "conditions-" + (shared ? "shared-" : "") + name;
+
+            retVal = Snapshots.read(snapshot, fingerprint, ConditionsSnapshot::read);
+            if (retVal == null) {
+                retVal = new Conditions(scripts, shared);
+                Conditions conditions = retVal;
+                Snapshots.write(snapshot, fingerprint, (output) -> ConditionsSnapshot.write(conditions, output));
+            }
+            
+        } else {
+            retVal = new Conditions(scripts, shared);
+        }
+        
+        retVal.name = name;
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * Used only by the {@link ConditionsSnapshot} class, which populates the instance.
+     */
+    Conditions() {
+    }
+    
     /**
      * @param scripts Array list containing all Rockwell expressions that create conditions stored in this class.
      * @throws Exception if anything goes wrong.
      */
     public Conditions(ArrayList<String> scripts) throws Exception {
+        this(scripts, false);
+    }
+    
+    /**
+     * <p>If states are shared, conditions that start with identical condition elements are merged into a trie: they share the states of the common condition elements, and fork only where they diverge. Consequently, the number of states created by the finite state automaton grows with the number of distinct beginnings, and not with the number of conditions.</p>
+     * <p>Sharing ends before the first optional element, and at least two condition elements of every condition are never shared. The state created by shared elements belongs to one of the conditions sharing them, and is taken over by another condition when it matches that condition's own element (see {@link com.itcag.rockwell.tagger.lang.State#getCopy(com.itcag.rockwell.tagger.lang.Condition)}).</p>
+     * @param scripts Array list containing all Rockwell expressions that create conditions stored in this class.
+     * @param shared Boolean indicating whether conditions starting with identical condition elements share states.
+     * @throws Exception if anything goes wrong.
+     */
+    public Conditions(ArrayList<String> scripts, boolean shared) throws Exception {
+        
+        this.shared = shared;
         
         ConditionFactory factory = new ConditionFactory();
         
@@ -87,6 +189,10 @@ public class Conditions {
             AcceptingCondition acceptingCondition = factory.get(script);
             addCondition(acceptingCondition);
         }
+        
+        this.prefixes.clear();
+        
+        index();
     
     }
     
@@ -104,6 +210,11 @@ public class Conditions {
     
     private void addConditionElements(Condition condition) {
         
+        if (this.shared) {
+            addSharedConditionElements(condition);
+            return;
+        }
+        
         for (int i = 0; i < condition.getConditionElements().size(); i++) {
             
             ConditionElement conditionElement = condition.getConditionElements().get(i);
@@ -138,6 +249,99 @@ public class Conditions {
 
     }
     
+    private void addSharedConditionElements(Condition condition) {
+        
+        ArrayList<ConditionElement> conditionElements = condition.getConditionElements();
+        
+        int state = INITIAL_STATE_CODE;
+        boolean sharing = true;
+        
+        for (int i = 0; i < conditionElements.size(); i++) {
+            
+            ConditionElement conditionElement = conditionElements.get(i);
+            conditionElement.setIn(state);
+            
+            /**
+             * Only the first condition element with a signature is indexed.
+             * Identical elements of other conditions merely receive the same states.
+             */
+            boolean indexed = true;
+            
+            if (i == conditionElements.size() - 1) {
+                conditionElement.setOut(FINAL_STATE_CODE);
+            } else if (sharing && isShareable(conditionElements, i)) {
+                String prefix = state + MatchingSpecification.KEY_DELIMITER + getSignature(conditionElement);
+                Integer out = this.prefixes.get(prefix);
+                if (out == null) {
+                    out = ++stateCode;
+                    this.prefixes.put(prefix, out);
+                } else {
+                    indexed = false;
+                }
+                conditionElement.setOut(out);
+            } else {
+                sharing = false;
+                if (conditionElement.isQuodlibet()) {
+                    conditionElement.setOut(state);
+                } else {
+                    conditionElement.setOut(++stateCode);
+                }
+            }
+            
+            state = conditionElement.getOut();
+            
+            if (!indexed) continue;
+            
+            if (i == 0) {
+                addToInitial(conditionElement);
+            } else {
+                addToElements(conditionElement);
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * A shared element cannot be optional, and cannot be followed by an optional element, because an optional element loops in the state where it starts.
+     * Two elements after a shared element ensure that the element diverging from the shared ones is not the last one:
+     * otherwise, identical conditions would have identical transitions into the final state.
+     */
+    private boolean isShareable(ArrayList<ConditionElement> conditionElements, int i) {
+        if (i > conditionElements.size() - 3) return false;
+        return !conditionElements.get(i).isQuodlibet() && !conditionElements.get(i + 1).isQuodlibet();
+    }
+    
+    /**
+     * @return String holding everything that is validated by a condition element, or by a matching specification.
+     */
+    private String getSignature(MatchingSpecification specification) {
+        
+        StringBuilder retVal = new StringBuilder(specification.getKey());
+        
+        if (specification instanceof Affix) {
+            Affix affix = (Affix) specification;
+            retVal.append("(").append(affix.isInclusive()).append(",").append(affix.isComplete()).append(",").append(affix.isOptional()).append(",").append(affix.isBoundary()).append(")");
+        }
+        
+        if (specification instanceof ConditionElement) {
+            ConditionElement conditionElement = (ConditionElement) specification;
+            retVal.append("(").append(conditionElement.isQuodlibet()).append(",").append(conditionElement.getOptionalMax()).append(")");
+            for (MatchingSpecification additional : conditionElement.getAdditionalSpecifications()) {
+                retVal.append("+").append(getSignature(additional));
+            }
+            if (conditionElement.getPrefix() != null) retVal.append("<").append(getSignature(conditionElement.getPrefix()));
+            if (conditionElement.getInfix() != null) retVal.append("^").append(getSignature(conditionElement.getInfix()));
+            if (conditionElement.getSuffix() != null) retVal.append(">").append(getSignature(conditionElement.getSuffix()));
+            for (MatchingSpecification reject : conditionElement.getRejects()) {
+                retVal.append("-").append(getSignature(reject));
+            }
+        }
+        
+        return retVal.toString();
+        
+    }
+    
     private void addToInitial(ConditionElement conditionElement) {
         if (initial.containsKey(conditionElement.getKey())) {
             initial.get(conditionElement.getKey()).add(conditionElement);
@@ -166,6 +370,151 @@ public class Conditions {
         }
     }
 
+    /**
+     * Numbers the conditions, interns the keys of all condition elements as symbols, and indexes the state transitions by them.
+     * The order of condition elements sharing a key is the same as in the hash maps.
+     * The initial elements also receive the literals required by their conditions (see {@link com.itcag.rockwell.tagger.lang.ConditionElement#getLiterals()}).
+     */
+    void index() {
+        
+        Symbols symbols = Symbols.getInstance();
+        
+        /**
+         * Conditions are numbered, so that states can be told apart without comparing the condition IDs.
+         */
+        int number = 0;
+        for (Condition condition : this.conditions.values()) {
+            condition.setNumber(number++);
+        }
+        
+        /**
+         * Literals required by all conditions that pass through a state. The key is the state code.
+         * Without shared states, every state belongs to a single condition,
+         * and only the states following the initial elements are needed.
+         */
+        HashMap<Integer, LinkedHashSet<Integer>> required = new HashMap<>();
+        for (Condition condition : this.conditions.values()) {
+            LinkedHashSet<Integer> literals = getLiterals(condition, symbols);
+            for (ConditionElement conditionElement : condition.getConditionElements()) {
+                int out = conditionElement.getOut();
+                if (out != FINAL_STATE_CODE) {
+                    if (required.containsKey(out)) {
+                        required.get(out).retainAll(literals);
+                    } else {
+                        required.put(out, new LinkedHashSet<>(literals));
+                    }
+                }
+                if (!this.shared) break;
+            }
+        }
+        
+        LinkedHashMap<Integer, LinkedHashMap<Integer, ArrayList<ConditionElement>>> groups = new LinkedHashMap<>();
+        for (ArrayList<ConditionElement> conditionElements : this.initial.values()) {
+            int symbol = symbols.intern(conditionElements.get(0).getAspect(), conditionElements.get(0).getValue());
+            for (ConditionElement conditionElement : conditionElements) {
+                conditionElement.setLiterals(getLiterals(conditionElement, symbol, required, symbols));
+            }
+            LinkedHashMap<Integer, ArrayList<ConditionElement>> row = new LinkedHashMap<>();
+            row.put(INITIAL_STATE_CODE, conditionElements);
+            groups.put(symbol, row);
+        }
+        this.initialTransitions = new Transitions(groups);
+        
+        groups = new LinkedHashMap<>();
+        for (HashMap<Integer, HashMap<Integer, ConditionElement>> medial : this.elements.values()) {
+            LinkedHashMap<Integer, ArrayList<ConditionElement>> row = new LinkedHashMap<>();
+            int symbol = Symbols.NONE;
+            for (Map.Entry<Integer, HashMap<Integer, ConditionElement>> entry : medial.entrySet()) {
+                ArrayList<ConditionElement> conditionElements = new ArrayList<>(entry.getValue().values());
+                symbol = symbols.intern(conditionElements.get(0).getAspect(), conditionElements.get(0).getValue());
+                row.put(entry.getKey(), conditionElements);
+                /**
+                 * Where conditions sharing states diverge, the literals of the diverging condition are checked again.
+                 */
+                if (this.shared) {
+                    for (ConditionElement conditionElement : conditionElements) {
+                        int[] literals = getLiterals(conditionElement, symbol, required, symbols);
+                        if (literals.length > 0) conditionElement.setLiterals(literals);
+                    }
+                }
+            }
+            groups.put(symbol, row);
+        }
+        this.transitions = new Transitions(groups);
+        
+    }
+    
+    /**
+     * @return Array of integers holding the literals that are required after the condition element is matched, but were not required before.
+     */
+    private int[] getLiterals(ConditionElement conditionElement, int symbol, HashMap<Integer, LinkedHashSet<Integer>> required, Symbols symbols) {
+        
+        LinkedHashSet<Integer> literals = null;
+        if (conditionElement.getOut() != FINAL_STATE_CODE) literals = required.get(conditionElement.getOut());
+        if (literals == null) literals = getLiterals(this.conditions.get(conditionElement.getConditionId()), symbols);
+        
+        LinkedHashSet<Integer> known = null;
+        if (conditionElement.getIn() != INITIAL_STATE_CODE) known = required.get(conditionElement.getIn());
+        if (known == null) known = new LinkedHashSet<>();
+        
+        /**
+         * The literal of the condition element itself is excluded, because the token that matches it is always present.
+         */
+        LinkedHashSet<Integer> retVal = new LinkedHashSet<>(literals);
+        retVal.removeAll(known);
+        retVal.remove(symbol);
+        
+        return retVal.stream().mapToInt(Integer::intValue).toArray();
+        
+    }
+    
+    private LinkedHashSet<Integer> getLiterals(Condition condition, Symbols symbols) {
+        
+        LinkedHashSet<Integer> retVal = new LinkedHashSet<>();
+        
+        for (ConditionElement conditionElement : condition.getConditionElements()) {
+            if (conditionElement.isQuodlibet()) continue;
+            switch (conditionElement.getAspect()) {
+                case VERBATIM:
+                case CAIN:
+                case LEMMA:
+                    retVal.add(symbols.intern(conditionElement.getAspect(), conditionElement.getValue()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        return retVal;
+        
+    }
+    
+    /**
+     * @return Boolean indicating whether conditions starting with identical condition elements share states (see {@link #Conditions(java.util.ArrayList, boolean)}).
+     */
+    public boolean isShared() {
+        return this.shared;
+    }
+    
+    /**
+     * @return String holding the name of the resource the expressions come from, or null if they are not stored in snapshots (see {@link #compile(java.lang.String, java.util.ArrayList, boolean)}).
+     */
+    public String getName() {
+        return this.name;
+    }
+    
+    void setShared(boolean shared) {
+        this.shared = shared;
+    }
+    
+    int getStateCode() {
+        return this.stateCode;
+    }
+    
+    void setStateCode(int stateCode) {
+        this.stateCode = stateCode;
+    }
+    
     /**
      * @return Hash map containing all conditions. The key is the condition ID.
      */
@@ -173,6 +522,18 @@ public class Conditions {
         return conditions;
     }
 
+    /**
+     * Used to derive a modified copy of these conditions: an instance of this class is never changed once it is created, so that the threads using it are not affected by the modification.
+     * @return Array list containing the Rockwell expressions that created these conditions, in their original order.
+     */
+    public ArrayList<String> getScripts() {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Condition condition : this.conditions.values()) {
+            if (condition instanceof AcceptingCondition) retVal.add(condition.getScript());
+        }
+        return retVal;
+    }
+
     /**
      * @return Return the hash map of all initial condition elements. The key is a composite of aspect + "|" + value.
      * @see com.itcag.rockwell.tagger.lang.MatchingSpecification#getKey()
@@ -189,6 +550,23 @@ public class Conditions {
         return elements;
     }
 
+    /**
+     * @param symbol Integer holding a symbol id of a token aspect (see {@link com.itcag.rockwell.tagger.lang.Symbols Symbols}).
+     * @return Array of the first condition elements matched by the symbol, or null if there are none.
+     */
+    public ConditionElement[] getInitial(int symbol) {
+        Transitions.Row row = this.initialTransitions.get(symbol);
+        return row == null ? null : row.get(INITIAL_STATE_CODE);
+    }
+
+    /**
+     * @param symbol Integer holding a symbol id of a token aspect (see {@link com.itcag.rockwell.tagger.lang.Symbols Symbols}).
+     * @return Instance of the {@link com.itcag.rockwell.tagger.lang.Transitions.Row Row} class holding the transitional condition elements matched by the symbol, or null if there are none.
+     */
+    public Transitions.Row getElements(int symbol) {
+        return this.transitions.get(symbol);
+    }
+
     @Override
     public String toString() {
 
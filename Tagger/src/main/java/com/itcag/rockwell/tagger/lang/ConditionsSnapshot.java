@@ -0,0 +1,325 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger.lang;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>This class writes an instance of the {@link Conditions} class into a compact binary {@link com.itcag.util.io.Snapshots snapshot}, and restores it.</p>
+ * <p>Conditions are restored exactly as they were parsed - including their IDs and state codes - so that a restored instance behaves identically to the original one. Condition elements referenced from the state transition maps are written only once, and referenced by their position afterwards.</p>
+ */
+final class ConditionsSnapshot {
+
+    /**
+     * Changes whenever the layout written by this class changes.
+     */
+    private final static int FORMAT = 3;
+
+    private final static byte ACCEPTING = 'A';
+    private final static byte REJECTING = 'R';
+
+    static void write(Conditions conditions, DataOutputStream output) throws Exception {
+
+        output.writeInt(FORMAT);
+        output.writeBoolean(conditions.isShared());
+        output.writeInt(conditions.getStateCode());
+
+        IdentityHashMap<ConditionElement, Integer> positions = new IdentityHashMap<>();
+
+        output.writeInt(conditions.getConditions().size());
+        for (Condition condition : conditions.getConditions().values()) {
+            writeCondition(condition, output);
+            output.writeInt(condition.getConditionElements().size());
+            for (ConditionElement element : condition.getConditionElements()) {
+                positions.put(element, positions.size());
+                writeElement(element, output);
+            }
+        }
+
+        output.writeInt(conditions.getInitial().size());
+        for (Map.Entry<String, ArrayList<ConditionElement>> entry : conditions.getInitial().entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue().size());
+            for (ConditionElement element : entry.getValue()) {
+                output.writeInt(getPosition(element, positions));
+            }
+        }
+
+        output.writeInt(conditions.getElements().size());
+        for (Map.Entry<String, HashMap<Integer, HashMap<Integer, ConditionElement>>> outer : conditions.getElements().entrySet()) {
+            output.writeUTF(outer.getKey());
+            output.writeInt(outer.getValue().size());
+            for (Map.Entry<Integer, HashMap<Integer, ConditionElement>> medial : outer.getValue().entrySet()) {
+                output.writeInt(medial.getKey());
+                output.writeInt(medial.getValue().size());
+                for (Map.Entry<Integer, ConditionElement> inner : medial.getValue().entrySet()) {
+                    output.writeInt(inner.getKey());
+                    output.writeInt(getPosition(inner.getValue(), positions));
+                }
+            }
+        }
+
+    }
+
+    private static int getPosition(ConditionElement element, IdentityHashMap<ConditionElement, Integer> positions) {
+        Integer retVal = positions.get(element);
+        if (retVal == null) throw new IllegalStateException("Condition element does not belong to any condition: " + element.getKey());
+        return retVal;
+    }
+
+    private static void writeCondition(Condition condition, DataOutputStream output) throws Exception {
+
+        if (condition instanceof AcceptingCondition) {
+            AcceptingCondition accepting = (AcceptingCondition) condition;
+            output.writeByte(ACCEPTING);
+            output.writeUTF(accepting.getId());
+            output.writeUTF(accepting.getScript());
+            writeString(accepting.getTag(), output);
+            output.writeInt(accepting.getRejectedById().size());
+            for (String id : accepting.getRejectedById()) {
+                output.writeUTF(id);
+            }
+            output.writeInt(accepting.getRejecting().size());
+            for (RejectingCondition rejecting : accepting.getRejecting()) {
+                output.writeUTF(rejecting.getId());
+            }
+        } else if (condition instanceof RejectingCondition) {
+            RejectingCondition rejecting = (RejectingCondition) condition;
+            output.writeByte(REJECTING);
+            output.writeUTF(rejecting.getId());
+            output.writeUTF(rejecting.getScript());
+            output.writeUTF(rejecting.getIdToBeRejected());
+        } else {
+            throw new IllegalStateException("Unknown condition type: " + condition.getClass().getName());
+        }
+
+    }
+
+    private static void writeElement(ConditionElement element, DataOutputStream output) throws Exception {
+
+        writeSpecification(element, output);
+        writeString(element.getConditionId(), output);
+
+        output.writeInt(element.getAdditionalSpecifications().size());
+        for (MatchingSpecification specification : element.getAdditionalSpecifications()) {
+            writeSpecification(specification, output);
+        }
+
+        writeAffix(element.getPrefix(), output);
+        writeAffix(element.getInfix(), output);
+        writeAffix(element.getSuffix(), output);
+
+        output.writeBoolean(element.isQuodlibet());
+        writeInteger(element.getOptionalMax(), output);
+
+        output.writeInt(element.getRejects().size());
+        for (MatchingSpecification reject : element.getRejects()) {
+            writeElement((ConditionElement) reject, output);
+        }
+
+        writeInteger(element.getIn(), output);
+        writeInteger(element.getOut(), output);
+
+    }
+
+    private static void writeSpecification(MatchingSpecification specification, DataOutputStream output) throws Exception {
+        output.writeUTF(specification.getAspect().name());
+        writeString(specification.getValue(), output);
+    }
+
+    private static void writeAffix(Affix affix, DataOutputStream output) throws Exception {
+        output.writeBoolean(affix != null);
+        if (affix == null) return;
+        writeSpecification(affix, output);
+        output.writeBoolean(affix.isInclusive());
+        output.writeBoolean(affix.isComplete());
+        output.writeBoolean(affix.isOptional());
+        output.writeBoolean(affix.isBoundary());
+    }
+
+    private static void writeString(String value, DataOutputStream output) throws Exception {
+        output.writeBoolean(value != null);
+        if (value != null) output.writeUTF(value);
+    }
+
+    private static void writeInteger(Integer value, DataOutputStream output) throws Exception {
+        output.writeBoolean(value != null);
+        if (value != null) output.writeInt(value);
+    }
+
+    /**
+     * @return Restored instance of the {@link Conditions} class, or null if the snapshot was written in a different format.
+     */
+    static Conditions read(DataInputStream input) throws Exception {
+
+        if (input.readInt() != FORMAT) return null;
+
+        Conditions retVal = new Conditions();
+        retVal.setShared(input.readBoolean());
+        retVal.setStateCode(input.readInt());
+
+        ArrayList<ConditionElement> elements = new ArrayList<>();
+
+        /**
+         * Rejecting conditions are attached to their accepting conditions once all conditions are restored.
+         */
+        HashMap<AcceptingCondition, ArrayList<String>> rejecting = new HashMap<>();
+
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            Condition condition = readCondition(input, rejecting);
+            int count = input.readInt();
+            for (int j = 0; j < count; j++) {
+                ConditionElement element = readElement(input);
+                condition.addConditionElement(element);
+                elements.add(element);
+            }
+            retVal.getConditions().put(condition.getId(), condition);
+        }
+
+        for (Map.Entry<AcceptingCondition, ArrayList<String>> entry : rejecting.entrySet()) {
+            for (String id : entry.getValue()) {
+                entry.getKey().addRejecting((RejectingCondition) retVal.getConditions().get(id));
+            }
+        }
+
+        size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = input.readUTF();
+            int count = input.readInt();
+            ArrayList<ConditionElement> initial = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                initial.add(elements.get(input.readInt()));
+            }
+            retVal.getInitial().put(key, initial);
+        }
+
+        size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = input.readUTF();
+            int medialCount = input.readInt();
+            HashMap<Integer, HashMap<Integer, ConditionElement>> medial = new HashMap<>();
+            for (int j = 0; j < medialCount; j++) {
+                int in = input.readInt();
+                int innerCount = input.readInt();
+                HashMap<Integer, ConditionElement> inner = new HashMap<>();
+                for (int k = 0; k < innerCount; k++) {
+                    int out = input.readInt();
+                    inner.put(out, elements.get(input.readInt()));
+                }
+                medial.put(in, inner);
+            }
+            retVal.getElements().put(key, medial);
+        }
+
+        retVal.index();
+
+        return retVal;
+
+    }
+
+    private static Condition readCondition(DataInputStream input, HashMap<AcceptingCondition, ArrayList<String>> rejecting) throws Exception {
+
+        byte type = input.readByte();
+        String id = input.readUTF();
+        String script = input.readUTF();
+
+        switch (type) {
+            case ACCEPTING:
+            {
+                AcceptingCondition retVal = new AcceptingCondition(id, script);
+                retVal.setTag(readString(input));
+                int count = input.readInt();
+                for (int i = 0; i < count; i++) {
+                    retVal.addRejectedById(input.readUTF());
+                }
+                count = input.readInt();
+                ArrayList<String> ids = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ids.add(input.readUTF());
+                }
+                rejecting.put(retVal, ids);
+                return retVal;
+            }
+            case REJECTING:
+                return new RejectingCondition(id, script, input.readUTF());
+            default:
+                throw new IllegalStateException("Unknown condition type: " + type);
+        }
+
+    }
+
+    private static ConditionElement readElement(DataInputStream input) throws Exception {
+
+        ConditionElement retVal = new ConditionElement(readAspect(input), readString(input));
+        retVal.setConditionId(readString(input));
+
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            retVal.addAdditionalCondition(readAspect(input), readString(input));
+        }
+
+        retVal.setPrefix(readAffix(input));
+        retVal.setInfix(readAffix(input));
+        retVal.setSuffix(readAffix(input));
+
+        retVal.setQuodlibet(input.readBoolean());
+        Integer optionalMax = readInteger(input);
+        if (optionalMax != null) retVal.setOptionalMax(optionalMax);
+
+        count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            retVal.addReject(readElement(input));
+        }
+
+        retVal.setIn(readInteger(input));
+        retVal.setOut(readInteger(input));
+
+        return retVal;
+
+    }
+
+    private static ConditionElement.Aspect readAspect(DataInputStream input) throws Exception {
+        return ConditionElement.Aspect.valueOf(input.readUTF());
+    }
+
+    private static Affix readAffix(DataInputStream input) throws Exception {
+        if (!input.readBoolean()) return null;
+        Affix retVal = new Affix(readAspect(input), readString(input));
+        retVal.setInclusive(input.readBoolean());
+        retVal.setComplete(input.readBoolean());
+        retVal.setOptional(input.readBoolean());
+        retVal.setBoundary(input.readBoolean());
+        return retVal;
+    }
+
+    private static String readString(DataInputStream input) throws Exception {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static Integer readInteger(DataInputStream input) throws Exception {
+        return input.readBoolean() ? input.readInt() : null;
+    }
+
+}
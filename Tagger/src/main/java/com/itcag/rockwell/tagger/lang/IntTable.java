@@ -0,0 +1,76 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger.lang;
+
+import java.util.Map;
+
+/**
+ * <p>Read-only hash table with primitive integer keys, which uses open addressing with linear probing, so that a lookup neither allocates nor boxes.</p>
+ * @param <V> Type of the values.
+ */
+final class IntTable<V> {
+
+    private final int[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    /**
+     * @param entries Map containing the keys and values. Values cannot be null.
+     */
+    IntTable(Map<Integer, V> entries) {
+
+        int capacity = 2;
+        while (capacity < entries.size() * 2) capacity <<= 1;
+
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<Integer, V> entry : entries.entrySet()) {
+            int index = hash(entry.getKey()) & this.mask;
+            while (this.values[index] != null) {
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = entry.getKey();
+            this.values[index] = entry.getValue();
+        }
+
+    }
+
+    /**
+     * @param key Integer holding the key.
+     * @return Value stored under the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int index = hash(key) & this.mask;
+        Object retVal;
+        while ((retVal = this.values[index]) != null) {
+            if (this.keys[index] == key) return (V) retVal;
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
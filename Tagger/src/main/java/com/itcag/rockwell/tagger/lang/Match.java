@@ -37,7 +37,7 @@ public final class Match extends Semtoken {
      * @param token Instance of the class {@link com.itcag.rockwell.lang.Token Token} or {@link com.itcag.rockwell.lang.Semtoken Semtoken} that was matched by a condition element of a Rockwell expression.
      */
     public Match(Token token) {
-        super(token.getWord(), token.getPos(), token.getLemma(), token.getIndex(), new ArrayList<>(Arrays.asList(token)));
+        super(token, new ArrayList<>(Arrays.asList(token)));
         if (token instanceof Semtoken) {
             Semtoken semtoken = (Semtoken) token;
             semtoken.getRoles().forEach((role) -> {
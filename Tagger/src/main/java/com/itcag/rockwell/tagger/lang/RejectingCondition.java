@@ -36,6 +36,11 @@ public class RejectingCondition extends Condition {
         this.idToBeRejected = idToBeRejected;
     }
     
+    RejectingCondition(String id, String script, String idToBeRejected) {
+        super(id, script);
+        this.idToBeRejected = idToBeRejected;
+    }
+    
     /**
      * @return String holding the ID of the corresponding accepting condition.
      */
@@ -29,6 +29,7 @@ import java.util.TreeMap;
 public final class State {
     
     private final String conditionId;
+    private final int conditionNumber;
     private final String script;
     
     private int state;
@@ -46,11 +47,13 @@ public final class State {
     /**
      * An instance of this class is created when the first condition element of a condition is matched. Every additional match is added to the condition, and its state is updated with a new value.
      * @param conditionId String holding the ID of the condition that creates an instance of this class.
+     * @param conditionNumber Integer holding the {@link com.itcag.rockwell.tagger.lang.Condition#getNumber() number} of the condition that creates an instance of this class.
      * @param script Rockwell script that created this condition.
      * @param state Integer representing the initial state. This value is updated with every new match.
      */
-    public State(String conditionId, String script, int state) {
+    public State(String conditionId, int conditionNumber, String script, int state) {
         this.conditionId = conditionId;
+        this.conditionNumber = conditionNumber;
         this.script = script;
         this.state = state;
     }
@@ -62,6 +65,13 @@ public final class State {
         return this.conditionId;
     }
 
+    /**
+     * @return Integer holding the {@link com.itcag.rockwell.tagger.lang.Condition#getNumber() number} of the condition that created this state.
+     */
+    public int getConditionNumber() {
+        return this.conditionNumber;
+    }
+
     /**
      * @return Rockwell script that created the condition that created this state.
      */
@@ -224,11 +234,33 @@ public final class State {
         return this.matches.lastEntry().getValue().getIndex();
     }
 
+    /**
+     * Used when {@link com.itcag.rockwell.tagger.lang.Conditions#isShared() conditions share states}: a state created by condition elements that are shared by multiple conditions continues as the state of the condition whose own condition element it matches next.
+     * @param condition Instance of the {@link com.itcag.rockwell.tagger.lang.Condition Condition} class that takes over this state.
+     * @return The deep clone of the current instance of this class assigned to the condition.
+     */
+    public State getCopy(Condition condition) {
+        State retVal = new State(condition.getId(), condition.getNumber(), condition.getScript(), this.state);
+        if (condition instanceof AcceptingCondition) {
+            AcceptingCondition acceptingCondition = (AcceptingCondition) condition;
+            retVal.setRejectedById(acceptingCondition.getRejectedById());
+            retVal.setTag(acceptingCondition.getTag());
+        } else if (condition instanceof RejectingCondition) {
+            RejectingCondition rejectingCondition = (RejectingCondition) condition;
+            retVal.setIdToBeRejected(rejectingCondition.getIdToBeRejected());
+        }
+        this.matches.entrySet().forEach((entry) -> {
+            retVal.addMatch(entry.getValue());
+        });
+        retVal.setOptionalCount(this.optionalCount);
+        return retVal;
+    }
+    
     /**
      * @return The deep clone of the current instance of this class.
      */
     public State getCopy() {
-        State retVal = new State(this.conditionId, this.script, this.state);
+        State retVal = new State(this.conditionId, this.conditionNumber, this.script, this.state);
         retVal.setTag(this.tag);
         retVal.setRejectedById(this.rejectedById);
         retVal.setIdToBeRejected(this.idToBeRejected);
@@ -0,0 +1,160 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger.lang;
+
+import com.itcag.rockwell.lang.Semtoken;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tagger.lang.MatchingSpecification.Aspect;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>This class interns aspect/value pairs of {@link com.itcag.rockwell.tagger.lang.MatchingSpecification matching specifications} as integer symbol ids.</p>
+ * <p>Symbols are interned when {@link com.itcag.rockwell.tagger.lang.Conditions conditions} are compiled, and the state transitions are indexed by them. A {@link com.itcag.rockwell.lang.Token token} is translated into symbol ids only once, and the ids are cached in the token. Therefore, the finite state automaton does not need to compose and hash a string key for every aspect of every token it evaluates.</p>
+ * <p>Symbol ids are shared by all conditions, so that ids cached in a token are valid for any of them. Values that are not used by any condition have no id. Because new conditions can intern new symbols, every array of ids records the number of symbols that existed when it was computed, and outdated arrays are computed anew.</p>
+ * <p>This class is a thread-safe singleton.</p>
+ */
+public final class Symbols {
+
+    /**
+     * Returned for values that are not used by any condition.
+     */
+    public final static int NONE = -1;
+    
+    /**
+     * Position of the number of symbols that existed when the ids were computed.
+     */
+    public final static int VERSION = 0;
+    /** Position of the {@link MatchingSpecification.Aspect#VERBATIM VERBATIM} symbol id. */
+    public final static int VERBATIM = 1;
+    /** Position of the {@link MatchingSpecification.Aspect#CAIN CAIN} symbol id. */
+    public final static int CAIN = 2;
+    /** Position of the {@link MatchingSpecification.Aspect#LEMMA LEMMA} symbol id. */
+    public final static int LEMMA = 3;
+    /** Position of the {@link MatchingSpecification.Aspect#POS POS} symbol id. */
+    public final static int POS = 4;
+    /** Position of the {@link MatchingSpecification.Aspect#TYPE TYPE} symbol id. */
+    public final static int TYPE = 5;
+    /** Position of the first {@link MatchingSpecification.Aspect#ROLE ROLE} symbol id. There is one for every role of a {@link com.itcag.rockwell.lang.Semtoken semtoken}. */
+    public final static int ROLES = 6;
+    
+    private volatile static Symbols instance = null;
+    
+    /**
+     * @return Instance of this class.
+     */
+    public static Symbols getInstance() {
+        if (instance == null) {
+            synchronized(Symbols.class) {
+                if (instance == null) {
+                    instance = new Symbols();
+                }
+            }
+        }
+        return instance;
+    }
+    
+    private final EnumMap<Aspect, ConcurrentHashMap<String, Integer>> ids = new EnumMap<>(Aspect.class);
+    
+    private volatile int size = 0;
+    
+    private Symbols() {
+        for (Aspect aspect : Aspect.values()) {
+            this.ids.put(aspect, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * @param aspect Value of the {@link com.itcag.rockwell.tagger.lang.MatchingSpecification.Aspect Aspect} enum.
+     * @param value String holding the value that must be matched.
+     * @return Integer holding the symbol id of the aspect/value pair. A new id is created if the pair was not interned before.
+     */
+    synchronized int intern(Aspect aspect, String value) {
+        ConcurrentHashMap<String, Integer> values = this.ids.get(aspect);
+        Integer retVal = values.get(value);
+        if (retVal == null) {
+            retVal = this.size;
+            values.put(value, retVal);
+            this.size++;
+        }
+        return retVal;
+    }
+    
+    /**
+     * @param aspect Value of the {@link com.itcag.rockwell.tagger.lang.MatchingSpecification.Aspect Aspect} enum.
+     * @param value String holding the value that must be matched.
+     * @return Integer holding the symbol id of the aspect/value pair, or {@link #NONE} if no condition uses it.
+     */
+    public int get(Aspect aspect, String value) {
+        if (value == null) return NONE;
+        Integer retVal = this.ids.get(aspect).get(value);
+        return retVal == null ? NONE : retVal;
+    }
+    
+    /**
+     * @return Integer holding the number of interned symbols.
+     */
+    public int size() {
+        return this.size;
+    }
+    
+    /**
+     * Symbol ids are computed only once for every token, and cached in it.
+     * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class.
+     * @return Array of integers holding the symbol ids of the token at the positions specified by the constants of this class.
+     */
+    public int[] getSymbols(Token token) {
+        
+        /**
+         * The size is read first, so that a symbol interned meanwhile makes the ids outdated.
+         */
+        int version = this.size;
+        
+        ArrayList<String> roles = null;
+        if (token instanceof Semtoken) roles = ((Semtoken) token).getRoles();
+        int length = ROLES + (roles == null ? 0 : roles.size());
+        
+        /**
+         * Roles can be added to a semtoken after its ids were computed.
+         */
+        int[] retVal = token.getSymbols();
+        if (retVal != null && retVal[VERSION] == version && retVal.length == length) return retVal;
+        
+        retVal = new int[length];
+        retVal[VERSION] = version;
+        retVal[VERBATIM] = get(Aspect.VERBATIM, token.getWord());
+        retVal[CAIN] = get(Aspect.CAIN, token.getCain());
+        retVal[LEMMA] = get(Aspect.LEMMA, token.getLemma());
+        retVal[POS] = token.getPos() == null ? NONE : get(Aspect.POS, token.getPos().name());
+        retVal[TYPE] = token.getType() == null ? NONE : get(Aspect.TYPE, token.getType().name());
+        if (roles != null) {
+            for (int i = 0; i < roles.size(); i++) {
+                retVal[ROLES + i] = get(Aspect.ROLE, roles.get(i).toLowerCase());
+            }
+        }
+        
+        token.setSymbols(retVal);
+        
+        return retVal;
+        
+    }
+    
+}
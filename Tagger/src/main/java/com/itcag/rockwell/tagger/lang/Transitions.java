@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.rockwell.tagger.lang;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>This class holds the state transitions of the finite state automaton indexed by {@link Symbols symbol ids}.</p>
+ * <p>Every symbol has a {@link Row row} holding the condition elements it matches, grouped by their "in" state. Both symbols and states are primitive keys, so that a lookup neither allocates nor boxes. The table is built once, when {@link Conditions conditions} are compiled, and is read-only afterwards.</p>
+ */
+public final class Transitions {
+
+    /**
+     * Holds the condition elements matched by a single symbol.
+     */
+    public static final class Row {
+
+        private final IntTable<ConditionElement[]> elements;
+
+        private Row(LinkedHashMap<Integer, ArrayList<ConditionElement>> groups) {
+            HashMap<Integer, ConditionElement[]> entries = new HashMap<>();
+            for (Map.Entry<Integer, ArrayList<ConditionElement>> entry : groups.entrySet()) {
+                entries.put(entry.getKey(), entry.getValue().toArray(new ConditionElement[entry.getValue().size()]));
+            }
+            this.elements = new IntTable<>(entries);
+        }
+
+        /**
+         * @param state Integer holding the current state of the automaton.
+         * @return Array of condition elements that continue from that state, or null if there are none.
+         */
+        public ConditionElement[] get(int state) {
+            return this.elements.get(state);
+        }
+
+    }
+
+    private final IntTable<Row> rows;
+
+    /**
+     * The order of the condition elements is preserved for every symbol and state.
+     * @param groups Map containing the condition elements grouped by symbol ids and "in" states.
+     */
+    Transitions(LinkedHashMap<Integer, LinkedHashMap<Integer, ArrayList<ConditionElement>>> groups) {
+        HashMap<Integer, Row> entries = new HashMap<>();
+        for (Map.Entry<Integer, LinkedHashMap<Integer, ArrayList<ConditionElement>>> entry : groups.entrySet()) {
+            entries.put(entry.getKey(), new Row(entry.getValue()));
+        }
+        this.rows = new IntTable<>(entries);
+    }
+
+    /**
+     * @param symbol Integer holding a symbol id (see {@link Symbols}).
+     * @return Instance of the {@link Row} class holding the condition elements matched by the symbol, or null if there are none.
+     */
+    public Row get(int symbol) {
+        return this.rows.get(symbol);
+    }
+
+}
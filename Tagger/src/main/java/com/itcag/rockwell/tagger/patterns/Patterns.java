@@ -20,7 +20,10 @@ package com.itcag.rockwell.tagger.patterns;
 
 import com.itcag.rockwell.lang.Tag;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.Tagger;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.debug.DebuggingClients;
@@ -28,7 +31,9 @@ import com.itcag.rockwell.tagger.lang.Affix;
 import com.itcag.rockwell.tagger.lang.Conditions;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>This class loads and stores the so-called <i>patterns</i>.</p>
@@ -40,12 +45,77 @@ public class Patterns {
 
     private final Conditions conditions;
 
+    private Metrics metrics = Metrics.NONE;
+
+    /**
+     * Taggers validating affixes are reused, so that their token analyzers are reused as well.
+     * The key is the debugging depth.
+     */
+    private final ConcurrentHashMap<Integer, Tagger> taggers = new ConcurrentHashMap<>();
+
+    /**
+     * The same affix is often validated many times in a sentence: by different conditions, and by different states of the same condition.
+     * Results of the validations are therefore memoized for every thread until the next sentence (see {@link #reset()}).
+     * Null results are memoized as well.
+     */
+    private final ThreadLocal<HashMap<Window, Tag>> memo = ThreadLocal.withInitial(HashMap::new);
+
     /**
      * @param scripts Array list containing Rockwell expressions for patterns.
      * @throws Exception if anything goes wrong.
      */
     public Patterns(ArrayList<String> scripts) throws Exception {
-        this.conditions = new Conditions(scripts);
+        this(null, scripts);
+    }
+
+    /**
+     * @param name String holding the name under which the compiled patterns are stored in a {@link com.itcag.util.io.Snapshots snapshot}, or null if they are not.
+     * @param scripts Array list containing Rockwell expressions for patterns.
+     * @throws Exception if anything goes wrong.
+     */
+    public Patterns(String name, ArrayList<String> scripts) throws Exception {
+        this.conditions = Conditions.compile(name, scripts, false);
+    }
+
+    /**
+     * @return Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the number of affix validations. Taggers validating affixes report to the same instance.
+     */
+    public Metrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * This method is called by the {@link com.itcag.rockwell.tagger.Tagger#setMetrics(com.itcag.rockwell.metrics.Metrics) Tagger.setMetrics} method.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+        /**
+         * Taggers obtain metrics when they are created.
+         */
+        this.taggers.clear();
+    }
+    
+    /**
+     * Discards the affix validations memoized on the current thread. This method is called by the {@link com.itcag.rockwell.tagger.Tagger Tagger} class when it starts tagging a new sentence.
+     */
+    public void reset() {
+        this.memo.get().clear();
+    }
+    
+    private Tagger getTagger(Debugger debugger) throws Exception {
+        
+        int depth = debugger.depth() + 1;
+        
+        Tagger retVal = this.taggers.get(depth);
+        if (retVal == null) {
+            retVal = new Tagger(this.conditions, EnclosedTagModes.NONE, this, new Debugger(DebuggingClients.PATTERNS, depth));
+            Tagger existing = this.taggers.putIfAbsent(depth, retVal);
+            if (existing != null) retVal = existing;
+        }
+        
+        return retVal;
+        
     }
 
     /**
@@ -57,11 +127,27 @@ public class Patterns {
      * @throws Exception if anything goes wrong.
      */
     public final Tag getPrefix(ArrayList<? extends Token> tokens, Affix prefix, Debugger debugger) throws Exception {
+        return getPrefix(tokens, prefix, debugger, StateBudget.NONE);
+    }
+
+    /**
+     * This method is the same as {@link #getPrefix(java.util.ArrayList, com.itcag.rockwell.tagger.lang.Affix, com.itcag.rockwell.tagger.debug.Debugger)}, but the validation is limited by a budget.
+     * @param tokens Array list containing prefix tokens.
+     * @param prefix Instance of the {@link com.itcag.rockwell.tagger.lang.Affix Affix} class that is to be validated.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the states of the validation.
+     * @return Instance of the {@link com.itcag.rockwell.lang.Tag Tag} class if the prefix was successfully matched, or null otherwise.
+     * @throws Exception if anything goes wrong.
+     */
+    public final Tag getPrefix(ArrayList<? extends Token> tokens, Affix prefix, Debugger debugger, StateBudget budget) throws Exception {
+        return validate(Kind.PREFIX, tokens, prefix, debugger, budget, this::tagPrefix);
+    }
 
-        Debugger newDebugger = new Debugger(DebuggingClients.PATTERNS, debugger.depth() + 1);
-        Tagger tagger = new Tagger(this.conditions, EnclosedTagModes.NONE, this, newDebugger);
+    private Tag tagPrefix(ArrayList<? extends Token> tokens, Affix prefix, Debugger debugger, StateBudget budget) throws Exception {
+
+        Tagger tagger = getTagger(debugger);
         if (prefix.isComplete()) {
-            for (Tag tag : tagger.tag(tokens, prefix.getValue())) {
+            for (Tag tag : tagger.tag(tokens, prefix.getValue(), budget)) {
                 if (tag.getStart() == tokens.get(0).getIndex() && tag.getEnd() == tokens.get(tokens.size() - 1).getIndex()) {
                     return tag;
                 }
@@ -69,7 +155,7 @@ public class Patterns {
         } else {
             
             Tag longest = null;
-            for (Tag tag : tagger.tag(tokens, prefix.getValue())) {
+            for (Tag tag : tagger.tag(tokens, prefix.getValue(), budget)) {
                 if (longest == null) {
                     longest = tag;
                 } else if (tag.getStart() < longest.getStart() || tag.getEnd() > longest.getEnd()) {
@@ -100,9 +186,25 @@ public class Patterns {
      * @throws Exception if anything goes wrong.
      */
     public final Tag getInfix(ArrayList<? extends Token> tokens, Affix infix, Debugger debugger) throws Exception {
-        Debugger newDebugger = new Debugger(DebuggingClients.PATTERNS, debugger.depth() + 1);
-        Tagger tagger = new Tagger(this.conditions, EnclosedTagModes.NONE, this, newDebugger);
-        for (Tag tag : tagger.tag(tokens, infix.getValue())) {
+        return getInfix(tokens, infix, debugger, StateBudget.NONE);
+    }
+
+    /**
+     * This method is the same as {@link #getInfix(java.util.ArrayList, com.itcag.rockwell.tagger.lang.Affix, com.itcag.rockwell.tagger.debug.Debugger)}, but the validation is limited by a budget.
+     * @param tokens Array list containing infix tokens.
+     * @param infix Instance of the {@link com.itcag.rockwell.tagger.lang.Affix Affix} class that is to be validated.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the states of the validation.
+     * @return Instance of the {@link com.itcag.rockwell.lang.Tag Tag} class if the infix was successfully matched, or null otherwise.
+     * @throws Exception if anything goes wrong.
+     */
+    public final Tag getInfix(ArrayList<? extends Token> tokens, Affix infix, Debugger debugger, StateBudget budget) throws Exception {
+        return validate(Kind.INFIX, tokens, infix, debugger, budget, this::tagInfix);
+    }
+
+    private Tag tagInfix(ArrayList<? extends Token> tokens, Affix infix, Debugger debugger, StateBudget budget) throws Exception {
+        Tagger tagger = getTagger(debugger);
+        for (Tag tag : tagger.tag(tokens, infix.getValue(), budget)) {
             /**
              * The first identified token of an infix
              * must be also the first token in the token sequence,
@@ -125,11 +227,27 @@ public class Patterns {
      * @throws Exception if anything goes wrong.
      */
     public final Tag getSuffix(ArrayList<? extends Token> tokens, Affix suffix, Debugger debugger) throws Exception {
+        return getSuffix(tokens, suffix, debugger, StateBudget.NONE);
+    }
+
+    /**
+     * This method is the same as {@link #getSuffix(java.util.ArrayList, com.itcag.rockwell.tagger.lang.Affix, com.itcag.rockwell.tagger.debug.Debugger)}, but the validation is limited by a budget.
+     * @param tokens Array list containing suffix tokens.
+     * @param suffix Instance of the {@link com.itcag.rockwell.tagger.lang.Affix Affix} class that is to be validated.
+     * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the states of the validation.
+     * @return Instance of the {@link com.itcag.rockwell.lang.Tag Tag} class if the suffix was successfully matched, or null otherwise.
+     * @throws Exception if anything goes wrong.
+     */
+    public final Tag getSuffix(ArrayList<? extends Token> tokens, Affix suffix, Debugger debugger, StateBudget budget) throws Exception {
+        return validate(Kind.SUFFIX, tokens, suffix, debugger, budget, this::tagSuffix);
+    }
+
+    private Tag tagSuffix(ArrayList<? extends Token> tokens, Affix suffix, Debugger debugger, StateBudget budget) throws Exception {
 
-        Debugger newDebugger = new Debugger(DebuggingClients.PATTERNS, debugger.depth() + 1);
-        Tagger tagger = new Tagger(this.conditions, EnclosedTagModes.NONE, this, newDebugger);
+        Tagger tagger = getTagger(debugger);
         if (suffix.isComplete()) {
-            for (Tag tag : tagger.tag(tokens, suffix.getValue())) {
+            for (Tag tag : tagger.tag(tokens, suffix.getValue(), budget)) {
                 if (tag.getStart() == tokens.get(0).getIndex() && tag.getEnd() == tokens.get(tokens.size() - 1).getIndex()) {
                     return tag;
                 }
@@ -138,7 +256,7 @@ public class Patterns {
 
             ArrayList<Tag> buffer = new ArrayList<>();
             
-            for (Tag tag : tagger.tag(tokens, suffix.getValue())) {
+            for (Tag tag : tagger.tag(tokens, suffix.getValue(), budget)) {
                 Iterator<Tag> bufferIterator = buffer.iterator();
                 while (bufferIterator.hasNext()) {
                     Tag existing = bufferIterator.next();
@@ -170,6 +288,87 @@ public class Patterns {
     
     }
     
+    private Tag validate(Kind kind, ArrayList<? extends Token> tokens, Affix affix, Debugger debugger, StateBudget budget, Validation validation) throws Exception {
+        
+        HashMap<Window, Tag> validated = this.memo.get();
+        
+        Window window = new Window(kind, tokens, affix);
+        if (validated.containsKey(window)) {
+            this.metrics.count(Counters.AFFIX_VALIDATIONS_MEMOIZED, 1);
+            return validated.get(window);
+        }
+        
+        this.metrics.count(Counters.AFFIX_VALIDATIONS, 1);
+        Tag retVal = validation.validate(tokens, affix, debugger, budget);
+        validated.put(window, retVal);
+        
+        return retVal;
+        
+    }
+    
+    private interface Validation {
+        Tag validate(ArrayList<? extends Token> tokens, Affix affix, Debugger debugger, StateBudget budget) throws Exception;
+    }
+    
+    /**
+     * Kinds of affix validation. They accept different tags for the same tokens, so their results are memoized separately.
+     */
+    private enum Kind {
+        PREFIX,
+        INFIX,
+        SUFFIX
+    }
+    
+    /**
+     * Identifies a validation of an affix: its kind, the affix tokens, and the pattern they are validated against.
+     * Tokens are compared by identity, because the same token instances are passed to all validations within a sentence.
+     */
+    private final static class Window {
+        
+        private final Kind kind;
+        private final Token[] tokens;
+        private final String value;
+        private final boolean complete;
+        private final int hash;
+        
+        private Window(Kind kind, ArrayList<? extends Token> tokens, Affix affix) {
+            
+            this.kind = kind;
+            this.tokens = tokens.toArray(new Token[tokens.size()]);
+            this.value = affix.getValue();
+            this.complete = affix.isComplete();
+            
+            int h = this.kind.ordinal();
+            h = 31 * h + this.value.hashCode();
+            h = 31 * h + (this.complete ? 1 : 0);
+            for (Token token : this.tokens) {
+                h = 31 * h + System.identityHashCode(token);
+            }
+            this.hash = h;
+            
+        }
+        
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Window)) return false;
+            Window window = (Window) obj;
+            if (this.hash != window.hash || this.kind != window.kind || this.complete != window.complete) return false;
+            if (!this.value.equals(window.value)) return false;
+            if (this.tokens.length != window.tokens.length) return false;
+            for (int i = 0; i < this.tokens.length; i++) {
+                if (this.tokens[i] != window.tokens[i]) return false;
+            }
+            return true;
+        }
+        
+    }
+    
     public void print() {
         this.conditions.print();
     }
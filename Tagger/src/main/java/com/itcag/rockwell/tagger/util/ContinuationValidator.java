@@ -48,7 +48,7 @@ public class ContinuationValidator extends Validator {
     
     private final Conditions conditions;
     
-    protected final ArrayList<? extends Token> tokens;
+    protected ArrayList<? extends Token> tokens;
     
     public ContinuationValidator(Conditions conditions, Patterns patterns, ArrayList<? extends Token> tokens, Debugger debugger) throws Exception {
         super(patterns, debugger);
@@ -56,6 +56,14 @@ public class ContinuationValidator extends Validator {
         this.tokens = tokens;
     }
     
+    /**
+     * Prepares this instance for validating another sequence of tokens.
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing text to be processed.
+     */
+    public void reset(ArrayList<? extends Token> tokens) {
+        this.tokens = tokens;
+    }
+    
     /**
      * @param conditionElement Instance of the {@link com.itcag.rockwell.tagger.lang.ConditionElement ConditionElement} class that is being validated.
      * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class that is being evaluated.
@@ -65,7 +73,7 @@ public class ContinuationValidator extends Validator {
      */
     public State validateQuodlibet(ConditionElement conditionElement, Token token, State state) throws Exception {
 
-        debugger.print("Quodlibet validation: " + token.toString());
+        if (debugger.isEnabled()) debugger.print("Quodlibet validation: " + token.toString());
     
         if (isRejectedConditionElement(conditionElement, token)) return null;
 
@@ -94,28 +102,38 @@ public class ContinuationValidator extends Validator {
         
         if (tmp.isEmpty()) {
 
-            debugger.print("Infix validation " + conditionElement.getInfix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Infix validation " + conditionElement.getInfix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (conditionElement.getInfix().isOptional()) {
-                debugger.print("Validated infix (no infix, but it is optional): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated infix (no infix, but it is optional): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(state, conditionElement, anchor);
             } else {
-                debugger.print("Infix not validated (no infix): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Infix not validated (no infix): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
 
         } else {
             
-            debugger.print("Infix validation " + conditionElement.getInfix().getKey(), tmp);
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Infix validation " + conditionElement.getInfix().getKey(), tmp);
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
-            Tag tag = patterns.getInfix(tmp, conditionElement.getInfix(), super.debugger);
+            Tag tag = patterns.getInfix(tmp, conditionElement.getInfix(), super.debugger, this.budget);
             if (tag != null) {
-                debugger.print("Validated infix: " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated infix: " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(state, conditionElement, anchor, tag, tmp, false);
             }
 
@@ -123,8 +141,10 @@ public class ContinuationValidator extends Validator {
              * Unlike prefix and suffix, optional infix cannot contain unmatched tokens.
              * If there are tokens, they are either matched, or infix is not validated.
              */
-            debugger.print("Infix not validated (infix not matched): " + anchor.toString(), tmp);
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Infix not validated (infix not matched): " + anchor.toString(), tmp);
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
             return null;
 
         }
@@ -142,16 +162,22 @@ public class ContinuationValidator extends Validator {
 
         if (conditionElement.getSuffix().isBoundary()) {
             
-            debugger.print("Prefix validation " + conditionElement.getSuffix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Prefix validation " + conditionElement.getSuffix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (Objects.equals(anchor.getIndex(), this.tokens.get(this.tokens.size() - 1).getIndex())) {
-                debugger.print("Validated suffix (last token): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (last token): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (not last token): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (not last token): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
             
@@ -161,38 +187,52 @@ public class ContinuationValidator extends Validator {
 
         if (tmp.isEmpty()) {
 
-            debugger.print("Suffix validation " + conditionElement.getSuffix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Suffix validation " + conditionElement.getSuffix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (conditionElement.getSuffix().isOptional()) {
-                debugger.print("Validated suffix (no suffix, but it is optional): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (no suffix, but it is optional): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(state, conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (no suffix): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (no suffix): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
 
         } else {
             
-            debugger.print("Suffix validation " + conditionElement.getSuffix().getKey(), tmp);
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Suffix validation " + conditionElement.getSuffix().getKey(), tmp);
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
-            Tag tag = patterns.getSuffix(tmp, conditionElement.getSuffix(), super.debugger);
+            Tag tag = patterns.getSuffix(tmp, conditionElement.getSuffix(), super.debugger, this.budget);
             if (tag != null) {
-                debugger.print("Validated suffix: " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix: " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(state, conditionElement, anchor, tag, tmp, true);
             }
 
             if (conditionElement.getSuffix().isOptional()) {
-                debugger.print("Validated suffix (suffix not matched, but it is optional): " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (suffix not matched, but it is optional): " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(state, conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (suffix not matched): " + anchor.toString(), tmp);
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (suffix not matched): " + anchor.toString(), tmp);
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
 
@@ -204,7 +244,7 @@ public class ContinuationValidator extends Validator {
         
         Condition condition = conditions.getConditions().get(conditionElement.getConditionId());
 
-        State retVal = new State(conditionElement.getConditionId(), condition.getScript(), conditionElement.getOut());
+        State retVal = new State(conditionElement.getConditionId(), condition.getNumber(), condition.getScript(), conditionElement.getOut());
         if (condition instanceof AcceptingCondition) {
             AcceptingCondition acceptingCondition = (AcceptingCondition) condition;
             retVal.setRejectedById(acceptingCondition.getRejectedById());
@@ -218,7 +258,7 @@ public class ContinuationValidator extends Validator {
         Match match = new Match(token);
         retVal.addMatch(match);
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
 
         return retVal;
         
@@ -254,7 +294,7 @@ public class ContinuationValidator extends Validator {
             retVal.addMatch(match);
         }
         
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
 
         return retVal;
         
@@ -268,35 +308,41 @@ public class ContinuationValidator extends Validator {
         Match match = new Match(token);
         retVal.addMatch(match);
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
 
         return retVal;
         
     }
     
     /**
-     * @param key String holding a composite of aspect + "|" + value.
-     * @see com.itcag.rockwell.tagger.lang.MatchingSpecification#getKey()
      * @param conditionElement Instance of the {@link com.itcag.rockwell.tagger.lang.ConditionElement ConditionElement} class that is being validated.
      * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class that is being evaluated.
      * @param state New instance of the {@link com.itcag.rockwell.tagger.lang.State State} class that is to be updated if the condition element is validated.
      * @return Instance of the {@link com.itcag.rockwell.tagger.lang.State State} class if the condition element is validated, or null otherwise.
      * @throws Exception if anything goes wrong.
      */
-    public State validateRegular(String key, ConditionElement conditionElement, Token token, State state) throws Exception {
+    public State validateRegular(ConditionElement conditionElement, Token token, State state) throws Exception {
 
-        debugger.print("Regular validation (" + key + ") " + token.toString());
+        if (debugger.isEnabled()) debugger.print("Regular validation (" + conditionElement.getKey() + ") " + token.toString());
     
         if (!validateAdditionalConditions(conditionElement, token)) return null;
         if (isRejectedConditionElement(conditionElement, token)) return null;
 
-        State retVal = state.getCopy();
+        /**
+         * If conditions share states, the state is taken over by the condition of the matched element.
+         */
+        State retVal;
+        if (state.getConditionId().equals(conditionElement.getConditionId())) {
+            retVal = state.getCopy();
+        } else {
+            retVal = state.getCopy(this.conditions.getConditions().get(conditionElement.getConditionId()));
+        }
         retVal.resetOptionalCount();
         retVal.setState(conditionElement.getOut());
         retVal.addMatch(new Match(token));
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
-        debugger.print("Validated: " + token.toString());
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled()) debugger.print("Validated: " + token.toString());
         
         return retVal;
         
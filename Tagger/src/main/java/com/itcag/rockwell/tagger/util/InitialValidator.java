@@ -47,7 +47,7 @@ public class InitialValidator extends Validator {
 
     private final Conditions conditions;
     
-    private final ArrayList<? extends Token> tokens;
+    private ArrayList<? extends Token> tokens;
     
     /**
      * @param conditions Instance of the {@link com.itcag.rockwell.tagger.lang.Conditions Conditions} class containing the applicable Rockwell expressions.
@@ -62,6 +62,14 @@ public class InitialValidator extends Validator {
         this.tokens = tokens;
     }
 
+    /**
+     * Prepares this instance for validating another sequence of tokens.
+     * @param tokens Array list of instances of the {@link com.itcag.rockwell.lang.Token Token} class representing text to be processed.
+     */
+    public void reset(ArrayList<? extends Token> tokens) {
+        this.tokens = tokens;
+    }
+
     /**
      * @param conditionElement Instance of the {@link com.itcag.rockwell.tagger.lang.ConditionElement ConditionElement} class that is being validated.
      * @param anchor Instance of the {@link com.itcag.rockwell.lang.Token Token} class that anchors the prefix.
@@ -72,16 +80,22 @@ public class InitialValidator extends Validator {
 
         if (conditionElement.getPrefix().isBoundary()) {
             
-            debugger.print("Prefix validation " + conditionElement.getPrefix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Prefix validation " + conditionElement.getPrefix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (Objects.equals(anchor.getIndex(), this.tokens.get(0).getIndex())) {
-                debugger.print("Validated prefix (first token): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated prefix (first token): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Prefix not validated (not first token): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Prefix not validated (not first token): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
             
@@ -91,38 +105,52 @@ public class InitialValidator extends Validator {
 
         if (tmp.isEmpty()) {
             
-            debugger.print("Prefix validation " + conditionElement.getPrefix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Prefix validation " + conditionElement.getPrefix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (conditionElement.getPrefix().isOptional()) {
-                debugger.print("Validated prefix (no prefix, but it is optional): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated prefix (no prefix, but it is optional): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Prefix not validated (no prefix): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Prefix not validated (no prefix): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
             
         } else {
             
-            debugger.print("Prefix validation " + conditionElement.getPrefix().getKey(), tmp);
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Prefix validation " + conditionElement.getPrefix().getKey(), tmp);
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
-            Tag tag = patterns.getPrefix(tmp, conditionElement.getPrefix(), super.debugger);
+            Tag tag = patterns.getPrefix(tmp, conditionElement.getPrefix(), super.debugger, this.budget);
             if (tag != null) {
-                debugger.print("Validated prefix: " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated prefix: " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor, tag, tmp, false);
             }       
 
             if (conditionElement.getPrefix().isOptional()) {
-                debugger.print("Validated prefix (prefix not matched, but it is optional): " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated prefix (prefix not matched, but it is optional): " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Prefix not validated (prefix not matched): " + anchor.toString(), tmp);
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Prefix not validated (prefix not matched): " + anchor.toString(), tmp);
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
         
@@ -140,16 +168,22 @@ public class InitialValidator extends Validator {
 
         if (conditionElement.getSuffix().isBoundary()) {
             
-            debugger.print("Prefix validation " + conditionElement.getSuffix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Prefix validation " + conditionElement.getSuffix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (Objects.equals(anchor.getIndex(), this.tokens.get(this.tokens.size() - 1).getIndex())) {
-                debugger.print("Validated suffix (last token): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (last token): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (not last token): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (not last token): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
             
@@ -159,37 +193,51 @@ public class InitialValidator extends Validator {
         
         if (tmp.isEmpty()) {
 
-            debugger.print("Suffix validation " + conditionElement.getSuffix().getKey());
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Suffix validation " + conditionElement.getSuffix().getKey());
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
             if (conditionElement.getSuffix().isOptional()) {
-                debugger.print("Validated suffix (no suffix, but it is optional): " + anchor.toString());
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (no suffix, but it is optional): " + anchor.toString());
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (no suffix): " + anchor.toString());
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (no suffix): " + anchor.toString());
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
         } else {
             
-            debugger.print("Suffix validation " + conditionElement.getSuffix().getKey(), tmp);
-            debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            if (debugger.isEnabled()) {
+                debugger.print("Suffix validation " + conditionElement.getSuffix().getKey(), tmp);
+                debugger.print("-> Validating: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+            }
 
-            Tag tag = patterns.getSuffix(tmp, conditionElement.getSuffix(), super.debugger);
+            Tag tag = patterns.getSuffix(tmp, conditionElement.getSuffix(), super.debugger, this.budget);
             if (tag != null) {
-                debugger.print("Validated suffix: " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix: " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor, tag, tmp, true);
             }
 
             if (conditionElement.getSuffix().isOptional()) {
-                debugger.print("Validated suffix (suffix not matched, but it is optional): " + anchor.toString(), tmp);
-                debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Validated suffix (suffix not matched, but it is optional): " + anchor.toString(), tmp);
+                    debugger.print("->> Validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return getNewState(conditionElement, anchor);
             } else {
-                debugger.print("Suffix not validated (suffix not matched): " + anchor.toString(), tmp);
-                debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                if (debugger.isEnabled()) {
+                    debugger.print("Suffix not validated (suffix not matched): " + anchor.toString(), tmp);
+                    debugger.print("->> Not validated: "+ " " + this.conditions.getConditions().get(conditionElement.getConditionId()));
+                }
                 return null;
             }
 
@@ -201,7 +249,7 @@ public class InitialValidator extends Validator {
         
         Condition condition = conditions.getConditions().get(conditionElement.getConditionId());
 
-        State retVal = new State(conditionElement.getConditionId(), condition.getScript(), conditionElement.getOut());
+        State retVal = new State(conditionElement.getConditionId(), condition.getNumber(), condition.getScript(), conditionElement.getOut());
         if (condition instanceof AcceptingCondition) {
             AcceptingCondition acceptingCondition = (AcceptingCondition) condition;
             retVal.setRejectedById(acceptingCondition.getRejectedById());
@@ -236,7 +284,7 @@ public class InitialValidator extends Validator {
             retVal.addMatch(match);
         }
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
 
         return retVal;
         
@@ -246,7 +294,7 @@ public class InitialValidator extends Validator {
         
         Condition condition = conditions.getConditions().get(conditionElement.getConditionId());
 
-        State retVal = new State(conditionElement.getConditionId(), condition.getScript(), conditionElement.getOut());
+        State retVal = new State(conditionElement.getConditionId(), condition.getNumber(), condition.getScript(), conditionElement.getOut());
         if (condition instanceof AcceptingCondition) {
             AcceptingCondition acceptingCondition = (AcceptingCondition) condition;
             retVal.setRejectedById(acceptingCondition.getRejectedById());
@@ -260,30 +308,28 @@ public class InitialValidator extends Validator {
         Match match = new Match(token);
         retVal.addMatch(match);
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
 
         return retVal;
         
     }
 
     /**
-     * @param key String holding a composite of aspect + "|" + value.
-     * @see com.itcag.rockwell.tagger.lang.MatchingSpecification#getKey()
      * @param conditionElement Instance of the {@link com.itcag.rockwell.tagger.lang.ConditionElement ConditionElement} class that is being validated.
      * @param token Instance of the {@link com.itcag.rockwell.lang.Token Token} class that is being evaluated.
      * @return Instance of the {@link com.itcag.rockwell.tagger.lang.State State} class if the condition element is validated, or null otherwise.
      * @throws Exception if anything goes wrong.
      */
-    public State validateRegular(String key, ConditionElement conditionElement, Token token) throws Exception {
+    public State validateRegular(ConditionElement conditionElement, Token token) throws Exception {
 
-        debugger.print("Regular validation (" + key + ") " + token.toString());
+        if (debugger.isEnabled()) debugger.print("Regular validation (" + conditionElement.getKey() + ") " + token.toString());
         
         if (!validateAdditionalConditions(conditionElement, token)) return null;
         if (isRejectedConditionElement(conditionElement, token)) return null;
 
         Condition condition = conditions.getConditions().get(conditionElement.getConditionId());
         
-        State retVal = new State(conditionElement.getConditionId(), condition.getScript(), conditionElement.getOut());
+        State retVal = new State(conditionElement.getConditionId(), condition.getNumber(), condition.getScript(), conditionElement.getOut());
         if (condition instanceof AcceptingCondition) {
             AcceptingCondition acceptingCondition = (AcceptingCondition) condition;
             retVal.setRejectedById(acceptingCondition.getRejectedById());
@@ -294,8 +340,8 @@ public class InitialValidator extends Validator {
         }
         retVal.addMatch(new Match(token));
 
-        if (retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
-        debugger.print("Validated: " + token.toString());
+        if (debugger.isEnabled() && retVal.getState() == Conditions.FINAL_STATE_CODE) debugger.print("Validated completely: " + TokenToolbox.getStringFromTokens(new ArrayList<>(retVal.getMatches().values())));
+        if (debugger.isEnabled()) debugger.print("Validated: " + token.toString());
 
         return retVal;
         
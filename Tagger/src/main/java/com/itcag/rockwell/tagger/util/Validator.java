@@ -20,6 +20,7 @@ package com.itcag.rockwell.tagger.util;
 
 import com.itcag.rockwell.lang.Semtoken;
 import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tagger.StateBudget;
 import com.itcag.rockwell.tagger.debug.Debugger;
 import com.itcag.rockwell.tagger.lang.ConditionElement;
 import com.itcag.rockwell.tagger.lang.MatchingSpecification;
@@ -41,6 +42,11 @@ public class Validator {
     protected final Patterns patterns;
     protected final Debugger debugger;
     
+    /**
+     * Affixes are validated within the budget of the sentence that requires them.
+     */
+    protected StateBudget budget = StateBudget.NONE;
+    
     /**
      * @param patterns Instance of the {@link com.itcag.rockwell.tagger.patterns.Patterns Patterns} class containing all applicable patterns.
      * @param debugger Instance of the {@link com.itcag.rockwell.tagger.debug.Debugger Debugger} class use for debugging only.
@@ -51,33 +57,40 @@ public class Validator {
         this.debugger = debugger;
     }
     
+    /**
+     * @param budget Instance of the {@link com.itcag.rockwell.tagger.StateBudget StateBudget} class limiting the affix validations.
+     */
+    public void setBudget(StateBudget budget) {
+        this.budget = budget;
+    }
+    
     protected boolean validateAdditionalConditions(ConditionElement conditionElement, Token token) throws Exception {
         for (MatchingSpecification additional : conditionElement.getAdditionalSpecifications()) {
             switch (additional.getAspect()) {
                 case VERBATIM:
-                    this.debugger.print(token.getWord() + " <-> " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getWord() + " <-> " + additional.getValue());
                     if (!token.getWord().equals(additional.getValue())) return false;
                     break;
                 case CAIN:
-                    this.debugger.print(token.getCain() + " <-> " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getCain() + " <-> " + additional.getValue());
                     if (!token.getCain().equals(additional.getValue())) return false;
                     break;
                 case LEMMA:
-                    this.debugger.print(token.getLemma() + " <-> " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getLemma() + " <-> " + additional.getValue());
                     if (!token.getLemma().equals(additional.getValue())) return false;
                     break;
                 case POS:
-                    this.debugger.print(token.getPos() + " <-> " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getPos() + " <-> " + additional.getValue());
                     if (!token.getPos().name().equals(additional.getValue())) return false;
                     break;
                 case TYPE:
-                    this.debugger.print(token.getType() + " <-> " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getType() + " <-> " + additional.getValue());
                     if (!token.getType().name().equals(additional.getValue())) return false;
                     break;
                 case ROLE:
                     if (!(token instanceof Semtoken)) return false;
                     Semtoken semtoken = (Semtoken) token;
-                    this.debugger.print(semtoken.getRoles().contains(additional.getValue().toLowerCase()) + ": " + additional.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(semtoken.getRoles().contains(additional.getValue().toLowerCase()) + ": " + additional.getValue());
                     if (!semtoken.getRoles().contains(additional.getValue().toLowerCase())) return false;
                     break;
             }
@@ -92,29 +105,29 @@ public class Validator {
         for (MatchingSpecification reject : conditionElement.getRejects()) {
             switch (reject.getAspect()) {
                 case VERBATIM:
-                    this.debugger.print(token.getWord() + " <-> " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getWord() + " <-> " + reject.getValue());
                     if (token.getWord().equals(reject.getValue())) return true;
                     break;
                 case CAIN:
-                    this.debugger.print(token.getCain() + " <-> " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getCain() + " <-> " + reject.getValue());
                     if (token.getCain().equals(reject.getValue())) return true;
                     break;
                 case LEMMA:
-                    this.debugger.print(token.getLemma() + " <-> " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getLemma() + " <-> " + reject.getValue());
                     if (token.getLemma().equals(reject.getValue())) return true;
                     break;
                 case POS:
-                    this.debugger.print(token.getPos() + " <-> " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getPos() + " <-> " + reject.getValue());
                     if (token.getPos().name().equals(reject.getValue())) return true;
                     break;
                 case TYPE:
-                    this.debugger.print(token.getType() + " <-> " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(token.getType() + " <-> " + reject.getValue());
                     if (token.getType().name().equals(reject.getValue())) return true;
                     break;
                 case ROLE:
                     if (!(token instanceof Semtoken)) return false;
                     Semtoken semtoken = (Semtoken) token;
-                    this.debugger.print(semtoken.getRoles().contains(reject.getValue().toLowerCase()) + ": " + reject.getValue());
+                    if (this.debugger.isEnabled()) this.debugger.print(semtoken.getRoles().contains(reject.getValue().toLowerCase()) + ": " + reject.getValue());
                     if (semtoken.getRoles().contains(reject.getValue().toLowerCase())) return true;
                     break;
             }
@@ -0,0 +1,144 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.RecordingMetrics;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BudgetTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public BudgetTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testBudget() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :raise ; @quodlibet :* ; @cain :investors | raise",
+            "@type :NN ; @pos :PC1 ; @type :NN ; @pos :PC1 ; @type :NN ; @cain :from | list"
+        ));
+        
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("The firm raised capital, funding, money, cash from investors."));
+        
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+        String expected = getTags(tagger, tokens);
+        Printer.print(expected);
+        
+        RecordingMetrics metrics = new RecordingMetrics();
+        tagger.setMetrics(metrics);
+        
+        tagger.setBudget(new StateBudget(1000, 1000, PruningPolicies.OLDEST_FIRST));
+        assertEquals(expected, getTags(tagger, tokens));
+        assertEquals(0, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        
+        /**
+         * The lists starting with the latest nouns crowd out the state that started with "raised".
+         */
+        tagger.setBudget(new StateBudget(3, 1000, PruningPolicies.OLDEST_FIRST));
+        String oldestFirst = getTags(tagger, tokens);
+        Printer.print(oldestFirst);
+        assertTrue(!oldestFirst.contains("raise"));
+        assertTrue(oldestFirst.contains("list"));
+        assertEquals(1, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        assertTrue(metrics.getCount(Counters.STATES_PRUNED) > 0);
+        
+        /**
+         * The lists are capped instead, and the state that started with "raised" survives.
+         */
+        tagger.setBudget(new StateBudget(3, 1000, PruningPolicies.PER_CONDITION));
+        String perCondition = getTags(tagger, tokens);
+        Printer.print(perCondition);
+        assertTrue(perCondition.contains("raise"));
+        assertEquals(2, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        
+        /**
+         * The rest of the sentence is skipped once the transitions are exhausted.
+         */
+        tagger.setBudget(new StateBudget(1000, 3, PruningPolicies.OLDEST_FIRST));
+        assertEquals("[]", getTags(tagger, tokens));
+        assertEquals(3, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testTransitionsWithinToken() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expressions.add("@cain :cash ; @cain :from | cash" + i);
+        }
+        
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("The firm raised cash from investors."));
+        
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+        RecordingMetrics metrics = new RecordingMetrics();
+        tagger.setMetrics(metrics);
+        
+        /**
+         * All conditions start with the same token, which would create 20 states at once.
+         */
+        tagger.setBudget(new StateBudget(1000, 5, PruningPolicies.OLDEST_FIRST));
+        getTags(tagger, tokens);
+        Printer.print("Created: " + metrics.getCount(Counters.STATES_CREATED));
+        assertEquals(5, metrics.getCount(Counters.STATES_CREATED));
+        assertEquals(1, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testAffixBudget() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@cain+suffix{} :in+noun | location"
+        ));
+        
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("Google opened a startup in the old industrial city."));
+        
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+        RecordingMetrics metrics = new RecordingMetrics();
+        tagger.setMetrics(metrics);
+        
+        tagger.setBudget(new StateBudget(1000, 2, PruningPolicies.OLDEST_FIRST));
+        String expected = getTags(tagger, tokens);
+        Printer.print(expected);
+        assertEquals("[location:4-8]", expected);
+        assertEquals(0, metrics.getCount(Counters.BUDGET_EXCEEDED));
+        
+        /**
+         * The expression itself needs a single state, but the noun phrase in its suffix needs more.
+         */
+        tagger.setBudget(new StateBudget(1000, 1, PruningPolicies.OLDEST_FIRST));
+        assertEquals("[]", getTags(tagger, tokens));
+        assertTrue(metrics.getCount(Counters.BUDGET_EXCEEDED) > 0);
+        
+    }
+    
+    private String getTags(Tagger tagger, ArrayList<Token> tokens) throws Exception {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.add(tag.getTag() + ":" + tag.getStart() + "-" + tag.getEnd());
+        }
+        return retVal.toString();
+    }
+    
+}
@@ -0,0 +1,70 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.debug.DebuggingLedger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DebuggerTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public DebuggerTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testOnDemand() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :buy ; @pos :DT0 ; @type :NN | acquisition",
+            "@cain+suffix{} :in+noun | location"
+        ));
+        
+        String sentence = "Google bought a company in London.";
+        
+        Debugger debugger = new Debugger(DebuggingClients.TESTING, 0);
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.NONE, debugger);
+        
+        assertFalse(debugger.isEnabled());
+        String expected = tag(tagger, sentence);
+        
+        DebuggingLedger.setDebuggingLevel(DebuggingClients.TESTING.getInstruction());
+        try {
+            assertTrue(debugger.isEnabled());
+            assertFalse(new Debugger(DebuggingClients.PATTERNS, 0).isEnabled());
+            assertEquals(expected, tag(tagger, sentence));
+        } finally {
+            DebuggingLedger.setDebuggingLevel(DebuggingLedger.DEBUGGING_LEVEL);
+        }
+        
+        assertFalse(debugger.isEnabled());
+        
+    }
+    
+    private String tag(Tagger tagger, String sentence) throws Exception {
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+        StringBuilder retVal = new StringBuilder();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.append(tag.toString()).append("\n");
+        }
+        return retVal.toString();
+    }
+    
+}
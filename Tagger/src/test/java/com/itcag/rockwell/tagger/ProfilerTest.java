@@ -0,0 +1,109 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.debug.Profiler;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProfilerTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public ProfilerTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testProfile() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :raise ; @cain :funding | funding",
+            "@type :NN ; @quodlibet :* ; @cain :investors | investors",
+            "@cain+suffix{} :in+noun | location"
+        ));
+        
+        String[] sentences = {
+            "The company raised funding from investors.",
+            "Google bought a company in London."
+        };
+        
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+        
+        ArrayList<String> expected = new ArrayList<>();
+        for (String sentence : sentences) {
+            expected.add(tag(tagger, sentence));
+        }
+        
+        Profiler profiler = new Profiler();
+        tagger.setProfiler(profiler);
+        
+        /**
+         * Profiling does not change the tags.
+         */
+        for (int i = 0; i < sentences.length; i++) {
+            assertEquals(expected.get(i), tag(tagger, sentences[i]));
+        }
+        
+        ArrayList<Profiler.Entry> entries = profiler.getEntries();
+        assertEquals(3, entries.size());
+        
+        for (Profiler.Entry entry : entries) {
+            switch (entry.getTag()) {
+                case "funding":
+                    /**
+                     * Both alternatives of "raised" (VVD and VVN) spawn a state.
+                     */
+                    assertEquals(2, entry.getSpawned());
+                    assertEquals(1, entry.getMatches());
+                    break;
+                case "investors":
+                    /**
+                     * The first element spawns a state for every noun of the first sentence,
+                     * and the quodlibet continues each of them for every following token.
+                     */
+                    assertEquals(3, entry.getSpawned());
+                    assertTrue(entry.getSurvived() > entry.getSpawned());
+                    assertEquals(1, entry.getMatches());
+                    break;
+                case "location":
+                    assertEquals(1, entry.getAffixes());
+                    assertEquals(1, entry.getMatches());
+                    break;
+            }
+        }
+        
+        Printer.print(profiler.getReport(10));
+        
+        tagger.setProfiler(null);
+        profiler.reset();
+        tag(tagger, sentences[0]);
+        assertTrue(profiler.getEntries().isEmpty());
+        
+    }
+    
+    private String tag(Tagger tagger, String sentence) throws Exception {
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+        StringBuilder retVal = new StringBuilder();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.append(tag.toString()).append("\n");
+        }
+        return retVal.toString();
+    }
+    
+}
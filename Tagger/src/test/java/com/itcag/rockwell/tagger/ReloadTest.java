@@ -0,0 +1,90 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReloadTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public ReloadTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testEdits() throws Exception {
+        
+        String funding = "@lemma :raise ; @cain :funding | funding";
+        String investors = "@cain :from ; @cain :investors | investors";
+        String investment = "@lemma :raise ; @cain :funding | investment";
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(funding));
+        
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("The company raised funding from investors."));
+        
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+        assertEquals("[funding]", getTags(tagger, tokens));
+        
+        Conditions previous = tagger.getConditions();
+        
+        tagger.add(investors);
+        assertEquals("[funding, investors]", getTags(tagger, tokens));
+        assertEquals(Arrays.asList(funding, investors), tagger.getConditions().getScripts());
+        
+        assertTrue(tagger.replace(funding, investment));
+        assertEquals("[investment, investors]", getTags(tagger, tokens));
+        
+        assertTrue(tagger.remove(investors));
+        assertFalse(tagger.remove(investors));
+        assertEquals("[investment]", getTags(tagger, tokens));
+        
+        /**
+         * An invalid expression is rejected, and the current conditions remain in use.
+         */
+        Conditions current = tagger.getConditions();
+        assertThrows(Exception.class, () -> tagger.add("@lemma :raise"));
+        assertSame(current, tagger.getConditions());
+        
+        /**
+         * The previous conditions are not affected by the edits.
+         */
+        assertEquals(Arrays.asList(funding), previous.getScripts());
+        tagger.setConditions(previous);
+        assertEquals("[funding]", getTags(tagger, tokens));
+        
+        tagger.reload(new ArrayList<>(Arrays.asList(investors)));
+        assertEquals("[investors]", getTags(tagger, tokens));
+        Printer.print(getTags(tagger, tokens));
+        
+    }
+    
+    private String getTags(Tagger tagger, ArrayList<Token> tokens) throws Exception {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.add(tag.getTag());
+        }
+        return retVal.toString();
+    }
+    
+}
@@ -0,0 +1,92 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardedTaggerTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public ShardedTaggerTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testShards() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :vulnerability ; @lemma+infix{x*} :let+verb_conditional | threat",
+            "@lemma :buy ; @pos :DT0 ; @type :NN | acquisition",
+            "@lemma :buy ; @pos :DT0 ; @type :NN ; @cain :in ; @type :NP | acquisition",
+            "@lemma :buy ; @pos :DT0 ; @type :NN / @lemma :buy ; @pos :DT0 ; @cain :house | company_acquisition",
+            "@pos :DT0 ; @type :NN | noun_phrase",
+            "@lemma :raise ; @cain :funding | funding",
+            "@cain :funding | money",
+            "@cain+suffix{} :in+noun | location"
+        ));
+        
+        String[] sentences = {
+            "Vulnerabilities let them in.",
+            "Google bought a company in London.",
+            "They bought a house.",
+            "The company raised funding from investors."
+        };
+        
+        Debugger debugger = new Debugger(DebuggingClients.TESTING, 0);
+        
+        for (EnclosedTagModes mode : EnclosedTagModes.values()) {
+            
+            Tagger tagger = new Tagger(expressions, mode, debugger);
+            ShardedTagger shardedTagger = new ShardedTagger(expressions, 3, mode, debugger);
+            assertEquals(3, shardedTagger.getShardCount());
+            
+            for (String sentence : sentences) {
+                ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+                ArrayList<String> expected = getLines(tagger.tag(tokens));
+                ArrayList<Tag> tags = shardedTagger.tag(tokens);
+                assertEquals(expected, getLines(tags));
+                assertEquals(1, getSentenceIds(tags));
+                Printer.print(mode + "\t" + expected);
+            }
+            
+        }
+        
+    }
+    
+    private ArrayList<String> getLines(ArrayList<Tag> tags) {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Tag tag : tags) {
+            retVal.add(tag.toString());
+        }
+        Collections.sort(retVal);
+        return retVal;
+    }
+    
+    private int getSentenceIds(ArrayList<Tag> tags) {
+        if (tags.isEmpty()) return 1;
+        HashSet<String> retVal = new HashSet<>();
+        for (Tag tag : tags) {
+            retVal.add(tag.getSentenceId());
+        }
+        return retVal.size();
+    }
+    
+}
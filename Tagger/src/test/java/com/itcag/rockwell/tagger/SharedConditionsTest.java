@@ -0,0 +1,84 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedConditionsTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public SharedConditionsTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testSharedPrefixes() throws Exception {
+        
+        /**
+         * Identical expressions with different tags, an expression that begins another one,
+         * an optional element, a quodlibet and a rejecting condition.
+         */
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :buy ; @pos :DT0 ; @type :NN | acquisition",
+            "@lemma :buy ; @pos :DT0 ; @type :NN | purchase",
+            "@lemma :buy ; @pos :DT0 ; @type :NN ; @cain :in ; @type :NP | acquisition_location",
+            "@lemma :buy ; @pos :DT0 ; [@type :AJ] ; @type :NN | qualified_acquisition",
+            "@lemma :buy ; @pos :DT0 ; @quodlibet :3 ; @cain :in | vague_acquisition",
+            "@lemma :buy ; @pos :DT0 ; @type :NN / @lemma :buy ; @pos :DT0 ; @cain :company | private_acquisition",
+            "@lemma :raise ; @cain :funding | funding"
+        ));
+        
+        String[] sentences = {
+            "Google bought a company in London.",
+            "Apple bought a small company in Berlin.",
+            "They bought a house.",
+            "The company raised funding from investors."
+        };
+        
+        Debugger debugger = new Debugger(DebuggingClients.TESTING, 0);
+        
+        Conditions shared = Conditions.compile(expressions, true);
+        assertTrue(shared.isShared());
+        assertFalse(Conditions.compile(expressions).isShared());
+        
+        Tagger plainTagger = new Tagger(expressions, EnclosedTagModes.NONE, debugger);
+        Tagger sharedTagger = new Tagger(shared, EnclosedTagModes.NONE, debugger);
+        
+        for (String sentence : sentences) {
+            String expected = tag(plainTagger, sentence);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, tag(sharedTagger, sentence));
+            Printer.print(expected);
+        }
+        
+    }
+    
+    private String tag(Tagger tagger, String sentence) throws Exception {
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+        StringBuilder retVal = new StringBuilder();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.append(tag.toString()).append("\n");
+        }
+        return retVal.toString();
+    }
+    
+}
@@ -0,0 +1,145 @@
+package com.itcag.rockwell.tagger;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.util.Printer;
+import com.itcag.util.io.Snapshots;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotTest {
+    
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public SnapshotTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testRestore() throws Exception {
+        restoreTagger();
+    }
+    
+    @org.junit.jupiter.api.Test
+    public void testWriteFailure() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :buy ; @pos :AT0 ; @type :NN | acquisition"
+        ));
+        
+        Path directory = Files.createTempDirectory("snapshots");
+        try {
+            
+            Snapshots.setDirectory(directory.toString());
+            
+            /**
+             * The snapshot directory is replaced by a file, so that no snapshot can be written.
+             */
+            Files.delete(directory);
+            Files.createFile(directory);
+            
+            Conditions conditions = Conditions.compile("failure", expressions, false);
+            assertEquals(expressions, conditions.getScripts());
+            
+        } finally {
+            Snapshots.setDirectory(null);
+            Files.deleteIfExists(directory);
+        }
+        
+    }
+    
+    private void restoreTagger() throws Exception {
+        
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :vulnerability ; @lemma+infix{x*} :let+verb_conditional | threat",
+            "@lemma :buy ; @pos :AT0 ; @type :NN | acquisition",
+            "@lemma :raise ; @cain :funding | funding",
+            "@cain+suffix{} :in+noun | location"
+        ));
+        
+        String[] sentences = {
+            "Vulnerabilities let them in.",
+            "Google buys a startup in London.",
+            "The company raised funding from investors."
+        };
+        
+        Debugger debugger = new Debugger(DebuggingClients.TESTING, 0);
+        
+        ArrayList<String> expected = new ArrayList<>();
+        Tagger tagger = new Tagger(expressions, EnclosedTagModes.NONE, debugger);
+        for (String sentence : sentences) {
+            expected.add(tag(tagger, sentence));
+        }
+        
+        Path directory = Files.createTempDirectory("snapshots");
+        try {
+            
+            Snapshots.setDirectory(directory.toString());
+            
+            /**
+             * The first tagger writes the snapshots, and the second one is restored from them.
+             */
+            new Tagger(Conditions.compile("expressions", expressions, false), EnclosedTagModes.NONE, debugger);
+            File[] files = directory.toFile().listFiles();
+            assertTrue(files != null && files.length > 0);
+            
+            tagger = new Tagger(Conditions.compile("expressions", expressions, false), EnclosedTagModes.NONE, debugger);
+            assertEquals("expressions", tagger.getConditions().getName());
+            for (int i = 0; i < sentences.length; i++) {
+                assertEquals(expected.get(i), tag(tagger, sentences[i]));
+                Printer.print(expected.get(i));
+            }
+            
+            /**
+             * Changed expressions replace the snapshot of the same resource instead of adding another one.
+             */
+            ArrayList<String> changed = new ArrayList<>(expressions);
+            changed.remove(0);
+            tagger.reload(changed);
+            assertEquals(changed, tagger.getConditions().getScripts());
+            assertEquals(files.length, directory.toFile().listFiles().length);
+            
+            /**
+             * Unnamed expressions are not stored.
+             */
+            Conditions.compile(expressions);
+            assertEquals(files.length, directory.toFile().listFiles().length);
+            
+        } finally {
+            Snapshots.setDirectory(null);
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            directory.toFile().delete();
+        }
+        
+    }
+    
+    private String tag(Tagger tagger, String sentence) throws Exception {
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+        StringBuilder retVal = new StringBuilder();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.append(tag.toString()).append("\n");
+        }
+        return retVal.toString();
+    }
+    
+}
@@ -0,0 +1,161 @@
+package com.itcag.rockwell.tagger.lang;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.RecordingMetrics;
+import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.Tagger;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefilterTest {
+
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    public PrefilterTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testOptionalElements() throws Exception {
+
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :raise ; [@cain :additional] ; @cain :funding | funding",
+            "@lemma :raise ; @quodlibet :* ; @cain :investors | investors"
+        ));
+
+        /**
+         * Optional elements are not required, so their literals must not suppress a match.
+         */
+        compare(expressions, "The company raised additional funding from investors.", "funding", "investors");
+        compare(expressions, "The company raised funding from investors.", "funding", "investors");
+        compare(expressions, "The company raised funding.", "funding");
+        assertTrue(compare(expressions, "The company raised money.") > 0);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testAdditionalSpecifications() throws Exception {
+
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@type+lemma :VV+buy ; @pos :DT0 ; @cain :company | acquisition",
+            "@lemma+cain :buy+bought ; @pos :DT0 ; @type :NN | purchase"
+        ));
+
+        compare(expressions, "Google bought a company.", "acquisition", "purchase");
+        compare(expressions, "Google bought a house.", "purchase");
+        compare(expressions, "Google buys a company.", "acquisition");
+        compare(expressions, "Google sold a company.");
+
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testRejectingConditions() throws Exception {
+
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :buy ; @pos :DT0 ; @type :NN / @lemma :buy ; @pos :DT0 ; @cain :house | acquisition"
+        ));
+
+        /**
+         * The rejecting condition cannot start without its literal, so the accepting condition is not rejected.
+         */
+        compare(expressions, "Google bought a company.", "acquisition");
+        compare(expressions, "Google bought a house.");
+
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testSharedPrefixes() throws Exception {
+
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@lemma :buy ; @pos :DT0 ; @type :NN ; @cain :in | acquisition_in",
+            "@lemma :buy ; @pos :DT0 ; @type :NN ; @cain :from | acquisition_from",
+            "@lemma :buy ; @pos :DT0 ; @type :NN ; @type :NP | acquisition_named"
+        ));
+
+        /**
+         * The conditions share their first elements, and the literals of each are checked again where they diverge.
+         */
+        assertTrue(compare(expressions, "Google bought a company in London.", "acquisition_in") > 0);
+        assertTrue(compare(expressions, "Google bought a company from Apple.", "acquisition_from") > 0);
+        assertTrue(compare(expressions, "Google bought a company.") > 0);
+
+    }
+
+    /**
+     * Tags the sentence with and without the prefilter, with and without shared states, and compares the tags.
+     * @return Number of states that were prefiltered.
+     */
+    private long compare(ArrayList<String> expressions, String sentence, String... expected) throws Exception {
+
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize(sentence));
+
+        long retVal = 0;
+        
+        for (boolean shared : new boolean[] {false, true}) {
+
+            RecordingMetrics metrics = new RecordingMetrics();
+
+            Tagger prefiltered = new Tagger(Conditions.compile(expressions, shared), EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+            prefiltered.setMetrics(metrics);
+            String tags = getTags(prefiltered, tokens);
+
+            Tagger unfiltered = new Tagger(getUnfiltered(Conditions.compile(expressions, shared)), EnclosedTagModes.ALL, new Debugger(DebuggingClients.TESTING, 0));
+            assertEquals(getTags(unfiltered, tokens), tags);
+
+            Printer.print(sentence + " " + (shared ? "shared " : "") + tags + " prefiltered: " + metrics.getCount(Counters.STATES_PREFILTERED));
+
+            ArrayList<String> found = new ArrayList<>();
+            for (Tag tag : prefiltered.tag(tokens)) {
+                found.add(tag.getTag());
+            }
+            for (String tag : expected) {
+                assertTrue(found.contains(tag), tag);
+            }
+            if (expected.length == 0) assertTrue(found.isEmpty());
+            
+            retVal += metrics.getCount(Counters.STATES_PREFILTERED);
+
+        }
+        
+        return retVal;
+
+    }
+
+    /**
+     * Removes the required literals from all condition elements, so that no state is prefiltered.
+     */
+    private Conditions getUnfiltered(Conditions conditions) {
+        for (Condition condition : conditions.getConditions().values()) {
+            for (ConditionElement conditionElement : condition.getConditionElements()) {
+                conditionElement.setLiterals(null);
+            }
+        }
+        return conditions;
+    }
+
+    private String getTags(Tagger tagger, ArrayList<Token> tokens) throws Exception {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.add(tag.getTag() + ":" + tag.getStart() + "-" + tag.getEnd());
+        }
+        return retVal.toString();
+    }
+
+}
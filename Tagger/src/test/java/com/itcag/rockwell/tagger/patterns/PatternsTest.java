@@ -0,0 +1,110 @@
+package com.itcag.rockwell.tagger.patterns;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.rockwell.lang.Tag;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.rockwell.tagger.EnclosedTagModes;
+import com.itcag.rockwell.tagger.Tagger;
+import com.itcag.rockwell.tagger.debug.Debugger;
+import com.itcag.rockwell.tagger.debug.DebuggingClients;
+import com.itcag.rockwell.tagger.lang.Affix;
+import com.itcag.rockwell.tagger.lang.ConditionElement;
+import com.itcag.rockwell.tagger.lang.Conditions;
+import com.itcag.rockwell.tokenizer.Lemmatizer;
+import com.itcag.rockwell.tokenizer.Tokenizer;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PatternsTest {
+
+    private final Tokenizer tokenizer;
+    private final Lemmatizer lemmatizer;
+
+    private final ArrayList<String> scripts = new ArrayList<>(Arrays.asList(
+        "@pos :DT0 ; @type :NN | noun"
+    ));
+
+    public PatternsTest() throws Exception {
+        this.tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        this.lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testAffixKinds() throws Exception {
+
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("Google bought a company in London."));
+        ArrayList<Token> window = new ArrayList<>(tokens.subList(2, 5));
+
+        /**
+         * The same affix and the same tokens: a suffix only has to start with the pattern, while an infix must consist of it.
+         */
+        Affix affix = new Affix(ConditionElement.Aspect.SUFFIX, "noun");
+        Debugger debugger = new Debugger(DebuggingClients.TESTING, 0);
+
+        Tag suffix = new Patterns(this.scripts).getSuffix(window, affix, debugger);
+        Tag infix = new Patterns(this.scripts).getInfix(window, affix, debugger);
+        assertNotNull(suffix);
+        assertNull(infix);
+
+        Patterns patterns = new Patterns(this.scripts);
+
+        patterns.reset();
+        assertEquals(getTag(suffix), getTag(patterns.getSuffix(window, affix, debugger)));
+        assertEquals(getTag(infix), getTag(patterns.getInfix(window, affix, debugger)));
+
+        patterns.reset();
+        assertEquals(getTag(infix), getTag(patterns.getInfix(window, affix, debugger)));
+        assertEquals(getTag(suffix), getTag(patterns.getSuffix(window, affix, debugger)));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testSharedWindow() throws Exception {
+
+        ArrayList<String> expressions = new ArrayList<>(Arrays.asList(
+            "@cain+suffix{} :bought+noun | suffix",
+            "@cain :bought ; @quodlibet :* ; @cain+infix{x} :London+noun | infix"
+        ));
+
+        ArrayList<Token> tokens = this.lemmatizer.lemmatize(this.tokenizer.tokenize("Google bought a company in London"));
+
+        /**
+         * The suffix of "bought" and the inclusive infix ending with "London" are validated on the same tokens.
+         */
+        String combined = getTags(new Tagger(Conditions.compile(expressions), EnclosedTagModes.ALL, new Patterns(this.scripts), new Debugger(DebuggingClients.TESTING, 0)), tokens);
+        Printer.print(combined);
+
+        ArrayList<String> expected = new ArrayList<>();
+        for (String expression : expressions) {
+            Tagger tagger = new Tagger(Conditions.compile(new ArrayList<>(Arrays.asList(expression))), EnclosedTagModes.ALL, new Patterns(this.scripts), new Debugger(DebuggingClients.TESTING, 0));
+            for (Tag tag : tagger.tag(tokens)) {
+                expected.add(getTag(tag));
+            }
+        }
+        assertEquals(expected.toString(), combined);
+
+    }
+
+    private String getTag(Tag tag) {
+        if (tag == null) return null;
+        return tag.getTag() + ":" + tag.getStart() + "-" + tag.getEnd();
+    }
+
+    private String getTags(Tagger tagger, ArrayList<Token> tokens) throws Exception {
+        ArrayList<String> retVal = new ArrayList<>();
+        for (Tag tag : tagger.tag(tokens)) {
+            retVal.add(getTag(tag));
+        }
+        return retVal.toString();
+    }
+
+}
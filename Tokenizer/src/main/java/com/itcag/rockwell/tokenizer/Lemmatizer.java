@@ -20,16 +20,20 @@ package com.itcag.rockwell.tokenizer;
 
 import com.itcag.multilingual.LexicalResources;
 import com.itcag.multilingual.Lexicon;
+import com.itcag.multilingual.NumericalExpression;
 import com.itcag.multilingual.NumericalExpressionDetector;
-import com.itcag.rockwell.lang.Alternatives;
+import com.itcag.multilingual.WordIndex;
 import com.itcag.rockwell.lang.Token;
 import com.itcag.rockwell.POSTag;
+import com.itcag.rockwell.metrics.Counters;
+import com.itcag.rockwell.metrics.Metrics;
 import com.itcag.util.Converter;
 import com.itcag.util.punct.Characters;
 import com.itcag.util.punct.Locker;
 import com.itcag.util.punct.PunctuationToolbox;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Converts tokens provided as strings into instances of the {@link com.itcag.rockwell.lang.Token Token} class.</p>
@@ -41,29 +45,55 @@ public final class Lemmatizer {
     private final Lexicon lexicon;
     private final Lexer lexer;
     
+    private final WordIndex index;
+    
     private final LexicalResources lexicalResources;
     
-    private final Class Numerator;
+    private final NumericalExpressionDetector numerator;
+
+    private Metrics metrics = Metrics.NONE;
 
     public <T extends NumericalExpressionDetector> Lemmatizer(Lexicon lexicon, Class<T> Numerator) throws Exception {
+        this(WordIndex.getInstance(lexicon, null, null), Numerator);
+    }
+    
+    /**
+     * @param index Instance of the {@link com.itcag.multilingual.WordIndex WordIndex} class that includes a lexicon. It can be shared with the {@link Tokenizer}.
+     * @param Numerator Class implementing the {@link com.itcag.multilingual.NumericalExpressionDetector NumericalExpressionDetector} interface. It is instantiated only once, and the instance is used for all words.
+     * @throws Exception if anything goes wrong.
+     */
+    public <T extends NumericalExpressionDetector> Lemmatizer(WordIndex index, Class<T> Numerator) throws Exception {
 
+        if (index.getLexicon() == null) throw new IllegalArgumentException("Word index used by the lemmatizer must include a lexicon.");
+        
         this.locker = new Locker();
 
-        this.lexicon = lexicon;
+        this.index = index;
+        this.lexicon = index.getLexicon();
         this.lexicalResources = LexicalResources.getInstance();
 
-        this.lexer = new Lexer(lexicon);
+        this.lexer = new Lexer(this.lexicon);
         
-        this.Numerator = Numerator;
+        this.numerator = Numerator.getDeclaredConstructor().newInstance();
 
     }
     
+    /**
+     * Sets the instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface that receives the number of lexicon hits and misses.
+     * This method must be called before the lemmatizer is used.
+     * @param metrics Instance of the {@link com.itcag.rockwell.metrics.Metrics Metrics} interface.
+     */
+    public void setMetrics(Metrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("Metrics cannot be null.");
+        this.metrics = metrics;
+    }
+
     /**
      * @param sentence Array list containing strings holding tokens.
      * @return Array list containing instances of the {@link com.itcag.rockwell.lang.Token Token} class.
      * @throws Exception If anything goes wrong.
      */
-    public final synchronized ArrayList<Token> lemmatize(ArrayList<String> sentence) throws Exception {
+    public final ArrayList<Token> lemmatize(ArrayList<String> sentence) throws Exception {
         
         ArrayList<Token> retVal = new ArrayList<>();
         
@@ -79,17 +109,16 @@ public final class Lemmatizer {
             }
             
             String word = (String) object;
-            String cain = word.toLowerCase();
             
-            if (PunctuationToolbox.isTerminalPunctuation(cain)) {
+            if (PunctuationToolbox.isTerminalPunctuation(word)) {
                 retVal.add(new Token(word, POSTag.PC0, word, retVal.size()));
-            } else if (PunctuationToolbox.isNonTerminalPunctuation(cain)) {
+            } else if (PunctuationToolbox.isNonTerminalPunctuation(word)) {
                 retVal.add(new Token(word, POSTag.PC1, word, retVal.size()));
-            } else if ("(".equals(cain) || "[".equals(cain) || "{".equals(cain)) {
+            } else if ("(".equals(word) || "[".equals(word) || "{".equals(word)) {
                 retVal.add(new Token(word, POSTag.PC2, word, retVal.size()));
-            } else if (")".equals(cain) || "]".equals(cain) || "}".equals(cain)) {
+            } else if (")".equals(word) || "]".equals(word) || "}".equals(word)) {
                 retVal.add(new Token(word, POSTag.PC3, word, retVal.size()));
-            } else if (cain.equals("-")) {
+            } else if (word.equals("-")) {
                 retVal.add(new Token(word, POSTag.XZ4, word, retVal.size()));
             } else if (this.locker.isURL(word)) {
                 word = this.locker.unlockURL(word);
@@ -100,65 +129,22 @@ public final class Lemmatizer {
             } else if (word.contains(Characters.ABBREVIATION.getReplacement())) {
                 word = this.locker.unlockAbbreviation(word);
                 retVal.add(new Token(word, POSTag.XY4, word, retVal.size()));
-            } else if (cain.contains(Characters.ACRONYM.getReplacement())) {
+            } else if (word.contains(Characters.ACRONYM.getReplacement())) {
                 word = this.locker.unlockAcronym(word);
                 retVal.add(new Token(word, POSTag.XY5, word, retVal.size()));
-            } else if (cain.contains(Characters.DOMAIN.getReplacement())) {
+            } else if (word.contains(Characters.DOMAIN.getReplacement())) {
                 word = this.locker.unlockDomain(word);
                 retVal.add(new Token(word, POSTag.XY6, word, retVal.size()));
             } else if (word.startsWith("#") && word.length() > 1 && Character.isLetterOrDigit(word.charAt(1))) {
-                retVal.add(new Token(word, POSTag.XY0, cain, retVal.size()));
+                retVal.add(new Token(word, POSTag.XY0, word.toLowerCase(), retVal.size()));
             } else if (word.startsWith("@") && word.length() > 1 && Character.isLetterOrDigit(word.charAt(1))) {
-                retVal.add(new Token(word, POSTag.XY1, cain, retVal.size()));
-            } else if ("n't".equals(cain) || "not".equals(cain)) {
+                retVal.add(new Token(word, POSTag.XY1, word.toLowerCase(), retVal.size()));
+            } else if ("n't".equalsIgnoreCase(word) || "not".equalsIgnoreCase(word)) {
                 retVal.add(new Token(word, POSTag.XX0, "not", retVal.size()));
-            } else if ("never".equals(cain) || "ne'er".equals(cain)) {
+            } else if ("never".equalsIgnoreCase(word) || "ne'er".equalsIgnoreCase(word)) {
                 retVal.add(new Token(word, POSTag.XX0, "never", retVal.size()));
-            } else if (lexicon.isKnown(cain)) {
-                retVal.add(lexer.getToken(word, retVal.size()));
-            } else if (NumberDetector.getDigits(cain) != null) {
-                retVal.add(new Token(word, POSTag.CRD, cain, retVal.size()));
-            } else if (word.length() == 1 && ("%".equals(word) || "‰".equals(word))) {
-                retVal.add(new Token(word, POSTag.XZ1, word, retVal.size()));
-            } else if (this.lexicalResources.isCurrencyCode(cain)) {
-                retVal.add(new Token(word, POSTag.XZ2, cain, retVal.size()));
-            } else if (this.lexicalResources.isCurrencySymbol(word)) {
-                retVal.add(new Token(word, POSTag.XZ2, cain, retVal.size()));
-            } else if (this.lexicalResources.isMeasuringUnit(cain)) {
-                /**
-                 * Many measures are single letters that could also be initials in names.
-                 * If the word consists of a single letter, and this letter is capitalized,
-                 * assume that this is maybe a measuring unit, or maybe an initial.
-                 */
-                if (word.length() == 1 && !word.equals(cain)) {
-                    Token token = new Token(word, null, null, retVal.size());
-                    token.addAlternative(new Token(word, POSTag.XZ3, cain));
-                    token.addAlternative(new Token(word, POSTag.XXX, word));
-                    retVal.add(token);
-                } else {
-                    retVal.add(new Token(word, POSTag.XZ3, cain, retVal.size()));
-                }
-            } else if (isTime(word, retVal)) {
-                /**
-                 * Do nothing.
-                 */
-            } else if (isNumericalExpression(word, retVal)) {
-                /**
-                 * Do nothing.
-                 */
             } else {
-                Token token = NumberDetector.identify(word, retVal.size());
-                if (token == null) {
-                    if (!isCompoundWord(word, cain, retVal)) {
-                        if (word.length() == 1 && !Character.isLetterOrDigit(word.charAt(0))) {
-                            retVal.add(new Token(word, POSTag.XZ6, word, retVal.size()));
-                        } else {
-                            retVal.add(new Token(word, POSTag.XXX, word, retVal.size()));
-                        }
-                    }
-                } else {
-                    retVal.add(token);
-                }
+                lemmatize(word, retVal);
             }
 
         }
@@ -167,27 +153,89 @@ public final class Lemmatizer {
         
     }
 
+    /**
+     * Lemmatizes a word that is neither punctuation nor a locked token.
+     * The word is looked up in the lexicon and in the other word-level resources without being converted to lower case.
+     */
+    private void lemmatize(String word, ArrayList<Token> retVal) {
+        
+        List<Token> entries = this.index.getEntries(word);
+        WordIndex.Entry entry = this.index.get(word);
+        
+        if (isKnown(entries)) {
+            retVal.add(lexer.getToken(word, entries, entry, retVal.size()));
+        } else if (NumberDetector.getDigits(word) != null) {
+            retVal.add(new Token(word, POSTag.CRD, word.toLowerCase(), retVal.size()));
+        } else if (word.length() == 1 && ("%".equals(word) || "‰".equals(word))) {
+            retVal.add(new Token(word, POSTag.XZ1, word, retVal.size()));
+        } else if (entry != null && entry.isCurrencyCode()) {
+            retVal.add(new Token(word, POSTag.XZ2, entry.getWord(), retVal.size()));
+        } else if (this.lexicalResources.isCurrencySymbol(word)) {
+            retVal.add(new Token(word, POSTag.XZ2, word.toLowerCase(), retVal.size()));
+        } else if (entry != null && entry.isMeasuringUnit()) {
+            /**
+             * Many measures are single letters that could also be initials in names.
+             * If the word consists of a single letter, and this letter is capitalized,
+             * assume that this is maybe a measuring unit, or maybe an initial.
+             */
+            if (word.length() == 1 && !word.equals(entry.getWord())) {
+                Token token = new Token(word, null, null, retVal.size());
+                token.addAlternative(new Token(word, POSTag.XZ3, entry.getWord()));
+                token.addAlternative(new Token(word, POSTag.XXX, word));
+                retVal.add(token);
+            } else {
+                retVal.add(new Token(word, POSTag.XZ3, entry.getWord(), retVal.size()));
+            }
+        } else if (isTime(word, retVal)) {
+            /**
+             * Do nothing.
+             */
+        } else if (isNumericalExpression(word, retVal)) {
+            /**
+             * Do nothing.
+             */
+        } else {
+            Token token = NumberDetector.identify(word, retVal.size());
+            if (token == null) {
+                if (!isCompoundWord(word, retVal)) {
+                    if (word.length() == 1 && !Character.isLetterOrDigit(word.charAt(0))) {
+                        retVal.add(new Token(word, POSTag.XZ6, word, retVal.size()));
+                    } else {
+                        retVal.add(new Token(word, POSTag.XXX, word, retVal.size()));
+                    }
+                }
+            } else {
+                retVal.add(token);
+            }
+        }
+        
+    }
+
+    private boolean isKnown(List<Token> entries) {
+        boolean retVal = entries != null;
+        this.metrics.count(retVal ? Counters.LEXICON_HITS : Counters.LEXICON_MISSES, 1);
+        return retVal;
+    }
+
     private ArrayList<Object> resolveQuotes (ArrayList<String> sentence) throws Exception {
         
         ArrayList<Object> retVal = new ArrayList<>();
         
         for (String word : sentence) {
 
-            String cain = word.toLowerCase();
-
             if ("'".equals(word) || "\"".equals(word)) {
                 /**
                  * Simple quotes.
                  */
                 retVal.add(new Token(word, POSTag.XZ5, word, retVal.size()));
-            } else if (cain.endsWith("s'")) {
+            } else if (endsWithIgnoreCase(word, "s'")) {
                 /**
                  * Saxon genitive for plural.
                  */
                 word = word.substring(0, word.length() - 1);
                 retVal.add(word);
                 retVal.add(new Token("'", POSTag.POS, "'", retVal.size()));
-            } else if (cain.endsWith("'s")) {
+            } else if (endsWithIgnoreCase(word, "'s")) {
                 /**
                  * Saxon genitive for singular.
                  */
@@ -233,6 +281,10 @@ public final class Lemmatizer {
         
     }
     
+    private static boolean endsWithIgnoreCase(String word, String suffix) {
+        return word.regionMatches(true, word.length() - suffix.length(), suffix, 0, suffix.length());
+    }
+    
     private boolean insertImperialLength(String word, ArrayList<Object> retVal) {
 
         /**
@@ -277,49 +329,47 @@ public final class Lemmatizer {
         
     }
     
-    private boolean isNumericalExpression(String word, ArrayList<Token> tokens) throws Exception {
+    private boolean isNumericalExpression(String word, ArrayList<Token> tokens) {
         
-        NumericalExpressionDetector detector = (NumericalExpressionDetector) this.Numerator.newInstance();
-        if (detector.split(word.toCharArray())) {
-            switch (detector.getType()) {
-                case PERCENTAGE:
-                    if (detector.getCca()) tokens.add(new Token("~", POSTag.XZ6, "~", tokens.size()));
-                    if (detector.getPlusMinus()) tokens.add(new Token("±", POSTag.XZ6, "±", tokens.size()));
-                    tokens.add(new Token(detector.getNumberAsString(), POSTag.CRD, detector.getNumberAsString(), tokens.size()));
-                    tokens.add(new Token(detector.getSuffix(), POSTag.XZ1, detector.getSuffix(), tokens.size()));
-                    return true;
-                case CURRENCY:
-                    if (detector.getCca()) tokens.add(new Token("~", POSTag.XZ6, "~", tokens.size()));
-                    if (detector.getPlusMinus()) tokens.add(new Token("±", POSTag.XZ6, "±", tokens.size()));
-                    tokens.add(new Token(detector.getPrefix(), POSTag.XZ2, detector.getPrefix(), tokens.size()));
-                    tokens.add(new Token(detector.getNumberAsString(), POSTag.CRD, detector.getNumberAsString(), tokens.size()));
-                    return true;
-                case QUANTITY:
-                    if (detector.getCca()) tokens.add(new Token("~", POSTag.XZ6, "~", tokens.size()));
-                    if (detector.getPlusMinus()) tokens.add(new Token("±", POSTag.XZ6, "±", tokens.size()));
-                    tokens.add(new Token(detector.getNumberAsString(), POSTag.CRD, detector.getNumberAsString(), tokens.size()));
-                    tokens.add(new Token(detector.getSuffix(), POSTag.XZ3, detector.getSuffix(), tokens.size()));
-                    return true;
-                case NUMBER:
-                    if (detector.getCca()) tokens.add(new Token("~", POSTag.XZ6, "~", tokens.size()));
-                    if (detector.getPlusMinus()) tokens.add(new Token("±", POSTag.XZ6, "±", tokens.size()));
-                    tokens.add(new Token(detector.getNumberAsString(), POSTag.CRD, detector.getNumberAsString(), tokens.size()));
-                    return true;
-            }
+        NumericalExpression expression = this.numerator.detect(word);
+        if (expression == null) return false;
+        
+        if (expression.getCca()) tokens.add(new Token("~", POSTag.XZ6, "~", tokens.size()));
+        if (expression.getPlusMinus()) tokens.add(new Token("±", POSTag.XZ6, "±", tokens.size()));
+        
+        String number = expression.getNumberAsString();
+        switch (expression.getType()) {
+            case PERCENTAGE:
+                tokens.add(new Token(number, POSTag.CRD, number, tokens.size()));
+                tokens.add(new Token(expression.getSuffix(), POSTag.XZ1, expression.getSuffix(), tokens.size()));
+                break;
+            case CURRENCY:
+                tokens.add(new Token(expression.getPrefix(), POSTag.XZ2, expression.getPrefix(), tokens.size()));
+                tokens.add(new Token(number, POSTag.CRD, number, tokens.size()));
+                break;
+            case QUANTITY:
+                tokens.add(new Token(number, POSTag.CRD, number, tokens.size()));
+                tokens.add(new Token(expression.getSuffix(), POSTag.XZ3, expression.getSuffix(), tokens.size()));
+                break;
+            case NUMBER:
+                tokens.add(new Token(number, POSTag.CRD, number, tokens.size()));
+                break;
         }
-        return false;
+        
+        return true;
+        
     }
     
-    private boolean isCompoundWord(String word, String cain, ArrayList<Token> tokens) {
+    private boolean isCompoundWord(String word, ArrayList<Token> tokens) {
 
         if (word.contains("-")) {
-            String[] elts = cain.split("-");
+            String[] elts = word.toLowerCase().split("-");
             if (elts.length == 0) return false;
             String last = elts[elts.length - 1];
-            if (this.lexicon.isKnown(last)) {
-                Alternatives alternatives = this.lexicon.getAlternatives(last);
-                for (Token alternative : alternatives.getAlternatives()) {
-                    if (POSTag.VVN.equals(alternative.getPos()) || POSTag.VVG.equals(alternative.getPos())) {
+            List<Token> entries = this.lexicon.getEntries(last);
+            if (entries != null) {
+                for (Token entry : entries) {
+                    if (POSTag.VVN.equals(entry.getPos()) || POSTag.VVG.equals(entry.getPos())) {
                         Token token = new Token(word, POSTag.AJ0, word, tokens.size());
                         tokens.add(token);
                         return true;
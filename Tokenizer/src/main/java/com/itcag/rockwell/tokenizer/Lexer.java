@@ -20,11 +20,15 @@ package com.itcag.rockwell.tokenizer;
 
 import com.itcag.multilingual.LexicalResources;
 import com.itcag.multilingual.Lexicon;
+import com.itcag.multilingual.WordIndex;
 import com.itcag.rockwell.POSTag;
 import com.itcag.rockwell.lang.Token;
 
+import java.util.List;
+
 /**
  * <p>This class converts a single string representing a token into an instance of the {@link com.itcag.rockwell.lang.Token Token} class.</p>
+ * <p>Lexicon entries are shared by all threads, and adding a token as an alternative sets its index. Therefore, entries are never added to a sentence directly, only their per-sentence copies, which share everything derived from the entry (e.g., the lower case word), and add the index.</p>
  */
 public final class Lexer {
     
@@ -42,37 +46,50 @@ public final class Lexer {
      * @return Instance of the {@link com.itcag.rockwell.lang.Token Token} class.
      */
     public final Token getToken(String word, int index) {
-        
         String cain = word.toLowerCase();
+        return getToken(word, lexicon.getEntries(cain), this.lexicalResources.isCurrencyCode(cain), index);
+    }
+
+    /**
+     * Used when the word was already looked up in the {@link com.itcag.multilingual.WordIndex WordIndex}, so that it is not looked up in the lexicon again.
+     * @param word String representing a token,
+     * @param entries List containing the lexicon entries for the word. They are not modified.
+     * @param entry Instance of the {@link com.itcag.multilingual.WordIndex.Entry WordIndex.Entry} class for the word, or null if the word is not in the word index.
+     * @param index Integer holding the index position of the token in a sentence.
+     * @return Instance of the {@link com.itcag.rockwell.lang.Token Token} class.
+     */
+    public final Token getToken(String word, List<Token> entries, WordIndex.Entry entry, int index) {
+        return getToken(word, entries, entry != null && entry.isCurrencyCode(), index);
+    }
+    
+    private Token getToken(String word, List<Token> entries, boolean currencyCode, int index) {
         
-        if (lexicon.getAlternatives(cain).getAlternatives().size() == 1) {
-            Token alternative = lexicon.getAlternatives(cain).getAlternatives().get(0);
-            if (NumberDetector.getDigits(alternative.getLemma()) != null) {
+        if (entries.size() == 1) {
+            Token entry = entries.get(0);
+            if (NumberDetector.getDigits(entry.getLemma()) != null) {
                 Token retVal = new Token(word, null, null, index);
-                retVal.addAlternative(alternative);
-                retVal.addAlternative(new Token(word, POSTag.CRD, alternative.getLemma(), index));
+                retVal.addAlternative(new Token(entry, index));
+                retVal.addAlternative(new Token(word, POSTag.CRD, entry.getLemma(), index));
                 return retVal;
-            } else if (this.lexicalResources.isCurrencyCode(cain)) {
+            } else if (currencyCode) {
                 Token retVal = new Token(word, null, null, index);
-                retVal.addAlternative(alternative);
-                retVal.addAlternative(new Token(word, POSTag.XZ2, alternative.getLemma(), index));
+                retVal.addAlternative(new Token(entry, index));
+                retVal.addAlternative(new Token(word, POSTag.XZ2, entry.getLemma(), index));
                 return retVal;
             } else {
-                Token retVal = new Token(word, alternative.getPos(), alternative.getLemma(), index);
+                Token retVal = new Token(word, entry.getPos(), entry.getLemma(), index);
                 return retVal;
             }
         } else {
             Token retVal = new Token(word, null, null, index);
-            lexicon.getAlternatives(cain).getAlternatives().stream().map((alternative) -> {
-                retVal.addAlternative(alternative);
-                return alternative;
-            }).forEachOrdered((alternative) -> {
-                if (NumberDetector.getDigits(alternative.getLemma()) != null) {
-                    retVal.addAlternative(new Token(word, POSTag.CRD, alternative.getLemma(), index));
-                } else if (this.lexicalResources.isCurrencyCode(cain)) {
-                    retVal.addAlternative(new Token(word, POSTag.XZ2, alternative.getLemma(), index));
+            for (Token entry : entries) {
+                retVal.addAlternative(new Token(entry, index));
+                if (NumberDetector.getDigits(entry.getLemma()) != null) {
+                    retVal.addAlternative(new Token(word, POSTag.CRD, entry.getLemma(), index));
+                } else if (currencyCode) {
+                    retVal.addAlternative(new Token(word, POSTag.XZ2, entry.getLemma(), index));
                 }
-            });
+            }
             return retVal;
         }
         
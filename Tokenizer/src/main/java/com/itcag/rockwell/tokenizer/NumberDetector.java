@@ -27,7 +27,7 @@ import com.itcag.rockwell.lang.Token;
  */
 public final class NumberDetector {
 
-    public final static synchronized Token identify(String word, int index) {
+    public final static Token identify(String word, int index) {
         
         if (word.contains("-")) {
             return checkCompoundNumber(word, index);
@@ -163,7 +163,7 @@ public final class NumberDetector {
      * @param word String holding a word.
      * @return Long number if the word represents a number, or null if it doesn't.
      */
-    public static synchronized Long getDigits(String word) {
+    public static Long getDigits(String word) {
         switch (word.toLowerCase()) {
             case "zero":
                 return 0l;
@@ -20,6 +20,7 @@ package com.itcag.rockwell.tokenizer;
 
 import com.itcag.multilingual.Misspellings;
 import com.itcag.multilingual.Toklex;
+import com.itcag.multilingual.WordIndex;
 import com.itcag.util.punct.Locker;
 import com.itcag.util.punct.PunctuationToolbox;
 import com.itcag.util.txt.TextToolbox;
@@ -34,13 +35,19 @@ public final class Tokenizer {
     
     private final Locker locker;
     
-    private final Toklex toklex;
-    private final Misspellings misspellings;
+    private final WordIndex index;
 
     public Tokenizer(Toklex toklex, Misspellings misspellings) throws Exception {
+        this(WordIndex.getInstance(null, toklex, misspellings));
+    }
+    
+    /**
+     * @param index Instance of the {@link com.itcag.multilingual.WordIndex WordIndex} class that includes contractions and misspellings. It can be shared with the {@link Lemmatizer}.
+     * @throws Exception if anything goes wrong.
+     */
+    public Tokenizer(WordIndex index) throws Exception {
         this.locker = new Locker();
-        this.toklex = toklex;
-        this.misspellings = misspellings;
+        this.index = index;
     }
     
     /**
@@ -48,7 +55,7 @@ public final class Tokenizer {
      * @return Array list of strings - each representing a token.
      * @throws java.lang.Exception if anything goes wrong.
      */
-    public final synchronized ArrayList<String> tokenize(String sentence) throws Exception {
+    public final ArrayList<String> tokenize(String sentence) throws Exception {
         
         ArrayList<String> retVal = new ArrayList<>();
         
@@ -63,13 +70,7 @@ public final class Tokenizer {
              */
             token = this.locker.unlockEverything(token);
             
-            if (misspellings.contains(token)) token = misspellings.getReplacement(token);
-            
-            if (toklex.isRecognized(token.toLowerCase())) {
-                retVal.addAll(toklex.getReplacement(token.toLowerCase()));
-            } else {
-                retVal.add(token);
-            }
+            resolve(token, retVal);
         
         }
         
@@ -77,7 +78,7 @@ public final class Tokenizer {
     
     }
 
-    public final synchronized ArrayList<String> tokenizeInPipeline(StringBuilder sentence) throws Exception {
+    public final ArrayList<String> tokenizeInPipeline(StringBuilder sentence) throws Exception {
         
         ArrayList<String> retVal = new ArrayList<>();
         
@@ -90,13 +91,7 @@ public final class Tokenizer {
              */
             token = this.locker.unlockPunctuationOnly(token);
             
-            if (misspellings.contains(token)) token = misspellings.getReplacement(token);
-            
-            if (toklex.isRecognized(token.toLowerCase())) {
-                retVal.addAll(toklex.getReplacement(token.toLowerCase()));
-            } else {
-                retVal.add(token);
-            }
+            resolve(token, retVal);
         
         }
         
@@ -104,6 +99,30 @@ public final class Tokenizer {
     
     }
 
+    /**
+     * Corrects misspellings and expands contractions.
+     * The word is looked up once for both, and again only if it was corrected.
+     */
+    private void resolve(String token, ArrayList<String> retVal) {
+        
+        WordIndex.Entry entry = this.index.get(token);
+        
+        if (entry != null) {
+            String correction = entry.getCorrection(token);
+            if (correction != null) {
+                token = correction;
+                entry = this.index.get(token);
+            }
+        }
+        
+        if (entry != null && entry.isContraction()) {
+            retVal.addAll(entry.getContraction());
+        } else {
+            retVal.add(token);
+        }
+        
+    }
+    
     private ArrayList<String> getTokens(StringBuilder input) {
         
         TextToolbox.fixEmptySpaces(input);
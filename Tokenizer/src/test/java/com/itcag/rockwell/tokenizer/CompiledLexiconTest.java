@@ -0,0 +1,82 @@
+package com.itcag.rockwell.tokenizer;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishNumericalExpressionDetector;
+import com.itcag.english.EnglishToklex;
+import com.itcag.multilingual.CompiledLexicon;
+import com.itcag.multilingual.Loader;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.util.Printer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CompiledLexiconTest {
+    
+    @Test
+    public void testCompile() throws Exception {
+
+        File file = File.createTempFile("lexicon", ".bin");
+        file.deleteOnExit();
+        
+        long start = System.currentTimeMillis();
+        CompiledLexicon.compile(new Loader().load("english/lexicon"), file.getPath());
+        Printer.print("Compiled in " + (System.currentTimeMillis() - start) + " ms");
+        
+        start = System.currentTimeMillis();
+        CompiledLexicon compiled = CompiledLexicon.open(file.getPath());
+        Printer.print("Opened in " + (System.currentTimeMillis() - start) + " ms");
+        
+        assertSame(compiled, CompiledLexicon.open(file.getPath()));
+        
+        EnglishLexicon lexicon = EnglishLexicon.getInstance();
+        assertEquals(lexicon.getIndex().size(), compiled.size());
+        
+        for (Map.Entry<String, ArrayList<Token>> entry : lexicon.getIndex().entrySet()) {
+            assertTrue(compiled.isKnown(entry.getKey()));
+            assertEquals(toString(entry.getValue()), toString(compiled.getAlternatives(entry.getKey()).getAlternatives()));
+            assertEquals(toString(entry.getValue()), toString(new ArrayList<>(compiled.getEntries(entry.getKey()))));
+            String upperCase = WordIndexTest.toUpperCase(entry.getKey());
+            if (upperCase != null) assertEquals(toString(entry.getValue()), toString(new ArrayList<>(compiled.getLowerCaseEntries(upperCase))));
+        }
+        
+        assertFalse(compiled.isKnown("xyzzyq"));
+        assertNull(compiled.getAlternatives("xyzzyq").getAlternatives());
+        assertNull(compiled.getEntries("xyzzyq"));
+        assertNull(compiled.getLowerCaseEntries("XYZZYQ"));
+        
+        assertEquals(lexicon.getIndex().size(), compiled.getIndex().size());
+        
+        Tokenizer tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        Lemmatizer expected = new Lemmatizer(lexicon, EnglishNumericalExpressionDetector.class);
+        Lemmatizer lemmatizer = new Lemmatizer(compiled, EnglishNumericalExpressionDetector.class);
+        
+        String test = "The firm raised capital from investors, and the analysts were hardly surprised.";
+        ArrayList<String> stringTokens = tokenizer.tokenize(test);
+        ArrayList<Token> tokens = lemmatizer.lemmatize(stringTokens);
+        assertEquals(toString(expected.lemmatize(tokenizer.tokenize(test))), toString(tokens));
+        Printer.print(toString(tokens));
+        
+    }
+    
+    private static String toString(ArrayList<Token> tokens) {
+        StringBuilder retVal = new StringBuilder();
+        for (Token token : tokens) {
+            if (retVal.length() > 0) retVal.append(" ");
+            retVal.append(token.getWord()).append("/").append(token.getPos()).append("/").append(token.getLemma());
+            if (token.getAlternatives() != null && !token.getAlternatives().isEmpty()) retVal.append("[").append(toString(token.getAlternatives())).append("]");
+        }
+        return retVal.toString();
+    }
+    
+}
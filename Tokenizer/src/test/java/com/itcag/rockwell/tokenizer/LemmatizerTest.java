@@ -4,11 +4,24 @@ import com.itcag.english.EnglishLexicon;
 import com.itcag.english.EnglishMisspellings;
 import com.itcag.english.EnglishNumericalExpressionDetector;
 import com.itcag.english.EnglishToklex;
+import com.itcag.multilingual.NumericalExpression;
+import com.itcag.multilingual.NumericalExpressionDetector;
 import com.itcag.rockwell.lang.Token;
 import com.itcag.rockwell.util.TokenPrinter;
 import com.itcag.util.Printer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -33,4 +46,111 @@ public class LemmatizerTest {
         
     }
     
+    @Test
+    public void testConcurrentLemmatize() throws Exception {
+
+        String test = "The firm raised capital from investors, and the analysts were hardly surprised by the well-rounded offer.";
+        
+        Tokenizer tokenizer = new Tokenizer(EnglishToklex.getInstance(), EnglishMisspellings.getInstance());
+        
+        Lemmatizer lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+        
+        String expected = toString(lemmatizer.lemmatize(tokenizer.tokenize(test)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            ArrayList<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                /**
+                 * Every sentence is prefixed by a different number of words, so that concurrent sentences assign different indices to the same words.
+                 */
+                StringBuilder prefix = new StringBuilder();
+                for (int j = 0; j < i % 8; j++) prefix.append("Well, ");
+                int shift = (i % 8) * 2;
+                String sentence = prefix.toString() + test;
+                results.add(executor.submit(() -> {
+                    ArrayList<Token> tokens = lemmatizer.lemmatize(tokenizer.tokenize(sentence));
+                    return toString(new ArrayList<>(tokens.subList(shift, tokens.size())), shift);
+                }));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        /**
+         * Lexicon entries are shared, so sentences only ever receive their copies.
+         */
+        List<Token> entries = EnglishLexicon.getInstance().getEntries("raised");
+        for (Token entry : entries) {
+            assertNull(entry.getIndex());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> entries.add(new Token("raised", null, null)));
+        
+        Printer.print(expected);
+        
+    }
+    
+    @Test
+    public void testNumericalExpressions() throws Exception {
+        
+        NumericalExpressionDetector detector = new EnglishNumericalExpressionDetector();
+        
+        NumericalExpression expression = detector.detect("$15");
+        assertEquals(NumericalExpressionDetector.Type.CURRENCY, expression.getType());
+        assertEquals("$", expression.getPrefix());
+        assertEquals(15.0, expression.getNumber().doubleValue());
+        
+        expression = detector.detect("~5%");
+        assertEquals(NumericalExpressionDetector.Type.PERCENTAGE, expression.getType());
+        assertTrue(expression.getCca());
+        assertFalse(expression.getPlusMinus());
+        
+        expression = detector.detect("±3kg");
+        assertEquals(NumericalExpressionDetector.Type.QUANTITY, expression.getType());
+        assertEquals("kg", expression.getSuffix());
+        assertTrue(expression.getPlusMinus());
+        
+        assertEquals(-7.0, detector.detect("-7").getNumber().doubleValue());
+        assertEquals(12500.0, detector.detect("12,500").getNumber().doubleValue());
+        assertEquals(5000.0, detector.detect("5k").getNumber().doubleValue());
+        
+        /**
+         * Only the specified range is scanned.
+         */
+        expression = detector.detect("price: $20;", 7, 10);
+        assertEquals(NumericalExpressionDetector.Type.CURRENCY, expression.getType());
+        assertEquals(20.0, expression.getNumber().doubleValue());
+        
+        assertNull(detector.detect("5kg5"));
+        assertNull(detector.detect("x15"));
+        assertNull(detector.detect("15xyz"));
+        assertNull(detector.detect("1-2"));
+        
+        Lemmatizer lemmatizer = new Lemmatizer(EnglishLexicon.getInstance(), EnglishNumericalExpressionDetector.class);
+        ArrayList<String> words = new ArrayList<>(Arrays.asList("about", "~5%", "of", "$15", "or", "±3kg"));
+        ArrayList<Token> tokens = lemmatizer.lemmatize(words);
+        TokenPrinter.printTokensWithPOS(tokens);
+        assertEquals(11, tokens.size());
+        
+    }
+    
+    private static String toString(ArrayList<Token> tokens) {
+        return toString(tokens, 0);
+    }
+    
+    private static String toString(ArrayList<Token> tokens, int shift) {
+        StringBuilder retVal = new StringBuilder();
+        for (Token token : tokens) {
+            if (retVal.length() > 0) retVal.append(" ");
+            retVal.append(token.getWord()).append("/").append(token.getPos()).append("/").append(token.getIndex() - shift);
+            for (Token alternative : token.getAlternatives()) {
+                retVal.append("|").append(alternative.getPos()).append("/").append(alternative.getLemma()).append("/").append(alternative.getIndex() - shift);
+            }
+        }
+        return retVal.toString();
+    }
+    
 }
@@ -0,0 +1,146 @@
+package com.itcag.rockwell.tokenizer;
+
+import com.itcag.english.EnglishLexicon;
+import com.itcag.english.EnglishMisspellings;
+import com.itcag.english.EnglishToklex;
+import com.itcag.multilingual.LexicalResources;
+import com.itcag.multilingual.Lexicon;
+import com.itcag.multilingual.WordIndex;
+import com.itcag.rockwell.lang.Alternatives;
+import com.itcag.rockwell.lang.Token;
+import com.itcag.util.Printer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class WordIndexTest {
+    
+    @Test
+    public void testLookup() throws Exception {
+        
+        EnglishLexicon lexicon = EnglishLexicon.getInstance();
+        EnglishToklex toklex = EnglishToklex.getInstance();
+        EnglishMisspellings misspellings = EnglishMisspellings.getInstance();
+        LexicalResources lexicalResources = LexicalResources.getInstance();
+        
+        long start = System.currentTimeMillis();
+        WordIndex index = WordIndex.getInstance(lexicon, toklex, misspellings);
+        Printer.print("Built in " + (System.currentTimeMillis() - start) + " ms");
+        
+        assertSame(index, WordIndex.getInstance(lexicon, toklex, misspellings));
+        
+        for (String word : lexicon.getIndex().keySet()) {
+            String upperCase = toUpperCase(word);
+            if (upperCase == null) continue;
+            /**
+             * The shared entries of the lexicon are returned, not copies.
+             */
+            assertSame(lexicon.getEntries(word), index.getEntries(upperCase));
+            assertSame(lexicon.getEntries(word), index.getEntries(new StringBuilder(word)));
+            WordIndex.Entry entry = index.get(upperCase);
+            if (entry == null) {
+                assertFalse(lexicalResources.isCurrencyCode(word) || lexicalResources.isMeasuringUnit(word) || toklex.isRecognized(word), word);
+                continue;
+            }
+            assertEquals(word, entry.getWord());
+            assertEquals(lexicalResources.isCurrencyCode(word), entry.isCurrencyCode());
+            assertEquals(lexicalResources.isMeasuringUnit(word), entry.isMeasuringUnit());
+            assertEquals(toklex.isRecognized(word), entry.isContraction());
+        }
+        
+        for (Map.Entry<String, ArrayList<String>> contraction : toklex.getIndex().entrySet()) {
+            WordIndex.Entry entry = index.get(new StringBuilder(contraction.getKey()));
+            assertTrue(entry.isContraction());
+            assertSame(contraction.getValue(), entry.getContraction());
+        }
+        
+        for (Map.Entry<String, String> misspelling : misspellings.getIndex().entrySet()) {
+            WordIndex.Entry entry = index.get(misspelling.getKey());
+            assertEquals(misspelling.getValue(), entry.getCorrection(misspelling.getKey()));
+            /**
+             * Misspellings are case-sensitive.
+             */
+            if (!misspellings.contains(misspelling.getKey().toUpperCase())) assertNull(entry.getCorrection(misspelling.getKey().toUpperCase()));
+        }
+        
+        assertTrue(index.get("USD").isCurrencyCode());
+        assertNull(index.getEntries("USD"));
+        assertNull(index.get("xyzzyq"));
+        assertNull(index.getEntries("xyzzyq"));
+        
+        /**
+         * The index of the tokenizer does not include a lexicon.
+         */
+        assertNull(WordIndex.getInstance(null, toklex, misspellings).getEntries("raised"));
+        
+    }
+    
+    @Test
+    public void testLexiconNotCopied() throws Exception {
+        
+        EnglishLexicon lexicon = EnglishLexicon.getInstance();
+        
+        /**
+         * The index must answer from the lexicon instead of copying it.
+         */
+        Lexicon uncopyable = new Lexicon() {
+            
+            @Override
+            public HashMap<String, ArrayList<Token>> getIndex() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean isKnown(String word) {
+                return lexicon.isKnown(word);
+            }
+
+            @Override
+            public Alternatives getAlternatives(String word) {
+                return lexicon.getAlternatives(word);
+            }
+
+            @Override
+            public List<Token> getEntries(String word) {
+                return lexicon.getEntries(word);
+            }
+            
+        };
+        
+        WordIndex index = WordIndex.getInstance(uncopyable, null, null);
+        
+        assertSame(lexicon.getEntries("raised"), index.getEntries("Raised"));
+        assertNull(index.get("Raised"));
+        
+        assertTrue(index.get("KG").isMeasuringUnit());
+        assertEquals(lexicon.isKnown("kg"), index.getEntries("KG") != null);
+        
+        assertNull(index.get("xyzzyq"));
+        assertNull(index.getEntries("xyzzyq"));
+        
+    }
+    
+    /**
+     * @return String holding the word in upper case, or null if its upper case characters do not convert back to the word.
+     */
+    static String toUpperCase(String word) {
+        StringBuilder retVal = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toUpperCase(word.charAt(i));
+            if (Character.toLowerCase(c) != word.charAt(i)) return null;
+            retVal.append(c);
+        }
+        return retVal.toString();
+    }
+    
+}
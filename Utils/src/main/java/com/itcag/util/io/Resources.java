@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.util.io;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>This class is the registry of the resources bundled with the Rockwell modules (e.g., the lexicon, abbreviations or patterns).</p>
+ * <p>Bundled text files are read by the {@link #read(java.lang.Class, java.lang.String)} method from the folder next to the JAR of the module that owns them. Resources that are built from these files (e.g., singletons holding lexical resources) are built by the {@link #load(java.lang.String, java.util.concurrent.Callable)} method. Both methods record how long each resource took to load (see {@link #getTimings()}).</p>
+ * <p>Resources are loaded lazily, on first use. Applications that must be ready as soon as they start (e.g., worker pods behind a readiness probe) can pass the loaders of the resources they need to the {@link #warmUp(int, java.util.Map)} method, which loads them concurrently. The loaders are not kept afterwards.</p>
+ */
+public final class Resources {
+
+    /**
+     * Key is the name of a resource and value is the time in milliseconds it took to load, in the order of loading.
+     */
+    private final static LinkedHashMap<String, Long> TIMINGS = new LinkedHashMap<>();
+    
+    private Resources() {
+    }
+    
+    /**
+     * @param owner Class belonging to the module that bundles the resource.
+     * @param resource String holding the name of the bundled text file.
+     * @return String holding the local path to that file.
+     * @throws Exception if anything goes wrong.
+     */
+    public static String getPath(Class<?> owner, String resource) throws Exception {
+        String path2JAR = owner.getProtectionDomain().getCodeSource().getLocation().toURI().getPath();
+        String location = path2JAR.substring(0, path2JAR.lastIndexOf("/"));
+        if (!location.endsWith("/")) location += "/";
+        return location + resource;
+    }
+    
+    /**
+     * @param owner Class belonging to the module that bundles the resource.
+     * @param resource String holding the name of the bundled text file.
+     * @return Array list containing trimmed lines in that file. Empty lines and lines starting with # are skipped.
+     * @throws Exception if anything goes wrong.
+     */
+    public static ArrayList<String> read(Class<?> owner, String resource) throws Exception {
+        
+        long start = System.nanoTime();
+        
+        ArrayList<String> retVal = new ArrayList<>();
+
+        ArrayList<String> lines = TextFileReader.read(getPath(owner, resource));
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            if (line.startsWith("#")) continue;
+            retVal.add(line);
+        }
+        
+        record(resource, start);
+    
+        return retVal;
+        
+    }
+    
+    /**
+     * Builds a resource and records how long it took.
+     * @param name String holding the name under which the timing is recorded.
+     * @param loader Function building the resource.
+     * @return The resource.
+     * @throws Exception if the resource cannot be built.
+     */
+    public static <T> T load(String name, Callable<T> loader) throws Exception {
+        long start = System.nanoTime();
+        T retVal = loader.call();
+        record(name, start);
+        return retVal;
+    }
+    
+    private static void record(String name, long start) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (TIMINGS) {
+            /**
+             * Resources that are read more than once keep the latest timing at their latest position.
+             */
+            TIMINGS.remove(name);
+            TIMINGS.put(name, millis);
+        }
+    }
+    
+    /**
+     * @return Map whose keys are the names of the loaded resources, and values the time in milliseconds it took to load them, in the order in which they were loaded.
+     */
+    public static Map<String, Long> getTimings() {
+        synchronized (TIMINGS) {
+            return new LinkedHashMap<>(TIMINGS);
+        }
+    }
+    
+    /**
+     * Loads resources concurrently, and waits until they are loaded.
+     * The threads of the startup pool are discarded afterwards.
+     * @param parallelism Integer specifying the number of threads that load resources.
+     * @param loaders Map whose keys are the names of the resources, and values the functions loading them (e.g., the <i>getInstance</i> method of a singleton). A loader should return the instance already loaded if there is one. Its timing is recorded only if it calls the {@link #load(java.lang.String, java.util.concurrent.Callable)} method, so that a resource is not recorded twice under different names.
+     * @throws Exception the first exception thrown by a loader, after all loaders finished.
+     */
+    public static void warmUp(int parallelism, Map<String, Callable<?>> loaders) throws Exception {
+        
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        
+        if (loaders.isEmpty()) return;
+        
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, loaders.size()), (runnable) -> {
+            Thread retVal = new Thread(runnable, "rockwell-warm-up-" + counter.incrementAndGet());
+            retVal.setDaemon(true);
+            return retVal;
+        });
+        
+        try {
+            
+            ArrayList<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<String, Callable<?>> loader : loaders.entrySet()) {
+                futures.add(pool.submit(loader.getValue()));
+            }
+            
+            Exception failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) failure = (ex.getCause() instanceof Exception) ? (Exception) ex.getCause() : ex;
+                }
+            }
+            if (failure != null) throw failure;
+            
+        } finally {
+            pool.shutdown();
+        }
+        
+    }
+    
+}
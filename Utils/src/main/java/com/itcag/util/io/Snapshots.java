@@ -0,0 +1,263 @@
+/*
+ *
+ * Copyright 2020 IT Consulting AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.itcag.util.io;
+
+import com.itcag.util.Printer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+/**
+ * <p>This class stores precompiled resources (e.g., parsed Rockwell expressions or lexicons) in binary snapshots, so that they can be restored quickly instead of being parsed again when the application starts.</p>
+ * <p>Every resource has a single snapshot, named after the resource. The snapshot carries the fingerprint of the source it was compiled from. A snapshot whose fingerprint differs from the fingerprint of the current source is ignored and overwritten, so that snapshots never need to be invalidated manually, and superseded snapshots do not accumulate.</p>
+ * <p>Snapshots are disabled unless a directory is specified either by setting the <i>rockwell.snapshots</i> system property, or by calling the {@link #setDirectory(java.lang.String)} method. The directory applies to the whole process, because the resources stored in snapshots are shared by the whole process as well. Restored resources are trusted, so the directory must not be writable by untrusted parties.</p>
+ */
+public final class Snapshots {
+
+    /**
+     * Name of the system property holding the snapshot directory.
+     */
+    public final static String DIRECTORY_PROPERTY = "rockwell.snapshots";
+
+    private final static int MAGIC = 0x524b5753;
+    private final static int VERSION = 1;
+
+    private final static String EXTENSION = ".snapshot";
+
+    private final static byte[] NEW_LINE = {'\n'};
+
+    private static volatile Path directory = getDefaultDirectory();
+
+    /**
+     * Reads the payload of a snapshot.
+     */
+    public interface SnapshotReader<T> {
+        T read(DataInputStream input) throws Exception;
+    }
+
+    /**
+     * Writes the payload of a snapshot.
+     */
+    public interface SnapshotWriter {
+        void write(DataOutputStream output) throws Exception;
+    }
+
+    private static Path getDefaultDirectory() {
+        String path = System.getProperty(DIRECTORY_PROPERTY);
+        if (path == null || path.trim().isEmpty()) return null;
+        return Paths.get(path.trim());
+    }
+
+    /**
+     * Sets the directory in which snapshots are stored. This setting applies to all resources loaded afterwards by any thread, so it should be called once, when the application starts.
+     * @param path String holding a local path to a directory. It is created if it does not exist. Null disables snapshots.
+     * @throws Exception if the directory cannot be created.
+     */
+    public static void setDirectory(String path) throws Exception {
+        if (path == null) {
+            directory = null;
+        } else {
+            Path dir = Paths.get(path);
+            Files.createDirectories(dir);
+            directory = dir;
+        }
+    }
+
+    /**
+     * @return Boolean indicating whether a snapshot directory was specified.
+     */
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * @param lines Collection of strings holding the source of a resource.
+     * @return String holding the fingerprint of the source.
+     */
+    public static String getFingerprint(Collection<String> lines) {
+        Fingerprint retVal = new Fingerprint();
+        for (String line : lines) {
+            retVal.update(line.getBytes(StandardCharsets.UTF_8));
+            retVal.update(NEW_LINE);
+        }
+        return retVal.toString();
+    }
+
+    /**
+     * @param filePath String holding a local path to the source file of a resource.
+     * @return String holding the fingerprint of the file content.
+     * @throws Exception if anything goes wrong.
+     */
+    public static String getFingerprint(String filePath) throws Exception {
+        Fingerprint retVal = new Fingerprint();
+        retVal.update(Files.readAllBytes(Paths.get(filePath)));
+        return retVal.toString();
+    }
+
+    /**
+     * Combines two independent 32-bit checksums with the length of the source.
+     * Unlike cryptographic digests, these checksums are cheap on a cold JVM, which is when snapshots are read.
+     */
+    private final static class Fingerprint {
+
+        private final CRC32 crc = new CRC32();
+        private final Adler32 adler = new Adler32();
+        private long length = 0;
+
+        private void update(byte[] bytes) {
+            this.crc.update(bytes, 0, bytes.length);
+            this.adler.update(bytes, 0, bytes.length);
+            this.length += bytes.length;
+        }
+
+        @Override
+        public String toString() {
+            return Long.toHexString(this.crc.getValue()) + "-" + Long.toHexString(this.adler.getValue()) + "-" + Long.toHexString(this.length);
+        }
+
+    }
+
+    /**
+     * Memory-maps the snapshot file and passes its payload to the reader.
+     * @param name String holding the name of the snapshot.
+     * @param fingerprint String holding the fingerprint of the current source.
+     * @param reader Function restoring the resource from the payload.
+     * @return The restored resource, or null if snapshots are disabled, or no valid snapshot exists for this fingerprint.
+     */
+    public static <T> T read(String name, String fingerprint, SnapshotReader<T> reader) {
+
+        Path dir = directory;
+        if (dir == null) return null;
+
+        Path file = dir.resolve(getFileName(name) + EXTENSION);
+        if (!Files.isRegularFile(file)) return null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            DataInputStream input = new DataInputStream(new ByteBufferInputStream(buffer));
+
+            if (input.readInt() != MAGIC) return null;
+            if (input.readInt() != VERSION) return null;
+            if (!fingerprint.equals(input.readUTF())) return null;
+
+            return reader.read(input);
+
+        } catch (Exception ex) {
+            /**
+             * A corrupt or incompatible snapshot is treated as a missing one.
+             */
+            return null;
+        }
+
+    }
+
+    /**
+     * Writes a snapshot, which replaces the previous snapshot of the same resource. The file is replaced atomically, so that concurrent readers never see a partially written snapshot.
+     * Nothing is written if snapshots are disabled.
+     * A snapshot that cannot be written is reported and skipped: the resource was already compiled, and is merely compiled again the next time.
+     * @param name String holding the name of the snapshot.
+     * @param fingerprint String holding the fingerprint of the source.
+     * @param writer Function writing the payload.
+     * @return Boolean indicating whether the snapshot was written.
+     */
+    public static boolean write(String name, String fingerprint, SnapshotWriter writer) {
+
+        Path dir = directory;
+        if (dir == null) return false;
+
+        try {
+            
+            Files.createDirectories(dir);
+
+            Path file = dir.resolve(getFileName(name) + EXTENSION);
+            Path temp = Files.createTempFile(dir, getFileName(name), ".tmp");
+
+            try {
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(VERSION);
+                    output.writeUTF(fingerprint);
+                    writer.write(output);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            
+            return true;
+            
+        } catch (Exception ex) {
+            Printer.print("Snapshot " + name + " was not written: " + ex);
+            return false;
+        }
+
+    }
+
+    /**
+     * Names of resources may be paths to their source files, so characters that cannot be used in a file name are replaced.
+     */
+    private static String getFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private final static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!this.buffer.hasRemaining()) return -1;
+            return this.buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!this.buffer.hasRemaining()) return -1;
+            length = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+    }
+
+}
@@ -18,9 +18,12 @@
 
 package com.itcag.util.punct;
 
+import com.itcag.util.io.Resources;
 import com.itcag.util.txt.TextToolbox;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * <p>This class loads and stores a list of most frequently encountered abbreviations.</p>
@@ -39,25 +42,25 @@ public final class Abbreviations {
         if (instance == null) {
             synchronized(Abbreviations.class) {
                 if (instance == null) {
-                    instance = new Abbreviations();
+                    instance = Resources.load("Abbreviations", Abbreviations::new);
                 }
             }
         }
         return instance;
     } 
     
-    private final ArrayList<String> abbreviations;
+    private final Set<String> abbreviations;
 
     private Abbreviations() throws Exception {
         Loader loader = new Loader();
-        this.abbreviations = loader.load("abbreviations");
+        this.abbreviations = Collections.unmodifiableSet(new HashSet<>(loader.load("abbreviations")));
     }
 
     /**
      * This method "locks" abbreviations by replacing period characters in it with non-printable characters. This ensures that the abbreviation will be treated as single words during splitting and tokenizing. 
      * @param input String builder holding text.
      */
-    public final synchronized void lock(StringBuilder input) {
+    public final void lock(StringBuilder input) {
         
         input.append(" ");
         
@@ -93,7 +96,7 @@ public final class Abbreviations {
      * This method "unlocks" locked text by replacing the inserted non-printable characters with the periods.
      * @param input String builder holding text.
      */
-    public final synchronized void unlock(StringBuilder input) {
+    public final void unlock(StringBuilder input) {
         TextToolbox.replaceCaIn(input, Characters.ABBREVIATION.getReplacement(), ".");
     }
 
@@ -102,7 +105,7 @@ public final class Abbreviations {
      * @param input String holding text.
      * @return Unlocked text.
      */
-    public final synchronized String unlock(String input) {
+    public final String unlock(String input) {
         return TextToolbox.replaceCaIn(input, Characters.ABBREVIATION.getReplacement(), ".");
     }
     
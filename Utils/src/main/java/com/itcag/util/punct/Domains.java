@@ -18,9 +18,12 @@
 
 package com.itcag.util.punct;
 
+import com.itcag.util.io.Resources;
 import com.itcag.util.txt.TextToolbox;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * <p>This class loads and stores a list of most frequently encountered top-level Internet domains.</p>
@@ -39,25 +42,25 @@ public final class Domains {
         if (instance == null) {
             synchronized(Domains.class) {
                 if (instance == null) {
-                    instance = new Domains();
+                    instance = Resources.load("Domains", Domains::new);
                 }
             }
         }
         return instance;
     } 
     
-    private final ArrayList<String> domains;
+    private final Set<String> domains;
 
     private Domains() throws Exception {
         Loader loader = new Loader();
-        this.domains = loader.load("domains");
+        this.domains = Collections.unmodifiableSet(new HashSet<>(loader.load("domains")));
     }
 
     /**
      * This method "locks" names with a top-level Internet domain as an integral part by replacing period characters in it with non-printable characters. This ensures that the abbreviation will be treated as single words during splitting and tokenizing. 
      * @param input String builder holding text.
      */
-    public final synchronized void lock(StringBuilder input) {
+    public final void lock(StringBuilder input) {
               
         int start = input.indexOf(".");
         if (start == -1) return;
@@ -98,7 +101,7 @@ public final class Domains {
      * This method "unlocks" locked text by replacing the inserted non-printable characters with the periods.
      * @param input String builder holding text.
      */
-    public final synchronized void unlock(StringBuilder input) {
+    public final void unlock(StringBuilder input) {
         TextToolbox.replaceCaIn(input, Characters.DOMAIN.getReplacement(), ".");
     }
 
@@ -107,7 +110,7 @@ public final class Domains {
      * @param input String holding text.
      * @return Unlocked text.
      */
-    public final synchronized String unlock(String input) {
+    public final String unlock(String input) {
         return TextToolbox.replaceCaIn(input, Characters.DOMAIN.getReplacement(), ".");
     }
     
@@ -44,7 +44,7 @@ public final class Locker {
      * @param input String builder holding the original text.
      * @throws Exception if anything goes wrong.
      */
-    public final synchronized void lock(StringBuilder input) throws Exception {
+    public final void lock(StringBuilder input) throws Exception {
         
         this.urlDetector.lock(input);
         this.emailDetector.lock(input);
@@ -61,7 +61,7 @@ public final class Locker {
         
     }
 
-    public final synchronized String lock(String input) throws Exception {
+    public final String lock(String input) throws Exception {
         StringBuilder retVal = new StringBuilder(input);
         this.lock(retVal);
         return retVal.toString();
@@ -171,19 +171,19 @@ public final class Locker {
         TextToolbox.replace(input, Characters.HYPHEN.getReplacement(), "-");
     }
     
-    public final synchronized boolean isURL(String input) {
+    public final boolean isURL(String input) {
         return this.urlDetector.isThisTokenLockedURL(input);
     }
     
-    public final synchronized String unlockURL(String input) {
+    public final String unlockURL(String input) {
         return this.urlDetector.unlock(input);
     }
     
-    public final synchronized boolean isEmail(String input) {
+    public final boolean isEmail(String input) {
         return this.emailDetector.isThisTokenLockedEmail(input);
     }
     
-    public final synchronized String unlockEmail(String input) {
+    public final String unlockEmail(String input) {
         return this.emailDetector.unlock(input);
     }
     
@@ -192,7 +192,7 @@ public final class Locker {
      * @param input String holding text.
      * @return Unlocked text.
      */
-    public final synchronized String unlockAbbreviation(String input) {
+    public final String unlockAbbreviation(String input) {
         return TextToolbox.replaceCaIn(input, Characters.ABBREVIATION.getReplacement(), ".");
     }
     
@@ -201,7 +201,7 @@ public final class Locker {
      * @param input String holding text.
      * @return Unlocked text.
      */
-    public final synchronized String unlockAcronym(String input) {
+    public final String unlockAcronym(String input) {
         return TextToolbox.replaceCaIn(input, Characters.ACRONYM.getReplacement(), ".");
     }
     
@@ -210,7 +210,7 @@ public final class Locker {
      * @param input String holding text.
      * @return Unlocked text.
      */
-    public final synchronized String unlockDomain(String input) {
+    public final String unlockDomain(String input) {
         return TextToolbox.replaceCaIn(input, Characters.DOMAIN.getReplacement(), ".");
     }
     
@@ -28,7 +28,7 @@ public final class Punctuation {
     /**
      * @param input string builder holding text to be normalized. 
      */
-    public final static synchronized void normalize(StringBuilder input) {
+    public final static void normalize(StringBuilder input) {
         
         if (TextToolbox.isEmpty(input)) return;
 
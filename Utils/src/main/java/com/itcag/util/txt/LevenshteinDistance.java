@@ -28,7 +28,7 @@ public final class LevenshteinDistance {
      * @param right String to be compared.
      * @return Integer indicating how different the two strings are (between 0 for identical strings and the length of longer string if strings have nothing in common).
      */
-    public final static synchronized int LevenshteinDistance (String left, String right) {
+    public final static int LevenshteinDistance (String left, String right) {
 
         int leftLength = left.length() + 1;
         int rightLength = right.length() + 1;
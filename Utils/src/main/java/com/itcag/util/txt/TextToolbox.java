@@ -34,7 +34,7 @@ public final class TextToolbox {
      * @param input String to evaluate.
      * @return Boolean indicating whether the input string is null or empty.
      */
-    public final static synchronized boolean isEmpty(String input) {
+    public final static boolean isEmpty(String input) {
         return input == null || input.isEmpty();
     }
     
@@ -43,7 +43,7 @@ public final class TextToolbox {
      * @param input String to evaluate.
      * @return Boolean indicating whether the input string is null or empty.
      */
-    public final static synchronized boolean isReallyEmpty(String input) {
+    public final static boolean isReallyEmpty(String input) {
         if (input == null) return true;
         input = input.trim();
         return input.isEmpty();
@@ -55,7 +55,7 @@ public final class TextToolbox {
      * @param query String holding the query.
      * @return Boolean indicating whether query is contained in the text.
      */
-    public final static synchronized boolean containsCaIn(String text, String query)  {
+    public final static boolean containsCaIn(String text, String query)  {
         return text.toLowerCase().contains(query.toLowerCase());
     }
 
@@ -65,7 +65,7 @@ public final class TextToolbox {
      * @param searchStr String holding the query.
      * @return Boolean indicating whether the text starts with the query.
      */
-    public final static synchronized boolean startsWithCaIn(String text, String searchStr)  {
+    public final static boolean startsWithCaIn(String text, String searchStr)  {
         return text.toLowerCase().startsWith(searchStr.toLowerCase());
     }
 
@@ -75,7 +75,7 @@ public final class TextToolbox {
      * @param searchStr String holding the query.
      * @return Boolean indicating whether the text ends with the query.
      */
-    public final static synchronized boolean endsWithCaIn(String text, String searchStr)  {
+    public final static boolean endsWithCaIn(String text, String searchStr)  {
         return text.toLowerCase().endsWith(searchStr.toLowerCase());
     }
 
@@ -85,7 +85,7 @@ public final class TextToolbox {
      * @param query String holding the query.
      * @return Integer indicating the index position of the query in the text..
      */
-    public final static synchronized int indexOfCaIn(String text, String query)  {
+    public final static int indexOfCaIn(String text, String query)  {
         return text.toLowerCase().indexOf(query.toLowerCase());
     }
     
@@ -95,7 +95,7 @@ public final class TextToolbox {
      * @param query String holding the query.
      * @return Integer indicating the last index position of the query in the text..
      */
-    public final static synchronized int lastIndexOfCaIn(String text, String query)  {
+    public final static int lastIndexOfCaIn(String text, String query)  {
         return text.toLowerCase().lastIndexOf(query.toLowerCase());
     }
 
@@ -106,7 +106,7 @@ public final class TextToolbox {
      * @param replacement String holding the text that is to replace.
      * @return String holding the original string after replacing.
      */
-    public final static synchronized String replace(String text, String query, String replacement) {
+    public final static String replace(String text, String query, String replacement) {
         if (TextToolbox.isEmpty(text) || TextToolbox.isEmpty(query) || replacement == null) {
             return text;
         }
@@ -136,7 +136,7 @@ public final class TextToolbox {
      * @param replacement String holding the text that is to replace.
      * @return String holding the original string after replacing.
      */
-    public final static synchronized String replaceCaIn(String text, String query, String replacement) {
+    public final static String replaceCaIn(String text, String query, String replacement) {
         if (TextToolbox.isEmpty(text) || TextToolbox.isEmpty(query) || replacement == null) {
             return text;
         }
@@ -175,7 +175,7 @@ public final class TextToolbox {
      * @param replacement String holding the replacement text.
      * @return String holding the original string after replacing.
      */
-    public final static synchronized String replaceWithin(String text, String primaryQuery, String secondaryQuery, String replacement) {
+    public final static String replaceWithin(String text, String primaryQuery, String secondaryQuery, String replacement) {
         if (TextToolbox.isEmpty(text) || TextToolbox.isEmpty(primaryQuery) || replacement == null) {
             return text;
         }
@@ -210,7 +210,7 @@ public final class TextToolbox {
      * @param right String holding the right (closing) parenthesis.
      * @return String holding the original text without parentheses and the text enclosed in them.
      */
-    public final static synchronized String removeParentheses(String text, String left, String right) {
+    public final static String removeParentheses(String text, String left, String right) {
         
         if (isReallyEmpty(text)) return text;
         
@@ -258,7 +258,7 @@ public final class TextToolbox {
      * @param right String holding the right (closing) parenthesis.
      * @return Array list containing the extracted texts.
      */
-    public final static synchronized ArrayList<String> extractParentheses(String text, String left, String right) {
+    public final static ArrayList<String> extractParentheses(String text, String left, String right) {
         
         ArrayList<String> retVal = new ArrayList<>();
         
@@ -304,7 +304,7 @@ public final class TextToolbox {
      * @param delimiter String holding the delimiter.
      * @return String holding the concatenated input strings.
      */
-    public final static synchronized String joinWithDelimiter(Collection<String> collection, String delimiter) {
+    public final static String joinWithDelimiter(Collection<String> collection, String delimiter) {
         String retVal = "";
         for (String item : collection) {
             if (retVal.isEmpty()) {
@@ -321,13 +321,13 @@ public final class TextToolbox {
      * @param input Text to be capitalized.
      * @return Capitalized string.
      */
-    public final static synchronized String capitalize(String input) {
+    public final static String capitalize(String input) {
         if (isEmpty(input)) return input;
         input = input.toLowerCase();
         return input.substring(0, 1).toUpperCase() + input.substring(1);
     }
 
-    public final static synchronized String repeat(int times, String toRepeat) {
+    public final static String repeat(int times, String toRepeat) {
         if (times < 1) return "";
         if (times == 1) return toRepeat;
         StringBuilder retVal = new StringBuilder(times * toRepeat.length() + 1);
@@ -342,7 +342,7 @@ public final class TextToolbox {
      * @param text String holding text from which the diacritics must be removed.
      * @return String holding the original text without diacritics.
      */
-    public final static synchronized String removeDiacritics(String text) {
+    public final static String removeDiacritics(String text) {
         if (isEmpty(text)) return text;
         return Normalizer.normalize(text, Form.NFD).replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
     }
@@ -352,7 +352,7 @@ public final class TextToolbox {
      * @param input String builder to evaluate.
      * @return Boolean indicating whether the input string is null or empty.
      */
-    public final static synchronized boolean isEmpty(StringBuilder input) {
+    public final static boolean isEmpty(StringBuilder input) {
         return input == null || input.length() == 0;
     }
 
@@ -360,7 +360,7 @@ public final class TextToolbox {
      * Equivalent of the {@link java.lang.String#trim()} method for the {@link java.lang.StringBuilder StringBuilder} class.
      * @param text String builder to be trimmed.
      */
-    public final static synchronized void trim(StringBuilder text) {
+    public final static void trim(StringBuilder text) {
 
         if (isEmpty(text)) return;
 
@@ -382,7 +382,7 @@ public final class TextToolbox {
      * Removes multiple consecutive empty spaces in a string builder leaving only single empty spaces behind.
      * @param input String builder to be fixed.
      */
-    public final static synchronized void fixEmptySpaces(StringBuilder input) {
+    public final static void fixEmptySpaces(StringBuilder input) {
         
         if (isEmpty(input)) return;
 
@@ -403,7 +403,7 @@ public final class TextToolbox {
      * @param query String holding the query.
      * @return Integer indicating the index position of the query in the text.
      */
-    public final static synchronized int indexOfCaIn(StringBuilder text, String query) {
+    public final static int indexOfCaIn(StringBuilder text, String query) {
 
         if (isEmpty(text) || TextToolbox.isEmpty(query)) {
             return -1;
@@ -423,7 +423,7 @@ public final class TextToolbox {
      * @param start Integer indicating the index position from which the searching starts.
      * @return Integer indicating the index position of the query in the text.
      */
-    public final static synchronized int indexOfCaIn(StringBuilder text, String query, int start) {
+    public final static int indexOfCaIn(StringBuilder text, String query, int start) {
 
         if (isEmpty(text) || TextToolbox.isEmpty(query)) {
             return -1;
@@ -442,7 +442,7 @@ public final class TextToolbox {
      * @param query String holding the text that is to be replaced.
      * @param replacement String holding the text that is to replace.
      */
-    public final static synchronized void replace(StringBuilder text, String query, String replacement) {
+    public final static void replace(StringBuilder text, String query, String replacement) {
 
         if (isEmpty(text) || TextToolbox.isEmpty(query) || replacement == null) {
             return;
@@ -466,7 +466,7 @@ public final class TextToolbox {
      * @param query String holding the text that is to be replaced.
      * @param replacement String holding the text that is to replace.
      */
-    public final static synchronized void replaceCaIn(StringBuilder text, String query, String replacement) {
+    public final static void replaceCaIn(StringBuilder text, String query, String replacement) {
         
         if (isEmpty(text) || TextToolbox.isEmpty(query) || replacement == null) {
             return;
@@ -510,7 +510,7 @@ public final class TextToolbox {
      * @param secondaryQuery String holding the text that is to be replaced.
      * @param replacement String holding the replacement text.
      */
-    public final static synchronized void replaceWithin(StringBuilder text, String primaryQuery, String secondaryQuery, String replacement) {
+    public final static void replaceWithin(StringBuilder text, String primaryQuery, String secondaryQuery, String replacement) {
         
         if (isEmpty(text) || TextToolbox.isEmpty(primaryQuery) || replacement == null) {
             return;
@@ -548,7 +548,7 @@ public final class TextToolbox {
      * @param left String holding the left (opening) parenthesis.
      * @param right String holding the right (closing) parenthesis.
      */
-    public final static synchronized void removeParentheses(StringBuilder text, String left, String right) {
+    public final static void removeParentheses(StringBuilder text, String left, String right) {
         
         if (isEmpty(text) || TextToolbox.isEmpty(left) || TextToolbox.isEmpty(right)) {
             return;
@@ -573,7 +573,7 @@ public final class TextToolbox {
      * Capitalizes the first character of a text.
      * @param input Text to be capitalized.
      */
-    public final static synchronized void capitalize(StringBuilder input) {
+    public final static void capitalize(StringBuilder input) {
         if (isEmpty(input)) return;
         for (int i = 0; i < input.length(); i++) {
            char c = input.charAt(i);